@@ -30,6 +30,7 @@ public class AmchartsConfig extends JavaScriptObject {
         String configJson = config != null ? config : "{}";
         AmchartsConfig configObject = (AmchartsConfig) JSONParser.parseLenient(configJson).isObject().getJavaScriptObject();
         parseDefs(configObject);
+        restoreDataProvider(configObject);
         JsUtils.applyCustomJson(configObject, json);
         JsUtils.activateFunctions(configObject, false);
         parseConfigDateProperties(configObject);
@@ -54,6 +55,57 @@ public class AmchartsConfig extends JavaScriptObject {
         }
     }
 
+    /**
+     * Converts data items sent in the columnar format back to the {@code dataProvider} array of objects.
+     */
+    private static native void restoreDataProvider(JavaScriptObject config) /*-{
+        var columns = config.dataColumns;
+        if (!columns) {
+            return;
+        }
+        delete config.dataColumns;
+
+        var dates = {};
+        for (var i = 0; i < columns.dates.length; i++) {
+            dates[columns.dates[i]] = true;
+        }
+
+        var dataProvider = new Array(columns.size);
+        for (var i = 0; i < columns.size; i++) {
+            var item = {};
+            if (columns.keys[i] != null) {
+                item.$k = columns.keys[i];
+            }
+            dataProvider[i] = item;
+        }
+
+        for (var field in columns.fields) {
+            if (columns.fields.hasOwnProperty(field)) {
+                var values = columns.fields[field];
+                var isDate = dates[field] === true;
+                for (var i = 0; i < columns.size; i++) {
+                    var value = values[i];
+                    if (value != null) {
+                        if (isDate) {
+                            // dates are sent as wall-clock time in UTC
+                            var utc = new Date(value);
+                            value = new Date(utc.getUTCFullYear(), utc.getUTCMonth(), utc.getUTCDate(),
+                                utc.getUTCHours(), utc.getUTCMinutes(), utc.getUTCSeconds(), utc.getUTCMilliseconds());
+                        }
+                        dataProvider[i][field] = value;
+                    }
+                }
+            }
+        }
+
+        // Prevent errors for empty data provider
+        if (dataProvider.length == 0) {
+            dataProvider.push({});
+        }
+
+        config.dataProvider = dataProvider;
+    }-*/;
+
     private static native void disableExportFeatures(JavaScriptObject config) /*-{
         config['export'] = undefined;
     }-*/;
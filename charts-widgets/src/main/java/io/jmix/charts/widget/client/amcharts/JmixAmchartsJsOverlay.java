@@ -47,6 +47,13 @@ public class JmixAmchartsJsOverlay {
     }
 
     protected native void updatePoints(JavaScriptObject chart, JavaScriptObject src) /*-{
+        // replace the zoomed range with items of higher resolution
+        var srcRange = src["range"];
+        if (srcRange) {
+            var spliceArgs = [srcRange.start, srcRange.end - srcRange.start + 1].concat(srcRange.items);
+            Array.prototype.splice.apply(chart.dataProvider, spliceArgs);
+        }
+
         (function () {
             var srcAdd = src["add"];
             if (srcAdd) {
@@ -84,7 +91,16 @@ public class JmixAmchartsJsOverlay {
             }
         })();
 
-        chart.validateData();
+        if (srcRange) {
+            var zoomOutOnDataUpdate = chart.zoomOutOnDataUpdate;
+            chart.zoomOutOnDataUpdate = false;
+            chart.validateData();
+            chart.zoomOutOnDataUpdate = zoomOutOnDataUpdate;
+
+            chart.zoomToIndexes(srcRange.start, srcRange.start + srcRange.items.length - 1);
+        } else {
+            chart.validateData();
+        }
     }-*/;
 
     protected static native void handleLoad() /*-{
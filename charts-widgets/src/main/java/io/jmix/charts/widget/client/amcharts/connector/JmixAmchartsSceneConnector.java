@@ -20,6 +20,7 @@ import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.NativeEvent;
 import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.user.client.Timer;
 import com.vaadin.client.communication.RpcProxy;
 import com.vaadin.client.ui.AbstractComponentConnector;
 import com.vaadin.client.ui.layout.ElementResizeListener;
@@ -57,6 +58,16 @@ public class JmixAmchartsSceneConnector extends AbstractComponentConnector {
                 updateChart(json);
             }
 
+            @Override
+            public void requestUpdate(int delay) {
+                new Timer() {
+                    @Override
+                    public void run() {
+                        rpc.onUpdateRequest();
+                    }
+                }.schedule(delay);
+            }
+
             @Override
             public void zoomOut() {
                 Scheduler.get().scheduleDeferred(() -> {
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.charts;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Charts configuration properties class.
+ */
+@ConfigurationProperties(prefix = "jmix.ui.charts")
+@ConstructorBinding
+public class ChartsProperties {
+
+    /**
+     * Maximum total length of serialized data snapshots kept in the shared chart data cache.
+     */
+    long dataCacheMaxWeight;
+
+    /**
+     * Time (in seconds) a serialized data snapshot is kept in the shared chart data cache after it has been created.
+     */
+    int dataCacheTtlSec;
+
+    public ChartsProperties(
+            @DefaultValue("20000000") long dataCacheMaxWeight,
+            @DefaultValue("300") int dataCacheTtlSec) {
+        this.dataCacheMaxWeight = dataCacheMaxWeight;
+        this.dataCacheTtlSec = dataCacheTtlSec;
+    }
+
+    /**
+     * @see #dataCacheMaxWeight
+     */
+    public long getDataCacheMaxWeight() {
+        return dataCacheMaxWeight;
+    }
+
+    /**
+     * @see #dataCacheTtlSec
+     */
+    public int getDataCacheTtlSec() {
+        return dataCacheTtlSec;
+    }
+}
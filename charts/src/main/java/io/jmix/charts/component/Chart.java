@@ -24,10 +24,12 @@ import io.jmix.ui.data.DataProvider;
 import io.jmix.ui.data.impl.ContainerDataProvider;
 import io.jmix.ui.data.impl.EntityDataItem;
 import io.jmix.ui.data.impl.ListDataProvider;
+import io.jmix.ui.meta.StudioProperty;
 import io.jmix.charts.model.chart.ChartModel;
 import io.jmix.charts.model.graph.Graph;
 
 import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
 import java.util.Date;
 import java.util.EventObject;
 import java.util.function.Consumer;
@@ -121,6 +123,42 @@ public interface Chart<T extends Chart> extends Component, ChartModel<T>, Compon
      */
     String getNativeJson();
 
+    /**
+     * @return maximum number of incremental updates sent to the client per second, 0 if not limited
+     */
+    int getMaxUpdateRate();
+
+    /**
+     * Sets maximum number of incremental updates sent to the client per second. Changes of the data provider
+     * made in between are accumulated and sent with the next update, so a high-frequency data feed does not
+     * cause a client update on each server push. Changes of the same item are folded into one change.
+     *
+     * @param maxUpdateRate maximum number of updates per second, 0 to send changes with each response
+     */
+    @StudioProperty(defaultValue = "0")
+    @Min(0)
+    void setMaxUpdateRate(int maxUpdateRate);
+
+    /**
+     * @return key of the chart data in the shared data cache or null if the data is not cached
+     */
+    @Nullable
+    String getDataCacheKey();
+
+    /**
+     * Sets key of the chart data in the shared data cache. Charts that display the same data, e.g. the same
+     * dashboard opened by many users, reuse the data serialized once for the same locale and displayed properties
+     * until it expires. The key must identify the data items of the data provider, including their order.
+     * If the data depends on the current user, e.g. it is filtered by row-level security, the key must also
+     * include the user name or another identifier of the security scope, otherwise the data is shared between
+     * users who must not see it.
+     *
+     * @param dataCacheKey key of the data or null to serialize the data on each repaint
+     * @see io.jmix.charts.serialization.ChartDataCache
+     */
+    @StudioProperty
+    void setDataCacheKey(@Nullable String dataCacheKey);
+
     abstract class AbstractChartEvent extends EventObject {
 
         public AbstractChartEvent(Chart source) {
@@ -717,7 +755,8 @@ public interface Chart<T extends Chart> extends Component, ChartModel<T>, Compon
         }
 
         /**
-         * @return end category index of the chart zoom period
+         * @return end category index of the chart zoom period, the index of an item in the data provider
+         * even if the chart displays downsampled data
          */
         public int getEndIndex() {
             return endIndex;
@@ -738,7 +777,8 @@ public interface Chart<T extends Chart> extends Component, ChartModel<T>, Compon
         }
 
         /**
-         * @return start category index of the chart zoom period
+         * @return start category index of the chart zoom period, the index of an item in the data provider
+         * even if the chart displays downsampled data
          */
         public int getStartIndex() {
             return startIndex;
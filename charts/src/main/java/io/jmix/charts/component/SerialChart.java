@@ -73,4 +73,20 @@ public interface SerialChart extends SeriesBasedChart<SerialChart> {
     @StudioProperty
     @Min(1)
     void setBezierY(Integer bezierY);
+
+    /**
+     * @return maximum number of points per graph sent to the client, 0 if all data items are sent
+     */
+    int getMaxDataPoints();
+
+    /**
+     * Sets maximum number of points per graph sent to the client. If the data provider contains more items, they
+     * are downsampled using the Largest-Triangle-Three-Buckets algorithm, so the shape of the graphs is preserved.
+     * When the chart is zoomed, the visible range is replaced with items of higher resolution.
+     *
+     * @param maxDataPoints maximum number of points per graph, 0 to send all items
+     */
+    @StudioProperty(defaultValue = "0")
+    @Min(0)
+    void setMaxDataPoints(int maxDataPoints);
 }
\ No newline at end of file
@@ -36,6 +36,7 @@ import io.jmix.charts.model.label.Label;
 import io.jmix.charts.model.legend.Legend;
 import io.jmix.charts.model.settings.*;
 import io.jmix.charts.model.settings.Responsive;
+import io.jmix.charts.serialization.ChartDataCache;
 import io.jmix.charts.serialization.JmixChartSerializer;
 import io.jmix.charts.widget.amcharts.JmixAmchartsIntegration;
 import io.jmix.charts.widget.amcharts.JmixAmchartsScene;
@@ -50,6 +51,7 @@ import io.jmix.charts.widget.amcharts.serialization.ChartSerializer;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.annotation.Nullable;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.List;
@@ -66,6 +68,7 @@ public abstract class ChartImpl<T extends Chart, M extends AbstractChart>
     protected CurrentAuthentication currentAuthentication;
     protected ChartLocaleHelper chartLocaleHelper;
     protected FormatStringsRegistry formatStringsRegistry;
+    protected ChartDataCache chartDataCache;
 
     protected ChartClickListener clickHandler;
     protected ChartRightClickListener rightClickHandler;
@@ -96,6 +99,11 @@ public abstract class ChartImpl<T extends Chart, M extends AbstractChart>
         this.chartLocaleHelper = chartLocaleHelper;
     }
 
+    @Autowired
+    public void setChartDataCache(ChartDataCache chartDataCache) {
+        this.chartDataCache = chartDataCache;
+    }
+
     @Autowired
     public void setFormatStringsRegistry(FormatStringsRegistry formatStringsRegistry) {
         this.formatStringsRegistry = formatStringsRegistry;
@@ -104,6 +112,7 @@ public abstract class ChartImpl<T extends Chart, M extends AbstractChart>
     @Override
     public void afterPropertiesSet() throws Exception {
         component.setChartSerializer(createChartSerializer());
+        component.setDataCache(chartDataCache);
         initLocale();
 
         M configuration = createChartConfiguration();
@@ -196,6 +205,27 @@ public abstract class ChartImpl<T extends Chart, M extends AbstractChart>
         component.setJson(json);
     }
 
+    @Nullable
+    @Override
+    public String getDataCacheKey() {
+        return component.getDataCacheKey();
+    }
+
+    @Override
+    public void setDataCacheKey(@Nullable String dataCacheKey) {
+        component.setDataCacheKey(dataCacheKey);
+    }
+
+    @Override
+    public int getMaxUpdateRate() {
+        return component.getMaxUpdateRate();
+    }
+
+    @Override
+    public void setMaxUpdateRate(int maxUpdateRate) {
+        component.setMaxUpdateRate(maxUpdateRate);
+    }
+
     @Override
     public Boolean getAddClassNames() {
         return getModel().getAddClassNames();
@@ -566,6 +596,17 @@ public abstract class ChartImpl<T extends Chart, M extends AbstractChart>
         return (T) this;
     }
 
+    @Override
+    public Boolean getColumnarData() {
+        return getModel().getColumnarData();
+    }
+
+    @Override
+    public T setColumnarData(Boolean columnarData) {
+        getModel().setColumnarData(columnarData);
+        return (T) this;
+    }
+
     @Override
     public Boolean getAutoDisplay() {
         return getModel().getAutoDisplay();
@@ -47,4 +47,14 @@ public class SerialChartImpl extends SeriesBasedChartImpl<SerialChart, SerialCha
     public void setBezierY(Integer bezierY) {
         getModel().setBezierY(bezierY);
     }
+
+    @Override
+    public int getMaxDataPoints() {
+        return component.getMaxDataPoints();
+    }
+
+    @Override
+    public void setMaxDataPoints(int maxDataPoints) {
+        component.setMaxDataPoints(maxDataPoints);
+    }
 }
\ No newline at end of file
@@ -52,6 +52,11 @@ public abstract class AbstractChartLoader<T extends Chart> extends ChartModelLoa
         loadCss(resultComponent, element);
 
         loadDataContainer(resultComponent, element);
+
+        String dataCacheKey = element.attributeValue("dataCacheKey");
+        if (StringUtils.isNotEmpty(dataCacheKey)) {
+            resultComponent.setDataCacheKey(dataCacheKey);
+        }
     }
 
     protected void loadDataContainer(Chart chart, Element element) {
@@ -77,6 +82,11 @@ public abstract class AbstractChartLoader<T extends Chart> extends ChartModelLoa
     protected void loadConfiguration(T chart, Element element) {
         loadBaseProperties(chart, element);
 
+        String maxUpdateRate = element.attributeValue("maxUpdateRate");
+        if (StringUtils.isNotEmpty(maxUpdateRate)) {
+            chart.setMaxUpdateRate(Integer.parseInt(maxUpdateRate));
+        }
+
         Element responsiveElement = element.element("responsive");
         if (responsiveElement != null) {
             Responsive responsive = new Responsive();
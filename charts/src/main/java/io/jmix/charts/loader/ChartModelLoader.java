@@ -3210,6 +3210,11 @@ public abstract class ChartModelLoader<C extends Component> extends AbstractComp
             chart.setClassNamePrefix(classNamePrefix);
         }
 
+        String columnarData = element.attributeValue("columnarData");
+        if (StringUtils.isNotEmpty(columnarData)) {
+            chart.setColumnarData(Boolean.valueOf(columnarData));
+        }
+
         chart.setCreditsPosition(loadCreditsPosition(element));
 
         String borderAlpha = element.attributeValue("borderAlpha");
@@ -34,6 +34,7 @@ public class SerialChartLoader extends AbstractSerialChartLoader<SerialChart> {
 
         loadBezierX(resultComponent, element);
         loadBezierY(resultComponent, element);
+        loadMaxDataPoints(resultComponent, element);
     }
 
     private void loadBezierX(SerialChart serialChart, Element element) {
@@ -43,6 +44,13 @@ public class SerialChartLoader extends AbstractSerialChartLoader<SerialChart> {
         }
     }
 
+    private void loadMaxDataPoints(SerialChart serialChart, Element element) {
+        String maxDataPoints = element.attributeValue("maxDataPoints");
+        if (maxDataPoints != null && !maxDataPoints.isEmpty()) {
+            serialChart.setMaxDataPoints(Integer.parseInt(maxDataPoints));
+        }
+    }
+
     private void loadBezierY(SerialChart serialChart, Element element) {
         String bezierY = element.attributeValue("bezierY");
         if (bezierY != null && !bezierY.isEmpty()) {
@@ -553,6 +553,24 @@ public interface ChartModel<T extends ChartModel> {
      */
     T addAdditionalFields(String... fields);
 
+    /**
+     * @return true if data items are sent to the client in the columnar format
+     */
+    Boolean getColumnarData();
+
+    /**
+     * Enables the columnar format of data items sent to the client on the full repaint of the chart: one array of
+     * values per field instead of one object per item. Numbers are sent unboxed and dates as milliseconds, so large
+     * data providers take less traffic and are serialized without building an intermediate JSON tree. Date values
+     * are restored on the client as {@code Date} objects. Incremental updates are always sent as objects. Not
+     * supported by the Gantt chart. If not set the default value is false.
+     *
+     * @param columnarData columnar data option
+     * @return chart model
+     */
+    @StudioProperty(defaultValue = "false")
+    T setColumnarData(Boolean columnarData);
+
     /**
      * @return true if auto display is enabled
      */
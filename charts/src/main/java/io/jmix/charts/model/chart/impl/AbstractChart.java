@@ -149,6 +149,9 @@ public abstract class AbstractChart<T extends AbstractChartObject & ChartModel>
     @Expose(serialize = false, deserialize = false)
     private List<String> additionalFields;
 
+    @Expose(serialize = false, deserialize = false)
+    private Boolean columnarData;
+
     protected AbstractChart(ChartType type) {
         this.type = type;
     }
@@ -568,6 +571,17 @@ public abstract class AbstractChart<T extends AbstractChartObject & ChartModel>
         return (T) this;
     }
 
+    @Override
+    public Boolean getColumnarData() {
+        return columnarData;
+    }
+
+    @Override
+    public T setColumnarData(Boolean columnarData) {
+        this.columnarData = columnarData;
+        return (T) this;
+    }
+
     public ChartType getType() {
         return type;
     }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.charts.serialization;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.jmix.charts.ChartsProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache of serialized chart data. Charts which display the same data, e.g. a dashboard opened by many users,
+ * can reuse one serialized snapshot instead of serializing their data items on each repaint. A snapshot is
+ * identified by a data key supplied by the application, the locale and the data signature of the chart, see
+ * {@link io.jmix.charts.widget.amcharts.serialization.ChartSerializer#getDataSignature}. Its weight is the length
+ * of the serialized data.
+ * <p>
+ * The cache does not know who loaded the data, so a snapshot is returned to every user who requests the same key.
+ * If the data depends on the current user, e.g. it is filtered by row-level security or belongs to a tenant,
+ * the key must include that scope, such as the user name, the tenant or the set of roles, otherwise data
+ * of one user is shown to others.
+ * <p>
+ * Hits, misses and evictions are reported to the {@link MeterRegistry} as {@code cache.*} metrics
+ * with the {@code cache=jmix.ui.chartData} tag, the estimated memory occupied by snapshots
+ * as the {@code cache.memory} gauge.
+ */
+@Component("ui_ChartDataCache")
+public class ChartDataCache {
+
+    public static final String CACHE_NAME = "jmix.ui.chartData";
+
+    protected Cache<DataKey, Snapshot> cache;
+
+    @Autowired
+    public ChartDataCache(ChartsProperties chartsProperties, MeterRegistry meterRegistry) {
+        this(chartsProperties.getDataCacheMaxWeight(), chartsProperties.getDataCacheTtlSec());
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.memory", this, ChartDataCache::getEstimatedMemory)
+                .tag("cache", CACHE_NAME)
+                .description("The estimated memory occupied by cached chart data")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    protected ChartDataCache(long maxWeight, int ttlSec) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((DataKey key, Snapshot snapshot) -> snapshot.getWeight())
+                .expireAfterWrite(ttlSec, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached data or serializes it with the given serializer. Concurrent requests of the same data
+     * wait for the first one to serialize it.
+     *
+     * @param dataKey    application-specific key of the data
+     * @param locale     locale of formatted values
+     * @param signature  data signature of the chart
+     * @param serializer serializes the data if it is not cached
+     * @return serialized data
+     */
+    public Snapshot get(String dataKey, @Nullable Locale locale, String signature, Supplier<Snapshot> serializer) {
+        try {
+            return cache.get(new DataKey(dataKey, locale, signature), serializer::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException("Unable to serialize chart data", e.getCause());
+        }
+    }
+
+    /**
+     * Drops all snapshots of the data, e.g. when the data has been changed.
+     *
+     * @param dataKey application-specific key of the data
+     */
+    public void invalidate(String dataKey) {
+        cache.asMap().keySet().removeIf(key -> key.dataKey.equals(dataKey));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return estimated memory occupied by cached data in bytes
+     */
+    public long getEstimatedMemory() {
+        long length = 0;
+        for (Snapshot snapshot : cache.asMap().values()) {
+            length += snapshot.data.length();
+        }
+        // two bytes per char in the worst case of non-compact strings
+        return length * 2;
+    }
+
+    /**
+     * Serialized data along with ids of the serialized items in the order of serialization. The ids allow
+     * a chart to check that its items are the same before it maps item keys of the serialized data to its items.
+     */
+    public static class Snapshot {
+
+        protected final String data;
+        protected final List<Object> itemIds;
+
+        public Snapshot(String data, List<Object> itemIds) {
+            this.data = data;
+            this.itemIds = itemIds;
+        }
+
+        public String getData() {
+            return data;
+        }
+
+        public List<Object> getItemIds() {
+            return itemIds;
+        }
+
+        protected int getWeight() {
+            // ids are usually shared with the data items, so only the list itself is taken into account
+            return data.length() + itemIds.size();
+        }
+    }
+
+    protected static class DataKey {
+
+        protected final String dataKey;
+        protected final Locale locale;
+        protected final String signature;
+
+        public DataKey(String dataKey, @Nullable Locale locale, String signature) {
+            this.dataKey = dataKey;
+            this.locale = locale;
+            this.signature = signature;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DataKey that = (DataKey) o;
+            return dataKey.equals(that.dataKey)
+                    && Objects.equals(locale, that.locale)
+                    && signature.equals(that.signature);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dataKey, locale, signature);
+        }
+    }
+}
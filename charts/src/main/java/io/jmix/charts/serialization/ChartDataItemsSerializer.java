@@ -19,6 +19,7 @@ package io.jmix.charts.serialization;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonWriter;
 import io.jmix.charts.model.chart.impl.GanttChartModelImpl;
 import io.jmix.charts.widget.amcharts.serialization.ChartJsonSerializationContext;
 import io.jmix.core.Messages;
@@ -31,9 +32,14 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -125,6 +131,127 @@ public class ChartDataItemsSerializer {
         return serialized;
     }
 
+    /**
+     * Writes items as a columnar object: {@code size} - number of items, {@code keys} - array of item keys,
+     * {@code fields} - object with an array of values per property and {@code dates} - names of properties which
+     * contain dates. Dates are written as milliseconds of their wall-clock time in UTC, so the client restores
+     * the same local date and time as the formatted value of the row format. A property is a date property only if
+     * all its non-null values are dates, otherwise dates are written as formatted strings as in the row format.
+     *
+     * @param items   items to write
+     * @param context serialization context
+     * @param writer  JSON writer positioned at a value
+     */
+    public void serializeColumns(List<DataItem> items, ChartJsonSerializationContext context,
+                                 JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("size").value(items.size());
+
+        writer.name("keys").beginArray();
+        Function<DataItem, String> itemKeyMapper = context.getItemKeyMapper();
+        for (DataItem item : items) {
+            writer.value(itemKeyMapper.apply(item));
+        }
+        writer.endArray();
+
+        List<String> dateProperties = new ArrayList<>();
+
+        writer.name("fields").beginObject();
+        List<Object> values = new ArrayList<>(items.size());
+        for (String property : context.getProperties()) {
+            values.clear();
+            for (DataItem item : items) {
+                values.add(item.getValue(property));
+            }
+
+            boolean dates = isDateColumn(values);
+            if (dates) {
+                dateProperties.add(property);
+            }
+
+            writer.name(property).beginArray();
+            for (Object value : values) {
+                writeColumnValue(writer, value, dates, context);
+            }
+            writer.endArray();
+        }
+        writer.endObject();
+
+        writer.name("dates").beginArray();
+        for (String property : dateProperties) {
+            writer.value(property);
+        }
+        writer.endArray();
+
+        writer.endObject();
+    }
+
+    /**
+     * @return true if the values contain at least one date and all non-null values are dates
+     */
+    protected boolean isDateColumn(List<Object> values) {
+        boolean dates = false;
+        for (Object value : values) {
+            if (value != null) {
+                if (!isDate(value)) {
+                    return false;
+                }
+                dates = true;
+            }
+        }
+        return dates;
+    }
+
+    protected boolean isDate(Object value) {
+        return value instanceof Date || value instanceof LocalDateTime || value instanceof LocalDate;
+    }
+
+    /**
+     * @param dateColumn whether dates are written as milliseconds, otherwise they are written as formatted strings
+     */
+    protected void writeColumnValue(JsonWriter writer, @Nullable Object value, boolean dateColumn,
+                                    ChartJsonSerializationContext context) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else if (EntityValues.isEntity(value)) {
+            writer.value(metadataTools.getInstanceName(value));
+        } else if (value instanceof Enum) {
+            writer.value(messages.getMessage((Enum) value));
+        } else if (value instanceof Date) {
+            if (dateColumn) {
+                LocalDateTime dateTime = ((Date) value).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+                writer.value(dateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+            } else {
+                writer.value(DATE_FORMATTER.format((Date) value));
+            }
+        } else if (value instanceof LocalDateTime) {
+            if (dateColumn) {
+                writer.value(((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli());
+            } else {
+                writer.value(TEMPORAL_DATE_TIME_FORMATTER.format((LocalDateTime) value));
+            }
+        } else if (value instanceof LocalDate) {
+            if (dateColumn) {
+                writer.value(((LocalDate) value).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli());
+            } else {
+                writer.value(TEMPORAL_DATE_FORMATTER.format((LocalDate) value));
+            }
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            writer.value(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            writer.value(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            writer.value((Number) value);
+        } else if (value instanceof Boolean) {
+            writer.value((Boolean) value);
+        } else if (value instanceof String) {
+            writer.value((String) value);
+        } else {
+            context.getGson().toJson(context.serialize(value), writer);
+        }
+    }
+
     protected void addProperty(JsonObject jsonObject, String property, Object value, JsonSerializationContext context) {
         Object formattedValue;
         if (EntityValues.isEntity(value)) {
@@ -18,6 +18,7 @@ package io.jmix.charts.serialization;
 
 import com.google.gson.*;
 import com.google.gson.annotations.Expose;
+import com.google.gson.stream.JsonWriter;
 import io.jmix.charts.model.Color;
 import io.jmix.charts.model.JsFunction;
 import io.jmix.charts.model.JsonEnum;
@@ -32,7 +33,12 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 @Component("ui_JmixChartSerializer")
@@ -74,6 +80,9 @@ public class JmixChartSerializer implements ChartSerializer {
         builder.registerTypeHierarchyAdapter(Rule.class, new ResponsiveRuleSerializer());
     }
 
+    protected static final String DATA_PROVIDER_PROPERTY = "dataProvider";
+    protected static final String COLUMNAR_DATA_PROPERTY = "dataColumns";
+
     protected Function<DataItem, String> itemKeyMapper;
     protected ChartDataItemsSerializer itemsSerializer;
 
@@ -84,19 +93,29 @@ public class JmixChartSerializer implements ChartSerializer {
 
     @Override
     public String serialize(AbstractChart chart) {
+        DataProvider dataProvider = chart.getDataProvider();
+        return serialize(chart, dataProvider != null ? dataProvider.getItems() : null);
+    }
+
+    @Override
+    public boolean isPartialDataSupported() {
+        return true;
+    }
+
+    @Override
+    public String serialize(AbstractChart chart, @Nullable List<DataItem> items) {
         JsonElement jsonTree = chartGson.toJsonTree(chart);
 
         ChartJsonSerializationContext context = createChartJsonSerializationContext(chart);
-        DataProvider dataProvider = chart.getDataProvider();
-        if (dataProvider != null) {
-            JsonArray dataProviderElement = itemsSerializer.serialize(dataProvider.getItems(), context);
+        if (items != null && isColumnarData(chart)) {
+            beforeConvertToJson(jsonTree, context);
 
-            // Prevent errors on client for empty data provider
-            if (dataProviderElement.size() == 0) {
-                dataProviderElement.add(new JsonObject());
-            }
+            return writeChart(jsonTree, COLUMNAR_DATA_PROPERTY,
+                    writer -> itemsSerializer.serializeColumns(items, context, writer));
+        }
 
-            jsonTree.getAsJsonObject().add("dataProvider", dataProviderElement);
+        if (items != null) {
+            jsonTree.getAsJsonObject().add(DATA_PROVIDER_PROPERTY, serializeDataProvider(items, context));
         }
 
         beforeConvertToJson(jsonTree, context);
@@ -104,6 +123,84 @@ public class JmixChartSerializer implements ChartSerializer {
         return chartGson.toJson(jsonTree);
     }
 
+    @Override
+    public String serializeData(AbstractChart chart, List<DataItem> items) {
+        ChartJsonSerializationContext context = createChartJsonSerializationContext(chart);
+        if (!isColumnarData(chart)) {
+            return chartGson.toJson(serializeDataProvider(items, context));
+        }
+
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = chartGson.newJsonWriter(out)) {
+            itemsSerializer.serializeColumns(items, context, writer);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to serialize chart data", e);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String getDataSignature(AbstractChart chart) {
+        ChartJsonSerializationContext context = createChartJsonSerializationContext(chart);
+
+        StringBuilder signature = new StringBuilder(isColumnarData(chart) ? "columns:" : "rows:");
+        signature.append(String.join(",", context.getProperties()));
+        if (chart instanceof GanttChartModelImpl) {
+            signature.append(':').append(((GanttChartModelImpl) chart).getSegmentsField())
+                    .append(':').append(String.join(",", context.getSegmentFields()));
+        }
+        return signature.toString();
+    }
+
+    @Override
+    public String serializeWithData(AbstractChart chart, String data) {
+        JsonElement jsonTree = chartGson.toJsonTree(chart);
+
+        ChartJsonSerializationContext context = createChartJsonSerializationContext(chart);
+        beforeConvertToJson(jsonTree, context);
+
+        return writeChart(jsonTree, isColumnarData(chart) ? COLUMNAR_DATA_PROPERTY : DATA_PROVIDER_PROPERTY,
+                writer -> writer.jsonValue(data));
+    }
+
+    protected JsonArray serializeDataProvider(List<DataItem> items, ChartJsonSerializationContext context) {
+        JsonArray dataProviderElement = itemsSerializer.serialize(items, context);
+
+        // Prevent errors on client for empty data provider
+        if (dataProviderElement.size() == 0) {
+            dataProviderElement.add(new JsonObject());
+        }
+        return dataProviderElement;
+    }
+
+    protected boolean isColumnarData(AbstractChart chart) {
+        return Boolean.TRUE.equals(chart.getColumnarData())
+                && !(chart instanceof GanttChartModelImpl);
+    }
+
+    /**
+     * Writes the chart configuration followed by the data property directly to the output, so items are not
+     * converted to a JSON tree. Columnar data is converted back to the {@code dataProvider} array on the client.
+     */
+    protected String writeChart(JsonElement jsonTree, String dataProperty, DataWriter dataWriter) {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = chartGson.newJsonWriter(out)) {
+            writer.beginObject();
+            for (Map.Entry<String, JsonElement> entry : jsonTree.getAsJsonObject().entrySet()) {
+                writer.name(entry.getKey());
+                chartGson.toJson(entry.getValue(), writer);
+            }
+
+            writer.name(dataProperty);
+            dataWriter.write(writer);
+
+            writer.endObject();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to serialize chart data", e);
+        }
+        return out.toString();
+    }
+
     protected void beforeConvertToJson(JsonElement jsonTree, ChartJsonSerializationContext context) {
         // By default, export plugin exports all data fields.
         // We need to exclude service fields like '$k' and '$i'.
@@ -140,6 +237,13 @@ public class JmixChartSerializer implements ChartSerializer {
         if (changes.getUpdatedItems() != null) {
             jsonChangedItemsElement.add("update", itemsSerializer.serialize(changes.getUpdatedItems(), context));
         }
+        if (changes.getRangeItems() != null) {
+            JsonObject rangeElement = new JsonObject();
+            rangeElement.addProperty("start", changes.getRangeStart());
+            rangeElement.addProperty("end", changes.getRangeEnd());
+            rangeElement.add("items", itemsSerializer.serialize(changes.getRangeItems(), context));
+            jsonChangedItemsElement.add("range", rangeElement);
+        }
 
         return chartGson.toJson(jsonChangedItemsElement);
     }
@@ -165,4 +269,13 @@ public class JmixChartSerializer implements ChartSerializer {
     public void setDataItemKeyMapper(Function<DataItem, String> itemKeyMapper) {
         this.itemKeyMapper = itemKeyMapper;
     }
+
+    /**
+     * Writes the data property value.
+     */
+    @FunctionalInterface
+    protected interface DataWriter {
+
+        void write(JsonWriter writer) throws IOException;
+    }
 }
\ No newline at end of file
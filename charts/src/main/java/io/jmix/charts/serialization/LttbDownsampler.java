@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.charts.serialization;
+
+import io.jmix.ui.data.DataItem;
+
+import javax.annotation.Nullable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reduces the number of data items of a serial chart using the Largest-Triangle-Three-Buckets algorithm.
+ * <p>
+ * Each value field is downsampled separately to the given number of points, the result contains the union of
+ * items selected for all fields, so peaks of every graph are kept. Category values are used as X coordinates if they
+ * are numbers or dates, otherwise items are considered equidistant.
+ */
+public class LttbDownsampler {
+
+    protected final String categoryField;
+    protected final List<String> valueFields;
+
+    /**
+     * @param categoryField field of the category (X) value
+     * @param valueFields   fields of graph values
+     */
+    public LttbDownsampler(String categoryField, List<String> valueFields) {
+        this.categoryField = categoryField;
+        this.valueFields = valueFields;
+    }
+
+    /**
+     * Selects items of the range to be displayed.
+     *
+     * @param items     all items ordered by category
+     * @param from      first index of the range, inclusive
+     * @param to        last index of the range, exclusive
+     * @param threshold number of points per value field
+     * @return ascending indexes of the selected items, the first and the last items of the range are always selected
+     */
+    public int[] downsample(List<DataItem> items, int from, int to, int threshold) {
+        int size = to - from;
+        if (threshold < 3 || size <= threshold || valueFields.isEmpty()) {
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = from + i;
+            }
+            return indexes;
+        }
+
+        double[] x = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = toCoordinate(items.get(from + i).getValue(categoryField), i);
+        }
+
+        BitSet selected = new BitSet(size);
+        double[] y = new double[size];
+        for (String valueField : valueFields) {
+            for (int i = 0; i < size; i++) {
+                y[i] = toCoordinate(items.get(from + i).getValue(valueField), Double.NaN);
+            }
+            select(x, y, threshold, selected);
+        }
+
+        int[] indexes = new int[selected.cardinality()];
+        int i = 0;
+        for (int index = selected.nextSetBit(0); index >= 0; index = selected.nextSetBit(index + 1)) {
+            indexes[i++] = from + index;
+        }
+        return indexes;
+    }
+
+    protected void select(double[] x, double[] y, int threshold, BitSet selected) {
+        int size = x.length;
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+
+        selected.set(0);
+
+        // the first vertex of the triangle is the last selected point with a value, gaps do not move it
+        double anchorX = x[0];
+        double anchorY = Double.isNaN(y[0]) ? firstFiniteValue(y) : y[0];
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average point of the next bucket is the third vertex of the triangle
+            int avgFrom = (int) ((bucket + 1) * bucketSize) + 1;
+            int avgTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+
+            double avgX = 0;
+            double avgY = 0;
+            int avgCount = 0;
+            for (int i = avgFrom; i < avgTo; i++) {
+                if (!Double.isNaN(y[i])) {
+                    avgX += x[i];
+                    avgY += y[i];
+                    avgCount++;
+                }
+            }
+            if (avgCount > 0) {
+                avgX /= avgCount;
+                avgY /= avgCount;
+            } else {
+                // the next bucket is a gap, keep the current level at its middle
+                for (int i = avgFrom; i < avgTo; i++) {
+                    avgX += x[i];
+                }
+                avgX = avgTo > avgFrom ? avgX / (avgTo - avgFrom) : anchorX;
+                avgY = anchorY;
+            }
+
+            int rangeFrom = (int) (bucket * bucketSize) + 1;
+            int rangeTo = (int) ((bucket + 1) * bucketSize) + 1;
+
+            int next = rangeFrom;
+            double maxArea = -1;
+            for (int i = rangeFrom; i < rangeTo; i++) {
+                // points without value have NaN area and are never preferred
+                double area = Math.abs((anchorX - avgX) * (y[i] - anchorY) - (anchorX - x[i]) * (avgY - anchorY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+
+            selected.set(next);
+            if (!Double.isNaN(y[next])) {
+                anchorX = x[next];
+                anchorY = y[next];
+            }
+        }
+
+        selected.set(size - 1);
+    }
+
+    protected double firstFiniteValue(double[] y) {
+        for (double value : y) {
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return 0;
+    }
+
+    protected double toCoordinate(@Nullable Object value, double defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).toEpochDay() * ChronoUnit.DAYS.getDuration().toMillis();
+        }
+        return defaultValue;
+    }
+}
@@ -27,6 +27,9 @@ import io.jmix.ui.data.DataProvider;
 import io.jmix.ui.widget.EnhancedUI;
 import io.jmix.charts.model.chart.ChartType;
 import io.jmix.charts.model.chart.impl.*;
+import io.jmix.charts.model.graph.Graph;
+import io.jmix.charts.serialization.ChartDataCache;
+import io.jmix.charts.serialization.LttbDownsampler;
 import io.jmix.charts.widget.amcharts.events.axis.AxisZoomEvent;
 import io.jmix.charts.widget.amcharts.events.axis.AxisZoomListener;
 import io.jmix.charts.widget.amcharts.events.category.CategoryItemClickEvent;
@@ -83,6 +86,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
@@ -169,6 +174,24 @@ public class JmixAmchartsScene extends AbstractComponent {
     protected KeyMapper<Object> dataItemKeys = new KeyMapper<>();
     protected Function<DataItem, String> dataItemKeyMapper;
 
+    protected int maxDataPoints;
+
+    protected LttbDownsampler downsampler;
+    protected List<DataItem> sampledSource;
+    // indexes of source items to display on the client, null if all items are displayed
+    protected int[] sampledIndexes;
+    // indexes of source items the client has received, differ from sampledIndexes until the update is sent
+    protected int[] clientIndexes;
+    protected int sampledFrom;
+    protected int sampledTo;
+
+    protected ChartDataCache dataCache;
+    protected String dataCacheKey;
+
+    protected int maxUpdateRate;
+    protected long lastUpdateTime;
+    protected boolean updateRequested;
+
     public JmixAmchartsScene() {
         // enable amcharts integration
         JmixAmchartsIntegration.get();
@@ -230,6 +253,73 @@ public class JmixAmchartsScene extends AbstractComponent {
         forceStateChange();
     }
 
+    /**
+     * @return maximum number of points per graph sent to the client, 0 if data is not downsampled
+     */
+    public int getMaxDataPoints() {
+        return maxDataPoints;
+    }
+
+    /**
+     * Sets maximum number of points per graph sent to the client. If a serial chart has more items, they are
+     * downsampled, and zooming replaces the visible range with items of higher resolution.
+     *
+     * @param maxDataPoints maximum number of points per graph, 0 to send all items
+     */
+    public void setMaxDataPoints(int maxDataPoints) {
+        if (this.maxDataPoints != maxDataPoints) {
+            this.maxDataPoints = maxDataPoints;
+            forceStateChange();
+        }
+    }
+
+    public void setDataCache(@Nullable ChartDataCache dataCache) {
+        this.dataCache = dataCache;
+    }
+
+    /**
+     * @return key of the data in the shared data cache or null if the data is not cached
+     */
+    @Nullable
+    public String getDataCacheKey() {
+        return dataCacheKey;
+    }
+
+    /**
+     * Sets key of the data in the shared {@link ChartDataCache}. Charts with the same key, locale and displayed
+     * properties reuse serialized data instead of serializing their data items on each repaint. The key must
+     * include the scope of the data if it depends on the current user, see {@link ChartDataCache}.
+     *
+     * @param dataCacheKey key of the data or null to serialize data items of the chart
+     */
+    public void setDataCacheKey(@Nullable String dataCacheKey) {
+        this.dataCacheKey = dataCacheKey;
+    }
+
+    /**
+     * @return maximum number of incremental updates sent to the client per second, 0 if not limited
+     */
+    public int getMaxUpdateRate() {
+        return maxUpdateRate;
+    }
+
+    /**
+     * Sets maximum number of incremental updates sent to the client per second. Changes of data items made in
+     * between are accumulated and sent with the next update.
+     *
+     * @param maxUpdateRate maximum number of updates per second, 0 to send changes with each response
+     */
+    public void setMaxUpdateRate(int maxUpdateRate) {
+        if (maxUpdateRate < 0) {
+            throw new IllegalArgumentException("maxUpdateRate cannot be negative");
+        }
+        this.maxUpdateRate = maxUpdateRate;
+    }
+
+    public boolean isDownsampled() {
+        return sampledIndexes != null;
+    }
+
     public void drawChart(AbstractChart chart) {
         this.chart = chart;
         this.chart.addDataProviderChangeListener(() -> {
@@ -479,13 +569,24 @@ public class JmixAmchartsScene extends AbstractComponent {
                 setupDefaults(chart);
                 setupPaths(chart);
 
-                dataItemKeys.removeAll();
+                // keys are assigned from scratch in the order of items, the same way as in charts
+                // which have serialized the cached data
+                dataItemKeys = new KeyMapper<>();
+                resetDownsampling();
+                updateRequested = false;
 
                 if (chart.getDataProvider() != null) {
                     chart.getDataProvider().addChangeListener(changeListener);
                 }
 
-                String jsonString = chartSerializer.serialize(chart);
+                String jsonString;
+                if (isDownsamplingRequired()) {
+                    jsonString = chartSerializer.serialize(chart, downsample());
+                } else if (isDataCacheUsed()) {
+                    jsonString = serializeWithCachedData();
+                } else {
+                    jsonString = chartSerializer.serialize(chart);
+                }
                 log.trace("Chart full JSON:\n{}", jsonString);
 
                 getRpcProxy(JmixAmchartsSceneClientRpc.class).draw(jsonString);
@@ -494,9 +595,24 @@ public class JmixAmchartsScene extends AbstractComponent {
         } else if (changedItems != null && !changedItems.isEmpty()) {
             // Incremental update
 
+            long updateDelay = getUpdateDelay();
+            if (updateDelay > 0) {
+                // keep accumulating changes until the next allowed update
+                if (!updateRequested) {
+                    getRpcProxy(JmixAmchartsSceneClientRpc.class).requestUpdate((int) updateDelay);
+                    updateRequested = true;
+                }
+                return;
+            }
+            lastUpdateTime = System.currentTimeMillis();
+
             String jsonString = chartSerializer.serializeChanges(chart, changedItems);
             log.trace("Chart update JSON:\n{}", jsonString);
 
+            if (changedItems.getRangeItems() != null) {
+                clientIndexes = sampledIndexes;
+            }
+
             List<DataItem> removedItems = changedItems.getRemovedItems();
             if (removedItems != null) {
                 for (DataItem removedItem : removedItems) {
@@ -513,6 +629,195 @@ public class JmixAmchartsScene extends AbstractComponent {
     protected void setupDefaults(AbstractChart chart) {
     }
 
+    /**
+     * @return milliseconds until the next incremental update is allowed by {@link #maxUpdateRate}
+     */
+    protected long getUpdateDelay() {
+        if (maxUpdateRate <= 0) {
+            return 0;
+        }
+        return lastUpdateTime + 1000 / maxUpdateRate - System.currentTimeMillis();
+    }
+
+    protected boolean isDataCacheUsed() {
+        return dataCache != null
+                && dataCacheKey != null
+                && chart.getDataProvider() != null;
+    }
+
+    protected String serializeWithCachedData() {
+        String signature = chartSerializer.getDataSignature(chart);
+        if (signature == null) {
+            return chartSerializer.serialize(chart);
+        }
+
+        List<DataItem> items = chart.getDataProvider().getItems();
+        ChartDataCache.Snapshot snapshot = dataCache.get(dataCacheKey, getLocale(), signature,
+                () -> new ChartDataCache.Snapshot(chartSerializer.serializeData(chart, items), getItemIds(items)));
+
+        if (!snapshot.getItemIds().equals(getItemIds(items))) {
+            // keys of the cached data would refer to other items, e.g. the data has been changed since caching
+            log.debug("Items of the chart differ from the cached data '{}', the data is serialized", dataCacheKey);
+            dataItemKeys = new KeyMapper<>();
+            return chartSerializer.serialize(chart);
+        }
+
+        // register keys of items as if they were serialized, in the same order they have been assigned
+        // to the items of the cached data
+        for (DataItem item : items) {
+            dataItemKeyMapper.apply(item);
+        }
+
+        return chartSerializer.serializeWithData(chart, snapshot.getData());
+    }
+
+    protected List<Object> getItemIds(List<DataItem> items) {
+        List<Object> ids = new ArrayList<>(items.size());
+        for (DataItem item : items) {
+            ids.add(item instanceof DataItem.HasId ? ((DataItem.HasId) item).getId() : null);
+        }
+        return ids;
+    }
+
+    protected void resetDownsampling() {
+        downsampler = null;
+        sampledSource = null;
+        sampledIndexes = null;
+        clientIndexes = null;
+    }
+
+    protected boolean isDownsamplingRequired() {
+        return maxDataPoints > 0
+                && chartSerializer.isPartialDataSupported()
+                && chart instanceof AbstractSerialChart
+                && StringUtils.isNotEmpty(((AbstractSerialChart<?>) chart).getCategoryField())
+                && chart.getDataProvider() != null
+                && chart.getDataProvider().getItems().size() > maxDataPoints;
+    }
+
+    protected List<DataItem> downsample() {
+        AbstractSerialChart<?> serialChart = (AbstractSerialChart<?>) chart;
+
+        List<String> valueFields = new ArrayList<>();
+        if (serialChart.getGraphs() != null) {
+            for (Graph graph : serialChart.getGraphs()) {
+                if (StringUtils.isNotEmpty(graph.getValueField()) && !valueFields.contains(graph.getValueField())) {
+                    valueFields.add(graph.getValueField());
+                }
+            }
+        }
+
+        downsampler = new LttbDownsampler(serialChart.getCategoryField(), valueFields);
+        sampledSource = chart.getDataProvider().getItems();
+        sampledFrom = 0;
+        sampledTo = sampledSource.size();
+        sampledIndexes = downsampler.downsample(sampledSource, sampledFrom, sampledTo, maxDataPoints);
+        clientIndexes = sampledIndexes;
+
+        return getSampledItems(sampledIndexes);
+    }
+
+    protected List<DataItem> getSampledItems(int[] indexes) {
+        List<DataItem> items = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            items.add(sampledSource.get(index));
+        }
+        return items;
+    }
+
+    /**
+     * @param clientIndex index of an item on the client
+     * @return index of the item in the data provider
+     */
+    protected int getSourceIndex(int clientIndex) {
+        if (clientIndexes == null || clientIndex < 0 || clientIndex >= clientIndexes.length) {
+            return clientIndex;
+        }
+        return clientIndexes[clientIndex];
+    }
+
+    /**
+     * Replaces items of the zoomed range on the client with items of the full resolution, downsampled to
+     * {@link #maxDataPoints} if required.
+     *
+     * @param startIndex index of the first zoomed item on the client
+     * @param endIndex   index of the last zoomed item on the client
+     */
+    protected void showZoomedRange(int startIndex, int endIndex) {
+        if (dirty || startIndex < 0 || endIndex >= clientIndexes.length || startIndex > endIndex) {
+            return;
+        }
+
+        // the client may not have received ranges replaced earlier, so its indexes are mapped via clientIndexes
+        int from = clientIndexes[startIndex];
+        int to = clientIndexes[endIndex] + 1;
+        if (from == sampledFrom && to == sampledTo) {
+            // the range is already displayed, e.g. the client has restored the zoom after the update
+            return;
+        }
+
+        int[] rangeIndexes = downsampler.downsample(sampledSource, from, to, maxDataPoints);
+
+        // source indexes are ascending, so the items of the range are found by binary search
+        int replacedStart = findInsertionIndex(sampledIndexes, from);
+        int replacedEnd = findInsertionIndex(sampledIndexes, to);
+
+        int[] indexes = new int[sampledIndexes.length - (replacedEnd - replacedStart) + rangeIndexes.length];
+        System.arraycopy(sampledIndexes, 0, indexes, 0, replacedStart);
+        System.arraycopy(rangeIndexes, 0, indexes, replacedStart, rangeIndexes.length);
+        System.arraycopy(sampledIndexes, replacedEnd, indexes, replacedStart + rangeIndexes.length,
+                sampledIndexes.length - replacedEnd);
+
+        if (Arrays.equals(indexes, sampledIndexes)) {
+            return;
+        }
+
+        sampledIndexes = indexes;
+        sampledFrom = from;
+        sampledTo = to;
+
+        registerReplacedRange();
+
+        markAsDirty();
+    }
+
+    /**
+     * Registers the difference between items the client has and items to display as a single replaced range,
+     * so several zooms handled before the update is sent are merged into one replacement.
+     */
+    protected void registerReplacedRange() {
+        if (changedItems == null) {
+            changedItems = new ChartIncrementalChanges();
+        }
+
+        int minLength = Math.min(clientIndexes.length, sampledIndexes.length);
+
+        int prefix = 0;
+        while (prefix < minLength && clientIndexes[prefix] == sampledIndexes[prefix]) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < minLength - prefix
+                && clientIndexes[clientIndexes.length - 1 - suffix] == sampledIndexes[sampledIndexes.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        if (prefix == clientIndexes.length && prefix == sampledIndexes.length) {
+            // the client already displays these items
+            changedItems.cancelReplacedRange();
+            return;
+        }
+
+        int[] rangeIndexes = Arrays.copyOfRange(sampledIndexes, prefix, sampledIndexes.length - suffix);
+        changedItems.registerReplacedRange(prefix, clientIndexes.length - 1 - suffix, getSampledItems(rangeIndexes));
+    }
+
+    protected int findInsertionIndex(int[] indexes, int value) {
+        int position = Arrays.binarySearch(indexes, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
     protected void setupPaths(AbstractChart chart) {
         if (chart.getPath() != null && !chart.getPath().isEmpty()) {
             return;
@@ -618,7 +923,17 @@ public class JmixAmchartsScene extends AbstractComponent {
 
         @Override
         public void onZoom(int startIndex, int endIndex, Date startDate, Date endDate, String startValue, String endValue) {
-            fireEvent(new ZoomEvent(JmixAmchartsScene.this, startIndex, endIndex, startDate, endDate, startValue, endValue));
+            int sourceStartIndex = startIndex;
+            int sourceEndIndex = endIndex;
+            if (isDownsampled()) {
+                // listeners get indexes of the data provider items rather than of the downsampled client items
+                sourceStartIndex = getSourceIndex(startIndex);
+                sourceEndIndex = getSourceIndex(endIndex);
+
+                showZoomedRange(startIndex, endIndex);
+            }
+            fireEvent(new ZoomEvent(JmixAmchartsScene.this, sourceStartIndex, sourceEndIndex, startDate, endDate,
+                    startValue, endValue));
         }
 
         @Override
@@ -743,6 +1058,14 @@ public class JmixAmchartsScene extends AbstractComponent {
             DataItem dataItem = getDataItemByKey(itemKey);
             fireEvent(new RollOverGraphItemEvent(JmixAmchartsScene.this, graphId, itemIndex, dataItem));
         }
+
+        @Override
+        public void onUpdateRequest() {
+            updateRequested = false;
+            if (changedItems != null && !changedItems.isEmpty()) {
+                markAsDirty();
+            }
+        }
     }
 
     protected static class ProxyChangeForwarder implements DataChangeListener {
@@ -759,6 +1082,14 @@ public class JmixAmchartsScene extends AbstractComponent {
                 return;
             }
 
+            if (chart.isDownsampled()) {
+                // client items are a sample of the data provider, it must be downsampled again
+                chart.getChart().getDataProvider().removeChangeListener(this);
+                chart.forgetChangedItems();
+                chart.drawChart();
+                return;
+            }
+
             IncrementalUpdateType updateType = null;
             switch (e.getOperation()) {
                 case ADD:
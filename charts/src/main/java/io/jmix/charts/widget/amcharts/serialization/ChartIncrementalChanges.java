@@ -19,63 +19,222 @@ package io.jmix.charts.widget.amcharts.serialization;
 
 import io.jmix.ui.data.DataItem;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Buffer of changes of data items that are sent to the client as an incremental update.
+ * <p>
+ * Changes are keyed by the item id (or by the item itself if it has no id) and folded, so only the resulting
+ * state of each item is sent: an item that is added and then updated is sent as added, an item that is added and
+ * then removed is not sent at all, several updates of an item are sent as the last one.
+ */
 public class ChartIncrementalChanges {
-    protected List<DataItem> addedItems;
-    protected List<DataItem> removedItems;
-    protected List<DataItem> updatedItems;
 
+    protected Map<Object, ItemChange> changes = new LinkedHashMap<>();
+
+    protected int rangeStart;
+    protected int rangeEnd;
+    protected List<DataItem> rangeItems;
+
+    /**
+     * @return items to add on the client in the order of addition or null if there are no such items
+     */
+    @Nullable
     public List<DataItem> getAddedItems() {
-        return addedItems;
+        List<DataItem> items = null;
+        for (ItemChange change : changes.values()) {
+            if (change.added) {
+                items = addItem(items, change.item);
+            }
+        }
+        return items;
     }
 
     public void setAddedItems(List<DataItem> addedItems) {
-        this.addedItems = addedItems;
+        changes.values().removeIf(change -> change.added);
+        registerAddedItem(addedItems);
     }
 
+    /**
+     * @return items to remove on the client or null if there are no such items
+     */
+    @Nullable
     public List<DataItem> getRemovedItems() {
-        return removedItems;
+        List<DataItem> items = null;
+        for (ItemChange change : changes.values()) {
+            if (change.removedItem != null) {
+                items = addItem(items, change.removedItem);
+            }
+        }
+        return items;
     }
 
     public void setRemovedItems(List<DataItem> removedItems) {
-        this.removedItems = removedItems;
+        changes.values().removeIf(change -> change.item == null);
+        registerRemovedItems(removedItems);
     }
 
+    /**
+     * @return items to update on the client or null if there are no such items
+     */
+    @Nullable
     public List<DataItem> getUpdatedItems() {
-        return updatedItems;
+        List<DataItem> items = null;
+        for (ItemChange change : changes.values()) {
+            if (!change.added && change.item != null) {
+                items = addItem(items, change.item);
+            }
+        }
+        return items;
     }
 
     public void setUpdatedItems(List<DataItem> updatedItems) {
-        this.updatedItems = updatedItems;
+        changes.values().removeIf(change -> !change.added && change.item != null);
+        registerUpdatedItems(updatedItems);
     }
 
     public void registerAddedItem(List<DataItem> items) {
-        if (addedItems == null) {
-            addedItems = new ArrayList<>();
+        for (DataItem item : items) {
+            Object key = getItemKey(item);
+            ItemChange change = changes.get(key);
+            if (change == null) {
+                change = new ItemChange();
+            } else if (change.added) {
+                change.item = item;
+                continue;
+            } else {
+                if (change.item != null) {
+                    // the client still has the previous state of the item
+                    change.removedItem = change.item;
+                }
+                // keep the order of addition
+                changes.remove(key);
+            }
+
+            change.item = item;
+            change.added = true;
+            changes.put(key, change);
         }
-
-        addedItems.addAll(items);
     }
 
     public void registerRemovedItems(List<DataItem> items) {
-        if (removedItems == null) {
-            removedItems = new ArrayList<>();
+        for (DataItem item : items) {
+            Object key = getItemKey(item);
+            ItemChange change = changes.get(key);
+            if (change == null) {
+                change = new ItemChange();
+                change.removedItem = item;
+                changes.put(key, change);
+            } else if (change.added) {
+                if (change.removedItem == null) {
+                    // the client has never received the item
+                    changes.remove(key);
+                } else {
+                    change.item = null;
+                    change.added = false;
+                }
+            } else if (change.item != null) {
+                change.item = null;
+                change.removedItem = item;
+            }
         }
-
-        removedItems.addAll(items);
     }
 
     public void registerUpdatedItems(List<DataItem> items) {
-        if (updatedItems == null) {
-            updatedItems = new ArrayList<>();
+        for (DataItem item : items) {
+            Object key = getItemKey(item);
+            ItemChange change = changes.get(key);
+            if (change == null) {
+                change = new ItemChange();
+                change.item = item;
+                changes.put(key, change);
+            } else if (change.item != null) {
+                change.item = item;
+            }
         }
+    }
+
+    /**
+     * @return start index of the replaced range of the client data
+     */
+    public int getRangeStart() {
+        return rangeStart;
+    }
+
+    /**
+     * @return end index of the replaced range of the client data, inclusive
+     */
+    public int getRangeEnd() {
+        return rangeEnd;
+    }
+
+    /**
+     * @return items that replace the range of the client data or null if the range is not replaced
+     */
+    public List<DataItem> getRangeItems() {
+        return rangeItems;
+    }
 
-        updatedItems.addAll(items);
+    /**
+     * Registers replacement of the range of items displayed on the client, e.g. with items of higher resolution.
+     * Indexes refer to the items the client has. The client applies only one range per update, so a range
+     * registered before the changes are sent replaces the previous one and must include it.
+     *
+     * @param start index of the first replaced item
+     * @param end   index of the last replaced item, inclusive
+     * @param items new items of the range
+     */
+    public void registerReplacedRange(int start, int end, List<DataItem> items) {
+        this.rangeStart = start;
+        this.rangeEnd = end;
+        this.rangeItems = items;
+    }
+
+    /**
+     * Cancels the registered range replacement, e.g. if the client already displays the items of the range.
+     */
+    public void cancelReplacedRange() {
+        this.rangeStart = 0;
+        this.rangeEnd = 0;
+        this.rangeItems = null;
     }
 
     public boolean isEmpty() {
-        return updatedItems == null && addedItems == null && removedItems == null;
+        return changes.isEmpty() && rangeItems == null;
+    }
+
+    protected Object getItemKey(DataItem item) {
+        if (item instanceof DataItem.HasId) {
+            Object id = ((DataItem.HasId) item).getId();
+            if (id != null) {
+                return id;
+            }
+        }
+        return item;
+    }
+
+    protected List<DataItem> addItem(@Nullable List<DataItem> items, DataItem item) {
+        if (items == null) {
+            items = new ArrayList<>();
+        }
+        items.add(item);
+        return items;
+    }
+
+    /**
+     * Resulting change of an item.
+     */
+    protected static class ItemChange {
+
+        // item to remove on the client
+        protected DataItem removedItem;
+        // current state of the item, null if the item is removed
+        protected DataItem item;
+        // true if the item is sent as a new one, otherwise it is updated
+        protected boolean added;
     }
-}
\ No newline at end of file
+}
@@ -60,6 +60,10 @@ public class ChartJsonSerializationContext implements JsonSerializationContext {
         return gson.toJsonTree(src, typeOfSrc);
     }
 
+    public Gson getGson() {
+        return gson;
+    }
+
     public ChartModelImpl getChartModel() {
         return chartModel;
     }
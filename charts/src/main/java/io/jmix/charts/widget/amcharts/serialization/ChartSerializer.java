@@ -18,11 +18,71 @@ package io.jmix.charts.widget.amcharts.serialization;
 
 
 import io.jmix.charts.model.chart.impl.AbstractChart;
+import io.jmix.ui.data.DataItem;
+
+import javax.annotation.Nullable;
+import java.util.List;
 
 public interface ChartSerializer extends HasDataItemKeyMapper {
 
     String serialize(AbstractChart chart);
 
+    /**
+     * @return true if the serializer supports {@link #serialize(AbstractChart, List)} and replaced ranges of
+     * {@link ChartIncrementalChanges}, so chart data can be downsampled
+     */
+    default boolean isPartialDataSupported() {
+        return false;
+    }
+
+    /**
+     * Serializes the chart with the given items instead of all items of its data provider. The default
+     * implementation serializes all items, see {@link #isPartialDataSupported()}.
+     *
+     * @param chart chart
+     * @param items items to serialize, e.g. downsampled items of the data provider
+     * @return chart JSON
+     */
+    default String serialize(AbstractChart chart, List<DataItem> items) {
+        return serialize(chart);
+    }
+
+    /**
+     * Serializes items to a JSON value which can be reused by {@link #serializeWithData(AbstractChart, String)}
+     * for charts with the same {@link #getDataSignature(AbstractChart) data signature}. Is not invoked if
+     * the serializer returns null signature.
+     *
+     * @param chart chart
+     * @param items items to serialize
+     * @return JSON value of items
+     */
+    default String serializeData(AbstractChart chart, List<DataItem> items) {
+        throw new UnsupportedOperationException("Serialized chart data cannot be reused by " + getClass().getName());
+    }
+
+    /**
+     * @param chart chart
+     * @return string that identifies the properties and the format of items serialized for the chart or null
+     * if the serializer cannot reuse serialized data, in this case the chart is serialized by
+     * {@link #serialize(AbstractChart)}
+     */
+    @Nullable
+    default String getDataSignature(AbstractChart chart) {
+        return null;
+    }
+
+    /**
+     * Serializes the chart with items serialized before by {@link #serializeData(AbstractChart, List)}. The default
+     * implementation ignores the data and serializes the chart with its items.
+     *
+     * @param chart chart
+     * @param data  JSON value of items
+     * @return chart JSON
+     */
+    default String serializeWithData(AbstractChart chart, String data) {
+        return serialize(chart);
+    }
+
     String serializeChanges(AbstractChart chart, ChartIncrementalChanges changes);
 
     String toJson(Object value);
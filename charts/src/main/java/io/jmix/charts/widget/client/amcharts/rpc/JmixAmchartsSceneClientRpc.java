@@ -26,6 +26,8 @@ public interface JmixAmchartsSceneClientRpc extends ClientRpc {
 
     void updatePoints(String json);
 
+    void requestUpdate(int delay);
+
     void zoomOut();
 
     void zoomToIndexes(int start, int end);
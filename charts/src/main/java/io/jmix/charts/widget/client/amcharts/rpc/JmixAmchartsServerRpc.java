@@ -66,4 +66,6 @@ public interface JmixAmchartsServerRpc extends ServerRpc {
     void onRollOverGraph(String graphId);
 
     void onRollOverGraphItem(String graphId, int itemIndex, String itemKey);
+
+    void onUpdateRequest();
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package serialization
+
+import com.google.gson.JsonParser
+import io.jmix.charts.model.chart.impl.AbstractChart
+import io.jmix.charts.model.chart.impl.SerialChartModelImpl
+import io.jmix.charts.serialization.ChartDataCache
+import io.jmix.ui.data.impl.ListDataProvider
+import io.jmix.ui.data.impl.MapDataItem
+import spock.lang.Specification
+
+class ChartDataCacheTest extends Specification {
+
+    def "chart serialized with reused data is the same as serialized with its items"() {
+        given:
+        AbstractChart chart = new SerialChartModelImpl()
+                .setCategoryField("category")
+                .setAdditionalFields(["value"])
+                .setColumnarData(columnar)
+                .setDataProvider(new ListDataProvider([
+                        new MapDataItem(category: "a", value: 1),
+                        new MapDataItem(category: "b", value: 2)]))
+        def serializer = new TestChartSerializer()
+
+        when:
+        def data = serializer.serializeData(chart, chart.dataProvider.items)
+
+        then:
+        JsonParser.parseString(serializer.serializeWithData(chart, data)) ==
+                JsonParser.parseString(serializer.serialize(chart))
+
+        where:
+        columnar << [false, true]
+    }
+
+    def "serialized data is shared by locale and signature"() {
+        given:
+        def cache = new ChartDataCache(1000, 60)
+        int serializations = 0
+        def serializer = { ->
+            serializations++
+            return new ChartDataCache.Snapshot('[{"value":1}]', [1])
+        }
+
+        when:
+        cache.get("sales", Locale.ENGLISH, "rows:value", serializer)
+        def snapshot = cache.get("sales", Locale.ENGLISH, "rows:value", serializer)
+
+        then:
+        snapshot.data == '[{"value":1}]'
+        snapshot.itemIds == [1]
+        serializations == 1
+        cache.estimatedMemory == snapshot.data.length() * 2
+
+        when:
+        cache.get("sales", Locale.GERMAN, "rows:value", serializer)
+        cache.get("sales", Locale.ENGLISH, "columns:value", serializer)
+
+        then:
+        serializations == 3
+
+        when:
+        cache.invalidate("sales")
+        cache.get("sales", Locale.ENGLISH, "rows:value", serializer)
+
+        then:
+        serializations == 4
+    }
+}
@@ -26,6 +26,7 @@ import spock.lang.Specification
 
 import java.time.LocalDate
 import java.time.LocalDateTime
+import java.time.ZoneOffset
 
 class ChartDataItemSerializerTest extends Specification {
 
@@ -52,4 +53,69 @@ class ChartDataItemSerializerTest extends Specification {
         localDate.isJsonPrimitive()
         localDateTime.isJsonPrimitive()
     }
+
+    def "Chart DataItems are serialized in columnar format"() {
+        given: "Chart with columnar data"
+        AbstractChart chart = new SerialChartModelImpl()
+                .setCategoryField("date")
+                .setAdditionalFields(["value"])
+                .setColumnarData(true)
+                .setDataProvider(new ListDataProvider([
+                        new MapDataItem(date: LocalDate.of(2021, 1, 1), value: 10),
+                        new MapDataItem(date: LocalDate.of(2021, 1, 2), value: 2.5d),
+                        new MapDataItem(date: LocalDate.of(2021, 1, 3))]))
+
+        def serializer = new TestChartSerializer()
+
+        when: "Chart is serialized and parsed to json"
+        def chartElement = JsonParser.parseString(serializer.serialize(chart)).getAsJsonObject()
+        def columns = chartElement.getAsJsonObject("dataColumns")
+        def fields = columns.getAsJsonObject("fields")
+
+        then: "items are sent as arrays of values"
+        !chartElement.has("dataProvider")
+        chartElement.get("type").asString == "serial"
+        columns.get("size").asInt == 3
+        columns.getAsJsonArray("keys").size() == 3
+
+        fields.getAsJsonArray("date").collect { it.asLong } == [
+                LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 2), LocalDate.of(2021, 1, 3)
+        ].collect { it.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli() }
+        columns.getAsJsonArray("dates").collect { it.asString } == ["date"]
+
+        def values = fields.getAsJsonArray("value")
+        values.get(0).asLong == 10
+        values.get(1).asDouble == 2.5d
+        values.get(2).isJsonNull()
+    }
+
+    def "Column with dates and other values is not a dates column"() {
+        given: "Chart with columnar data and a property of mixed types"
+        AbstractChart chart = new SerialChartModelImpl()
+                .setCategoryField("category")
+                .setAdditionalFields(["mixed", "date"])
+                .setColumnarData(true)
+                .setDataProvider(new ListDataProvider([
+                        new MapDataItem(category: "a", mixed: LocalDate.of(2021, 1, 1), date: LocalDate.of(2021, 1, 1)),
+                        new MapDataItem(category: "b", mixed: 5),
+                        new MapDataItem(category: "c", mixed: "text", date: LocalDate.of(2021, 1, 3))]))
+
+        def serializer = new TestChartSerializer()
+
+        when: "Chart is serialized and parsed to json"
+        def chartElement = JsonParser.parseString(serializer.serialize(chart)).getAsJsonObject()
+        def columns = chartElement.getAsJsonObject("dataColumns")
+        def fields = columns.getAsJsonObject("fields")
+
+        then: "only the property with dates and nulls is a dates column"
+        columns.getAsJsonArray("dates").collect { it.asString } == ["date"]
+        fields.getAsJsonArray("date").get(1).isJsonNull()
+
+        and: "dates of the mixed property are written as formatted strings"
+        def mixed = fields.getAsJsonArray("mixed")
+        mixed.get(0).asJsonPrimitive.isString()
+        mixed.get(0).asString.startsWith("2021-01-01")
+        mixed.get(1).asInt == 5
+        mixed.get(2).asString == "text"
+    }
 }
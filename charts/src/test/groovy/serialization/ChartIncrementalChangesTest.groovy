@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package serialization
+
+import io.jmix.charts.widget.amcharts.serialization.ChartIncrementalChanges
+import io.jmix.ui.data.impl.MapDataItem
+import spock.lang.Specification
+
+class ChartIncrementalChangesTest extends Specification {
+
+    def "changes of the same item are folded"() {
+        def changes = new ChartIncrementalChanges()
+        def added = item(1)
+        def addedAndUpdated = item(2)
+        def addedAndRemoved = item(3)
+        def updated = item(4)
+        def updatedAndRemoved = item(5)
+        def removedAndAdded = item(6)
+
+        when:
+        changes.registerAddedItem([added, addedAndUpdated, addedAndRemoved])
+        changes.registerUpdatedItems([addedAndUpdated, updated, updatedAndRemoved, updated])
+        changes.registerRemovedItems([addedAndRemoved, updatedAndRemoved, removedAndAdded])
+        changes.registerAddedItem([removedAndAdded])
+
+        then: "only the resulting state of each item is sent"
+        changes.addedItems == [added, addedAndUpdated, removedAndAdded]
+        changes.updatedItems == [updated]
+        changes.removedItems == [updatedAndRemoved, removedAndAdded]
+    }
+
+    def "item added and removed before the update is not sent"() {
+        def changes = new ChartIncrementalChanges()
+        def newItem = item(1)
+
+        when:
+        changes.registerAddedItem([newItem])
+        changes.registerUpdatedItems([newItem])
+        changes.registerRemovedItems([newItem])
+
+        then:
+        changes.empty
+    }
+
+    private static MapDataItem item(int id) {
+        return new MapDataItem(id: id, value: id * 10)
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package serialization
+
+import io.jmix.charts.serialization.LttbDownsampler
+import io.jmix.ui.data.impl.MapDataItem
+import spock.lang.Specification
+
+class LttbDownsamplerTest extends Specification {
+
+    def "series is reduced to the threshold keeping the first, the last and the peak items"() {
+        given: "a flat series with a single peak"
+        def items = (0..<1000).collect { new MapDataItem(x: it, value: it == 437 ? 100 : 1) }
+        def downsampler = new LttbDownsampler('x', ['value'])
+
+        when:
+        int[] indexes = downsampler.downsample(items, 0, items.size(), 50)
+
+        then:
+        indexes.length == 50
+        indexes[0] == 0
+        indexes[indexes.length - 1] == 999
+        indexes.contains(437)
+        indexes == (indexes as List).sort() as int[]
+    }
+
+    def "range smaller than the threshold is returned at full resolution"() {
+        given:
+        def items = (0..<1000).collect { new MapDataItem(x: it, value: Math.sin(it / 10)) }
+        def downsampler = new LttbDownsampler('x', ['value'])
+
+        when:
+        int[] indexes = downsampler.downsample(items, 200, 230, 50)
+
+        then:
+        indexes as List == (200..<230) as List
+    }
+
+    def "items selected for several graphs are merged"() {
+        given: "two series with peaks at different positions"
+        def items = (0..<1000).collect {
+            new MapDataItem(x: it, first: it == 100 ? 100 : 0, second: it == 900 ? 100 : 0)
+        }
+        def downsampler = new LttbDownsampler('x', ['first', 'second'])
+
+        when:
+        int[] indexes = downsampler.downsample(items, 0, items.size(), 20)
+
+        then:
+        indexes.contains(100)
+        indexes.contains(900)
+        indexes.length <= 40
+    }
+
+    def "gaps in the series do not affect selection of peaks"() {
+        given: "a series with a leading gap, a peak after it and a peak before another gap"
+        def items = (0..<1000).collect {
+            def value = it < 100 || (it >= 437 && it < 470) ? null : (it == 103 || it == 418 ? 1010 : 1000)
+            new MapDataItem(x: it, value: value)
+        }
+        def downsampler = new LttbDownsampler('x', ['value'])
+
+        when:
+        int[] indexes = downsampler.downsample(items, 0, items.size(), 50)
+
+        then:
+        indexes.length == 50
+        indexes.contains(103)
+        indexes.contains(418)
+    }
+
+    def "series without values is downsampled"() {
+        given:
+        def items = (0..<1000).collect { new MapDataItem(x: it, value: null) }
+        def downsampler = new LttbDownsampler('x', ['value'])
+
+        when:
+        int[] indexes = downsampler.downsample(items, 0, items.size(), 50)
+
+        then:
+        indexes.length == 50
+        indexes[0] == 0
+        indexes[indexes.length - 1] == 999
+    }
+}
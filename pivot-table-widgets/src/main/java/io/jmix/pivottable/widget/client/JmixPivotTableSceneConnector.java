@@ -157,6 +157,33 @@ public class JmixPivotTableSceneConnector extends AbstractComponentConnector {
         allAggregators[pivotLocalization.aggregation.countAsFractionOfColumns] =
             aggregatorTemplates.fractionOf(aggregatorTemplates.count(), "col", formatPercent);
 
+        // Aggregators for cells aggregated on the server, they merge partial states of the cells
+        var mergingTemplates = this.@io.jmix.pivottable.widget.client.JmixPivotTableSceneConnector::createMergingTemplates()();
+        var mergingAggregators = {};
+        mergingAggregators[pivotLocalization.aggregation.count] = mergingTemplates.count(formatInt);
+        mergingAggregators[pivotLocalization.aggregation.countUniqueValues] = mergingTemplates.countUnique(formatInt);
+        mergingAggregators[pivotLocalization.aggregation.listUniqueValues] = mergingTemplates.unsupported();
+        mergingAggregators[pivotLocalization.aggregation.sum] = mergingTemplates.sum(formatFloat);
+        mergingAggregators[pivotLocalization.aggregation.integerSum] = mergingTemplates.sum(formatInt);
+        mergingAggregators[pivotLocalization.aggregation.average] = mergingTemplates.average(formatFloat);
+        mergingAggregators[pivotLocalization.aggregation.minimum] = mergingTemplates.min(formatFloat);
+        mergingAggregators[pivotLocalization.aggregation.maximum] = mergingTemplates.max(formatFloat);
+        mergingAggregators[pivotLocalization.aggregation.sumOverSum] = mergingTemplates.sumOverSum(formatFloat);
+        mergingAggregators[pivotLocalization.aggregation.upperBound80] = mergingTemplates.unsupported();
+        mergingAggregators[pivotLocalization.aggregation.lowerBound80] = mergingTemplates.unsupported();
+        mergingAggregators[pivotLocalization.aggregation.sumAsFractionOfTotal] =
+            aggregatorTemplates.fractionOf(mergingTemplates.sum(), "total", formatPercent);
+        mergingAggregators[pivotLocalization.aggregation.sumAsFractionOfRows] =
+            aggregatorTemplates.fractionOf(mergingTemplates.sum(), "row", formatPercent);
+        mergingAggregators[pivotLocalization.aggregation.sumAsFractionOfColumns] =
+            aggregatorTemplates.fractionOf(mergingTemplates.sum(), "col", formatPercent);
+        mergingAggregators[pivotLocalization.aggregation.countAsFractionOfTotal] =
+            aggregatorTemplates.fractionOf(mergingTemplates.count(), "total", formatPercent);
+        mergingAggregators[pivotLocalization.aggregation.countAsFractionOfRows] =
+            aggregatorTemplates.fractionOf(mergingTemplates.count(), "row", formatPercent);
+        mergingAggregators[pivotLocalization.aggregation.countAsFractionOfColumns] =
+            aggregatorTemplates.fractionOf(mergingTemplates.count(), "col", formatPercent);
+
         var allRenderers = {};
         allRenderers[pivotLocalization.renderer.table] = $wnd.$.pivotUtilities.renderers["Table"];
         allRenderers[pivotLocalization.renderer.tableBarchart] = $wnd.$.pivotUtilities.renderers["Table Barchart"];
@@ -192,12 +219,183 @@ public class JmixPivotTableSceneConnector extends AbstractComponentConnector {
                 by: pivotLocalization.by
             },
             aggregators: allAggregators,
+            mergingAggregators: mergingAggregators,
             renderers: allRenderers,
             aggregatorsLocaleMapping: pivotLocalization.aggregation,
             renderersLocaleMapping: pivotLocalization.renderer
         };
     }-*/;
 
+    /*
+     * Templates of aggregators which use partial states of cells aggregated on the server
+     * (see PivotTableDataItemsSerializer.CELL_STATE_FIELDS) instead of raw values.
+     */
+    private native JavaScriptObject createMergingTemplates() /*-{
+        var numInputs = function (attrs, count) {
+            return attrs ? 0 : count;
+        };
+
+        return {
+            count: function (formatter) {
+                return function () {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            count: 0,
+                            push: function (record) {
+                                this.count += record["$c"] || 0;
+                            },
+                            value: function () {
+                                return this.count;
+                            },
+                            format: formatter
+                        };
+                    };
+                };
+            },
+            countUnique: function (formatter) {
+                return function (attrs) {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            uniq: {},
+                            count: 0,
+                            push: function (record) {
+                                var values = record["$u"] || [];
+                                for (var i = 0; i < values.length; i++) {
+                                    if (!this.uniq.hasOwnProperty(values[i])) {
+                                        this.uniq[values[i]] = true;
+                                        this.count++;
+                                    }
+                                }
+                            },
+                            value: function () {
+                                return this.count;
+                            },
+                            format: formatter,
+                            numInputs: numInputs(attrs, 1)
+                        };
+                    };
+                };
+            },
+            sum: function (formatter) {
+                return function (attrs) {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            sum: 0,
+                            push: function (record) {
+                                this.sum += record["$s"] || 0;
+                            },
+                            value: function () {
+                                return this.sum;
+                            },
+                            format: formatter,
+                            numInputs: numInputs(attrs, 1)
+                        };
+                    };
+                };
+            },
+            average: function (formatter) {
+                return function (attrs) {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            sum: 0,
+                            len: 0,
+                            push: function (record) {
+                                this.sum += record["$s"] || 0;
+                                this.len += record["$n"] || 0;
+                            },
+                            value: function () {
+                                return this.sum / this.len;
+                            },
+                            format: formatter,
+                            numInputs: numInputs(attrs, 1)
+                        };
+                    };
+                };
+            },
+            min: function (formatter) {
+                return function (attrs) {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            val: null,
+                            push: function (record) {
+                                var x = record["$min"];
+                                if (x != null && (this.val === null || x < this.val)) {
+                                    this.val = x;
+                                }
+                            },
+                            value: function () {
+                                return this.val;
+                            },
+                            format: function (x) {
+                                return x === null ? "" : formatter(x);
+                            },
+                            numInputs: numInputs(attrs, 1)
+                        };
+                    };
+                };
+            },
+            max: function (formatter) {
+                return function (attrs) {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            val: null,
+                            push: function (record) {
+                                var x = record["$max"];
+                                if (x != null && (this.val === null || x > this.val)) {
+                                    this.val = x;
+                                }
+                            },
+                            value: function () {
+                                return this.val;
+                            },
+                            format: function (x) {
+                                return x === null ? "" : formatter(x);
+                            },
+                            numInputs: numInputs(attrs, 1)
+                        };
+                    };
+                };
+            },
+            sumOverSum: function (formatter) {
+                return function (attrs) {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            sumNum: 0,
+                            sumDenom: 0,
+                            push: function (record) {
+                                this.sumNum += record["$s"] || 0;
+                                this.sumDenom += record["$d"] || 0;
+                            },
+                            value: function () {
+                                return this.sumNum / this.sumDenom;
+                            },
+                            format: formatter,
+                            numInputs: numInputs(attrs, 2)
+                        };
+                    };
+                };
+            },
+            // Aggregations which need raw values, the server sends raw data for them after the refresh
+            unsupported: function () {
+                return function () {
+                    return function (data, rowKey, colKey) {
+                        return {
+                            push: function (record) {
+                            },
+                            value: function () {
+                                return null;
+                            },
+                            format: function (x) {
+                                return "";
+                            },
+                            numInputs: 0
+                        };
+                    };
+                };
+            }
+        };
+    }-*/;
+
     protected PivotTableEvents createEvents() {
         PivotTableEvents pivotTableEvents = new PivotTableEvents();
         Set<String> events = getState().registeredEventListeners;
@@ -107,10 +107,20 @@ public class PivotTableConfig extends JavaScriptObject {
     }-*/;
 
     private static native void parseAggregators(JavaScriptObject config) /*-{
-        var allAggregators = $wnd.$.pivotUtilities.locales[config.localeCode].aggregators;
-        var localeMapping = $wnd.$.pivotUtilities.locales[config.localeCode].aggregatorsLocaleMapping;
+        var locale = $wnd.$.pivotUtilities.locales[config.localeCode];
+        // cells aggregated on the server contain partial states instead of raw values
+        var allAggregators = config.aggregatedData ? locale.mergingAggregators : locale.aggregators;
+        var localeMapping = locale.aggregatorsLocaleMapping;
 
         if (config.editable) {
+            if (!config.aggregations && config.aggregatedData) {
+                // pivotUI() uses the standard aggregators of the locale by default
+                config.aggregators = allAggregators;
+                if (!config.aggregatorName) {
+                    config.aggregatorName = localeMapping["count"];
+                }
+            }
+
             if (config.aggregations) {
                 if (config.aggregations.selectedAggregation) {
                     config.aggregatorName = localeMapping[config.aggregations.selectedAggregation];
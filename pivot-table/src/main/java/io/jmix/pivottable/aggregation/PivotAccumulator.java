@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pivottable.aggregation;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Partial aggregation state of one cell of a {@link PivotCube}. Keeps the number of rows and the running values
+ * of the aggregation properties on primitives, so cells can be merged into totals and subtotals without access
+ * to the rows.
+ * <p>
+ * Only numeric values take part in sums, minimum and maximum, as pivottable.js skips non-numeric values as well.
+ * Sums are compensated (Neumaier), so merging many cells keeps them accurate.
+ */
+public class PivotAccumulator {
+
+    protected long count;
+
+    protected long numericCount;
+    protected double sum;
+    protected double sumCompensation;
+    protected double min = Double.POSITIVE_INFINITY;
+    protected double max = Double.NEGATIVE_INFINITY;
+
+    protected double denominatorSum;
+    protected double denominatorCompensation;
+
+    protected Set<String> uniqueValues;
+
+    /**
+     * @param collectUniqueValues whether unique values of the aggregation property should be collected
+     */
+    public PivotAccumulator(boolean collectUniqueValues) {
+        if (collectUniqueValues) {
+            uniqueValues = new LinkedHashSet<>();
+        }
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param value       formatted value of the first aggregation property or {@code null} if there is no property
+     * @param denominator formatted value of the second aggregation property or {@code null} if there is no property
+     */
+    public void add(@Nullable Object value, @Nullable Object denominator) {
+        count++;
+
+        if (value instanceof Number) {
+            double v = ((Number) value).doubleValue();
+            numericCount++;
+            addToSum(v);
+            if (v < min) {
+                min = v;
+            }
+            if (v > max) {
+                max = v;
+            }
+        }
+
+        if (denominator instanceof Number) {
+            addToDenominatorSum(((Number) denominator).doubleValue());
+        }
+
+        if (uniqueValues != null && value != null) {
+            uniqueValues.add(PivotCube.toFilterString(value));
+        }
+    }
+
+    /**
+     * Merges the state of another cell into this one.
+     *
+     * @param other accumulator to merge
+     */
+    public void merge(PivotAccumulator other) {
+        count += other.count;
+
+        numericCount += other.numericCount;
+        addToSum(other.sum);
+        addToSum(other.sumCompensation);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        addToDenominatorSum(other.denominatorSum);
+        addToDenominatorSum(other.denominatorCompensation);
+
+        if (uniqueValues != null && other.uniqueValues != null) {
+            uniqueValues.addAll(other.uniqueValues);
+        }
+    }
+
+    /**
+     * @return number of rows
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of numeric values of the first aggregation property
+     */
+    public long getNumericCount() {
+        return numericCount;
+    }
+
+    /**
+     * @return sum of numeric values of the first aggregation property
+     */
+    public double getSum() {
+        return sum + sumCompensation;
+    }
+
+    /**
+     * @return minimum of numeric values of the first aggregation property or {@code null} if there are no values
+     */
+    @Nullable
+    public Double getMin() {
+        return numericCount > 0 ? min : null;
+    }
+
+    /**
+     * @return maximum of numeric values of the first aggregation property or {@code null} if there are no values
+     */
+    @Nullable
+    public Double getMax() {
+        return numericCount > 0 ? max : null;
+    }
+
+    /**
+     * @return sum of numeric values of the second aggregation property
+     */
+    public double getDenominatorSum() {
+        return denominatorSum + denominatorCompensation;
+    }
+
+    /**
+     * @return unique values of the first aggregation property or an empty set if they are not collected
+     */
+    public Set<String> getUniqueValues() {
+        return uniqueValues != null ? Collections.unmodifiableSet(uniqueValues) : Collections.emptySet();
+    }
+
+    protected void addToSum(double value) {
+        double t = sum + value;
+        sumCompensation += compensation(sum, value, t);
+        sum = t;
+    }
+
+    protected void addToDenominatorSum(double value) {
+        double t = denominatorSum + value;
+        denominatorCompensation += compensation(denominatorSum, value, t);
+        denominatorSum = t;
+    }
+
+    protected static double compensation(double sum, double value, double t) {
+        return Math.abs(sum) >= Math.abs(value)
+                ? (sum - t) + value
+                : (value - t) + sum;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pivottable.aggregation;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Result of a hash-based grouping of PivotTable rows by a list of dimension properties. Each cell is keyed by
+ * the formatted values of the dimensions and holds a {@link PivotAccumulator} of its rows.
+ * <p>
+ * A cube can be rolled up to a subset of its dimensions by merging cells, so moving a dimension out of rows or
+ * columns does not require another pass over the rows.
+ */
+public class PivotCube {
+
+    protected final PivotCubeDefinition definition;
+    protected final Map<List<Object>, PivotAccumulator> cells;
+    protected final Map<String, Set<Object>> propertyValues;
+
+    /**
+     * @param definition     cube definition
+     * @param cells          cells keyed by the formatted values of the dimensions
+     * @param propertyValues distinct formatted values of all properties, used to fill PivotTable filters
+     */
+    public PivotCube(PivotCubeDefinition definition, Map<List<Object>, PivotAccumulator> cells,
+                     Map<String, Set<Object>> propertyValues) {
+        this.definition = definition;
+        this.cells = cells;
+        this.propertyValues = propertyValues;
+    }
+
+    public PivotCubeDefinition getDefinition() {
+        return definition;
+    }
+
+    public Map<List<Object>, PivotAccumulator> getCells() {
+        return Collections.unmodifiableMap(cells);
+    }
+
+    /**
+     * @param property property name
+     * @return distinct formatted values of the property, may be truncated
+     */
+    public Set<Object> getPropertyValues(String property) {
+        Set<Object> values = propertyValues.get(property);
+        return values != null ? Collections.unmodifiableSet(values) : Collections.emptySet();
+    }
+
+    /**
+     * Merges cells which differ only by the dimensions absent in the given definition.
+     *
+     * @param target definition of the result, must satisfy {@link PivotCubeDefinition#canRollUpTo}
+     * @return a new cube
+     */
+    public PivotCube rollUp(PivotCubeDefinition target) {
+        if (!definition.canRollUpTo(target)) {
+            throw new IllegalArgumentException("Cube cannot be rolled up to the given definition");
+        }
+
+        List<String> dimensions = definition.getDimensions();
+        List<String> targetDimensions = target.getDimensions();
+        int[] indexes = new int[targetDimensions.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = dimensions.indexOf(targetDimensions.get(i));
+        }
+
+        Map<List<Object>, PivotAccumulator> targetCells = new LinkedHashMap<>();
+        for (Map.Entry<List<Object>, PivotAccumulator> entry : cells.entrySet()) {
+            List<Object> key = entry.getKey();
+            List<Object> targetKey = new ArrayList<>(indexes.length);
+            for (int index : indexes) {
+                targetKey.add(key.get(index));
+            }
+            targetCells.computeIfAbsent(targetKey, k -> new PivotAccumulator(target.isCollectUniqueValues()))
+                    .merge(entry.getValue());
+        }
+        return new PivotCube(target, targetCells, propertyValues);
+    }
+
+    /**
+     * Converts a formatted value to the string which pivottable.js uses to filter rows.
+     *
+     * @param value formatted value
+     * @return string representation
+     */
+    public static String toFilterString(Object value) {
+        if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isFinite(d)) {
+                return BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
+            }
+        }
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pivottable.aggregation;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Describes what a {@link PivotCube} is grouped and aggregated by.
+ */
+public class PivotCubeDefinition {
+
+    protected final List<String> dimensions;
+    protected final String valueProperty;
+    protected final String denominatorProperty;
+    protected final boolean collectUniqueValues;
+    protected final Map<String, Set<String>> exclusions;
+
+    /**
+     * @param dimensions          properties the rows are grouped by
+     * @param valueProperty       first aggregation property
+     * @param denominatorProperty second aggregation property
+     * @param collectUniqueValues whether unique values of the first aggregation property are needed
+     * @param exclusions          excluded values of the properties which are not dimensions
+     */
+    public PivotCubeDefinition(List<String> dimensions,
+                               @Nullable String valueProperty, @Nullable String denominatorProperty,
+                               boolean collectUniqueValues, Map<String, Set<String>> exclusions) {
+        this.dimensions = Collections.unmodifiableList(new ArrayList<>(dimensions));
+        this.valueProperty = valueProperty;
+        this.denominatorProperty = denominatorProperty;
+        this.collectUniqueValues = collectUniqueValues;
+        this.exclusions = Collections.unmodifiableMap(new HashMap<>(exclusions));
+    }
+
+    public List<String> getDimensions() {
+        return dimensions;
+    }
+
+    @Nullable
+    public String getValueProperty() {
+        return valueProperty;
+    }
+
+    @Nullable
+    public String getDenominatorProperty() {
+        return denominatorProperty;
+    }
+
+    public boolean isCollectUniqueValues() {
+        return collectUniqueValues;
+    }
+
+    public Map<String, Set<String>> getExclusions() {
+        return exclusions;
+    }
+
+    /**
+     * @param other another definition
+     * @return true if a cube of this definition can be rolled up to the other one, i.e. the other one is
+     * aggregated the same way over a subset of the dimensions
+     */
+    public boolean canRollUpTo(PivotCubeDefinition other) {
+        return dimensions.containsAll(other.dimensions)
+                && Objects.equals(valueProperty, other.valueProperty)
+                && Objects.equals(denominatorProperty, other.denominatorProperty)
+                && collectUniqueValues == other.collectUniqueValues
+                && exclusions.equals(other.exclusions);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PivotCubeDefinition that = (PivotCubeDefinition) o;
+        return dimensions.equals(that.dimensions) && canRollUpTo(that);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimensions, valueProperty, denominatorProperty, collectUniqueValues, exclusions);
+    }
+}
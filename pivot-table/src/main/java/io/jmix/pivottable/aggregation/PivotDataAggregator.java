@@ -0,0 +1,326 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.pivottable.aggregation;
+
+import io.jmix.pivottable.model.Aggregation;
+import io.jmix.pivottable.model.AggregationMode;
+import io.jmix.pivottable.model.Aggregations;
+import io.jmix.pivottable.model.PivotTableModel;
+import io.jmix.pivottable.serialization.PivotTableDataItemsSerializer;
+import io.jmix.ui.data.DataItem;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Aggregates PivotTable rows on the server, so only the cells of the pivot are sent to the client instead of
+ * all data items.
+ * <p>
+ * Rows are grouped by the properties used as rows and columns of the pivot. Aggregations which cannot be
+ * calculated from partial cell states ({@link AggregationMode#LIST_UNIQUE_VALUES},
+ * {@link AggregationMode#UPPER_BOUND_80}, {@link AggregationMode#LOWER_BOUND_80} and custom ones) as well as
+ * derived properties and filter functions, which need all properties of a row on the client, are not supported.
+ * <p>
+ * Exclusions of the properties which are not rows or columns are applied on the server since cells do not contain
+ * values of such properties. For the same reason pivotUI() shows {@link #MISSING_VALUE} in filter menus of these
+ * properties, and counts of filter values are the numbers of cells instead of the numbers of data items.
+ */
+@Component("ui_PivotDataAggregator")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class PivotDataAggregator {
+
+    /**
+     * Value used by pivottable.js for properties absent in a row.
+     */
+    public static final String MISSING_VALUE = "null";
+
+    protected static final int DEFAULT_MENU_LIMIT = 500;
+
+    protected static final Set<AggregationMode> SUPPORTED_MODES = Collections.unmodifiableSet(EnumSet.complementOf(
+            EnumSet.of(AggregationMode.LIST_UNIQUE_VALUES,
+                    AggregationMode.UPPER_BOUND_80,
+                    AggregationMode.LOWER_BOUND_80)));
+
+    protected PivotTableDataItemsSerializer itemsSerializer;
+
+    @Autowired
+    public void setItemsSerializer(PivotTableDataItemsSerializer itemsSerializer) {
+        this.itemsSerializer = itemsSerializer;
+    }
+
+    /**
+     * @param pivotTable PivotTable configuration
+     * @return cube definition for the current rows, columns and aggregation of the PivotTable or {@code null} if
+     * the configuration cannot be aggregated on the server
+     */
+    @Nullable
+    public PivotCubeDefinition createDefinition(PivotTableModel pivotTable) {
+        if (pivotTable.getDataProvider() == null
+                || pivotTable.getDerivedProperties() != null
+                || pivotTable.getFilterFunction() != null) {
+            return null;
+        }
+
+        AggregationMode mode;
+        List<String> aggregationProperties;
+        if (pivotTable.getEditable()) {
+            mode = getSelectedMode(pivotTable.getAggregations());
+            aggregationProperties = pivotTable.getAggregationProperties();
+        } else {
+            Aggregation aggregation = pivotTable.getAggregation();
+            if (aggregation != null && Boolean.TRUE.equals(aggregation.getCustom())) {
+                return null;
+            }
+            mode = aggregation != null ? aggregation.getMode() : AggregationMode.COUNT;
+            aggregationProperties = aggregation != null ? aggregation.getProperties() : null;
+        }
+
+        if (mode == null || !SUPPORTED_MODES.contains(mode)) {
+            return null;
+        }
+
+        List<String> dimensions = new ArrayList<>();
+        for (String name : concat(pivotTable.getRows(), pivotTable.getCols())) {
+            String property = resolveProperty(pivotTable, name);
+            if (property == null) {
+                return null;
+            }
+            if (!dimensions.contains(property)) {
+                dimensions.add(property);
+            }
+        }
+
+        String valueProperty = null;
+        String denominatorProperty = null;
+        if (CollectionUtils.isNotEmpty(aggregationProperties)) {
+            valueProperty = resolveProperty(pivotTable, aggregationProperties.get(0));
+            if (valueProperty == null) {
+                return null;
+            }
+            if (aggregationProperties.size() > 1) {
+                denominatorProperty = resolveProperty(pivotTable, aggregationProperties.get(1));
+                if (denominatorProperty == null) {
+                    return null;
+                }
+            }
+        }
+
+        Map<String, Set<String>> exclusions = new HashMap<>();
+        if (MapUtils.isNotEmpty(pivotTable.getExclusions())) {
+            for (Map.Entry<String, List<String>> entry : pivotTable.getExclusions().entrySet()) {
+                String property = resolveProperty(pivotTable, entry.getKey());
+                if (property != null && !dimensions.contains(property)
+                        && CollectionUtils.isNotEmpty(entry.getValue())) {
+                    Set<String> values = new HashSet<>(entry.getValue());
+                    values.remove(MISSING_VALUE);
+                    if (!values.isEmpty()) {
+                        exclusions.put(property, values);
+                    }
+                }
+            }
+        }
+
+        return new PivotCubeDefinition(dimensions, valueProperty, denominatorProperty,
+                mode == AggregationMode.COUNT_UNIQUE_VALUES, exclusions);
+    }
+
+    /**
+     * Builds a cube of the given definition. If the previous cube contains all dimensions of the definition and
+     * is aggregated the same way, it is rolled up instead of grouping the rows again.
+     *
+     * @param pivotTable PivotTable configuration
+     * @param definition cube definition
+     * @param previous   previously built cube
+     * @return cube
+     */
+    public PivotCube aggregate(PivotTableModel pivotTable, PivotCubeDefinition definition,
+                               @Nullable PivotCube previous) {
+        if (previous != null && previous.getDefinition().canRollUpTo(definition)) {
+            return previous.getDefinition().equals(definition)
+                    ? previous
+                    : previous.rollUp(definition);
+        }
+        return buildCube(pivotTable, definition);
+    }
+
+    /**
+     * Cells of a cube do not contain properties which are not rows or columns, so pivottable.js treats them as
+     * {@link #MISSING_VALUE}. Keeps such rows visible: removes {@link #MISSING_VALUE} from exclusions and adds it
+     * to inclusions of these properties.
+     *
+     * @param pivotTable PivotTable configuration
+     * @param definition cube definition
+     * @return true if filters have been changed
+     */
+    public boolean cleanUpFilters(PivotTableModel pivotTable, PivotCubeDefinition definition) {
+        boolean changed = false;
+
+        Map<String, List<String>> exclusions = pivotTable.getExclusions();
+        if (MapUtils.isNotEmpty(exclusions)) {
+            Map<String, List<String>> cleanExclusions = new HashMap<>();
+            for (Map.Entry<String, List<String>> entry : exclusions.entrySet()) {
+                List<String> values = entry.getValue();
+                if (values != null && values.contains(MISSING_VALUE)
+                        && !isDimension(pivotTable, definition, entry.getKey())) {
+                    values = new ArrayList<>(values);
+                    values.remove(MISSING_VALUE);
+                    changed = true;
+                }
+                cleanExclusions.put(entry.getKey(), values);
+            }
+            pivotTable.setExclusions(cleanExclusions);
+        }
+
+        Map<String, List<String>> inclusions = pivotTable.getInclusions();
+        if (MapUtils.isNotEmpty(inclusions)) {
+            Map<String, List<String>> cleanInclusions = new HashMap<>();
+            for (Map.Entry<String, List<String>> entry : inclusions.entrySet()) {
+                List<String> values = entry.getValue();
+                if (CollectionUtils.isNotEmpty(values) && !values.contains(MISSING_VALUE)
+                        && !isDimension(pivotTable, definition, entry.getKey())) {
+                    values = new ArrayList<>(values);
+                    values.add(MISSING_VALUE);
+                    changed = true;
+                }
+                cleanInclusions.put(entry.getKey(), values);
+            }
+            pivotTable.setInclusions(cleanInclusions);
+        }
+
+        return changed;
+    }
+
+    protected PivotCube buildCube(PivotTableModel pivotTable, PivotCubeDefinition definition) {
+        List<String> properties = pivotTable.getWiredFields();
+        List<String> dimensions = definition.getDimensions();
+        int valuesLimit = getPropertyValuesLimit(pivotTable);
+
+        Map<String, Set<Object>> propertyValues = new HashMap<>();
+        Map<List<Object>, PivotAccumulator> cells = new LinkedHashMap<>();
+        Map<String, Object> formattedValues = new HashMap<>();
+
+        for (DataItem item : pivotTable.getDataProvider().getItems()) {
+            formattedValues.clear();
+            for (String property : properties) {
+                Object value = itemsSerializer.formatValue(item, property, item.getValue(property));
+                formattedValues.put(property, value);
+
+                Set<Object> values = propertyValues.computeIfAbsent(property, p -> new LinkedHashSet<>());
+                if (values.size() < valuesLimit) {
+                    values.add(value);
+                }
+            }
+
+            if (isExcluded(formattedValues, definition)) {
+                continue;
+            }
+
+            List<Object> key = new ArrayList<>(dimensions.size());
+            for (String dimension : dimensions) {
+                key.add(formattedValues.get(dimension));
+            }
+
+            cells.computeIfAbsent(key, k -> new PivotAccumulator(definition.isCollectUniqueValues()))
+                    .add(getValue(formattedValues, definition.getValueProperty()),
+                            getValue(formattedValues, definition.getDenominatorProperty()));
+        }
+
+        return new PivotCube(definition, cells, propertyValues);
+    }
+
+    protected boolean isExcluded(Map<String, Object> formattedValues, PivotCubeDefinition definition) {
+        for (Map.Entry<String, Set<String>> entry : definition.getExclusions().entrySet()) {
+            Object value = formattedValues.get(entry.getKey());
+            if (value != null && entry.getValue().contains(PivotCube.toFilterString(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    protected Object getValue(Map<String, Object> formattedValues, @Nullable String property) {
+        return property != null ? formattedValues.get(property) : null;
+    }
+
+    @Nullable
+    protected AggregationMode getSelectedMode(@Nullable Aggregations aggregations) {
+        if (aggregations == null) {
+            return AggregationMode.COUNT;
+        }
+        if (aggregations.getSelectedAggregation() != null) {
+            return aggregations.getSelectedAggregation();
+        }
+
+        List<Aggregation> aggregationList = aggregations.getAggregations();
+        if (CollectionUtils.isEmpty(aggregationList)) {
+            return AggregationMode.COUNT;
+        }
+        // pivotUI() selects the first aggregation by default
+        Aggregation first = aggregationList.get(0);
+        return Boolean.TRUE.equals(first.getCustom()) ? null : first.getMode();
+    }
+
+    /**
+     * Resolves a property name which can be either a property or its localized name as it is returned from the
+     * client.
+     */
+    @Nullable
+    protected String resolveProperty(PivotTableModel pivotTable, String name) {
+        Map<String, String> properties = pivotTable.getProperties();
+        if (MapUtils.isEmpty(properties)) {
+            return null;
+        }
+        if (properties.containsKey(name)) {
+            return name;
+        }
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (name.equals(entry.getValue())) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    protected boolean isDimension(PivotTableModel pivotTable, PivotCubeDefinition definition, String name) {
+        String property = resolveProperty(pivotTable, name);
+        return property != null && definition.getDimensions().contains(property);
+    }
+
+    protected int getPropertyValuesLimit(PivotTableModel pivotTable) {
+        Integer menuLimit = pivotTable.getMenuLimit();
+        // one more value lets pivotUI() show that there are too many values
+        return (menuLimit != null ? menuLimit : DEFAULT_MENU_LIMIT) + 1;
+    }
+
+    protected List<String> concat(@Nullable List<String> first, @Nullable List<String> second) {
+        List<String> result = new ArrayList<>();
+        if (first != null) {
+            result.addAll(first);
+        }
+        if (second != null) {
+            result.addAll(second);
+        }
+        return result;
+    }
+}
@@ -576,6 +576,28 @@ public interface PivotTable extends Component, Component.BelongToFrame, Componen
      */
     Boolean isColTotalsShown();
 
+    /**
+     * Sets whether data should be aggregated on the server. If {@code true}, data items are grouped by the
+     * properties used as rows and columns and only the aggregated cells are sent to the client. Cells are
+     * recalculated when the rows, columns or aggregation are changed in the editable pivot table.
+     * <br>
+     * Data is sent as is if the current configuration cannot be aggregated on the server: for custom aggregations,
+     * "List Unique Values" and "80% Upper/Lower Bound" aggregations, derived properties, filter function or
+     * a cell click listener. {@code false} by default.
+     * <br>
+     * Aggregated cells contain values of the row and column properties only, so in the editable pivot table
+     * filter menus of other properties contain an additional "null" value and counts of all filter values are
+     * the numbers of cells instead of the numbers of data items.
+     *
+     * @param serverAggregation {@code true} if data should be aggregated on the server
+     */
+    void setServerAggregation(Boolean serverAggregation);
+
+    /**
+     * @return {@code true} if data is aggregated on the server
+     */
+    Boolean isServerAggregation();
+
     /**
      * Sets the message that will be displayed in case of empty data.
      *
@@ -26,6 +26,7 @@ import io.jmix.ui.component.impl.AbstractComponent;
 import io.jmix.ui.data.DataItem;
 import io.jmix.ui.data.DataProvider;
 import io.jmix.pivottable.PivotTableLocaleHelper;
+import io.jmix.pivottable.aggregation.PivotDataAggregator;
 import io.jmix.pivottable.component.PivotTable;
 import io.jmix.pivottable.model.*;
 import io.jmix.pivottable.serialization.impl.JmixPivotTableSerializer;
@@ -64,6 +65,10 @@ public class PivotTableImpl extends AbstractComponent<JmixPivotTable> implements
         return applicationContext.getBean(JmixPivotTableSerializer.class);
     }
 
+    protected PivotDataAggregator createDataAggregator() {
+        return applicationContext.getBean(PivotDataAggregator.class);
+    }
+
     @Autowired
     public void setMessages(Messages messages) {
         this.messages = messages;
@@ -87,6 +92,7 @@ public class PivotTableImpl extends AbstractComponent<JmixPivotTable> implements
     @Override
     public void afterPropertiesSet() throws Exception {
         component.setPivotTableSerializer(createPivotTableSerializer());
+        component.setDataAggregator(createDataAggregator());
 
         initLocale();
     }
@@ -329,6 +335,7 @@ public class PivotTableImpl extends AbstractComponent<JmixPivotTable> implements
     public void setDataProvider(DataProvider dataProvider) {
         component.getPivotTable().setDataProvider(dataProvider);
         dataProvider.addChangeListener(e -> {
+            component.resetAggregatedData();
             if (!isEditable()) {
                 repaint();
             }
@@ -502,4 +509,18 @@ public class PivotTableImpl extends AbstractComponent<JmixPivotTable> implements
     public Boolean isColTotalsShown() {
         return component.isShowColTotals();
     }
+
+    @Override
+    public void setServerAggregation(Boolean serverAggregation) {
+        if (!Objects.equals(serverAggregation, component.isServerAggregation())) {
+            component.setServerAggregation(serverAggregation);
+
+            component.repaint();
+        }
+    }
+
+    @Override
+    public Boolean isServerAggregation() {
+        return component.isServerAggregation();
+    }
 }
\ No newline at end of file
@@ -185,6 +185,11 @@ public class PivotTableLoader extends AbstractComponentLoader<PivotTable> {
         if (StringUtils.isNotBlank(showColTotals)) {
             pivot.setShowColTotals(Boolean.valueOf(showColTotals));
         }
+
+        String serverAggregation = element.attributeValue("serverAggregation");
+        if (StringUtils.isNotBlank(serverAggregation)) {
+            pivot.setServerAggregation(Boolean.valueOf(serverAggregation));
+        }
     }
 
     protected void loadProperties(PivotTable pivot, Element element) {
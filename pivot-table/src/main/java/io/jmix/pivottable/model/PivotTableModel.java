@@ -92,6 +92,9 @@ public class PivotTableModel extends AbstractPivotObject {
     @Expose(serialize = false, deserialize = false)
     private DataProvider dataProvider;                          // Haulmont API - object to be serialized as input data
 
+    @Expose(serialize = false, deserialize = false)
+    private Boolean serverAggregation;                          // Haulmont API
+
     public PivotTableModel() {
     }
 
@@ -896,6 +899,28 @@ public class PivotTableModel extends AbstractPivotObject {
         return colTotals;
     }
 
+    /**
+     * @return whether data is aggregated on the server
+     */
+    public Boolean getServerAggregation() {
+        return serverAggregation;
+    }
+
+    /**
+     * Sets whether data should be aggregated on the server. If {@code true}, only aggregated cells are sent to the
+     * client instead of all data items, when the current configuration allows it. {@code false} by default.
+     * <p>
+     * Filter menus of the properties which are not rows or columns contain an additional "null" value and
+     * counts of filter values are the numbers of cells, see {@link io.jmix.pivottable.aggregation.PivotDataAggregator}.
+     *
+     * @param serverAggregation server aggregation option
+     * @return a reference to this object
+     */
+    public PivotTableModel setServerAggregation(Boolean serverAggregation) {
+        this.serverAggregation = serverAggregation;
+        return this;
+    }
+
     /**
      * Sets a locale code
      *
@@ -29,6 +29,9 @@ import io.jmix.core.metamodel.datatype.DatatypeRegistry;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.pivottable.aggregation.PivotAccumulator;
+import io.jmix.pivottable.aggregation.PivotCube;
+import io.jmix.pivottable.aggregation.PivotCubeDefinition;
 import io.jmix.pivottable.widget.serialization.PivotJsonSerializationContext;
 import io.jmix.pivottable.widget.serialization.PivotTableSerializationContext;
 import io.jmix.ui.GuiDevelopmentException;
@@ -41,6 +44,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import java.time.temporal.Temporal;
 import java.util.*;
 import java.util.function.Consumer;
@@ -49,6 +53,21 @@ import java.util.function.Consumer;
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class PivotTableDataItemsSerializer {
 
+    public static final String COUNT_FIELD = "$c";
+    public static final String NUMERIC_COUNT_FIELD = "$n";
+    public static final String SUM_FIELD = "$s";
+    public static final String MIN_FIELD = "$min";
+    public static final String MAX_FIELD = "$max";
+    public static final String DENOMINATOR_SUM_FIELD = "$d";
+    public static final String UNIQUE_VALUES_FIELD = "$u";
+
+    /**
+     * Fields of serialized {@link PivotCube} cells which hold partial aggregation states.
+     */
+    public static final List<String> CELL_STATE_FIELDS = Collections.unmodifiableList(Arrays.asList(
+            COUNT_FIELD, NUMERIC_COUNT_FIELD, SUM_FIELD, MIN_FIELD, MAX_FIELD,
+            DENOMINATOR_SUM_FIELD, UNIQUE_VALUES_FIELD));
+
     protected Messages messages;
     protected MessageTools messageTools;
     protected Metadata metadata;
@@ -114,8 +133,110 @@ public class PivotTableDataItemsSerializer {
         return serialized;
     }
 
+    /**
+     * Serializes cells of the cube. Each cell contains formatted values of the dimensions and the partial
+     * aggregation state in {@link #CELL_STATE_FIELDS}.
+     * <p>
+     * For an editable PivotTable rows without aggregation state are added for the properties which are not
+     * dimensions, so pivotUI() can show these properties and their values in filters.
+     *
+     * @param cube    aggregated data
+     * @param context serialization context
+     * @return serialized cells
+     */
+    public JsonArray serialize(PivotCube cube, JsonSerializationContext context) {
+        JsonArray serialized = new JsonArray();
+
+        if (context instanceof PivotJsonSerializationContext) {
+            PivotJsonSerializationContext pivotContext = (PivotJsonSerializationContext) context;
+            PivotCubeDefinition definition = cube.getDefinition();
+            List<String> dimensions = definition.getDimensions();
+
+            List<Object> firstKey = null;
+            for (Map.Entry<List<Object>, PivotAccumulator> entry : cube.getCells().entrySet()) {
+                JsonObject cellElement = serializeDimensions(dimensions, entry.getKey(), pivotContext);
+                addCellState(cellElement, entry.getValue(), definition);
+                serialized.add(cellElement);
+
+                if (firstKey == null) {
+                    firstKey = entry.getKey();
+                }
+            }
+
+            if (firstKey != null && pivotContext.getPivotTableModel().getEditable()) {
+                for (String property : pivotContext.getProperties()) {
+                    if (dimensions.contains(property)) {
+                        continue;
+                    }
+                    String localizedProperty = pivotContext.getLocalizedPropertyName(property);
+                    for (Object value : cube.getPropertyValues(property)) {
+                        JsonObject valueElement = serializeDimensions(dimensions, firstKey, pivotContext);
+                        valueElement.add(localizedProperty, pivotContext.serialize(value));
+                        serialized.add(valueElement);
+                    }
+                }
+            }
+        }
+
+        return serialized;
+    }
+
+    protected JsonObject serializeDimensions(List<String> dimensions, List<Object> key,
+                                             PivotJsonSerializationContext context) {
+        JsonObject jsonObject = new JsonObject();
+        for (int i = 0; i < dimensions.size(); i++) {
+            jsonObject.add(context.getLocalizedPropertyName(dimensions.get(i)), context.serialize(key.get(i)));
+        }
+        return jsonObject;
+    }
+
+    protected void addCellState(JsonObject jsonObject, PivotAccumulator accumulator, PivotCubeDefinition definition) {
+        jsonObject.addProperty(COUNT_FIELD, accumulator.getCount());
+
+        if (definition.getValueProperty() != null) {
+            jsonObject.addProperty(NUMERIC_COUNT_FIELD, accumulator.getNumericCount());
+            addFiniteProperty(jsonObject, SUM_FIELD, accumulator.getSum());
+            if (accumulator.getNumericCount() > 0) {
+                addFiniteProperty(jsonObject, MIN_FIELD, accumulator.getMin());
+                addFiniteProperty(jsonObject, MAX_FIELD, accumulator.getMax());
+            }
+        }
+
+        if (definition.getDenominatorProperty() != null) {
+            addFiniteProperty(jsonObject, DENOMINATOR_SUM_FIELD, accumulator.getDenominatorSum());
+        }
+
+        if (definition.isCollectUniqueValues()) {
+            JsonArray uniqueValues = new JsonArray();
+            for (String value : accumulator.getUniqueValues()) {
+                uniqueValues.add(value);
+            }
+            jsonObject.add(UNIQUE_VALUES_FIELD, uniqueValues);
+        }
+    }
+
+    protected void addFiniteProperty(JsonObject jsonObject, String property, @Nullable Double value) {
+        // JSON does not support NaN and infinity
+        if (value != null && Double.isFinite(value)) {
+            jsonObject.addProperty(property, value);
+        }
+    }
+
     protected void addProperty(JsonObject jsonObject, String property, Object value,
                                PivotJsonSerializationContext context, DataItem item) {
+        Object formattedValue = formatValue(item, property, value);
+        jsonObject.add(context.getLocalizedPropertyName(property), context.serialize(formattedValue));
+    }
+
+    /**
+     * Converts a property value of the item to the value which is shown by PivotTable.
+     *
+     * @param item     data item
+     * @param property property name
+     * @param value    property value
+     * @return formatted value, an empty string for {@code null}
+     */
+    public Object formatValue(DataItem item, String property, @Nullable Object value) {
         Object formattedValue;
         if (value == null) {
             formattedValue = StringUtils.EMPTY;
@@ -137,8 +258,7 @@ public class PivotTableDataItemsSerializer {
         } else {
             formattedValue = value;
         }
-
-        jsonObject.add(context.getLocalizedPropertyName(property), context.serialize(formattedValue));
+        return formattedValue;
     }
 
     protected Optional<String> getFormattedValueByEntityDatatype(DataItem item, String property, Object value) {
@@ -18,6 +18,7 @@ package io.jmix.pivottable.serialization.impl;
 
 import com.google.gson.*;
 import com.google.gson.annotations.Expose;
+import io.jmix.pivottable.aggregation.PivotCube;
 import io.jmix.pivottable.model.*;
 import io.jmix.pivottable.serialization.JsFunctionSerializer;
 import io.jmix.pivottable.serialization.JsonEnumSerializer;
@@ -119,6 +120,13 @@ public class JmixPivotTableSerializer implements PivotTableSerializer {
         return null;
     }
 
+    @Override
+    public String serializeAggregatedData(PivotTableModel pivotTable, PivotCube cube) {
+        PivotJsonSerializationContext context = createPivotJsonSerializationContext(pivotTable);
+        JsonElement cubeElement = itemsSerializer.serialize(cube, context);
+        return gson.toJson(cubeElement);
+    }
+
     protected PivotJsonSerializationContext createPivotJsonSerializationContext(PivotTableModel pivotTable) {
         return new PivotJsonSerializationContext(pivotTable, gson);
     }
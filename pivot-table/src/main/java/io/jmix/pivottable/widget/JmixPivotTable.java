@@ -19,6 +19,10 @@ package io.jmix.pivottable.widget;
 import com.google.gson.*;
 import com.vaadin.server.KeyMapper;
 import com.vaadin.ui.AbstractComponent;
+import io.jmix.pivottable.aggregation.PivotCube;
+import io.jmix.pivottable.aggregation.PivotCubeDefinition;
+import io.jmix.pivottable.aggregation.PivotDataAggregator;
+import io.jmix.pivottable.serialization.PivotTableDataItemsSerializer;
 import io.jmix.ui.data.DataItem;
 import io.jmix.ui.widget.WebJarResource;
 import io.jmix.pivottable.model.*;
@@ -40,6 +44,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -63,6 +68,7 @@ public class JmixPivotTable extends AbstractComponent {
     private static final long serialVersionUID = 3250758720037122580L;
 
     protected static final String DATA_ITEM_KEY = "$k";
+    protected static final String AGGREGATED_DATA_OPTION = "aggregatedData";
 
     private static final Logger log = LoggerFactory.getLogger(JmixPivotTable.class);
 
@@ -81,6 +87,10 @@ public class JmixPivotTable extends AbstractComponent {
 
     protected KeyMapper<DataItem> dataItemMapper;
 
+    protected PivotDataAggregator dataAggregator;
+    protected PivotCube cube;
+    protected PivotCubeDefinition sentCubeDefinition;
+
     public JmixPivotTable(PivotTableSerializer pivotTableSerializer) {
         pivotTable = new PivotTableModel();
 
@@ -103,6 +113,10 @@ public class JmixPivotTable extends AbstractComponent {
         this.pivotTableSerializer = pivotTableSerializer;
     }
 
+    public void setDataAggregator(@Nullable PivotDataAggregator dataAggregator) {
+        this.dataAggregator = dataAggregator;
+    }
+
     protected RefreshListener createRefreshListener() {
         return event -> {
             pivotTable.setRows(event.getRows());
@@ -134,9 +148,35 @@ public class JmixPivotTable extends AbstractComponent {
             }
 
             pivotTable.setAggregationProperties(event.getAggregationProperties());
+
+            updateAggregatedData();
         };
     }
 
+    /**
+     * Sends data again if the cells sent to the client do not match the new rows, columns and aggregation.
+     */
+    protected void updateAggregatedData() {
+        PivotCubeDefinition definition = createCubeDefinition();
+        boolean filtersChanged = definition != null && dataAggregator.cleanUpFilters(pivotTable, definition);
+        if (filtersChanged || !Objects.equals(definition, sentCubeDefinition)) {
+            dirty = true;
+            markAsDirty();
+        }
+    }
+
+    @Nullable
+    protected PivotCubeDefinition createCubeDefinition() {
+        if (dataAggregator == null
+                || !Boolean.TRUE.equals(pivotTable.getServerAggregation())
+                || isCellClickListenerPresent()
+                // rows and columns from the custom JSON are known only after the first refresh of pivotUI()
+                || (getJson() != null && !pivotTable.getEditable())) {
+            return null;
+        }
+        return dataAggregator.createDefinition(pivotTable);
+    }
+
     @Override
     protected JmixPivotTableSceneState getState() {
         return (JmixPivotTableSceneState) super.getState();
@@ -176,9 +216,17 @@ public class JmixPivotTable extends AbstractComponent {
     }
 
     public void repaint() {
+        resetAggregatedData();
         forceStateChange();
     }
 
+    /**
+     * Drops aggregated cells, so they are calculated from data items on the next repaint.
+     */
+    public void resetAggregatedData() {
+        cube = null;
+    }
+
     @Override
     public void beforeClientResponse(boolean initial) {
         super.beforeClientResponse(initial);
@@ -189,12 +237,18 @@ public class JmixPivotTable extends AbstractComponent {
 
                 String dataJsonString;
 
+                PivotCubeDefinition cubeDefinition = createCubeDefinition();
                 if (isCellClickListenerPresent()) {
                     dataItemMapper = new KeyMapper<>();
                     dataJsonString = pivotTableSerializer.serializeData(pivotTable, this::serializeDataItemKey);
+                } else if (cubeDefinition != null) {
+                    dataAggregator.cleanUpFilters(pivotTable, cubeDefinition);
+                    cube = dataAggregator.aggregate(pivotTable, cubeDefinition, cube);
+                    dataJsonString = pivotTableSerializer.serializeAggregatedData(pivotTable, cube);
                 } else {
                     dataJsonString = pivotTableSerializer.serializeData(pivotTable);
                 }
+                sentCubeDefinition = cubeDefinition;
 
                 log.trace("pivotTable data JSON:\n{}", dataJsonString);
                 getState().data = dataJsonString;
@@ -202,6 +256,8 @@ public class JmixPivotTable extends AbstractComponent {
                 String optionsJsonString;
                 if (isCellClickListenerPresent()) {
                     optionsJsonString = pivotTableSerializer.serialize(pivotTable, this::afterPivotModelSerialized);
+                } else if (cubeDefinition != null) {
+                    optionsJsonString = pivotTableSerializer.serialize(pivotTable, this::afterAggregatedModelSerialized);
                 } else {
                     optionsJsonString = pivotTableSerializer.serialize(pivotTable);
                 }
@@ -235,6 +291,19 @@ public class JmixPivotTable extends AbstractComponent {
         jsonObject.add("hiddenProperties", hiddenProperties);
     }
 
+    protected void afterAggregatedModelSerialized(PivotTableSerializationContext context) {
+        JsonObject jsonObject = context.getJsonObject();
+        JsonArray hiddenProperties = jsonObject.getAsJsonArray("hiddenProperties");
+        if (hiddenProperties == null) {
+            hiddenProperties = new JsonArray();
+        }
+        for (String field : PivotTableDataItemsSerializer.CELL_STATE_FIELDS) {
+            hiddenProperties.add(field);
+        }
+        jsonObject.add("hiddenProperties", hiddenProperties);
+        jsonObject.addProperty(AGGREGATED_DATA_OPTION, true);
+    }
+
     protected void forceStateChange() {
         this.dirty = true;
         getState(true);
@@ -328,6 +397,14 @@ public class JmixPivotTable extends AbstractComponent {
         return pivotTable.isShowColTotals();
     }
 
+    public void setServerAggregation(Boolean serverAggregation) {
+        pivotTable.setServerAggregation(serverAggregation);
+    }
+
+    public Boolean isServerAggregation() {
+        return pivotTable.getServerAggregation();
+    }
+
     protected class JmixPivotTableServerRpcImpl implements JmixPivotTableServerRpc {
 
         private static final long serialVersionUID = 4789102026045383363L;
@@ -17,6 +17,7 @@
 package io.jmix.pivottable.widget.serialization;
 
 
+import io.jmix.pivottable.aggregation.PivotCube;
 import io.jmix.pivottable.model.PivotTableModel;
 
 import javax.annotation.Nullable;
@@ -34,5 +35,7 @@ public interface PivotTableSerializer {
     @Nullable
     String serializeData(PivotTableModel pivotTable, Consumer<PivotTableSerializationContext> postSerializationHandler);
 
+    String serializeAggregatedData(PivotTableModel pivotTable, PivotCube cube);
+
     String toJson(Object value);
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package aggregation
+
+import io.jmix.pivottable.aggregation.PivotDataAggregator
+import io.jmix.pivottable.model.Aggregation
+import io.jmix.pivottable.model.AggregationMode
+import io.jmix.pivottable.model.Aggregations
+import io.jmix.pivottable.model.PivotTableModel
+import io.jmix.pivottable.serialization.PivotTableDataItemsSerializer
+import io.jmix.ui.data.impl.ListDataProvider
+import io.jmix.ui.data.impl.MapDataItem
+import spock.lang.Specification
+
+class PivotDataAggregatorTest extends Specification {
+
+    PivotDataAggregator aggregator
+    PivotTableModel model
+
+    void setup() {
+        def itemsSerializer = Stub(PivotTableDataItemsSerializer) {
+            formatValue(_, _, _) >> { item, property, value -> value == null ? '' : value }
+        }
+        aggregator = new PivotDataAggregator()
+        aggregator.setItemsSerializer(itemsSerializer)
+
+        model = new PivotTableModel()
+                .setEditable(true)
+                .setProperties([region: 'Region', year: 'Year', product: 'Product', amount: 'Amount'])
+                .setDataProvider(new ListDataProvider([
+                        item('north', 2020, 'tea', 10),
+                        item('north', 2021, 'tea', 2.5),
+                        item('south', 2020, 'coffee', 4),
+                        item('north', 2020, 'coffee', 1),
+                        item('south', 2021, 'tea', null)
+                ]))
+                .setAggregations(new Aggregations().setSelectedAggregation(AggregationMode.SUM))
+                .setAggregationProperties(['Amount'])
+    }
+
+    def "rows are grouped by rows and columns"() {
+        model.setRows(['Region']).setCols(['year'])
+
+        when:
+        def definition = aggregator.createDefinition(model)
+        def cube = aggregator.aggregate(model, definition, null)
+
+        then:
+        definition.dimensions == ['region', 'year']
+        definition.valueProperty == 'amount'
+        cube.cells.size() == 4
+
+        def northIn2020 = cube.cells[['north', 2020]]
+        northIn2020.count == 2
+        northIn2020.sum == 11d
+        northIn2020.min == 1d
+        northIn2020.max == 10d
+
+        def southIn2021 = cube.cells[['south', 2021]]
+        southIn2021.count == 1
+        southIn2021.numericCount == 0
+        southIn2021.min == null
+    }
+
+    def "removed dimension is rolled up from the previous cube"() {
+        model.setRows(['Region']).setCols(['Year'])
+        def cube = aggregator.aggregate(model, aggregator.createDefinition(model), null)
+
+        when:
+        model.setCols([])
+        def definition = aggregator.createDefinition(model)
+        def rolledUp = aggregator.aggregate(model, definition, cube)
+
+        then:
+        cube.definition.canRollUpTo(definition)
+        rolledUp.cells.keySet() == [['north'], ['south']] as Set
+        rolledUp.cells[['north']].count == 3
+        rolledUp.cells[['north']].sum == 13.5d
+        rolledUp.cells[['south']].sum == 4d
+
+        when: "a new dimension is added"
+        model.setCols(['Product'])
+        definition = aggregator.createDefinition(model)
+
+        then:
+        !rolledUp.definition.canRollUpTo(definition)
+        aggregator.aggregate(model, definition, rolledUp).cells.size() == 4
+    }
+
+    def "exclusions of unused properties are applied on the server"() {
+        model.setRows(['Region'])
+                .setAggregations(new Aggregations().setSelectedAggregation(AggregationMode.COUNT_UNIQUE_VALUES))
+                .setAggregationProperties(['Product'])
+                .setExclusions('Year', ['2021', PivotDataAggregator.MISSING_VALUE])
+
+        when:
+        def definition = aggregator.createDefinition(model)
+        def cube = aggregator.aggregate(model, definition, null)
+
+        then:
+        definition.exclusions == [year: ['2021'] as Set]
+        cube.cells[['north']].count == 2
+        cube.cells[['north']].uniqueValues == ['tea', 'coffee'] as Set
+        cube.cells[['south']].uniqueValues == ['coffee'] as Set
+        cube.getPropertyValues('year') == [2020, 2021] as Set
+
+        when:
+        def changed = aggregator.cleanUpFilters(model, definition)
+
+        then:
+        changed
+        model.exclusions['Year'] == ['2021']
+    }
+
+    def "aggregations which need raw values are not supported"() {
+        model.setRows(['Region'])
+
+        when:
+        model.setAggregations(new Aggregations().setSelectedAggregation(AggregationMode.LIST_UNIQUE_VALUES))
+
+        then:
+        aggregator.createDefinition(model) == null
+
+        when:
+        model.setEditable(false)
+                .setAggregation(new Aggregation().setCustom(true))
+
+        then:
+        aggregator.createDefinition(model) == null
+    }
+
+    private static MapDataItem item(String region, int year, String product, Number amount) {
+        return new MapDataItem([region: region, year: year, product: product, amount: amount])
+    }
+}
@@ -19,42 +19,97 @@ package io.jmix.uidata;
 import com.vaadin.server.VaadinSession;
 import io.jmix.core.annotation.Internal;
 import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.ui.UiProperties;
 import io.jmix.ui.executor.IllegalConcurrentAccessException;
 import io.jmix.ui.settings.UiSettingsCache;
 import io.jmix.ui.settings.UserSettingService;
+import io.jmix.ui.sys.event.WebSessionDestroyedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 
 import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * User settings provider. Caches settings in HTTP session.
+ * <p>
+ * All settings of the user are loaded in one query on the first access, so a setting that is missing in the cache
+ * does not exist in the store. Changed settings are saved in the background: changes of the same setting are
+ * coalesced and saved in one transaction per user every {@link UiProperties#getSettingsFlushInterval()} ms,
+ * on logout and when an HTTP session is destroyed. Changes which cannot be saved are retried
+ * {@link #MAX_FLUSH_ATTEMPTS} times and then dropped.
  */
 @Internal
 public class UiSettingsCacheImpl implements UiSettingsCache {
 
+    private static final Logger log = LoggerFactory.getLogger(UiSettingsCacheImpl.class);
+
     public static final String ATTR_NAME = "ui_UiSettingsCache";
 
+    public static final String USERNAME_ATTR_NAME = "ui_UiSettingsCacheUsername";
+
+    public static final int MAX_FLUSH_ATTEMPTS = 3;
+
     @Autowired
     protected UserSettingService userSettingService;
 
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    @Autowired
+    protected UiProperties uiProperties;
+
+    @Autowired
+    protected SystemAuthenticator systemAuthenticator;
+
+    @Autowired
+    @Qualifier("ui_ThreadPoolTaskScheduler")
+    protected TaskScheduler taskScheduler;
+
+    /**
+     * Settings that are not saved yet by user names.
+     */
+    protected Map<String, Map<String, PendingSetting>> pendingSettings = new ConcurrentHashMap<>();
+
+    /**
+     * Numbers of failed attempts to save settings by user names.
+     */
+    protected Map<String, Integer> failedFlushes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        long flushInterval = uiProperties.getSettingsFlushInterval();
+        if (flushInterval > 0) {
+            taskScheduler.scheduleWithFixedDelay(this::flush, flushInterval);
+        }
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        flush();
+    }
+
     @Nullable
     @Override
     public String getSetting(String name) {
         Preconditions.checkNotNullArgument(name);
 
-        Map<String, Optional<String>> settings = getCache();
-        Optional<String> cached = settings.getOrDefault(name, Optional.empty());
-        if (cached.isPresent()) {
-            return cached.get();
-        }
-
-        String setting = userSettingService.loadSetting(name);
-        settings.put(name, Optional.ofNullable(setting));
-
-        return setting;
+        Optional<String> cached = getCache().get(name);
+        return cached == null ? null : cached.orElse(null);
     }
 
     @Override
@@ -62,7 +117,12 @@ public class UiSettingsCacheImpl implements UiSettingsCache {
         Preconditions.checkNotNullArgument(name);
 
         getCache().put(name, Optional.ofNullable(value));
-        userSettingService.saveSetting(name, value);
+
+        if (uiProperties.getSettingsFlushInterval() > 0) {
+            addPendingSetting(name, new PendingSetting(value, false));
+        } else {
+            userSettingService.saveSetting(name, value);
+        }
     }
 
     @Override
@@ -70,7 +130,12 @@ public class UiSettingsCacheImpl implements UiSettingsCache {
         Preconditions.checkNotNullArgument(name);
 
         getCache().put(name, Optional.empty());
-        userSettingService.deleteSettings(name);
+
+        if (uiProperties.getSettingsFlushInterval() > 0) {
+            addPendingSetting(name, new PendingSetting(null, true));
+        } else {
+            userSettingService.deleteSettings(name);
+        }
     }
 
     @Override
@@ -80,7 +145,124 @@ public class UiSettingsCacheImpl implements UiSettingsCache {
             throw new IllegalConcurrentAccessException("Illegal access to settings client from background thread");
         }
 
+        if (currentAuthentication.isSet()) {
+            flush(currentAuthentication.getUser().getUsername());
+        }
+
         session.setAttribute(ATTR_NAME, null);
+        session.setAttribute(USERNAME_ATTR_NAME, null);
+    }
+
+    /**
+     * Saves changed settings of all users.
+     */
+    public void flush() {
+        for (String username : pendingSettings.keySet()) {
+            flush(username);
+        }
+    }
+
+    @EventListener
+    public void onSessionDestroyed(WebSessionDestroyedEvent event) {
+        // there is no security context in the thread, so the user is taken from the session
+        String username = (String) event.getSession().getAttribute(USERNAME_ATTR_NAME);
+        if (username != null) {
+            flush(username);
+        }
+    }
+
+    /**
+     * Saves changed settings of the given user.
+     *
+     * @param username user name
+     */
+    public void flush(String username) {
+        Map<String, PendingSetting> settings = pendingSettings.remove(username);
+        if (settings == null || settings.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> savedSettings = new HashMap<>();
+        Set<String> deletedSettings = new HashSet<>();
+        for (Map.Entry<String, PendingSetting> entry : settings.entrySet()) {
+            if (entry.getValue().deleted) {
+                deletedSettings.add(entry.getKey());
+            } else {
+                savedSettings.put(entry.getKey(), entry.getValue().value);
+            }
+        }
+
+        try {
+            saveSettings(username, savedSettings, deletedSettings);
+            failedFlushes.remove(username);
+        } catch (RuntimeException e) {
+            int attempts = failedFlushes.merge(username, 1, Integer::sum);
+            if (attempts >= MAX_FLUSH_ATTEMPTS) {
+                log.error("Unable to save settings of user '{}', {} changed settings are dropped after {} attempts",
+                        username, settings.size(), attempts, e);
+                failedFlushes.remove(username);
+                return;
+            }
+
+            log.error("Unable to save settings of user '{}', they will be saved next time", username, e);
+
+            // keep changes which have been made after the flush was started
+            pendingSettings.merge(username, settings, (newSettings, failedSettings) -> {
+                failedSettings.putAll(newSettings);
+                return failedSettings;
+            });
+        }
+    }
+
+    /**
+     * Drops changed settings of the given user which are not saved yet, e.g. when the settings are
+     * going to be replaced or deleted in the store.
+     *
+     * @param username user name
+     * @param names    names of settings to drop or null to drop all changed settings of the user
+     */
+    public void discardPendingSettings(String username, @Nullable Collection<String> names) {
+        if (names == null) {
+            pendingSettings.remove(username);
+        } else {
+            pendingSettings.computeIfPresent(username, (key, settings) -> {
+                settings.keySet().removeAll(names);
+                return settings.isEmpty() ? null : settings;
+            });
+        }
+
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session != null && session.hasLock() && username.equals(session.getAttribute(USERNAME_ATTR_NAME))) {
+            // the settings will be reloaded from the store on the next access
+            session.setAttribute(ATTR_NAME, null);
+        }
+    }
+
+    protected void saveSettings(String username, Map<String, String> savedSettings, Set<String> deletedSettings) {
+        if (userSettingService.supportsBulkOperations()) {
+            userSettingService.saveSettings(username, savedSettings, deletedSettings);
+            return;
+        }
+
+        // the service saves settings of the current user only
+        systemAuthenticator.begin(username);
+        try {
+            savedSettings.forEach(userSettingService::saveSetting);
+            deletedSettings.forEach(userSettingService::deleteSettings);
+        } finally {
+            systemAuthenticator.end();
+        }
+    }
+
+    protected void addPendingSetting(String name, PendingSetting setting) {
+        String username = currentAuthentication.getUser().getUsername();
+        pendingSettings.compute(username, (key, settings) -> {
+            if (settings == null) {
+                settings = new HashMap<>();
+            }
+            settings.put(name, setting);
+            return settings;
+        });
     }
 
     protected Map<String, Optional<String>> getCache() {
@@ -92,9 +274,81 @@ public class UiSettingsCacheImpl implements UiSettingsCache {
         @SuppressWarnings("unchecked")
         Map<String, Optional<String>> settings = (Map<String, Optional<String>>) session.getAttribute(ATTR_NAME);
         if (settings == null) {
-            settings = new HashMap<>();
+            settings = loadSettings();
             session.setAttribute(ATTR_NAME, settings);
+            session.setAttribute(USERNAME_ATTR_NAME, currentAuthentication.getUser().getUsername());
         }
         return settings;
     }
+
+    /**
+     * Loads all settings of the current user including settings which are not saved yet.
+     */
+    protected Map<String, Optional<String>> loadSettings() {
+        if (!userSettingService.supportsBulkOperations()) {
+            return loadSettingsLazily();
+        }
+
+        Map<String, Optional<String>> settings = new HashMap<>();
+        userSettingService.loadSettings()
+                .forEach((name, value) -> settings.put(name, Optional.ofNullable(value)));
+
+        addPendingSettings(settings);
+        return settings;
+    }
+
+    /**
+     * Creates settings of the current user which are loaded one by one, including settings which are not saved yet.
+     */
+    protected Map<String, Optional<String>> loadSettingsLazily() {
+        Map<String, Optional<String>> settings = new LazySettings(userSettingService);
+        addPendingSettings(settings);
+        return settings;
+    }
+
+    /**
+     * Adds settings of the current user which are not saved yet, they could be changed in another session.
+     */
+    protected void addPendingSettings(Map<String, Optional<String>> settings) {
+        pendingSettings.computeIfPresent(currentAuthentication.getUser().getUsername(), (key, pending) -> {
+            pending.forEach((name, setting) -> settings.put(name, Optional.ofNullable(setting.value)));
+            return pending;
+        });
+    }
+
+    /**
+     * Settings of the current user which are loaded one by one on the first access, if the service
+     * cannot load all settings at once.
+     */
+    protected static class LazySettings extends HashMap<String, Optional<String>> {
+
+        private static final long serialVersionUID = 1L;
+
+        protected transient UserSettingService userSettingService;
+
+        public LazySettings(UserSettingService userSettingService) {
+            this.userSettingService = userSettingService;
+        }
+
+        @Override
+        public Optional<String> get(Object name) {
+            Optional<String> value = super.get(name);
+            if (value == null && userSettingService != null) {
+                value = Optional.ofNullable(userSettingService.loadSetting((String) name));
+                put((String) name, value);
+            }
+            return value;
+        }
+    }
+
+    protected static class PendingSetting {
+
+        protected final String value;
+        protected final boolean deleted;
+
+        public PendingSetting(@Nullable String value, boolean deleted) {
+            this.value = value;
+            this.deleted = deleted;
+        }
+    }
 }
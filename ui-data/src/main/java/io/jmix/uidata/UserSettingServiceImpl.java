@@ -27,12 +27,14 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.security.AccessDeniedException;
 import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.core.security.event.UserRemovedEvent;
+import io.jmix.ui.settings.UiSettingsCache;
 import io.jmix.ui.settings.UserSettingService;
 import io.jmix.uidata.entity.UiSetting;
 import io.jmix.uidata.entity.UiTablePresentation;
 import org.dom4j.Attribute;
 import org.dom4j.Document;
 import org.dom4j.Element;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -64,6 +66,9 @@ public class UserSettingServiceImpl implements UserSettingService {
     @Autowired
     protected AccessManager accessManager;
 
+    @Autowired
+    protected ObjectProvider<UiSettingsCache> settingsCacheProvider;
+
     @PersistenceContext
     protected EntityManager entityManager;
 
@@ -87,6 +92,30 @@ public class UserSettingServiceImpl implements UserSettingService {
         return value;
     }
 
+    @Override
+    public boolean supportsBulkOperations() {
+        return true;
+    }
+
+    @Override
+    public Map<String, String> loadSettings() {
+        String username = authentication.getUser().getUsername();
+
+        Map<String, String> settings = transaction.execute(status -> {
+            TypedQuery<UiSetting> q = entityManager.createQuery(
+                    "select s from ui_Setting s where s.username = ?1", UiSetting.class);
+            q.setParameter(1, username);
+
+            Map<String, String> result = new HashMap<>();
+            for (UiSetting setting : q.getResultList()) {
+                result.put(setting.getName(), setting.getValue());
+            }
+            return result;
+        });
+
+        return settings == null ? Collections.emptyMap() : settings;
+    }
+
     @Override
     public void saveSetting(String name, @Nullable String value) {
         Preconditions.checkNotNullArgument(name);
@@ -106,6 +135,51 @@ public class UserSettingServiceImpl implements UserSettingService {
         });
     }
 
+    @Override
+    public void saveSettings(String username, Map<String, String> settings, Set<String> deletedSettings) {
+        Preconditions.checkNotNullArgument(username);
+
+        if (settings.isEmpty() && deletedSettings.isEmpty()) {
+            return;
+        }
+
+        Set<String> names = new HashSet<>(settings.keySet());
+        names.addAll(deletedSettings);
+
+        transaction.executeWithoutResult(status -> {
+            TypedQuery<UiSetting> q = entityManager.createQuery(
+                    "select s from ui_Setting s where s.username = ?1 and s.name in ?2", UiSetting.class);
+            q.setParameter(1, username);
+            q.setParameter(2, names);
+
+            Map<String, UiSetting> existing = new HashMap<>();
+            for (UiSetting setting : q.getResultList()) {
+                existing.put(setting.getName(), setting);
+            }
+
+            for (String name : deletedSettings) {
+                UiSetting us = existing.get(name);
+                if (us != null) {
+                    entityManager.remove(us);
+                }
+            }
+
+            for (Map.Entry<String, String> entry : settings.entrySet()) {
+                UiSetting us = existing.get(entry.getKey());
+                if (us == null) {
+                    us = metadata.create(UiSetting.class);
+                    us.setUsername(username);
+                    us.setName(entry.getKey());
+                    us.setValue(entry.getValue());
+
+                    entityManager.persist(us);
+                } else {
+                    us.setValue(entry.getValue());
+                }
+            }
+        });
+    }
+
     @Override
     public void deleteSettings(String name) {
         Preconditions.checkNotNullArgument(name);
@@ -132,6 +206,13 @@ public class UserSettingServiceImpl implements UserSettingService {
             throw new AccessDeniedException("entity", metaClass.getName());
         }
 
+        // copy the changes which are not saved yet and don't let them overwrite the copied settings
+        UiSettingsCacheImpl settingsCache = getSettingsCache();
+        if (settingsCache != null) {
+            settingsCache.flush(fromUser.getUsername());
+            settingsCache.discardPendingSettings(toUser.getUsername(), null);
+        }
+
         transaction.executeWithoutResult(status -> {
             Query deleteSettingsQuery = entityManager.createQuery("delete from ui_Setting s where s.username = ?1");
             deleteSettingsQuery.setParameter(1, toUser.getUsername());
@@ -177,6 +258,12 @@ public class UserSettingServiceImpl implements UserSettingService {
 
     @Override
     public void deleteScreenSettings(Set<String> screens) {
+        // don't let the changes which are not saved yet restore the deleted settings
+        UiSettingsCacheImpl settingsCache = getSettingsCache();
+        if (settingsCache != null) {
+            settingsCache.discardPendingSettings(authentication.getUser().getUsername(), screens);
+        }
+
         transaction.executeWithoutResult(status -> {
             TypedQuery<UiSetting> selectQuery = entityManager.createQuery(
                     "select e from ui_Setting e where e.user.id = ?1",
@@ -193,6 +280,12 @@ public class UserSettingServiceImpl implements UserSettingService {
         });
     }
 
+    @Nullable
+    protected UiSettingsCacheImpl getSettingsCache() {
+        UiSettingsCache settingsCache = settingsCacheProvider.getIfAvailable();
+        return settingsCache instanceof UiSettingsCacheImpl ? (UiSettingsCacheImpl) settingsCache : null;
+    }
+
     @Nullable
     protected UiSetting findUserSettings(String name) {
         TypedQuery<UiSetting> q = entityManager.createQuery(
@@ -244,6 +337,11 @@ public class UserSettingServiceImpl implements UserSettingService {
     private void onUserRemove(UserRemovedEvent event) {
         String username = event.getUsername();
 
+        UiSettingsCacheImpl settingsCache = getSettingsCache();
+        if (settingsCache != null) {
+            settingsCache.discardPendingSettings(username, null);
+        }
+
         List<UiSetting> settings = entityManager.createQuery(
                 "select s from ui_Setting s where s.username = ?1", UiSetting.class)
                 .setParameter(1, username)
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.uidata.filter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.core.DataManager;
+import io.jmix.core.Metadata;
+import io.jmix.core.annotation.Internal;
+import io.jmix.core.annotation.TenantId;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.ui.UiComponentProperties;
+import io.jmix.uidata.entity.FilterConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Caches {@link FilterConfiguration}s of filter components. Global configurations are cached by the filter
+ * component path and shared between users, configurations of a user are cached by the filter component path
+ * and the user name. Both are additionally scoped by the tenant of the current user, which is the value of
+ * the {@link TenantId} attribute of the user entity if it has one, so global configurations of one tenant are
+ * never returned to users of another tenant.
+ * <p>
+ * Cached instances are shared, so they must not be modified. Cached configurations are invalidated when they
+ * are changed using {@link UiDataFilterSupport}, on other nodes of a cluster they are invalidated by
+ * {@link FilterConfigurationInvalidationChannel} if it is registered, otherwise they are reloaded after
+ * {@link UiComponentProperties#getFilterConfigurationCacheExpiration()} seconds.
+ */
+@Internal
+@Component("ui_FilterConfigurationCache")
+public class FilterConfigurationCache {
+
+    @Autowired
+    protected DataManager dataManager;
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    @Autowired(required = false)
+    protected FilterConfigurationInvalidationChannel invalidationChannel;
+
+    protected Cache<CacheKey, List<FilterConfiguration>> cache;
+
+    /**
+     * Incremented on each invalidation to prevent caching of configurations loaded before it.
+     */
+    protected AtomicLong version = new AtomicLong();
+
+    /**
+     * Guards version checks on put against concurrent invalidations.
+     */
+    protected ReadWriteLock invalidationLock = new ReentrantReadWriteLock();
+
+    protected Map<Class<?>, Optional<String>> tenantPropertyNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FilterConfigurationCache(UiComponentProperties componentProperties) {
+        cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(componentProperties.getFilterConfigurationCacheExpiration(), TimeUnit.SECONDS)
+                .maximumSize(componentProperties.getFilterConfigurationCacheMaxSize())
+                .build();
+    }
+
+    @PostConstruct
+    protected void init() {
+        if (invalidationChannel != null) {
+            invalidationChannel.subscribe(this::invalidateLocally);
+        }
+    }
+
+    /**
+     * @param componentId filter component path
+     * @param username    user name
+     * @return global configurations and configurations of the given user
+     */
+    public List<FilterConfiguration> getConfigurationModels(String componentId, String username) {
+        List<FilterConfiguration> globalModels = getCachedModels(componentId, null);
+        List<FilterConfiguration> userModels = getCachedModels(componentId, username);
+
+        List<FilterConfiguration> models = new ArrayList<>(globalModels.size() + userModels.size());
+        models.addAll(globalModels);
+        models.addAll(userModels);
+        return models;
+    }
+
+    /**
+     * Invalidates configurations of the given filter component for all users on the current node and sends
+     * the invalidation to other nodes.
+     *
+     * @param componentId filter component path
+     */
+    public void invalidate(String componentId) {
+        invalidateLocally(componentId);
+
+        if (invalidationChannel != null) {
+            invalidationChannel.publish(componentId);
+        }
+    }
+
+    /**
+     * Invalidates all cached configurations on the current node.
+     */
+    public void invalidateAll() {
+        invalidationLock.writeLock().lock();
+        try {
+            version.incrementAndGet();
+            cache.invalidateAll();
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    protected void invalidateLocally(String componentId) {
+        invalidationLock.writeLock().lock();
+        try {
+            version.incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> key.componentId.equals(componentId));
+        } finally {
+            invalidationLock.writeLock().unlock();
+        }
+    }
+
+    protected List<FilterConfiguration> getCachedModels(String componentId, @Nullable String username) {
+        CacheKey key = new CacheKey(componentId, username, getCurrentTenantId());
+        List<FilterConfiguration> models = cache.getIfPresent(key);
+        if (models == null) {
+            long loadVersion = version.get();
+            models = Collections.unmodifiableList(loadModels(componentId, username));
+            putIfNotInvalidated(key, models, loadVersion);
+        }
+        return models;
+    }
+
+    /**
+     * Caches the loaded configurations only if no invalidation has happened since they were loaded.
+     */
+    protected void putIfNotInvalidated(CacheKey key, List<FilterConfiguration> models, long loadVersion) {
+        invalidationLock.readLock().lock();
+        try {
+            if (loadVersion == version.get()) {
+                cache.asMap().putIfAbsent(key, models);
+            }
+        } finally {
+            invalidationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return value of the {@link TenantId} attribute of the current user or null if the user entity
+     * has no such attribute
+     */
+    @Nullable
+    protected String getCurrentTenantId() {
+        if (!currentAuthentication.isSet()) {
+            return null;
+        }
+        Object user = currentAuthentication.getUser();
+        String tenantPropertyName = tenantPropertyNames
+                .computeIfAbsent(user.getClass(), this::findTenantPropertyName)
+                .orElse(null);
+        if (tenantPropertyName == null) {
+            return null;
+        }
+        Object tenantId = EntityValues.getValue(user, tenantPropertyName);
+        return tenantId != null ? tenantId.toString() : null;
+    }
+
+    protected Optional<String> findTenantPropertyName(Class<?> userClass) {
+        MetaClass metaClass = metadata.findClass(userClass);
+        if (metaClass == null) {
+            return Optional.empty();
+        }
+        return metaClass.getProperties().stream()
+                .filter(property -> property.getAnnotatedElement().isAnnotationPresent(TenantId.class))
+                .map(MetaProperty::getName)
+                .findFirst();
+    }
+
+    protected List<FilterConfiguration> loadModels(String componentId, @Nullable String username) {
+        return dataManager.load(FilterConfiguration.class)
+                .condition(LogicalCondition.and()
+                        .add(PropertyCondition.equal("componentId", componentId))
+                        .add(username == null
+                                ? PropertyCondition.isSet("username", false)
+                                : PropertyCondition.equal("username", username)))
+                .list();
+    }
+
+    protected static class CacheKey {
+
+        protected final String componentId;
+        protected final String username;
+        protected final String tenantId;
+
+        protected CacheKey(String componentId, @Nullable String username, @Nullable String tenantId) {
+            this.componentId = componentId;
+            this.username = username;
+            this.tenantId = tenantId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey cacheKey = (CacheKey) o;
+            return componentId.equals(cacheKey.componentId)
+                    && Objects.equals(username, cacheKey.username)
+                    && Objects.equals(tenantId, cacheKey.tenantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(componentId, username, tenantId);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.uidata.filter;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates invalidation of cached filter configurations between nodes of a cluster.
+ * <p>
+ * If a bean implementing this interface is registered, {@link FilterConfigurationCache} publishes to it
+ * changes of configurations made on the current node and subscribes to changes made on other nodes.
+ * Otherwise, configurations changed on other nodes are reloaded after the cache expiration time.
+ */
+public interface FilterConfigurationInvalidationChannel {
+
+    /**
+     * Sends the invalidation to other nodes.
+     *
+     * @param componentId filter component path, see {@link io.jmix.ui.component.filter.FilterUtils#generateFilterPath}
+     */
+    void publish(String componentId);
+
+    /**
+     * Registers a listener that must be invoked when configurations of a filter are changed on another node.
+     *
+     * @param listener listener accepting the filter component path
+     */
+    void subscribe(Consumer<String> listener);
+}
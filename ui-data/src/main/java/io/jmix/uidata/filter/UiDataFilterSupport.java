@@ -80,6 +80,8 @@ public class UiDataFilterSupport extends FilterSupport {
     protected DataComponents dataComponents;
     @Autowired
     protected Metadata metadata;
+    @Autowired
+    protected FilterConfigurationCache filterConfigurationCache;
 
     @Override
     public Map<Filter.Configuration, Boolean> getConfigurationsMap(Filter filter) {
@@ -100,6 +102,7 @@ public class UiDataFilterSupport extends FilterSupport {
                 loadFilterConfigurationModel(filter, filter.getCurrentConfiguration().getId());
         if (configurationModel != null) {
             dataManager.remove(configurationModel);
+            filterConfigurationCache.invalidate(configurationModel.getComponentId());
         }
 
         super.removeCurrentFilterConfiguration(filter);
@@ -158,6 +161,7 @@ public class UiDataFilterSupport extends FilterSupport {
         }
         configurationModel = filterConfigurationConverter.toConfigurationModel(configuration, configurationModel);
         dataManager.save(configurationModel);
+        filterConfigurationCache.invalidate(configurationModel.getComponentId());
     }
 
     @Override
@@ -177,13 +181,7 @@ public class UiDataFilterSupport extends FilterSupport {
     protected List<FilterConfiguration> loadFilterConfigurationModels(Filter filter) {
         String filterComponentId = generateFilterPath(filter);
         String username = currentAuthentication.getUser().getUsername();
-        return dataManager.load(FilterConfiguration.class)
-                .condition(LogicalCondition.and()
-                        .add(PropertyCondition.equal("componentId", filterComponentId))
-                        .add(LogicalCondition.or()
-                                .add(PropertyCondition.isSet("username", false))
-                                .add(PropertyCondition.equal("username", username))))
-                .list();
+        return filterConfigurationCache.getConfigurationModels(filterComponentId, username);
     }
 
     protected FilterConfiguration loadFilterConfigurationModel(boolean isNewConfiguration,
@@ -212,6 +210,12 @@ public class UiDataFilterSupport extends FilterSupport {
         dataManager.remove(configurations.toArray());
     }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    private void onUserRemoveAfterCommit(UserRemovedEvent event) {
+        // invalidate after commit to prevent caching of configurations that have not been removed yet
+        filterConfigurationCache.invalidateAll();
+    }
+
     protected boolean isDefaultForMeFieldVisible(Filter.Configuration currentConfiguration,
                                                  FilterConfiguration configurationModel) {
         Frame filterFrame = currentConfiguration.getOwner().getFrame();
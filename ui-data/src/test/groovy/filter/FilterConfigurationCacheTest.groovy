@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package filter
+
+import io.jmix.core.DataManager
+import io.jmix.core.security.event.UserRemovedEvent
+import io.jmix.uidata.entity.FilterConfiguration
+import io.jmix.uidata.filter.FilterConfigurationCache
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.security.core.userdetails.User
+import org.springframework.transaction.support.TransactionTemplate
+import test_support.UiDataTestSpecification
+
+class FilterConfigurationCacheTest extends UiDataTestSpecification {
+
+    @Autowired
+    FilterConfigurationCache filterConfigurationCache
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher
+
+    @Autowired
+    TransactionTemplate transactionTemplate
+
+    void cleanup() {
+        filterConfigurationCache.invalidateAll()
+        jdbcTemplate.update('delete from UI_FILTER_CONFIGURATION')
+    }
+
+    def "global configurations are shared between users and user configurations are not"() {
+        setup:
+        saveConfiguration('filter', 'global', null)
+        saveConfiguration('filter', 'user1Config', 'user1')
+        saveConfiguration('filter', 'user2Config', 'user2')
+
+        when:
+        def user1Models = filterConfigurationCache.getConfigurationModels('filter', 'user1')
+        def user2Models = filterConfigurationCache.getConfigurationModels('filter', 'user2')
+
+        then:
+        user1Models*.configurationId as Set == ['global', 'user1Config'] as Set
+        user2Models*.configurationId as Set == ['global', 'user2Config'] as Set
+    }
+
+    def "cached configurations are returned until the component is invalidated"() {
+        setup:
+        saveConfiguration('filter', 'global', null)
+        saveConfiguration('filter', 'userConfig', 'user1')
+        filterConfigurationCache.getConfigurationModels('filter', 'user1')
+
+        when: "configurations are changed bypassing the cache"
+        jdbcTemplate.update('delete from UI_FILTER_CONFIGURATION')
+
+        then: "both global and user configurations are taken from the cache"
+        filterConfigurationCache.getConfigurationModels('filter', 'user1')*.configurationId as Set ==
+                ['global', 'userConfig'] as Set
+
+        when:
+        filterConfigurationCache.invalidate('filter')
+
+        then:
+        filterConfigurationCache.getConfigurationModels('filter', 'user1').isEmpty()
+    }
+
+    def "invalidation of a component does not affect other components"() {
+        setup:
+        saveConfiguration('filter1', 'config1', null)
+        saveConfiguration('filter2', 'config2', null)
+        filterConfigurationCache.getConfigurationModels('filter1', 'user1')
+        filterConfigurationCache.getConfigurationModels('filter2', 'user1')
+        jdbcTemplate.update('delete from UI_FILTER_CONFIGURATION')
+
+        when:
+        filterConfigurationCache.invalidate('filter1')
+
+        then:
+        filterConfigurationCache.getConfigurationModels('filter1', 'user1').isEmpty()
+        filterConfigurationCache.getConfigurationModels('filter2', 'user1')*.configurationId == ['config2']
+    }
+
+    def "configurations of a removed user are evicted after commit"() {
+        setup:
+        saveConfiguration('filter', 'userConfig', 'user1')
+        assert filterConfigurationCache.getConfigurationModels('filter', 'user1').size() == 1
+
+        when:
+        transactionTemplate.executeWithoutResult {
+            eventPublisher.publishEvent(new UserRemovedEvent(User.withUsername('user1')
+                    .password('')
+                    .authorities(Collections.emptyList())
+                    .build()))
+        }
+
+        then:
+        filterConfigurationCache.getConfigurationModels('filter', 'user1').isEmpty()
+    }
+
+    protected void saveConfiguration(String componentId, String configurationId, String username) {
+        def configuration = dataManager.create(FilterConfiguration)
+        configuration.componentId = componentId
+        configuration.configurationId = configurationId
+        configuration.username = username
+        dataManager.save(configuration)
+    }
+}
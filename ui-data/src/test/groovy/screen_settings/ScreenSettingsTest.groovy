@@ -124,6 +124,24 @@ class ScreenSettingsTest extends UiDataTestSpecification {
                 .present
     }
 
+    def "ScreenSettings are saved to the store in the background"() {
+        setup: "Save settings"
+        def screenSettings = loadScreenSettings()
+        screenSettings.put("compId", "string", "string")
+
+        saveSettings(screenSettings)
+
+        expect: "Settings are not saved to the store yet"
+        jdbcTemplate.queryForObject('select count(*) from UI_SETTING', Integer) == 0
+
+        when: "Cache is cleared"
+        settingsCache.clear()
+
+        then: "Settings are saved and loaded from the store"
+        jdbcTemplate.queryForObject('select count(*) from UI_SETTING', Integer) == 1
+        loadScreenSettings().getString("compId", "string").get() == "string"
+    }
+
     ScreenSettings loadScreenSettings() {
         applicationContext.getBean(ScreenSettings, "screenId")
     }
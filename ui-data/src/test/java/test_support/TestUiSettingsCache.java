@@ -24,15 +24,19 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class TestUiSettingsCache extends UiSettingsCacheImpl {
 
-    protected Map<String, Optional<String>> cache = new ConcurrentHashMap<>();
+    protected Map<String, Optional<String>> cache;
 
     @Override
     protected Map<String, Optional<String>> getCache() {
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>(loadSettings());
+        }
         return cache;
     }
 
     @Override
     public void clear() {
-        cache.clear();
+        flush();
+        cache = null;
     }
 }
@@ -56,6 +56,8 @@ public class ExportAction extends ListAction implements ApplicationContextAware
 
     protected TableExporter tableExporter;
 
+    protected boolean loadAllRows = false;
+
     public ExportAction(String id) {
         this(id, null);
     }
@@ -81,6 +83,23 @@ public class ExportAction extends ListAction implements ApplicationContextAware
         this.caption = tableExporter.getCaption() != null ? tableExporter.getCaption() : this.caption;
     }
 
+    /**
+     * @return whether "All rows" exports all rows returned by the loader, not only the loaded ones
+     */
+    public boolean isLoadAllRows() {
+        return loadAllRows;
+    }
+
+    /**
+     * Sets whether "All rows" exports all rows returned by the loader of the list component, not only the
+     * loaded ones. In this case rows are exported using {@link ExportMode#ALL_ROWS}.
+     *
+     * @param loadAllRows whether to export all rows returned by the loader
+     */
+    public void setLoadAllRows(boolean loadAllRows) {
+        this.loadAllRows = loadAllRows;
+    }
+
     /**
      * Autowire table exporter instance by exporter class
      */
@@ -139,7 +158,7 @@ public class ExportAction extends ListAction implements ApplicationContextAware
             throw new IllegalStateException("Table exporter is not defined");
         }
         if (needExportAll()) {
-            doExport(ExportMode.ALL);
+            doExport(getAllRowsExportMode());
 
         } else {
             AbstractAction exportSelectedAction = new AbstractAction("actions.export.SELECTED_ROWS", Status.PRIMARY) {
@@ -153,7 +172,7 @@ public class ExportAction extends ListAction implements ApplicationContextAware
             AbstractAction exportAllAction = new AbstractAction("actions.export.ALL_ROWS") {
                 @Override
                 public void actionPerform(Component component) {
-                    doExport(ExportMode.ALL);
+                    doExport(getAllRowsExportMode());
                 }
             };
             exportAllAction.setCaption(getMessage(exportAllAction.getId()));
@@ -184,6 +203,10 @@ public class ExportAction extends ListAction implements ApplicationContextAware
         }
     }
 
+    protected ExportMode getAllRowsExportMode() {
+        return loadAllRows ? ExportMode.ALL_ROWS : ExportMode.ALL;
+    }
+
     protected String getMessage(String id) {
         return messages.getMessage(id);
     }
@@ -27,8 +27,14 @@ import io.jmix.core.metamodel.model.Range;
 import io.jmix.ui.UiProperties;
 import io.jmix.ui.component.DataGrid;
 import io.jmix.ui.component.Table;
+import io.jmix.ui.component.data.DataUnit;
+import io.jmix.ui.component.data.meta.ContainerDataUnit;
 import io.jmix.ui.component.data.meta.EntityDataGridItems;
 import io.jmix.ui.component.data.table.ContainerTableItems;
+import io.jmix.ui.model.CollectionContainer;
+import io.jmix.ui.model.CollectionLoader;
+import io.jmix.ui.model.DataLoader;
+import io.jmix.ui.model.HasLoader;
 import io.jmix.ui.model.InstanceContainer;
 import io.jmix.uiexport.action.ExportAction;
 import org.apache.commons.collections4.MapUtils;
@@ -37,11 +43,14 @@ import org.dom4j.Element;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Base table exporter class.
@@ -50,6 +59,8 @@ import java.util.function.Function;
 @SuppressWarnings({"unchecked", "rawtypes"})
 public abstract class AbstractTableExporter<T extends AbstractTableExporter> implements TableExporter {
 
+    public static final int DEFAULT_EXPORT_BATCH_SIZE = 1000;
+
     @Autowired
     protected MessageTools messageTools;
 
@@ -68,8 +79,13 @@ public abstract class AbstractTableExporter<T extends AbstractTableExporter> imp
     @Autowired
     protected CoreProperties coreProperties;
 
+    @Autowired
+    protected DataManager dataManager;
+
     protected String fileName;
 
+    protected int exportBatchSize = DEFAULT_EXPORT_BATCH_SIZE;
+
     protected Map<String, Function<ColumnValueContext, Object>> columnValueProviders;
 
     public String getFileName() {
@@ -85,6 +101,27 @@ public abstract class AbstractTableExporter<T extends AbstractTableExporter> imp
         return (T) this;
     }
 
+    /**
+     * @return number of rows loaded by one query in {@link ExportMode#ALL_ROWS} mode
+     */
+    public int getExportBatchSize() {
+        return exportBatchSize;
+    }
+
+    /**
+     * Sets the number of rows loaded by one query in {@link ExportMode#ALL_ROWS} mode.
+     *
+     * @param exportBatchSize number of rows loaded by one query
+     */
+    public void setExportBatchSize(int exportBatchSize) {
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    public T withExportBatchSize(int exportBatchSize) {
+        setExportBatchSize(exportBatchSize);
+        return (T) this;
+    }
+
     @Override
     public void addColumnValueProvider(String columnId, Function<ColumnValueContext, Object> columnValueProvider) {
         if (columnValueProviders == null) {
@@ -129,6 +166,99 @@ public abstract class AbstractTableExporter<T extends AbstractTableExporter> imp
         return fileName;
     }
 
+    /**
+     * @param items component items
+     * @return the collection loader of the items container or null if the items are not bound to a loader
+     */
+    @Nullable
+    protected CollectionLoader<Object> getCollectionLoader(@Nullable DataUnit items) {
+        if (items instanceof ContainerDataUnit) {
+            CollectionContainer container = ((ContainerDataUnit) items).getContainer();
+            if (container instanceof HasLoader) {
+                DataLoader loader = ((HasLoader) container).getLoader();
+                if (loader instanceof CollectionLoader) {
+                    return (CollectionLoader<Object>) loader;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads all rows of the loader query by batches of {@link #getExportBatchSize()} rows and passes them
+     * to the consumer one by one. Loaded rows are not merged into the screen data context.
+     * <p>
+     * The primary key is appended to the query sort, so that pages don't overlap or skip rows
+     * when the loader sort is not unique.
+     *
+     * @param loader      collection loader
+     * @param rowConsumer consumer of the loaded rows, returns false to stop loading
+     */
+    protected void loadAllRows(CollectionLoader<Object> loader, Predicate<Object> rowConsumer) {
+        int firstResult = 0;
+        while (true) {
+            List<Object> batch = loadRows(loader, firstResult);
+
+            for (Object row : batch) {
+                if (!rowConsumer.test(row)) {
+                    return;
+                }
+            }
+
+            if (batch.size() < exportBatchSize) {
+                return;
+            }
+            firstResult += batch.size();
+        }
+    }
+
+    /**
+     * Loads one batch of {@link #getExportBatchSize()} rows of the loader query. Loaded rows are not merged
+     * into the screen data context.
+     *
+     * @param loader      collection loader
+     * @param firstResult index of the first loaded row
+     * @return loaded rows, the batch is the last one if it contains less than {@link #getExportBatchSize()} rows
+     */
+    protected List<Object> loadRows(CollectionLoader<Object> loader, int firstResult) {
+        Function<LoadContext<Object>, List<Object>> delegate = loader.getLoadDelegate();
+
+        LoadContext<Object> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        if (query != null) {
+            query.setFirstResult(firstResult);
+            query.setMaxResults(exportBatchSize);
+            query.setSort(createStableSort(query.getSort(), loader.getContainer().getEntityMetaClass()));
+        }
+
+        return delegate != null
+                ? delegate.apply(loadContext)
+                : dataManager.loadList(loadContext);
+    }
+
+    /**
+     * Appends the primary key of the entity to the given sort if the sort doesn't contain it yet.
+     *
+     * @param sort      loader sort
+     * @param metaClass entity meta class
+     * @return sort which defines a total order of the loaded rows
+     */
+    @Nullable
+    protected Sort createStableSort(@Nullable Sort sort, MetaClass metaClass) {
+        String primaryKeyName = metadataTools.getPrimaryKeyName(metaClass);
+        if (primaryKeyName == null) {
+            return sort;
+        }
+
+        List<Sort.Order> orders = sort != null ? new ArrayList<>(sort.getOrders()) : new ArrayList<>();
+        boolean sortedByPrimaryKey = orders.stream()
+                .anyMatch(order -> primaryKeyName.equals(order.getProperty()));
+        if (!sortedByPrimaryKey) {
+            orders.add(Sort.Order.asc(primaryKeyName));
+        }
+        return Sort.by(orders);
+    }
+
     protected Object getColumnValue(Table table, Table.Column column, Object instance) {
         Function<ColumnValueContext, Object> columnValueProvider = MapUtils.isNotEmpty(columnValueProviders)
                 ? columnValueProviders.get(column.getStringId())
@@ -18,7 +18,20 @@ package io.jmix.uiexport.exporter;
 
 public enum ExportMode {
 
+    /**
+     * All items of the component.
+     */
     ALL,
-    SELECTED
 
+    /**
+     * Selected items of the component.
+     */
+    SELECTED,
+
+    /**
+     * All rows returned by the {@code CollectionLoader} of the component's container, not only the loaded ones.
+     * Rows are loaded by batches and written to the output as they come, grouping and hierarchy are not exported.
+     * If the component is not bound to a {@code CollectionLoader}, works as {@link #ALL}.
+     */
+    ALL_ROWS
 }
@@ -29,7 +29,10 @@ import io.jmix.ui.component.*;
 import io.jmix.ui.component.data.*;
 import io.jmix.ui.component.data.meta.EntityDataGridItems;
 import io.jmix.ui.download.ByteArrayDataProvider;
+import io.jmix.ui.download.DownloadDataProvider;
 import io.jmix.ui.download.Downloader;
+import io.jmix.ui.download.TempFileDataProvider;
+import io.jmix.ui.model.CollectionLoader;
 import io.jmix.ui.model.InstanceContainer;
 import io.jmix.uiexport.action.ExportAction;
 import io.jmix.uiexport.exporter.AbstractTableExporter;
@@ -39,6 +42,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFRichTextString;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.dom4j.Element;
@@ -48,7 +52,10 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.ParseException;
 import java.util.*;
 import java.util.function.Function;
@@ -77,6 +84,10 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
 
     public static final int MAX_ROW_COUNT = 65535;
 
+    public static final int XLSX_MAX_ROW_COUNT = 1048575;
+
+    public static final int DEFAULT_STREAMING_ROW_WINDOW_SIZE = 100;
+
     protected Workbook wb;
 
     protected Font boldFont;
@@ -99,6 +110,8 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
 
     protected boolean isRowNumberExceeded = false;
 
+    protected int streamingRowWindowSize = DEFAULT_STREAMING_ROW_WINDOW_SIZE;
+
     protected void createWorkbookWithSheet() {
         switch (exportFormat) {
             case XLS:
@@ -114,6 +127,22 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
         sheet = wb.createSheet("Export");
     }
 
+    /**
+     * Creates a workbook which keeps only the last {@link #getStreamingRowWindowSize()} rows in memory and
+     * flushes older rows to a temporary file. The XLS format doesn't support streaming, so an ordinary workbook is
+     * created for it.
+     */
+    protected void createStreamingWorkbookWithSheet() {
+        if (exportFormat == ExportFormat.XLSX) {
+            SXSSFWorkbook streamingWorkbook = new SXSSFWorkbook(streamingRowWindowSize);
+            streamingWorkbook.setCompressTempFiles(true);
+            wb = streamingWorkbook;
+            sheet = wb.createSheet("Export");
+        } else {
+            createWorkbookWithSheet();
+        }
+    }
+
     protected void createFonts() {
         stdFont = wb.createFont();
         boldFont = wb.createFont();
@@ -134,6 +163,14 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
             throw new IllegalStateException("Table items should not be null");
         }
 
+        if (exportMode == ExportMode.ALL_ROWS) {
+            CollectionLoader<Object> loader = getCollectionLoader(table.getItems());
+            if (loader != null) {
+                exportTableAllRows(downloader, table, loader);
+                return;
+            }
+        }
+
         List<Table.Column<Object>> columns = table.getColumns();
 
         createWorkbookWithSheet();
@@ -142,39 +179,8 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
 
         int r = 0;
 
-        Row row = sheet.createRow(r);
         createAutoColumnSizers(columns.size());
-
-        float maxHeight = sheet.getDefaultRowHeightInPoints();
-
-        CellStyle headerCellStyle = wb.createCellStyle();
-        headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-        for (Table.Column<Object> column : columns) {
-            String caption = column.getCaption();
-
-            int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
-            if (countOfReturnSymbols > 0) {
-                maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
-                headerCellStyle.setWrapText(true);
-            }
-        }
-        row.setHeightInPoints(maxHeight);
-
-        for (int c = 0; c < columns.size(); c++) {
-            Table.Column<Object> column = columns.get(c);
-            String caption = column.getCaption();
-
-            Cell cell = row.createCell(c);
-            RichTextString richTextString = createStringCellValue(caption);
-            richTextString.applyFont(boldFont);
-            cell.setCellValue(richTextString);
-
-            ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
-            sizer.notifyCellValue(caption, boldFont);
-            sizers[c] = sizer;
-
-            cell.setCellStyle(headerCellStyle);
-        }
+        createHeaderRow(getColumnCaptions(columns));
 
         TableItems<Object> tableItems = table.getItems();
 
@@ -279,6 +285,14 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
             throw new IllegalArgumentException("Downloader is null");
         }
 
+        if (exportMode == ExportMode.ALL_ROWS) {
+            CollectionLoader<Object> loader = getCollectionLoader(dataGrid.getItems());
+            if (loader != null) {
+                exportDataGridAllRows(downloader, dataGrid, loader);
+                return;
+            }
+        }
+
         createWorkbookWithSheet();
         createFonts();
         createFormats();
@@ -287,39 +301,8 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
 
         int r = 0;
 
-        Row row = sheet.createRow(r);
         createAutoColumnSizers(columns.size());
-
-        float maxHeight = sheet.getDefaultRowHeightInPoints();
-
-        CellStyle headerCellStyle = wb.createCellStyle();
-        headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-        for (DataGrid.Column column : columns) {
-            String caption = column.getCaption();
-
-            int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
-            if (countOfReturnSymbols > 0) {
-                maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
-                headerCellStyle.setWrapText(true);
-            }
-        }
-        row.setHeightInPoints(maxHeight);
-
-        for (int c = 0; c < columns.size(); c++) {
-            DataGrid.Column column = columns.get(c);
-            String caption = column.getCaption();
-
-            Cell cell = row.createCell(c);
-            RichTextString richTextString = createStringCellValue(caption);
-            richTextString.applyFont(boldFont);
-            cell.setCellValue(richTextString);
-
-            ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
-            sizer.notifyCellValue(caption, boldFont);
-            sizers[c] = sizer;
-
-            cell.setCellStyle(headerCellStyle);
-        }
+        createHeaderRow(getColumnCaptions(columns));
 
         EntityDataGridItems<Object> dataGridSource = (EntityDataGridItems) dataGrid.getItems();
         if (dataGridSource == null) {
@@ -382,6 +365,173 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
         }
     }
 
+    /**
+     * Exports all rows of the table loader query using a streaming workbook which is written to a temporary file.
+     */
+    protected void exportTableAllRows(Downloader downloader, Table<Object> table, CollectionLoader<Object> loader) {
+        List<Table.Column<Object>> columns = table.getColumns();
+
+        createStreamingWorkbookWithSheet();
+
+        DownloadDataProvider dataProvider;
+        try {
+            createFonts();
+            createFormats();
+
+            createAutoColumnSizers(columns.size());
+            createHeaderRow(getColumnCaptions(columns));
+
+            int[] rowNumber = {0};
+            loadAllRows(loader, item -> {
+                if (checkIsRowNumberExceed(rowNumber[0])) {
+                    return false;
+                }
+
+                Row row = sheet.createRow(++rowNumber[0]);
+                fillTableRow(row, table, columns, 0, item, 0);
+                return true;
+            });
+
+            dataProvider = writeToTempFile();
+        } finally {
+            disposeWorkbook();
+        }
+
+        if (isXlsMaxRowNumberExceeded()) {
+            showRowNumberExceededNotification(table);
+        }
+
+        download(downloader, dataProvider, getFileName(table));
+    }
+
+    /**
+     * Exports all rows of the data grid loader query using a streaming workbook which is written to a temporary file.
+     */
+    protected void exportDataGridAllRows(Downloader downloader, DataGrid<Object> dataGrid,
+                                         CollectionLoader<Object> loader) {
+        List<DataGrid.Column<Object>> columns = dataGrid.getColumns();
+
+        createStreamingWorkbookWithSheet();
+
+        DownloadDataProvider dataProvider;
+        try {
+            createFonts();
+            createFormats();
+
+            createAutoColumnSizers(columns.size());
+            createHeaderRow(getColumnCaptions(columns));
+
+            int[] rowNumber = {0};
+            loadAllRows(loader, item -> {
+                if (checkIsRowNumberExceed(rowNumber[0])) {
+                    return false;
+                }
+
+                Row row = sheet.createRow(++rowNumber[0]);
+                fillDataGridRow(row, dataGrid, columns, 0, item, 0);
+                return true;
+            });
+
+            dataProvider = writeToTempFile();
+        } finally {
+            disposeWorkbook();
+        }
+
+        if (isXlsMaxRowNumberExceeded()) {
+            showRowNumberExceededNotification(dataGrid);
+        }
+
+        download(downloader, dataProvider, getFileName(dataGrid));
+    }
+
+    protected List<String> getColumnCaptions(List<?> columns) {
+        List<String> captions = new ArrayList<>(columns.size());
+        for (Object column : columns) {
+            captions.add(column instanceof Table.Column
+                    ? ((Table.Column) column).getCaption()
+                    : ((DataGrid.Column) column).getCaption());
+        }
+        return captions;
+    }
+
+    protected void createHeaderRow(List<String> captions) {
+        Row row = sheet.createRow(0);
+
+        float maxHeight = sheet.getDefaultRowHeightInPoints();
+
+        CellStyle headerCellStyle = wb.createCellStyle();
+        headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        for (String caption : captions) {
+            int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
+            if (countOfReturnSymbols > 0) {
+                maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
+                headerCellStyle.setWrapText(true);
+            }
+        }
+        row.setHeightInPoints(maxHeight);
+
+        for (int c = 0; c < captions.size(); c++) {
+            String caption = captions.get(c);
+
+            Cell cell = row.createCell(c);
+            RichTextString richTextString = createStringCellValue(caption);
+            richTextString.applyFont(boldFont);
+            cell.setCellValue(richTextString);
+
+            ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
+            sizer.notifyCellValue(caption, boldFont);
+            sizers[c] = sizer;
+
+            cell.setCellStyle(headerCellStyle);
+        }
+    }
+
+    /**
+     * Writes the workbook to a temporary file.
+     */
+    protected DownloadDataProvider writeToTempFile() {
+        for (int c = 0; c < sizers.length; c++) {
+            sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
+        }
+
+        File file = TempFileDataProvider.createTempFile(coreProperties.getTempDir());
+        try (OutputStream out = new FileOutputStream(file)) {
+            wb.write(out);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write document", e);
+        }
+        return new TempFileDataProvider(file);
+    }
+
+    /**
+     * Removes temporary files of the streaming workbook. Does nothing for other workbooks.
+     */
+    protected void disposeWorkbook() {
+        if (wb instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) wb).dispose();
+        }
+    }
+
+    protected void download(Downloader downloader, DownloadDataProvider dataProvider, String fileName) {
+        switch (exportFormat) {
+            case XLSX:
+                downloader.download(dataProvider, fileName + "." + XLSX.getFileExt(), XLSX);
+                break;
+            case XLS:
+                downloader.download(dataProvider, fileName + "." + XLS.getFileExt(), XLS);
+                break;
+        }
+    }
+
+    protected void showRowNumberExceededNotification(ListComponent component) {
+        Notifications notifications = ComponentsHelper.getScreenContext(component).getNotifications();
+
+        notifications.create(Notifications.NotificationType.WARNING)
+                .withCaption(messages.getMessage("actions.warningExport.title"))
+                .withDescription(messages.getMessage("actions.warningExport.message"))
+                .show();
+    }
+
     protected int createDataGridHierarchicalRow(TreeDataGrid dataGrid, TreeDataGridItems<Object> treeDataGridItems,
                                                 List<DataGrid.Column<Object>> columns, int startColumn,
                                                 int rowNumber, Object item) {
@@ -409,6 +559,11 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
         if (dataGrid instanceof TreeDataGrid) {
             level = ((TreeDataGrid<Object>) dataGrid).getLevel(item);
         }
+        fillDataGridRow(row, dataGrid, columns, startColumn, item, level);
+    }
+
+    protected void fillDataGridRow(Row row, DataGrid dataGrid, List<DataGrid.Column<Object>> columns,
+                                   int startColumn, Object item, int level) {
         for (int c = startColumn; c < columns.size(); c++) {
             Cell cell = row.createCell(c);
 
@@ -420,7 +575,7 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
 
             Object cellValue = getColumnValue(dataGrid, columns.get(c), item);
 
-            formatValueCell(cell, cellValue, propertyPath, c, rowNumber, level, null);
+            formatValueCell(cell, cellValue, propertyPath, c, row.getRowNum(), level, null);
         }
     }
 
@@ -593,7 +748,7 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
         }
 
         if (checkIsRowNumberExceed(rowNumber)) {
-            sheet.groupRow(oldRowNumber + 1, MAX_ROW_COUNT);
+            sheet.groupRow(oldRowNumber + 1, getMaxRowCount());
         } else {
             sheet.groupRow(oldRowNumber + 1, rowNumber);
         }
@@ -606,7 +761,7 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
             return;
         }
 
-        if (rowNumber > MAX_ROW_COUNT) {
+        if (rowNumber > getMaxRowCount()) {
             return;
         }
 
@@ -619,19 +774,24 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
                 level = ((TreeTable<Object>) table).getLevel(itemId);
             }
 
-            for (int c = startColumn; c < columns.size(); c++) {
-                Cell cell = row.createCell(c);
-
-                Table.Column<Object> column = columns.get(c);
-                MetaPropertyPath propertyPath = null;
-                if (column.getId() instanceof MetaPropertyPath) {
-                    propertyPath = (MetaPropertyPath) column.getId();
-                }
+            fillTableRow(row, table, columns, startColumn, instance, level);
+        }
+    }
 
-                Object cellValue = getColumnValue(table, column, instance);
+    protected void fillTableRow(Row row, Table<Object> table, List<Table.Column<Object>> columns,
+                                int startColumn, Object instance, int level) {
+        for (int c = startColumn; c < columns.size(); c++) {
+            Cell cell = row.createCell(c);
 
-                formatValueCell(cell, cellValue, propertyPath, c, rowNumber, level, null);
+            Table.Column<Object> column = columns.get(c);
+            MetaPropertyPath propertyPath = null;
+            if (column.getId() instanceof MetaPropertyPath) {
+                propertyPath = (MetaPropertyPath) column.getId();
             }
+
+            Object cellValue = getColumnValue(table, column, instance);
+
+            formatValueCell(cell, cellValue, propertyPath, c, row.getRowNum(), level, null);
         }
     }
 
@@ -790,16 +950,40 @@ public class ExcelExporter extends AbstractTableExporter<ExcelExporter> {
     }
 
     protected boolean checkIsRowNumberExceed(int r) {
-        return isRowNumberExceeded = exportFormat == ExportFormat.XLS && r >= MAX_ROW_COUNT;
+        return isRowNumberExceeded = r >= getMaxRowCount();
+    }
+
+    /**
+     * @return index of the last row supported by a sheet of the current export format
+     */
+    protected int getMaxRowCount() {
+        return exportFormat == ExportFormat.XLSX ? XLSX_MAX_ROW_COUNT : MAX_ROW_COUNT;
     }
 
     /**
-     * @return true if exported table contains more than 65536 records
+     * @return true if exported table contains more records than a sheet of the current export format can hold
      */
     protected boolean isXlsMaxRowNumberExceeded() {
         return isRowNumberExceeded;
     }
 
+    /**
+     * @return number of rows kept in memory when exporting in {@link ExportMode#ALL_ROWS} mode
+     */
+    public int getStreamingRowWindowSize() {
+        return streamingRowWindowSize;
+    }
+
+    /**
+     * Sets the number of rows kept in memory when exporting in {@link ExportMode#ALL_ROWS} mode to XLSX.
+     * Older rows are flushed to a temporary file.
+     *
+     * @param streamingRowWindowSize number of rows kept in memory
+     */
+    public void setStreamingRowWindowSize(int streamingRowWindowSize) {
+        this.streamingRowWindowSize = streamingRowWindowSize;
+    }
+
     /**
      * Export table with aggregation
      *
@@ -17,42 +17,71 @@
 package io.jmix.uiexport.exporter.json;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import io.jmix.core.Messages;
 import io.jmix.core.Metadata;
+import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.core.security.SecurityContextHelper;
 import io.jmix.ui.component.DataGrid;
 import io.jmix.ui.component.Table;
-import io.jmix.ui.download.ByteArrayDataProvider;
+import io.jmix.ui.component.data.DataUnit;
+import io.jmix.ui.component.data.meta.EntityDataGridItems;
+import io.jmix.ui.download.DownloadDataProvider;
 import io.jmix.ui.download.DownloadFormat;
 import io.jmix.ui.download.Downloader;
+import io.jmix.ui.download.TempFileDataProvider;
+import io.jmix.ui.executor.BackgroundWorker;
+import io.jmix.ui.executor.UIAccessor;
+import io.jmix.ui.model.CollectionLoader;
 import io.jmix.uiexport.action.ExportAction;
 import io.jmix.uiexport.exporter.AbstractTableExporter;
 import io.jmix.uiexport.exporter.ExportMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Use this class to export {@link Table} into JSON format.
  * <br>Just create an instance of {@link ExportAction} with <code>withExporter</code> method.
+ * <p>
+ * Rows are written one by one using {@link JsonWriter}, so the whole document is never built in memory. By default,
+ * the document is written to a temporary file which is then downloaded. If {@link #setStreamingDownload(boolean)}
+ * is set, rows are written to the download stream batch by batch while the file is being downloaded.
  */
 @Component("ui_JsonExporter")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 public class JsonExporter extends AbstractTableExporter<JsonExporter> {
 
+    private static final Logger log = LoggerFactory.getLogger(JsonExporter.class);
+
     @Autowired
     protected Messages messages;
 
     @Autowired
     protected Metadata metadata;
 
+    @Autowired
+    protected BackgroundWorker backgroundWorker;
+
     protected Function<GsonBuilder, GsonBuilder> gsonConfigurer;
 
+    protected boolean streamingDownload = false;
+
     /**
      * Configure Gson builder for export
      *
@@ -64,56 +93,181 @@ public class JsonExporter extends AbstractTableExporter<JsonExporter> {
         return this;
     }
 
+    /**
+     * @return whether rows are written directly to the download stream
+     */
+    public boolean isStreamingDownload() {
+        return streamingDownload;
+    }
+
+    /**
+     * Sets whether rows are written directly to the download stream, so the download starts before the last row
+     * is serialized. Otherwise, the document is written to a temporary file first.
+     * <p>
+     * In the streaming mode rows are loaded and serialized by batches of {@link #getExportBatchSize()} rows while
+     * the download stream is being read. Each batch is processed holding the lock of the UI session and with
+     * the authentication of the user who started the export. If a batch cannot be written, reading of the stream
+     * fails, so the download is aborted instead of producing a truncated document.
+     *
+     * @param streamingDownload whether to write rows directly to the download stream
+     */
+    public void setStreamingDownload(boolean streamingDownload) {
+        this.streamingDownload = streamingDownload;
+    }
+
+    public JsonExporter withStreamingDownload(boolean streamingDownload) {
+        setStreamingDownload(streamingDownload);
+        return this;
+    }
+
     @Override
     public void exportTable(Downloader downloader, Table<Object> table, ExportMode exportMode) {
-        Collection<Object> items = getItems(table, exportMode);
-        Gson gson = createGsonForSerialization();
-        JsonArray jsonElements = new JsonArray();
-        for (Object entity : items) {
-            JsonObject jsonObject = new JsonObject();
-            for (Table.Column<Object> column : table.getColumns()) {
+        List<Table.Column<Object>> columns = table.getColumns();
+
+        CollectionLoader<Object> loader = getLoader(table.getItems(), exportMode);
+        DownloadDataProvider dataProvider = createDataProvider(() ->
+                createRowsWriter(loader, () -> getItems(table, exportMode),
+                        (writer, entity) -> writeTableRow(writer, table, columns, entity)));
+
+        downloader.download(dataProvider, getFileName(table) + ".json", DownloadFormat.JSON);
+    }
+
+    @Override
+    public void exportDataGrid(Downloader downloader, DataGrid<Object> dataGrid, ExportMode exportMode) {
+        List<DataGrid.Column<Object>> columns = dataGrid.getColumns();
+
+        MetaPropertyPath[] propertyPaths = null;
+        if (dataGrid.getItems() instanceof EntityDataGridItems) {
+            MetaClass metaClass = ((EntityDataGridItems<Object>) dataGrid.getItems()).getEntityMetaClass();
+            propertyPaths = new MetaPropertyPath[columns.size()];
+            for (int i = 0; i < columns.size(); i++) {
+                propertyPaths[i] = metaClass.getPropertyPath(columns.get(i).getId());
+            }
+        }
+
+        MetaPropertyPath[] columnPropertyPaths = propertyPaths;
+        CollectionLoader<Object> loader = getLoader(dataGrid.getItems(), exportMode);
+        DownloadDataProvider dataProvider = createDataProvider(() ->
+                createRowsWriter(loader, () -> getItems(dataGrid, exportMode),
+                        (writer, entity) -> writeDataGridRow(writer, dataGrid, columns, columnPropertyPaths, entity)));
+
+        downloader.download(dataProvider, getFileName(dataGrid) + ".json", DownloadFormat.JSON);
+    }
+
+    protected void writeTableRow(JsonWriter writer, Table<Object> table, List<Table.Column<Object>> columns,
+                                 Object entity) {
+        try {
+            writer.beginObject();
+            for (Table.Column<Object> column : columns) {
                 if (column.getId() instanceof MetaPropertyPath) {
                     MetaPropertyPath propertyPath = (MetaPropertyPath) column.getId();
                     Object columnValue = getColumnValue(table, column, entity);
+                    writer.name(propertyPath.getMetaProperty().getName());
                     if (columnValue != null) {
-                        jsonObject.add(propertyPath.getMetaProperty().getName(),
-                                new JsonPrimitive(formatValue(columnValue, (MetaPropertyPath) column.getId())));
+                        writer.value(formatValue(columnValue, propertyPath));
                     } else {
-                        jsonObject.add(propertyPath.getMetaProperty().getName(),
-                                JsonNull.INSTANCE);
+                        writer.nullValue();
                     }
                 }
             }
-            jsonElements.add(jsonObject);
+            writer.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write JSON", e);
         }
-        downloader.download(new ByteArrayDataProvider(gson.toJson(jsonElements).getBytes(),
-                        uiProperties.getSaveExportedByteArrayDataThresholdBytes(), coreProperties.getTempDir()),
-                getFileName(table) + ".json", DownloadFormat.JSON);
     }
 
-    @Override
-    public void exportDataGrid(Downloader downloader, DataGrid<Object> dataGrid, ExportMode exportMode) {
-        Collection<Object> items = getItems(dataGrid, exportMode);
-        Gson gson = createGsonForSerialization();
-        JsonArray jsonElements = new JsonArray();
-        for (Object entity : items) {
-            JsonObject jsonObject = new JsonObject();
-            for (DataGrid.Column<Object> column : dataGrid.getColumns()) {
+    /**
+     * Writes a data grid row.
+     *
+     * @param propertyPaths property paths of the columns or null if the data grid items don't provide
+     *                      an entity meta class, so property paths are resolved by the class of the entity
+     */
+    protected void writeDataGridRow(JsonWriter writer, DataGrid<Object> dataGrid, List<DataGrid.Column<Object>> columns,
+                                    @Nullable MetaPropertyPath[] propertyPaths, Object entity) {
+        try {
+            writer.beginObject();
+            for (int i = 0; i < columns.size(); i++) {
+                DataGrid.Column<Object> column = columns.get(i);
                 Object columnValue = getColumnValue(dataGrid, column, entity);
-                MetaPropertyPath metaPropertyPath = metadata.getClass(entity.getClass()).getPropertyPath(column.getId());
+                MetaPropertyPath propertyPath = propertyPaths != null
+                        ? propertyPaths[i]
+                        : metadata.getClass(entity.getClass()).getPropertyPath(column.getId());
+                writer.name(column.getId());
                 if (columnValue != null) {
-                    jsonObject.add(column.getId(),
-                            new JsonPrimitive(formatValue(columnValue, metaPropertyPath)));
+                    writer.value(formatValue(columnValue, propertyPath));
                 } else {
-                    jsonObject.add(column.getId(),
-                            JsonNull.INSTANCE);
+                    writer.nullValue();
                 }
             }
-            jsonElements.add(jsonObject);
+            writer.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write JSON", e);
+        }
+    }
+
+    @Nullable
+    protected CollectionLoader<Object> getLoader(@Nullable DataUnit items, ExportMode exportMode) {
+        return exportMode == ExportMode.ALL_ROWS ? getCollectionLoader(items) : null;
+    }
+
+    /**
+     * Creates a rows writer which writes the rows of the loader query by batches or, if the loader is null,
+     * the given items at once.
+     *
+     * @param loader    loader of all rows or null
+     * @param items     supplier of the exported items if the loader is null
+     * @param rowWriter writer of a single row
+     * @return rows writer
+     */
+    protected RowsWriter createRowsWriter(@Nullable CollectionLoader<Object> loader,
+                                          Supplier<Collection<Object>> items,
+                                          BiConsumer<JsonWriter, Object> rowWriter) {
+        if (loader == null) {
+            return writer -> {
+                for (Object item : items.get()) {
+                    rowWriter.accept(writer, item);
+                }
+                return false;
+            };
+        }
+
+        int[] firstResult = {0};
+        return writer -> {
+            List<Object> batch = loadRows(loader, firstResult[0]);
+            for (Object item : batch) {
+                rowWriter.accept(writer, item);
+            }
+            firstResult[0] += batch.size();
+            return batch.size() >= exportBatchSize;
+        };
+    }
+
+    /**
+     * Creates a data provider of the JSON array which elements are written by the rows writers created by
+     * the given factory. A new rows writer is created each time the document is written.
+     */
+    protected DownloadDataProvider createDataProvider(Supplier<RowsWriter> rowsWriterFactory) {
+        Gson gson = createGsonForSerialization();
+        if (streamingDownload) {
+            return new StreamingDataProvider(gson, rowsWriterFactory);
+        }
+
+        RowsWriter rowsWriter = rowsWriterFactory.get();
+
+        File file = TempFileDataProvider.createTempFile(coreProperties.getTempDir());
+        try (OutputStream out = new FileOutputStream(file)) {
+            Writer streamWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            JsonWriter writer = gson.newJsonWriter(streamWriter);
+            writer.beginArray();
+            while (rowsWriter.write(writer)) {
+                writer.flush();
+            }
+            writer.endArray();
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write JSON", e);
         }
-        downloader.download(new ByteArrayDataProvider(gson.toJson(jsonElements).getBytes(),
-                        uiProperties.getSaveExportedByteArrayDataThresholdBytes(), coreProperties.getTempDir()),
-                getFileName(dataGrid) + ".json", DownloadFormat.JSON);
+        return new TempFileDataProvider(file);
     }
 
     protected Gson createGsonForSerialization() {
@@ -125,15 +279,146 @@ public class JsonExporter extends AbstractTableExporter<JsonExporter> {
     }
 
     protected Collection<Object> getItems(Table<Object> table, ExportMode exportMode) {
-        return ExportMode.ALL == exportMode ? table.getItems().getItems() : table.getSelected();
+        return ExportMode.SELECTED == exportMode ? table.getSelected() : table.getItems().getItems();
     }
 
     protected Collection<Object> getItems(DataGrid<Object> dataGrid, ExportMode exportMode) {
-        return ExportMode.ALL == exportMode ? dataGrid.getItems().getItems().collect(Collectors.toList()) : dataGrid.getSelected();
+        return ExportMode.SELECTED == exportMode ? dataGrid.getSelected() : dataGrid.getItems().getItems().collect(Collectors.toList());
     }
 
     @Override
     public String getCaption() {
         return messages.getMessage("jsonExporter.caption");
     }
+
+    /**
+     * Writes rows of the exported JSON array by portions.
+     */
+    @FunctionalInterface
+    protected interface RowsWriter {
+
+        /**
+         * Writes the next portion of rows.
+         *
+         * @param writer JSON writer
+         * @return true if there are more rows to write
+         */
+        boolean write(JsonWriter writer);
+    }
+
+    /**
+     * Provides a stream which writes the next portion of rows each time the already written data is read.
+     * Rows are written in the thread which reads the stream, holding the lock of the UI which started the export
+     * and with the authentication of the user who started the export.
+     */
+    protected class StreamingDataProvider implements DownloadDataProvider {
+
+        protected final Gson gson;
+        protected final Supplier<RowsWriter> rowsWriterFactory;
+        protected final Authentication authentication;
+        protected final UIAccessor uiAccessor;
+
+        public StreamingDataProvider(Gson gson, Supplier<RowsWriter> rowsWriterFactory) {
+            this.gson = gson;
+            this.rowsWriterFactory = rowsWriterFactory;
+            this.authentication = SecurityContextHelper.getAuthentication();
+            this.uiAccessor = backgroundWorker.getUIAccessor();
+        }
+
+        @Override
+        public InputStream provide() {
+            StreamingInputStream in = new StreamingInputStream();
+            try {
+                // write the first portion before the response is committed, so that errors fail the request
+                in.writeNextPortion();
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to write JSON", e);
+            }
+            return in;
+        }
+
+        protected class StreamingInputStream extends InputStream {
+
+            protected final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            protected final JsonWriter writer;
+            protected final RowsWriter rowsWriter = rowsWriterFactory.get();
+
+            protected byte[] bytes = new byte[0];
+            protected int position;
+            protected boolean started;
+            protected boolean finished;
+            protected IOException failure;
+
+            public StreamingInputStream() {
+                writer = gson.newJsonWriter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public int read() throws IOException {
+                if (!ensureAvailable()) {
+                    return -1;
+                }
+                return bytes[position++] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!ensureAvailable()) {
+                    return -1;
+                }
+                int count = Math.min(len, bytes.length - position);
+                System.arraycopy(bytes, position, b, off, count);
+                position += count;
+                return count;
+            }
+
+            protected boolean ensureAvailable() throws IOException {
+                if (failure != null) {
+                    throw failure;
+                }
+                while (position >= bytes.length) {
+                    if (finished) {
+                        return false;
+                    }
+                    writeNextPortion();
+                }
+                return true;
+            }
+
+            protected void writeNextPortion() throws IOException {
+                try {
+                    uiAccessor.accessSynchronously(() -> {
+                        Authentication previousAuth = SecurityContextHelper.getAuthentication();
+                        SecurityContextHelper.setAuthentication(authentication);
+                        try {
+                            if (!started) {
+                                writer.beginArray();
+                                started = true;
+                            }
+                            if (!rowsWriter.write(writer)) {
+                                writer.endArray();
+                                finished = true;
+                            }
+                            writer.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            SecurityContextHelper.setAuthentication(previousAuth);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    log.error("Unable to write JSON", e);
+                    failure = new IOException("Unable to write JSON", e);
+                    throw failure;
+                }
+
+                bytes = buffer.toByteArray();
+                buffer.reset();
+                position = 0;
+            }
+        }
+    }
 }
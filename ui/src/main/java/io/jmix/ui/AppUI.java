@@ -122,6 +122,8 @@ public class AppUI extends UI implements ErrorHandler, EnhancedUI, UiExceptionHa
     protected UrlRouting urlRouting;
     protected History history;
 
+    protected Map<Object, Runnable> beforeClientResponseTasks = new LinkedHashMap<>();
+
     /**
      * Dynamically init external JS libraries.
      * You should create JavaScriptExtension class and extend UI object here. <br>
@@ -536,6 +538,52 @@ public class AppUI extends UI implements ErrorHandler, EnhancedUI, UiExceptionHa
         timersHolder.removeExtension(timer);
     }
 
+    /**
+     * Schedules a task to be executed once at the end of the current server request, before changes are sent to
+     * the client. A task scheduled with the same key replaces the previous one, so a task can be requested several
+     * times during a request but is executed once.
+     *
+     * @param key  task key
+     * @param task task
+     */
+    @Internal
+    public void runBeforeClientResponse(Object key, Runnable task) {
+        beforeClientResponseTasks.put(key, task);
+        markAsDirty();
+    }
+
+    /**
+     * Cancels a task scheduled by {@link #runBeforeClientResponse(Object, Runnable)} if it has not been executed yet.
+     *
+     * @param key task key
+     */
+    @Internal
+    public void cancelBeforeClientResponse(Object key) {
+        beforeClientResponseTasks.remove(key);
+    }
+
+    @Override
+    public void beforeClientResponse(boolean initial) {
+        super.beforeClientResponse(initial);
+
+        runBeforeClientResponseTasks();
+    }
+
+    protected void runBeforeClientResponseTasks() {
+        // tasks may schedule other tasks, e.g. a loaded master container triggers detail loaders
+        while (!beforeClientResponseTasks.isEmpty()) {
+            Iterator<Runnable> iterator = beforeClientResponseTasks.values().iterator();
+            Runnable task = iterator.next();
+            iterator.remove();
+
+            try {
+                task.run();
+            } catch (Exception e) {
+                error(new com.vaadin.server.ErrorEvent(e));
+            }
+        }
+    }
+
     public void beforeTopLevelWindowInit() {
         updateUiTheme();
 
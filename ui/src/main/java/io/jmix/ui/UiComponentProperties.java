@@ -121,6 +121,17 @@ public class UiComponentProperties {
      */
     boolean filterShowConfigurationIdField;
 
+    /**
+     * Time in seconds after which cached filter configurations are reloaded from the store.
+     */
+    long filterConfigurationCacheExpiration;
+
+    /**
+     * Maximum number of cached filter configuration lists, each list holds configurations of a filter
+     * component for a user or global configurations of a filter component.
+     */
+    long filterConfigurationCacheMaxSize;
+
     public UiComponentProperties(
             @DefaultValue("true") boolean htmlSanitizerEnabled,
             @DefaultValue("20") int uploadFieldMaxUploadSizeMb,
@@ -146,7 +157,9 @@ public class UiComponentProperties {
             @DefaultValue("true") boolean filterAutoApply,
             @DefaultValue("2") int filterPropertiesHierarchyDepth,
             @DefaultValue("3") int filterColumnsCount,
-            @DefaultValue("false") boolean filterShowConfigurationIdField
+            @DefaultValue("false") boolean filterShowConfigurationIdField,
+            @DefaultValue("300") long filterConfigurationCacheExpiration,
+            @DefaultValue("10000") long filterConfigurationCacheMaxSize
     ) {
         this.htmlSanitizerEnabled = htmlSanitizerEnabled;
         this.uploadFieldMaxUploadSizeMb = uploadFieldMaxUploadSizeMb;
@@ -173,6 +186,8 @@ public class UiComponentProperties {
         this.filterPropertiesHierarchyDepth = filterPropertiesHierarchyDepth;
         this.filterColumnsCount = filterColumnsCount;
         this.filterShowConfigurationIdField = filterShowConfigurationIdField;
+        this.filterConfigurationCacheExpiration = filterConfigurationCacheExpiration;
+        this.filterConfigurationCacheMaxSize = filterConfigurationCacheMaxSize;
     }
 
     public int getUploadFieldMaxUploadSizeMb() {
@@ -307,4 +322,18 @@ public class UiComponentProperties {
     public boolean isFilterShowConfigurationIdField() {
         return filterShowConfigurationIdField;
     }
+
+    /**
+     * @see #filterConfigurationCacheExpiration
+     */
+    public long getFilterConfigurationCacheExpiration() {
+        return filterConfigurationCacheExpiration;
+    }
+
+    /**
+     * @see #filterConfigurationCacheMaxSize
+     */
+    public long getFilterConfigurationCacheMaxSize() {
+        return filterConfigurationCacheMaxSize;
+    }
 }
@@ -69,6 +69,18 @@ public class UiProperties {
      */
     long webJarResourcesCacheTime;
 
+    /**
+     * Maximum total size in bytes of WebJar resources kept in memory along with their compressed variants.
+     * Zero size disables the in-memory cache.
+     */
+    long webJarResourcesCacheMaxSize;
+
+    /**
+     * Maximum size in bytes of a single WebJar resource kept in memory. Larger resources and resources of unknown
+     * size are neither cached nor compressed, they are streamed from the classpath on each request.
+     */
+    long webJarResourcesCacheMaxEntrySize;
+
     /**
      * Interval for checking timeout of a BackgroundTask in ms.
      */
@@ -125,6 +137,29 @@ public class UiProperties {
      */
     int mainTabCaptionLength;
 
+    /**
+     * Maximum total length in characters of screen XML descriptors kept in the cache of processed descriptors.
+     */
+    long screenXmlCacheMaxWeight;
+
+    /**
+     * Interval in ms for saving changed user settings to the store. Changed settings are also saved when the
+     * session is closed. If the value is 0, settings are saved immediately.
+     */
+    long settingsFlushInterval;
+
+    /**
+     * Whether to load screen configurations on application startup instead of the first access.
+     */
+    boolean windowConfigEagerInit;
+
+    /**
+     * Number of threads which fetch data of independent loaders concurrently.
+     *
+     * @see io.jmix.ui.component.DataLoadCoordinator#setConcurrentLoads(boolean)
+     */
+    int dataLoadThreadsCount;
+
     public UiProperties(
             boolean testMode,
             boolean performanceTestMode,
@@ -139,6 +174,8 @@ public class UiProperties {
             @DefaultValue({"htm", "html", "jpg", "png", "jpeg", "pdf"}) List<String> viewFileExtensions,
             @DefaultValue("102400") int saveExportedByteArrayDataThresholdBytes,
             @DefaultValue("31536000") long webJarResourcesCacheTime, // 60 * 60 * 24 * 365
+            @DefaultValue("33554432") long webJarResourcesCacheMaxSize, // 32 MB
+            @DefaultValue("2097152") long webJarResourcesCacheMaxEntrySize, // 2 MB
             @DefaultValue("5000") long backgroundTaskTimeoutCheckInterval,
             @DefaultValue("10000") Integer defaultMaxFetchSize,
             @Nullable Map<String, Integer> entityMaxFetchSize,
@@ -152,7 +189,11 @@ public class UiProperties {
             @DefaultValue("main") String mainScreenId,
             String initialScreenId,
             @DefaultValue("true") boolean localeSelectVisible,
-            @DefaultValue("25") int mainTabCaptionLength
+            @DefaultValue("25") int mainTabCaptionLength,
+            @DefaultValue("5242880") long screenXmlCacheMaxWeight,
+            @DefaultValue("30000") long settingsFlushInterval,
+            @DefaultValue("false") boolean windowConfigEagerInit,
+            @DefaultValue("8") int dataLoadThreadsCount
     ) {
         this.testMode = testMode;
         this.performanceTestMode = performanceTestMode;
@@ -167,6 +208,8 @@ public class UiProperties {
         this.viewFileExtensions = viewFileExtensions;
         this.saveExportedByteArrayDataThresholdBytes = saveExportedByteArrayDataThresholdBytes;
         this.webJarResourcesCacheTime = webJarResourcesCacheTime;
+        this.webJarResourcesCacheMaxSize = webJarResourcesCacheMaxSize;
+        this.webJarResourcesCacheMaxEntrySize = webJarResourcesCacheMaxEntrySize;
         this.backgroundTaskTimeoutCheckInterval = backgroundTaskTimeoutCheckInterval;
         this.defaultMaxFetchSize = defaultMaxFetchSize;
         this.entityMaxFetchSize = entityMaxFetchSize == null ? Collections.emptyMap() : entityMaxFetchSize;
@@ -181,6 +224,10 @@ public class UiProperties {
         this.initialScreenId = initialScreenId;
         this.localeSelectVisible = localeSelectVisible;
         this.mainTabCaptionLength = mainTabCaptionLength;
+        this.screenXmlCacheMaxWeight = screenXmlCacheMaxWeight;
+        this.settingsFlushInterval = settingsFlushInterval;
+        this.windowConfigEagerInit = windowConfigEagerInit;
+        this.dataLoadThreadsCount = dataLoadThreadsCount;
     }
 
     public boolean isTestMode() {
@@ -239,6 +286,20 @@ public class UiProperties {
         return webJarResourcesCacheTime;
     }
 
+    /**
+     * @see #webJarResourcesCacheMaxSize
+     */
+    public long getWebJarResourcesCacheMaxSize() {
+        return webJarResourcesCacheMaxSize;
+    }
+
+    /**
+     * @see #webJarResourcesCacheMaxEntrySize
+     */
+    public long getWebJarResourcesCacheMaxEntrySize() {
+        return webJarResourcesCacheMaxEntrySize;
+    }
+
     /**
      * @see #productionMode
      */
@@ -344,4 +405,32 @@ public class UiProperties {
     public boolean isLocaleSelectVisible() {
         return localeSelectVisible;
     }
+
+    /**
+     * @see #screenXmlCacheMaxWeight
+     */
+    public long getScreenXmlCacheMaxWeight() {
+        return screenXmlCacheMaxWeight;
+    }
+
+    /**
+     * @see #settingsFlushInterval
+     */
+    public long getSettingsFlushInterval() {
+        return settingsFlushInterval;
+    }
+
+    /**
+     * @see #windowConfigEagerInit
+     */
+    public boolean isWindowConfigEagerInit() {
+        return windowConfigEagerInit;
+    }
+
+    /**
+     * @see #dataLoadThreadsCount
+     */
+    public int getDataLoadThreadsCount() {
+        return dataLoadThreadsCount;
+    }
 }
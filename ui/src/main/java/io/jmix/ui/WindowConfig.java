@@ -34,6 +34,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -212,6 +214,21 @@ public class WindowConfig {
         }
     }
 
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (uiProperties.isWindowConfigEagerInit()) {
+            lock.writeLock().lock();
+            try {
+                if (!initialized) {
+                    init();
+                    initialized = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
     protected void init() {
         long startTime = System.currentTimeMillis();
 
@@ -248,7 +265,11 @@ public class WindowConfig {
 
                 WindowInfo windowInfo = new WindowInfo(definition.getId(), windowAttributesProvider,
                         definition.getControllerClass(), definition.getRouteDefinition());
-                registerScreen(definition.getId(), windowInfo);
+                if (definition.isIndexed()) {
+                    registerIndexedScreen(definition, windowInfo);
+                } else {
+                    registerScreen(definition.getId(), windowInfo);
+                }
             }
 
             projectScreens.clear();
@@ -349,6 +370,27 @@ public class WindowConfig {
         registerScreenRoute(id, windowInfo);
     }
 
+    /**
+     * Registers a screen loaded from {@link UiControllersIndex} without reading its class metadata.
+     */
+    protected void registerIndexedScreen(UiControllerDefinition definition, WindowInfo windowInfo) {
+        registerPrimaryScreen(primaryEditors, windowInfo, definition.getPrimaryEditorEntity());
+        registerPrimaryScreen(primaryLookups, windowInfo, definition.getPrimaryLookupEntity());
+
+        screens.put(definition.getId(), windowInfo);
+
+        registerScreenRoute(definition.getId(), windowInfo);
+    }
+
+    protected void registerPrimaryScreen(Map<Class, WindowInfo> primaryScreens, WindowInfo windowInfo,
+                                         @Nullable String entityClassName) {
+        if (entityClassName != null) {
+            MetaClass metaClass = metadata.findClass(classManager.loadClass(entityClassName));
+            MetaClass originalMetaClass = extendedEntities.getOriginalOrThisMetaClass(metaClass);
+            primaryScreens.put(originalMetaClass.getJavaClass(), windowInfo);
+        }
+    }
+
     protected void registerScreenRoute(String screenId, WindowInfo windowInfo) {
         RouteDefinition routeDef = windowInfo.getRouteDefinition();
         if (routeDef != null) {
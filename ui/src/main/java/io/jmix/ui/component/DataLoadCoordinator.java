@@ -58,6 +58,42 @@ public interface DataLoadCoordinator extends Facet {
     @StudioProperty(name = "componentPrefix", defaultValue = DEFAULT_COMPONENT_PREFIX)
     void setComponentPrefix(String value);
 
+    /**
+     * Sets whether loads requested by container and component triggers are coalesced. If enabled, a loader is
+     * executed once at the end of the server request, no matter how many triggers have fired during the request.
+     * Loader parameters are assigned immediately, so the last value wins.
+     */
+    @StudioProperty(name = "coalesceLoads", type = PropertyType.BOOLEAN, defaultValue = "false")
+    void setCoalesceLoads(boolean coalesceLoads);
+
+    /**
+     * @return whether loads requested by container and component triggers are coalesced
+     * @see #setCoalesceLoads(boolean)
+     */
+    boolean isCoalesceLoads();
+
+    /**
+     * Sets whether loaders triggered by the same screen or fragment event are loaded concurrently. Loaders are
+     * ordered by dependencies derived from container triggers: a loader is loaded after the loaders of the containers
+     * its parameters are bound to. Independent loaders fetch data in parallel and their results are set to containers
+     * in the UI thread, so the event takes as long as the slowest loader instead of the sum of all loaders.
+     * <p>
+     * Only dependencies declared by container triggers are taken into account. If a loader parameter is assigned
+     * in a {@code PostLoadEvent} listener of another loader triggered by the same event, the loaders can be
+     * loaded in the wrong order, so such a dependency must be expressed by a container trigger or the loaders
+     * must be loaded by different events.
+     * <p>
+     * Must be set before triggers are added, otherwise {@link IllegalStateException} is thrown.
+     */
+    @StudioProperty(name = "concurrentLoads", type = PropertyType.BOOLEAN, defaultValue = "false")
+    void setConcurrentLoads(boolean concurrentLoads);
+
+    /**
+     * @return whether loaders triggered by the same screen or fragment event are loaded concurrently
+     * @see #setConcurrentLoads(boolean)
+     */
+    boolean isConcurrentLoads();
+
     /**
      * Adds trigger on screen/fragment event.
      *
@@ -75,6 +111,18 @@ public interface DataLoadCoordinator extends Facet {
      */
     void addOnContainerItemChangedLoadTrigger(DataLoader loader, InstanceContainer container, @Nullable String param);
 
+    /**
+     * Adds trigger on data container {@code ItemChangeEvent} which loads data after the given delay. Each subsequent
+     * event restarts the delay and replaces the pending load.
+     *
+     * @param loader    loader
+     * @param container master data container
+     * @param param     loader parameter
+     * @param debounce  delay in milliseconds, 0 to load immediately
+     */
+    void addOnContainerItemChangedLoadTrigger(DataLoader loader, InstanceContainer container, @Nullable String param,
+                                              int debounce);
+
     /**
      * Adds trigger on visual component {@code ValueChangeEvent}.
      *
@@ -85,6 +133,20 @@ public interface DataLoadCoordinator extends Facet {
      */
     void addOnComponentValueChangedLoadTrigger(DataLoader loader, Component component, @Nullable String param, LikeClause likeClause);
 
+    /**
+     * Adds trigger on visual component {@code ValueChangeEvent} which loads data after the given delay. Each
+     * subsequent value change restarts the delay and replaces the pending load, so a text field does not issue
+     * a query on each keystroke.
+     *
+     * @param loader     loader
+     * @param component  component which must implement {@code HasValue}
+     * @param param      loader parameter
+     * @param likeClause whether the condition using the parameter is a LIKE clause
+     * @param debounce   delay in milliseconds, 0 to load immediately
+     */
+    void addOnComponentValueChangedLoadTrigger(DataLoader loader, Component component, @Nullable String param,
+                                               LikeClause likeClause, int debounce);
+
     /**
      * Configures triggers automatically relying upon parameter prefixes. All data containers that don't have a prefixed
      * parameter in the query string, are configured to be triggered on {@code BeforeShowEvent} or {@code AttachEvent}.
@@ -146,6 +146,20 @@ public interface DataGridItems<T> extends DataUnit {
         }
     }
 
+    /**
+     * The DataGridItems that doesn't hold all items in memory and fetches them on demand. Components should access
+     * items of such a source by ranges using {@link #getItems(int, int)}.
+     *
+     * @param <T> items type
+     */
+    interface Lazy<T> extends DataGridItems<T> {
+
+        /**
+         * Drops all fetched items and the cached size, so they will be requested again on the next access.
+         */
+        void refresh();
+    }
+
     /**
      * An event that is fired when value of item property is changed.
      *
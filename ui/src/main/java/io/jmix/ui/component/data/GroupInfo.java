@@ -27,6 +27,9 @@ public class GroupInfo<P> {
     private LinkedMap groupingValues;
     private P groupProperty;
 
+    // string representation is used as an identity of the group, it is cached since groups are used as map keys
+    private String key;
+
     @SuppressWarnings("unchecked")
     public GroupInfo(LinkedMap groupingValues) {
         this.groupingValues = new LinkedMap(groupingValues);
@@ -75,11 +78,18 @@ public class GroupInfo<P> {
 
         GroupInfo groupInfo = (GroupInfo) o;
 
-        return toString().equals(groupInfo.toString());
+        return getKey().equals(groupInfo.getKey());
     }
 
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        return getKey().hashCode();
+    }
+
+    private String getKey() {
+        if (key == null) {
+            key = toString();
+        }
+        return key;
     }
 }
\ No newline at end of file
@@ -50,6 +50,8 @@ public class AggregatableDelegate<K> {
     protected Function<K, Object> itemProvider;
     protected BiFunction<K, MetaPropertyPath, Object> itemValueProvider;
 
+    protected IncrementalAggregation<?> incrementalAggregation;
+
     @Autowired
     public void setAggregations(Aggregations aggregations) {
         this.aggregations = aggregations;
@@ -73,7 +75,31 @@ public class AggregatableDelegate<K> {
         this.itemValueProvider = itemValueProvider;
     }
 
+    /**
+     * Sets running accumulators of the items. If set, numeric aggregations of a scope are taken from the
+     * accumulators instead of being recalculated from all items.
+     *
+     * @param incrementalAggregation incremental aggregation or null to always recalculate aggregations
+     */
+    public void setIncrementalAggregation(@Nullable IncrementalAggregation<?> incrementalAggregation) {
+        this.incrementalAggregation = incrementalAggregation;
+    }
+
     public Map<AggregationInfo, String> aggregate(@Nullable AggregationInfo[] aggregationInfos, Collection<K> itemIds) {
+        return aggregate(aggregationInfos, itemIds, null);
+    }
+
+    /**
+     * Aggregates values of the given items.
+     *
+     * @param aggregationInfos aggregation infos
+     * @param itemIds          ids of items to aggregate
+     * @param scope            {@link IncrementalAggregation#TOTAL_SCOPE} or a group of the items, null if the
+     *                         aggregation must not be taken from running accumulators
+     * @return formatted aggregation results
+     */
+    public Map<AggregationInfo, String> aggregate(@Nullable AggregationInfo[] aggregationInfos, Collection<K> itemIds,
+                                                  @Nullable Object scope) {
         if (aggregationInfos == null || aggregationInfos.length == 0) {
             throw new NullPointerException("Aggregation must be executed at least by one field");
         }
@@ -82,13 +108,18 @@ public class AggregatableDelegate<K> {
             throw new NullPointerException("ItemProvider and ItemValueProvider must be non-nulls");
         }
 
-        return doAggregation(itemIds, aggregationInfos);
+        return doAggregation(itemIds, aggregationInfos, scope);
     }
 
     protected Map<AggregationInfo, String> doAggregation(Collection<K> itemIds, AggregationInfo[] aggregationInfos) {
+        return doAggregation(itemIds, aggregationInfos, null);
+    }
+
+    protected Map<AggregationInfo, String> doAggregation(Collection<K> itemIds, AggregationInfo[] aggregationInfos,
+                                                         @Nullable Object scope) {
         Map<AggregationInfo, String> aggregationResults = new HashMap<>();
         for (AggregationInfo aggregationInfo : aggregationInfos) {
-            final Object value = doPropertyAggregation(aggregationInfo, itemIds);
+            final Object value = doPropertyAggregation(aggregationInfo, itemIds, scope);
 
             String formattedValue;
             if (aggregationInfo.getFormatter() != null) {
@@ -132,6 +163,20 @@ public class AggregatableDelegate<K> {
     }
 
     public Map<AggregationInfo, Object> aggregateValues(@Nullable AggregationInfo[] aggregationInfos, Collection<K> itemIds) {
+        return aggregateValues(aggregationInfos, itemIds, null);
+    }
+
+    /**
+     * Aggregates values of the given items.
+     *
+     * @param aggregationInfos aggregation infos
+     * @param itemIds          ids of items to aggregate
+     * @param scope            {@link IncrementalAggregation#TOTAL_SCOPE} or a group of the items, null if the
+     *                         aggregation must not be taken from running accumulators
+     * @return aggregation results
+     */
+    public Map<AggregationInfo, Object> aggregateValues(@Nullable AggregationInfo[] aggregationInfos,
+                                                        Collection<K> itemIds, @Nullable Object scope) {
         if (aggregationInfos == null || aggregationInfos.length == 0) {
             throw new NullPointerException("Aggregation must be executed at least by one field");
         }
@@ -143,13 +188,60 @@ public class AggregatableDelegate<K> {
         Map<AggregationInfo, Object> aggregationResults = new HashMap<>();
 
         for (AggregationInfo aggregationInfo : aggregationInfos) {
-            Object value = doPropertyAggregation(aggregationInfo, itemIds);
+            Object value = doPropertyAggregation(aggregationInfo, itemIds, scope);
             aggregationResults.put(aggregationInfo, value);
         }
 
         return aggregationResults;
     }
 
+    protected Object doPropertyAggregation(AggregationInfo aggregationInfo, Collection<K> itemIds,
+                                           @Nullable Object scope) {
+        if (scope != null && incrementalAggregation != null && isIncrementallyAggregatable(aggregationInfo)) {
+            NumberAccumulator accumulator = incrementalAggregation.getAccumulator(scope, aggregationInfo, itemIds);
+            if (accumulator != null) {
+                return accumulator.getResult(aggregationInfo.getType());
+            }
+        }
+        return doPropertyAggregation(aggregationInfo, itemIds);
+    }
+
+    /**
+     * @param aggregationInfo aggregation info
+     * @return true if the aggregation is one of the default numeric aggregations which results can be
+     * maintained by {@link NumberAccumulator}
+     */
+    protected boolean isIncrementallyAggregatable(AggregationInfo aggregationInfo) {
+        MetaPropertyPath propertyPath = aggregationInfo.getPropertyPath();
+        if (aggregationInfo.getStrategy() != null
+                || aggregationInfo.getType() == AggregationInfo.Type.CUSTOM
+                || propertyPath == null
+                || !propertyPath.getRange().isDatatype()) {
+            return false;
+        }
+
+        // changes of referenced entities are not reported by the container, so nested properties can't be tracked
+        if (propertyPath.length() > 1) {
+            return false;
+        }
+
+        Class<?> javaClass = propertyPath.getRangeJavaClass();
+        if (!NumberAccumulator.isSupported(javaClass)) {
+            return false;
+        }
+
+        // custom aggregations registered for the same types may calculate results differently
+        Aggregation<?> aggregation = aggregations.get(javaClass);
+        if (aggregation == null) {
+            return false;
+        }
+
+        Class<?> aggregationClass = aggregation.getClass();
+        return aggregationClass == LongAggregation.class
+                || aggregationClass == DoubleAggregation.class
+                || aggregationClass == BigDecimalAggregation.class;
+    }
+
     @SuppressWarnings("unchecked")
     protected Object doPropertyAggregation(AggregationInfo aggregationInfo, Collection<K> itemIds) {
         List items;
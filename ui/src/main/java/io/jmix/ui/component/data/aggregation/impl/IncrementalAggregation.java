@@ -0,0 +1,231 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.component.data.aggregation.impl;
+
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.ui.component.AggregationInfo;
+import io.jmix.ui.component.data.GroupInfo;
+import io.jmix.ui.component.data.GroupTableItems;
+import io.jmix.ui.model.CollectionContainer;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps running {@link NumberAccumulator}s of the items of a {@link CollectionContainer} for each aggregation scope:
+ * the whole container ({@link #TOTAL_SCOPE}) and each {@link GroupInfo} of a group table.
+ * <p>
+ * Accumulators are built on the first request and then updated from the container events: a change of an
+ * aggregated property of one item touches only the total scope and the groups of the item path. Adding or removing
+ * items updates the total scope and drops group scopes, refresh and replacement of items drop everything.
+ *
+ * @param <E> entity type
+ */
+public class IncrementalAggregation<E> {
+
+    /**
+     * Scope of the aggregation over all items of the container.
+     */
+    public static final Object TOTAL_SCOPE = new Object();
+
+    protected final CollectionContainer<E> container;
+
+    protected GroupTableItems<E> groupItems;
+
+    protected Map<Object, ScopeAccumulators> scopes = new HashMap<>();
+
+    public IncrementalAggregation(CollectionContainer<E> container) {
+        this.container = container;
+    }
+
+    /**
+     * Sets group table items which provide the group path of an item.
+     */
+    public void setGroupItems(@Nullable GroupTableItems<E> groupItems) {
+        this.groupItems = groupItems;
+    }
+
+    /**
+     * @param scope   {@link #TOTAL_SCOPE} or {@link GroupInfo}
+     * @param info    aggregation info, must be supported by {@link NumberAccumulator}
+     * @param itemIds ids of items of the scope
+     * @return an up-to-date accumulator or null if the aggregation cannot be calculated incrementally
+     */
+    @Nullable
+    public NumberAccumulator getAccumulator(Object scope, AggregationInfo info, Collection<?> itemIds) {
+        ScopeAccumulators scopeAccumulators = scopes.computeIfAbsent(scope, k -> new ScopeAccumulators());
+        if (scopeAccumulators.itemCount != itemIds.size()) {
+            // the scope is out of sync with the caller, e.g. the container was changed without events
+            scopeAccumulators.accumulators.clear();
+            scopeAccumulators.itemCount = itemIds.size();
+        }
+
+        NumberAccumulator accumulator = scopeAccumulators.accumulators.get(info);
+        if (accumulator == null || !isUpToDate(accumulator, info)) {
+            accumulator = buildAccumulator(info, itemIds);
+            if (!accumulator.isValid()) {
+                scopeAccumulators.accumulators.remove(info);
+                return null;
+            }
+            scopeAccumulators.accumulators.put(info, accumulator);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Updates accumulators according to the collection change. Must be invoked by the owner on each
+     * collection change of the container before the aggregation is requested.
+     */
+    public void collectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        switch (event.getChangeType()) {
+            case ADD_ITEMS:
+                invalidateGroups();
+                updateTotals(event.getChanges(), true);
+                break;
+            case REMOVE_ITEMS:
+                invalidateGroups();
+                updateTotals(event.getChanges(), false);
+                break;
+            default:
+                invalidate();
+        }
+    }
+
+    /**
+     * Updates accumulators of the item scopes if an aggregated property has been changed. Must be invoked by the
+     * owner on each item property change of the container before the aggregation is requested.
+     */
+    public void itemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> event) {
+        if (scopes.isEmpty()) {
+            return;
+        }
+
+        String property = event.getProperty();
+        if (isGroupProperty(property)) {
+            invalidateGroups();
+        }
+
+        updateScope(scopes.get(TOTAL_SCOPE), property, event.getPrevValue(), event.getValue());
+
+        if (groupItems != null && groupItems.hasGroups() && scopes.size() > 1) {
+            List<GroupInfo> groupPath = groupItems.getGroupPath(event.getItem());
+            for (GroupInfo groupInfo : groupPath) {
+                updateScope(scopes.get(groupInfo), property, event.getPrevValue(), event.getValue());
+            }
+        }
+    }
+
+    /**
+     * Drops accumulators of all groups, e.g. when items are regrouped.
+     */
+    public void invalidateGroups() {
+        scopes.keySet().removeIf(scope -> scope != TOTAL_SCOPE);
+    }
+
+    /**
+     * Drops all accumulators, they will be rebuilt on the next request.
+     */
+    public void invalidate() {
+        scopes.clear();
+    }
+
+    protected boolean isUpToDate(NumberAccumulator accumulator, AggregationInfo info) {
+        if (!accumulator.isValid()) {
+            return false;
+        }
+        AggregationInfo.Type type = info.getType();
+        return accumulator.isExtremaValid()
+                || (type != AggregationInfo.Type.MIN && type != AggregationInfo.Type.MAX);
+    }
+
+    protected NumberAccumulator buildAccumulator(AggregationInfo info, Collection<?> itemIds) {
+        MetaPropertyPath propertyPath = info.getPropertyPath();
+        NumberAccumulator accumulator = new NumberAccumulator(propertyPath.getRangeJavaClass());
+        for (Object itemId : itemIds) {
+            accumulator.add(EntityValues.getValueEx(container.getItem(itemId), propertyPath));
+        }
+        return accumulator;
+    }
+
+    protected void updateTotals(Collection<? extends E> items, boolean added) {
+        ScopeAccumulators totals = scopes.get(TOTAL_SCOPE);
+        if (totals == null) {
+            return;
+        }
+
+        totals.itemCount += added ? items.size() : -items.size();
+        for (Map.Entry<AggregationInfo, NumberAccumulator> entry : totals.accumulators.entrySet()) {
+            MetaPropertyPath propertyPath = entry.getKey().getPropertyPath();
+            NumberAccumulator accumulator = entry.getValue();
+            for (E item : items) {
+                Object value = EntityValues.getValueEx(item, propertyPath);
+                if (added) {
+                    accumulator.add(value);
+                } else {
+                    accumulator.remove(value);
+                }
+            }
+        }
+    }
+
+    protected void updateScope(@Nullable ScopeAccumulators scopeAccumulators, String property,
+                               @Nullable Object prevValue, @Nullable Object value) {
+        if (scopeAccumulators == null) {
+            return;
+        }
+
+        Iterator<Map.Entry<AggregationInfo, NumberAccumulator>> iterator =
+                scopeAccumulators.accumulators.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<AggregationInfo, NumberAccumulator> entry = iterator.next();
+            String path = entry.getKey().getPropertyPath().toPathString();
+            if (path.equals(property)) {
+                entry.getValue().replace(prevValue, value);
+            } else if (path.startsWith(property + ".") || property.startsWith(path + ".")) {
+                // previous value of a nested property is unknown
+                iterator.remove();
+            }
+        }
+    }
+
+    protected boolean isGroupProperty(String property) {
+        if (groupItems == null || !groupItems.hasGroups()) {
+            return false;
+        }
+
+        for (Object groupProperty : groupItems.getGroupProperties()) {
+            if (groupProperty instanceof MetaPropertyPath) {
+                String path = ((MetaPropertyPath) groupProperty).toPathString();
+                if (path.equals(property) || path.startsWith(property + ".") || property.startsWith(path + ".")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected static class ScopeAccumulators {
+
+        protected int itemCount;
+        protected Map<AggregationInfo, NumberAccumulator> accumulators = new HashMap<>();
+    }
+}
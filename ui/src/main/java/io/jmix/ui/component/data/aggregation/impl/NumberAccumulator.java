@@ -0,0 +1,227 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.component.data.aggregation.impl;
+
+import io.jmix.ui.component.AggregationInfo;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+
+/**
+ * Running count, sum, min and max of numeric values which supports adding and removing values one by one.
+ * <p>
+ * {@code Integer} and {@code Long} values are accumulated as primitive {@code long}, other numbers as primitive
+ * {@code double} with a compensated (Neumaier) sum, so the average stays accurate after many additions and
+ * removals. Results are converted the same way as {@link LongAggregation}, {@link DoubleAggregation} and
+ * {@link BigDecimalAggregation} do.
+ * <p>
+ * Removing the current minimum or maximum cannot be handled incrementally, in this case {@link #isExtremaValid()}
+ * returns false until the accumulator is rebuilt.
+ */
+public class NumberAccumulator {
+
+    protected final Class<?> javaClass;
+    protected final boolean integral;
+
+    protected int count;
+
+    protected long longSum;
+    protected long longMin = Long.MAX_VALUE;
+    protected long longMax = Long.MIN_VALUE;
+
+    protected double sum;
+    protected double compensation;
+    protected double min = Double.POSITIVE_INFINITY;
+    protected double max = Double.NEGATIVE_INFINITY;
+
+    protected boolean extremaValid = true;
+    protected boolean overflow;
+
+    public NumberAccumulator(Class<?> javaClass) {
+        this.javaClass = javaClass;
+        this.integral = Long.class.equals(javaClass) || Integer.class.equals(javaClass);
+    }
+
+    /**
+     * @param javaClass java class of values
+     * @return true if values of the given class can be accumulated
+     */
+    public static boolean isSupported(Class<?> javaClass) {
+        return Long.class.equals(javaClass)
+                || Integer.class.equals(javaClass)
+                || Double.class.equals(javaClass)
+                || BigDecimal.class.equals(javaClass);
+    }
+
+    /**
+     * Adds a value. {@code null} values are ignored.
+     */
+    public void add(@Nullable Object value) {
+        if (!(value instanceof Number)) {
+            return;
+        }
+
+        count++;
+        if (integral) {
+            long v = ((Number) value).longValue();
+            try {
+                longSum = Math.addExact(longSum, v);
+            } catch (ArithmeticException e) {
+                overflow = true;
+            }
+            if (v < longMin) {
+                longMin = v;
+            }
+            if (v > longMax) {
+                longMax = v;
+            }
+        } else {
+            double v = ((Number) value).doubleValue();
+            addToSum(v);
+            if (v < min) {
+                min = v;
+            }
+            if (v > max) {
+                max = v;
+            }
+        }
+    }
+
+    /**
+     * Removes a value which has been added before. {@code null} values are ignored.
+     */
+    public void remove(@Nullable Object value) {
+        if (!(value instanceof Number)) {
+            return;
+        }
+
+        count--;
+        if (count <= 0) {
+            reset();
+            return;
+        }
+
+        if (integral) {
+            long v = ((Number) value).longValue();
+            try {
+                longSum = Math.subtractExact(longSum, v);
+            } catch (ArithmeticException e) {
+                overflow = true;
+            }
+            if (v <= longMin || v >= longMax) {
+                extremaValid = false;
+            }
+        } else {
+            double v = ((Number) value).doubleValue();
+            addToSum(-v);
+            if (v <= min || v >= max) {
+                extremaValid = false;
+            }
+        }
+    }
+
+    /**
+     * Replaces one value with another.
+     */
+    public void replace(@Nullable Object oldValue, @Nullable Object newValue) {
+        remove(oldValue);
+        add(newValue);
+    }
+
+    /**
+     * @return false if the running values cannot be trusted anymore, e.g. the long sum has overflowed
+     */
+    public boolean isValid() {
+        return !overflow;
+    }
+
+    /**
+     * @return false if the current minimum or maximum has been removed
+     */
+    public boolean isExtremaValid() {
+        return extremaValid;
+    }
+
+    /**
+     * @return number of accumulated non-null values
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param type aggregation type, except {@link AggregationInfo.Type#CUSTOM}
+     * @return aggregation result
+     */
+    @Nullable
+    public Object getResult(AggregationInfo.Type type) {
+        switch (type) {
+            case COUNT:
+                return count;
+            case SUM:
+                return integral ? (Object) longSum : convert(getSum());
+            case AVG:
+                if (count == 0) {
+                    return null;
+                }
+                return integral ? (Object) (long) ((double) longSum / count) : convert(getSum() / count);
+            case MIN:
+                if (count == 0) {
+                    return null;
+                }
+                return integral ? (Object) longMin : convert(min);
+            case MAX:
+                if (count == 0) {
+                    return null;
+                }
+                return integral ? (Object) longMax : convert(max);
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported aggregation type: %s", type));
+        }
+    }
+
+    protected double getSum() {
+        return sum + compensation;
+    }
+
+    protected void addToSum(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    protected Object convert(double value) {
+        return BigDecimal.class.equals(javaClass) ? BigDecimal.valueOf(value) : value;
+    }
+
+    protected void reset() {
+        count = 0;
+        longSum = 0;
+        longMin = Long.MAX_VALUE;
+        longMax = Long.MIN_VALUE;
+        sum = 0;
+        compensation = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        extremaValid = true;
+        overflow = false;
+    }
+}
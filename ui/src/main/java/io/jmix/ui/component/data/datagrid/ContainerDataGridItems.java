@@ -24,6 +24,7 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.ui.component.data.BindingState;
 import io.jmix.ui.component.data.DataGridItems;
+import io.jmix.ui.component.data.aggregation.impl.IncrementalAggregation;
 import io.jmix.ui.component.data.meta.ContainerDataUnit;
 import io.jmix.ui.component.data.meta.EntityDataGridItems;
 import io.jmix.ui.model.CollectionContainer;
@@ -47,6 +48,8 @@ public class ContainerDataGridItems<E>
 
     protected boolean suppressSorting;
 
+    protected IncrementalAggregation<E> incrementalAggregation;
+
     protected EventHub events = new EventHub();
 
     public ContainerDataGridItems(CollectionContainer<E> container) {
@@ -61,16 +64,36 @@ public class ContainerDataGridItems<E>
         return container;
     }
 
+    /**
+     * @return running aggregation accumulators of the container items
+     */
+    public IncrementalAggregation<E> getIncrementalAggregation() {
+        if (incrementalAggregation == null) {
+            incrementalAggregation = createIncrementalAggregation();
+        }
+        return incrementalAggregation;
+    }
+
+    protected IncrementalAggregation<E> createIncrementalAggregation() {
+        return new IncrementalAggregation<>(container);
+    }
+
     protected void containerItemChanged(CollectionContainer.ItemChangeEvent<E> event) {
         events.publish(DataGridItems.SelectedItemChangeEvent.class, new DataGridItems.SelectedItemChangeEvent<>(this, event.getItem()));
     }
 
-    protected void containerCollectionChanged(@SuppressWarnings("unused") CollectionContainer.CollectionChangeEvent<E> e) {
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        if (incrementalAggregation != null) {
+            incrementalAggregation.collectionChanged(e);
+        }
         events.publish(DataGridItems.ItemSetChangeEvent.class, new DataGridItems.ItemSetChangeEvent<>(this));
     }
 
     @SuppressWarnings("unchecked")
     protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        if (incrementalAggregation != null) {
+            incrementalAggregation.itemPropertyChanged(e);
+        }
         events.publish(DataGridItems.ValueChangeEvent.class, new DataGridItems.ValueChangeEvent(this,
                 e.getItem(), e.getProperty(), e.getPrevValue(), e.getValue()));
     }
@@ -19,6 +19,7 @@ package io.jmix.ui.component.data.datagrid;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.ui.component.data.TreeDataGridItems;
+import io.jmix.ui.component.data.tree.ContainerHierarchyIndex;
 import io.jmix.ui.model.CollectionContainer;
 
 import javax.annotation.Nullable;
@@ -31,45 +32,49 @@ public class ContainerTreeDataGridItems<E>
     private final String hierarchyProperty;
     private final boolean showOrphans;
 
+    private final ContainerHierarchyIndex<E> hierarchyIndex;
+
     public ContainerTreeDataGridItems(CollectionContainer<E> container, String hierarchyProperty, boolean showOrphans) {
         super(container);
         this.hierarchyProperty = hierarchyProperty;
         this.showOrphans = showOrphans;
+        this.hierarchyIndex = new ContainerHierarchyIndex<>(container, hierarchyProperty, showOrphans);
     }
 
     public ContainerTreeDataGridItems(CollectionContainer<E> container, String hierarchyProperty) {
         this(container, hierarchyProperty, true);
     }
 
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        hierarchyIndex.collectionChanged(e);
+        super.containerCollectionChanged(e);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        hierarchyIndex.itemPropertyChanged(e);
+        super.containerItemPropertyChanged(e);
+    }
+
     @Override
     public int getChildCount(E parent) {
-        return Math.toIntExact(getChildren(parent).count());
+        return hierarchyIndex.getChildCount(parent);
     }
 
     @Override
     public Stream<E> getChildren(@Nullable E item) {
         if (item == null) {
             // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem == null || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null);
-                    });
+            return hierarchyIndex.getRoots().stream();
         } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
+            return hierarchyIndex.getChildren(item).stream();
         }
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream().anyMatch(it -> {
-            E parentItem = EntityValues.getValue(it, hierarchyProperty);
-            return parentItem != null && parentItem.equals(item);
-        });
+        return hierarchyIndex.hasChildren(item);
     }
 
     @Nullable
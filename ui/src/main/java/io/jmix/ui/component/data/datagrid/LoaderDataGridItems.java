@@ -0,0 +1,502 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.component.data.datagrid;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.LoadContext;
+import io.jmix.core.Sort;
+import io.jmix.core.common.event.EventHub;
+import io.jmix.core.common.event.Subscription;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.ui.component.data.BindingState;
+import io.jmix.ui.component.data.DataGridItems;
+import io.jmix.ui.component.data.meta.ContainerDataUnit;
+import io.jmix.ui.component.data.meta.EntityDataGridItems;
+import io.jmix.ui.model.CollectionContainer;
+import io.jmix.ui.model.CollectionLoader;
+import io.jmix.ui.model.DataContext;
+import io.jmix.ui.model.MergeOptions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link DataGridItems} that loads only the rows requested by the component using the query of a
+ * {@link CollectionLoader}.
+ * <p>
+ * Rows are loaded by pages of {@link #getPageSize()} items, at most {@link #getMaxCachedPages()} pages are kept in
+ * memory. The size is obtained by {@link DataManager#getCount(LoadContext)}. Sorting is passed to the loader and
+ * performed by the database.
+ * <p>
+ * The container of the loader contains only the cached pages. Calls of {@link CollectionLoader#load()} (for example,
+ * from a filter or a {@code DataLoadCoordinator}) load only the first page instead of all rows and drop the other
+ * cached pages. Load listeners of the loader are notified as usual.
+ * <p>
+ * Entities of evicted pages are also evicted from the {@link DataContext} of the loader unless they are modified,
+ * so the memory used by the screen stays bounded.
+ * <p>
+ * Create an instance using {@code ApplicationContext}:
+ * <pre>
+ * dataGrid.setItems(applicationContext.getBean(LoaderDataGridItems.class, customersDl));
+ * </pre>
+ *
+ * @param <E> entity type
+ */
+@Component("ui_LoaderDataGridItems")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class LoaderDataGridItems<E> implements EntityDataGridItems<E>, DataGridItems.Sortable<E>,
+        DataGridItems.Lazy<E>, ContainerDataUnit<E> {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_CACHED_PAGES = 20;
+
+    protected DataManager dataManager;
+
+    protected CollectionLoader<E> loader;
+    protected CollectionContainer<E> container;
+
+    protected int pageSize = DEFAULT_PAGE_SIZE;
+    protected int maxCachedPages = DEFAULT_MAX_CACHED_PAGES;
+
+    protected Function<LoadContext<E>, Long> countDelegate;
+
+    protected Map<Integer, List<E>> pages = createPageCache();
+    protected Map<Object, Integer> indexesById = new HashMap<>();
+    protected int size = -1;
+
+    protected boolean updatingContainer;
+
+    protected EventHub events = new EventHub();
+
+    public LoaderDataGridItems(CollectionLoader<E> loader) {
+        Preconditions.checkNotNullArgument(loader);
+        Preconditions.checkNotNullArgument(loader.getContainer(), "Loader %s has no container", loader);
+
+        this.loader = loader;
+        this.container = loader.getContainer();
+
+        this.loader.addPreLoadListener(this::loaderPreLoad);
+        this.loader.addPostLoadListener(this::loaderPostLoad);
+        this.container.addItemChangeListener(this::containerItemChanged);
+        this.container.addCollectionChangeListener(this::containerCollectionChanged);
+        this.container.addItemPropertyChangeListener(this::containerItemPropertyChanged);
+    }
+
+    @Autowired
+    public void setDataManager(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    /**
+     * @return the number of rows loaded by one query
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Sets the number of rows loaded by one query. Drops all cached rows.
+     *
+     * @param pageSize the number of rows loaded by one query
+     */
+    public void setPageSize(int pageSize) {
+        checkArgument(pageSize > 0, "pageSize must be positive");
+        this.pageSize = pageSize;
+        refresh();
+    }
+
+    /**
+     * @return the maximum number of pages kept in memory
+     */
+    public int getMaxCachedPages() {
+        return maxCachedPages;
+    }
+
+    /**
+     * Sets the maximum number of pages kept in memory. Least recently used pages are evicted first.
+     *
+     * @param maxCachedPages the maximum number of pages kept in memory
+     */
+    public void setMaxCachedPages(int maxCachedPages) {
+        checkArgument(maxCachedPages > 0, "maxCachedPages must be positive");
+        this.maxCachedPages = maxCachedPages;
+        refresh();
+    }
+
+    @Nullable
+    public Function<LoadContext<E>, Long> getCountDelegate() {
+        return countDelegate;
+    }
+
+    /**
+     * Sets a function returning the total number of rows. Must be set if the loader has a load delegate which
+     * doesn't use {@link DataManager}.
+     *
+     * @param countDelegate a function returning the total number of rows for the given load context
+     */
+    public void setCountDelegate(@Nullable Function<LoadContext<E>, Long> countDelegate) {
+        this.countDelegate = countDelegate;
+    }
+
+    public CollectionLoader<E> getLoader() {
+        return loader;
+    }
+
+    @Override
+    public CollectionContainer<E> getContainer() {
+        return container;
+    }
+
+    @Override
+    public void refresh() {
+        clearPages();
+        size = -1;
+
+        events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
+    }
+
+    protected void loaderPreLoad(CollectionLoader.PreLoadEvent<E> event) {
+        // the loader loads the first page only, other pages are requested by the component
+        LoadContext.Query query = event.getLoadContext().getQuery();
+        if (query != null) {
+            query.setFirstResult(0);
+            query.setMaxResults(pageSize);
+        }
+
+        // evict cached rows before the loader merges fresh instances
+        clearPages();
+        size = -1;
+    }
+
+    protected void loaderPostLoad(CollectionLoader.PostLoadEvent<E> event) {
+        // the container contains the merged instances of the first page
+        addPage(0, new ArrayList<>(container.getItems()));
+
+        events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
+    }
+
+    protected void containerItemChanged(CollectionContainer.ItemChangeEvent<E> event) {
+        events.publish(SelectedItemChangeEvent.class, new SelectedItemChangeEvent<>(this, event.getItem()));
+    }
+
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        if (!updatingContainer) {
+            // items were added or removed by the application, e.g. after committing an editor
+            refresh();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        events.publish(ValueChangeEvent.class, new ValueChangeEvent(this,
+                e.getItem(), e.getProperty(), e.getPrevValue(), e.getValue()));
+    }
+
+    @Nullable
+    @Override
+    public MetaClass getEntityMetaClass() {
+        return container.getEntityMetaClass();
+    }
+
+    @Override
+    public BindingState getState() {
+        return BindingState.ACTIVE;
+    }
+
+    @Nullable
+    @Override
+    public Object getItemId(E item) {
+        return EntityValues.getId(item);
+    }
+
+    @Nullable
+    @Override
+    public E getItem(@Nullable Object itemId) {
+        return itemId == null ? null : container.getItemOrNull(itemId);
+    }
+
+    @Nullable
+    @Override
+    public Object getItemValue(Object itemId, MetaPropertyPath propertyId) {
+        return EntityValues.getValueEx(container.getItem(itemId), propertyId);
+    }
+
+    @Override
+    public int indexOfItem(E item) {
+        Integer index = indexesById.get(EntityValues.getIdOrEntity(item));
+        return index != null ? index : -1;
+    }
+
+    @Nullable
+    @Override
+    public E getItemByIndex(int index) {
+        if (index < 0 || index >= size()) {
+            return null;
+        }
+
+        List<E> page = getPage(index / pageSize);
+        int indexInPage = index % pageSize;
+        return indexInPage < page.size() ? page.get(indexInPage) : null;
+    }
+
+    /**
+     * Returns all rows page by page. Note that iterating over the whole stream loads all rows from the database.
+     */
+    @Override
+    public Stream<E> getItems() {
+        return IntStream.range(0, size())
+                .mapToObj(this::getItemByIndex)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public List<E> getItems(int startIndex, int numberOfItems) {
+        int endIndex = (int) Math.min((long) startIndex + numberOfItems, size());
+        if (startIndex >= endIndex) {
+            return Collections.emptyList();
+        }
+
+        List<E> result = new ArrayList<>(endIndex - startIndex);
+        int firstPage = startIndex / pageSize;
+        int lastPage = (endIndex - 1) / pageSize;
+        for (int pageIndex = firstPage; pageIndex <= lastPage; pageIndex++) {
+            List<E> page = getPage(pageIndex);
+            int pageStart = pageIndex * pageSize;
+
+            int from = Math.max(startIndex - pageStart, 0);
+            int to = Math.min(endIndex - pageStart, page.size());
+            if (from < to) {
+                result.addAll(page.subList(from, to));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean containsItem(E item) {
+        return container.getItemOrNull(EntityValues.getId(item)) != null;
+    }
+
+    @Override
+    public int size() {
+        if (size < 0) {
+            LoadContext<E> loadContext = loader.createLoadContext();
+            if (loadContext.getQuery() != null) {
+                loadContext.getQuery().setFirstResult(0);
+                loadContext.getQuery().setMaxResults(0);
+            }
+
+            long count = countDelegate != null
+                    ? countDelegate.apply(loadContext)
+                    : dataManager.getCount(loadContext);
+            size = (int) Math.min(count, Integer.MAX_VALUE);
+        }
+        return size;
+    }
+
+    @Nullable
+    @Override
+    public E getSelectedItem() {
+        return container.getItemOrNull();
+    }
+
+    @Override
+    public void setSelectedItem(@Nullable E item) {
+        container.setItem(item);
+    }
+
+    @Override
+    public void sort(Object[] propertyId, boolean[] ascending) {
+        loader.setSort(createSort(propertyId, ascending));
+        clearPages();
+
+        events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
+    }
+
+    @Override
+    public void resetSortOrder() {
+        loader.setSort(Sort.UNSORTED);
+        clearPages();
+
+        events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
+    }
+
+    protected Sort createSort(Object[] propertyId, boolean[] ascending) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (int i = 0; i < propertyId.length; i++) {
+            String property;
+            if (propertyId[i] instanceof MetaPropertyPath) {
+                property = ((MetaPropertyPath) propertyId[i]).toPathString();
+            } else {
+                property = (String) propertyId[i];
+            }
+            Sort.Order order = ascending[i] ? Sort.Order.asc(property) : Sort.Order.desc(property);
+            orders.add(order);
+        }
+        return Sort.by(orders);
+    }
+
+    protected List<E> getPage(int pageIndex) {
+        List<E> page = pages.get(pageIndex);
+        if (page == null) {
+            page = loadPage(pageIndex);
+            addPage(pageIndex, page);
+            updateContainer();
+        }
+        return page;
+    }
+
+    protected void addPage(int pageIndex, List<E> page) {
+        pages.put(pageIndex, page);
+        for (int i = 0; i < page.size(); i++) {
+            indexesById.put(EntityValues.getIdOrEntity(page.get(i)), pageIndex * pageSize + i);
+        }
+    }
+
+    protected void clearPages() {
+        List<List<E>> evictedPages = new ArrayList<>(pages.values());
+        pages = createPageCache();
+        indexesById.clear();
+        for (List<E> page : evictedPages) {
+            evictFromDataContext(page);
+        }
+    }
+
+    protected void pageEvicted(List<E> page) {
+        for (E item : page) {
+            indexesById.remove(EntityValues.getIdOrEntity(item));
+        }
+        evictFromDataContext(page);
+    }
+
+    /**
+     * Evicts unmodified entities of a dropped page from the data context, except the selected item.
+     */
+    protected void evictFromDataContext(List<E> page) {
+        DataContext dataContext = loader.getDataContext();
+        if (dataContext == null) {
+            return;
+        }
+
+        E selectedItem = container.getItemOrNull();
+        for (E item : page) {
+            if (item != selectedItem
+                    && !indexesById.containsKey(EntityValues.getIdOrEntity(item))
+                    && !dataContext.isModified(item)) {
+                dataContext.evict(item);
+            }
+        }
+    }
+
+    protected List<E> loadPage(int pageIndex) {
+        LoadContext<E> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        if (query != null) {
+            query.setFirstResult(pageIndex * pageSize);
+            query.setMaxResults(pageSize);
+        }
+
+        Function<LoadContext<E>, List<E>> delegate = loader.getLoadDelegate();
+        List<E> list = delegate != null
+                ? delegate.apply(loadContext)
+                : dataManager.loadList(loadContext);
+
+        DataContext dataContext = loader.getDataContext();
+        if (dataContext == null) {
+            return list;
+        }
+
+        List<E> mergedList = new ArrayList<>(list.size());
+        for (E entity : list) {
+            mergedList.add(dataContext.merge(entity, new MergeOptions().setFresh(true)));
+        }
+        return mergedList;
+    }
+
+    /**
+     * Replaces the container content with the rows of the cached pages, keeping the selected item.
+     */
+    protected void updateContainer() {
+        Map<Object, E> items = new LinkedHashMap<>();
+        for (List<E> page : pages.values()) {
+            for (E item : page) {
+                items.put(EntityValues.getIdOrEntity(item), item);
+            }
+        }
+
+        E selectedItem = container.getItemOrNull();
+        if (selectedItem != null) {
+            items.putIfAbsent(EntityValues.getIdOrEntity(selectedItem), selectedItem);
+        }
+
+        updatingContainer = true;
+        try {
+            container.setItems(items.values());
+        } finally {
+            updatingContainer = false;
+        }
+    }
+
+    protected Map<Integer, List<E>> createPageCache() {
+        return new LinkedHashMap<Integer, List<E>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+                if (size() > maxCachedPages) {
+                    pageEvicted(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Subscription addStateChangeListener(Consumer<StateChangeEvent> listener) {
+        return events.subscribe(StateChangeEvent.class, listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Subscription addValueChangeListener(Consumer<ValueChangeEvent<E>> listener) {
+        return events.subscribe(ValueChangeEvent.class, (Consumer) listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Subscription addItemSetChangeListener(Consumer<ItemSetChangeEvent<E>> listener) {
+        return events.subscribe(ItemSetChangeEvent.class, (Consumer) listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Subscription addSelectedItemChangeListener(Consumer<SelectedItemChangeEvent<E>> listener) {
+        return events.subscribe(SelectedItemChangeEvent.class, (Consumer) listener);
+    }
+}
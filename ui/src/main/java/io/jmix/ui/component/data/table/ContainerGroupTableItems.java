@@ -16,36 +16,45 @@
 
 package io.jmix.ui.component.data.table;
 
-import com.google.common.collect.ImmutableList;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.ui.component.data.GroupInfo;
 import io.jmix.ui.component.data.GroupTableItems;
+import io.jmix.ui.component.data.aggregation.impl.IncrementalAggregation;
 import io.jmix.ui.model.CollectionContainer;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.map.LinkedMap;
 import org.apache.commons.lang3.ArrayUtils;
 
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Group table items over a {@link CollectionContainer}.
+ * <p>
+ * Grouping keeps a tree of group nodes and a single list of items ordered by their groups, so each group is a
+ * contiguous range of that list. Groups are ordered by the first appearance of their values in the container and
+ * items inside a group keep the container order. Added, removed and replaced items are moved in and out of their
+ * groups without regrouping the whole container.
+ */
 public class ContainerGroupTableItems<E>
         extends ContainerTableItems<E>
         implements GroupTableItems<E> {
 
     protected Object[] groupProperties = null;
 
-    protected Map<GroupInfo, GroupInfo> parents;
-
-    protected Map<GroupInfo, List<GroupInfo>> children;
+    // synthetic parent of root groups, null if items are not grouped
+    protected GroupNode rootNode;
 
-    protected List<GroupInfo> roots;
+    protected Map<GroupInfo, GroupNode> groupNodes;
+    // item id to its deepest group
+    protected Map<Object, GroupNode> itemGroups;
+    // items ordered by groups, each group is a contiguous range
+    protected List<E> groupedItems;
 
-    protected Map<GroupInfo, List<?>> groupItems;
-    // reversed relations from groupItems
-    protected Map<Object, GroupInfo> itemGroups;
+    protected boolean offsetsValid;
+    // true while the item set change caused by the container is published, groups are already up-to-date
+    protected boolean groupsRefreshed;
 
     protected boolean isGrouping;
 
@@ -68,6 +77,12 @@ public class ContainerGroupTableItems<E>
         if (isGrouping) {
             return;
         }
+
+        if (groupsRefreshed && Arrays.equals(properties, groupProperties)) {
+            // groups have been already updated from the collection change
+            return;
+        }
+
         isGrouping = true;
         try {
             if (properties != null) {
@@ -76,11 +91,7 @@ public class ContainerGroupTableItems<E>
                 if (!ArrayUtils.isEmpty(groupProperties)) {
                     doGroup();
                 } else {
-                    roots = null;
-                    parents = null;
-                    children = null;
-                    groupItems = null;
-                    itemGroups = null;
+                    resetGroups();
                 }
             }
         } finally {
@@ -91,51 +102,246 @@ public class ContainerGroupTableItems<E>
         }
     }
 
-    protected void doGroup() {
-        roots = new LinkedList<>();
-        parents = new LinkedHashMap<>();
-        children = new LinkedHashMap<>();
-        groupItems = new HashMap<>();
-        itemGroups = new HashMap<>();
+    @Override
+    protected IncrementalAggregation<E> createIncrementalAggregation() {
+        IncrementalAggregation<E> incrementalAggregation = super.createIncrementalAggregation();
+        incrementalAggregation.setGroupItems(this);
+        return incrementalAggregation;
+    }
 
-        for (E item : container.getItems()) {
-            GroupInfo<MetaPropertyPath> groupInfo = groupItems(0, null, roots, item, new LinkedMap<>());
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        if (hasGroups()) {
+            if (!updateGroups(e)) {
+                doGroup();
+            }
+            groupsRefreshed = true;
+        }
 
-            if (groupInfo == null) {
-                throw new IllegalStateException("Item group cannot be NULL");
+        try {
+            super.containerCollectionChanged(e);
+        } finally {
+            groupsRefreshed = false;
+        }
+    }
+
+    protected void resetGroups() {
+        rootNode = null;
+        groupNodes = null;
+        itemGroups = null;
+        groupedItems = null;
+        offsetsValid = false;
+
+        if (incrementalAggregation != null) {
+            incrementalAggregation.invalidateGroups();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void doGroup() {
+        List<E> items = container.getItems();
+        int size = items.size();
+
+        rootNode = new GroupNode(null, null, null);
+        groupNodes = new HashMap<>();
+        itemGroups = new HashMap<>(Math.max(16, (int) (size / .75f) + 1));
+
+        GroupNode[] itemLeaves = new GroupNode[size];
+        for (int i = 0; i < size; i++) {
+            E item = items.get(i);
+            GroupNode leaf = findOrCreateLeaf(item, false);
+            for (GroupNode node = leaf; node != null; node = node.parent) {
+                node.count++;
             }
+            itemLeaves[i] = leaf;
+            itemGroups.put(EntityValues.getIdOrEntity(item), leaf);
+        }
 
-            List itemsIds = groupItems.computeIfAbsent(groupInfo, k -> new ArrayList<>());
-            itemsIds.add(EntityValues.getId(item));
+        updateOffsets();
+
+        // counting sort of items by their leaf groups, stable within a group
+        E[] ordered = (E[]) new Object[size];
+        for (int i = 0; i < size; i++) {
+            GroupNode leaf = itemLeaves[i];
+            ordered[leaf.start + leaf.filled++] = items.get(i);
+        }
+
+        groupedItems = new ArrayList<>(Arrays.asList(ordered));
+
+        if (incrementalAggregation != null) {
+            incrementalAggregation.invalidateGroups();
         }
     }
 
-    @Nullable
-    protected GroupInfo<MetaPropertyPath> groupItems(int propertyIndex, @Nullable GroupInfo parent, List<GroupInfo> children,
-                                                     E item, LinkedMap<MetaPropertyPath, Object> groupValues) {
-        MetaPropertyPath property = (MetaPropertyPath) groupProperties[propertyIndex++];
-        Object itemValue = getValueByProperty(item, property);
-        groupValues.put(property, itemValue);
+    /**
+     * Updates groups according to the collection change.
+     *
+     * @return true if groups have been updated, false if the container must be regrouped
+     */
+    protected boolean updateGroups(CollectionContainer.CollectionChangeEvent<E> e) {
+        Collection<? extends E> changes = e.getChanges();
+        switch (e.getChangeType()) {
+            case ADD_ITEMS:
+                if (!isIncrementalUpdate(changes.size())) {
+                    return false;
+                }
+                for (E item : changes) {
+                    addToGroups(item);
+                }
+                return true;
+            case REMOVE_ITEMS:
+                if (!isIncrementalUpdate(changes.size())) {
+                    return false;
+                }
+                for (E item : changes) {
+                    removeFromGroups(EntityValues.getIdOrEntity(item));
+                }
+                return true;
+            case SET_ITEM:
+                for (E item : changes) {
+                    removeFromGroups(EntityValues.getIdOrEntity(item));
+                    addToGroups(item);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
 
-        GroupInfo<MetaPropertyPath> groupInfo = new GroupInfo<>(groupValues);
-        itemGroups.put(EntityValues.getId(item), groupInfo);
+    /**
+     * @param changesCount number of changed items
+     * @return true if it is cheaper to move the changed items than to regroup the container
+     */
+    protected boolean isIncrementalUpdate(int changesCount) {
+        // each change shifts the grouped items list and recalculates group offsets
+        return changesCount <= Math.max(1, groupedItems.size() / 10);
+    }
+
+    protected void addToGroups(E item) {
+        checkOffsets();
 
-        if (!parents.containsKey(groupInfo)) {
-            parents.put(groupInfo, parent);
+        int containerIndex = container.getItemIndex(item);
+        GroupNode leaf = findOrCreateLeaf(item, true);
+        checkOffsets();
+
+        int position = leaf.start + findInsertionPoint(leaf, containerIndex);
+        groupedItems.add(position, item);
+        for (GroupNode node = leaf; node != null; node = node.parent) {
+            node.count++;
+        }
+        itemGroups.put(EntityValues.getIdOrEntity(item), leaf);
+        offsetsValid = false;
+    }
+
+    protected void removeFromGroups(Object itemId) {
+        GroupNode leaf = itemGroups.remove(itemId);
+        if (leaf == null) {
+            return;
         }
 
-        if (!children.contains(groupInfo)) {
-            children.add(groupInfo);
+        checkOffsets();
+
+        int end = leaf.start + leaf.count;
+        for (int i = leaf.start; i < end; i++) {
+            if (itemId.equals(EntityValues.getIdOrEntity(groupedItems.get(i)))) {
+                groupedItems.remove(i);
+                break;
+            }
         }
 
-        List<GroupInfo> groupChildren =
-                this.children.computeIfAbsent(groupInfo, k -> new ArrayList<>());
+        for (GroupNode node = leaf; node != null; node = node.parent) {
+            node.count--;
+            if (node.count == 0 && node.parent != null) {
+                node.parent.removeChild(node);
+                groupNodes.remove(node.info);
+            }
+        }
+        offsetsValid = false;
+    }
 
-        if (propertyIndex < groupProperties.length) {
-            groupInfo = groupItems(propertyIndex, groupInfo, groupChildren, item, groupValues);
+    /**
+     * Finds the deepest group of the item, creating missing groups on the way.
+     *
+     * @param item        item
+     * @param keepOrdered whether new groups must be placed among siblings by the container index of the item,
+     *                    otherwise they are appended
+     */
+    protected GroupNode findOrCreateLeaf(E item, boolean keepOrdered) {
+        GroupNode node = rootNode;
+        for (Object groupProperty : groupProperties) {
+            MetaPropertyPath property = (MetaPropertyPath) groupProperty;
+            Object value = getValueByProperty(item, property);
+
+            GroupNode child = node.getChild(value);
+            if (child == null) {
+                child = new GroupNode(node, property, value);
+                int index = keepOrdered
+                        ? findGroupInsertionPoint(node, container.getItemIndex(item))
+                        : node.childNodes.size();
+                node.addChild(index, child);
+                groupNodes.put(child.info, child);
+                offsetsValid = false;
+            }
+            node = child;
         }
+        return node;
+    }
 
-        return groupInfo;
+    /**
+     * Siblings are ordered by the first appearance of their values, so the container indexes of their first items
+     * are increasing and a binary search is enough.
+     */
+    protected int findGroupInsertionPoint(GroupNode parent, int containerIndex) {
+        List<GroupNode> siblings = parent.childNodes;
+        int low = 0;
+        int high = siblings.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = container.getItemIndex(groupedItems.get(siblings.get(mid).start));
+            if (midIndex < containerIndex) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Items of a group are kept in the container order, so a binary search is enough.
+     */
+    protected int findInsertionPoint(GroupNode leaf, int containerIndex) {
+        int low = 0;
+        int high = leaf.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = container.getItemIndex(groupedItems.get(leaf.start + mid));
+            if (midIndex < containerIndex) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    protected void checkOffsets() {
+        if (!offsetsValid) {
+            updateOffsets();
+        }
+    }
+
+    protected void updateOffsets() {
+        updateOffsets(rootNode, 0);
+        offsetsValid = true;
+    }
+
+    protected void updateOffsets(GroupNode node, int start) {
+        node.start = start;
+        for (GroupNode child : node.childNodes) {
+            updateOffsets(child, start);
+            start += child.count;
+        }
     }
 
     @Nullable
@@ -145,75 +351,62 @@ public class ContainerGroupTableItems<E>
         return EntityValues.getValueEx(item, property.toString());
     }
 
+    @Nullable
+    protected GroupNode getGroupNode(GroupInfo groupId) {
+        return hasGroups() ? groupNodes.get(groupId) : null;
+    }
+
+    protected List<E> getGroupedItems(GroupNode node) {
+        checkOffsets();
+        return groupedItems.subList(node.start, node.start + node.count);
+    }
+
     @Override
     public List<GroupInfo> rootGroups() {
         if (hasGroups()) {
-            return Collections.unmodifiableList(roots);
+            return Collections.unmodifiableList(rootNode.children);
         }
         return Collections.emptyList();
     }
 
     @Override
     public boolean hasChildren(GroupInfo groupId) {
-        boolean groupExists = containsGroup(groupId);
-        List<GroupInfo> groupChildren = this.children.get(groupId);
-        return groupExists && CollectionUtils.isNotEmpty(groupChildren);
+        GroupNode node = getGroupNode(groupId);
+        return node != null && !node.children.isEmpty();
     }
 
     @Override
     public List<GroupInfo> getChildren(GroupInfo groupId) {
-        if (hasChildren(groupId)) {
-            return Collections.unmodifiableList(children.get(groupId));
+        GroupNode node = getGroupNode(groupId);
+        if (node != null && !node.children.isEmpty()) {
+            return Collections.unmodifiableList(node.children);
         }
         return Collections.emptyList();
     }
 
     @Override
     public List<E> getOwnChildItems(GroupInfo groupId) {
-        if (groupItems == null) {
-            return Collections.emptyList();
-        }
-
-        List<?> idsList = groupItems.get(groupId);
-        if (containsGroup(groupId) && CollectionUtils.isNotEmpty(idsList)) {
-            return idsList.stream()
-                    .map(id -> container.getItem(id))
-                    .collect(Collectors.toList());
+        GroupNode node = getGroupNode(groupId);
+        if (node != null && node.children.isEmpty()) {
+            return new ArrayList<>(getGroupedItems(node));
         }
         return Collections.emptyList();
     }
 
     @Override
     public List<E> getChildItems(GroupInfo groupId) {
-        if (groupItems == null) {
-            return Collections.emptyList();
-        }
-
-        if (containsGroup(groupId)) {
-            List<E> entities = new ArrayList<>();
-
-            // if current group contains other groups
-            if (hasChildren(groupId)) {
-                List<GroupInfo> children = getChildrenInternal(groupId);
-                for (GroupInfo childGroup : children) {
-                    entities.addAll(getChildItems(childGroup));
-                }
-            }
-
-            for (Object id : groupItems.getOrDefault(groupId, Collections.emptyList())) {
-                E item = container.getItem(id);
-                entities.add(item);
-            }
-
-            return entities;
+        GroupNode node = getGroupNode(groupId);
+        if (node != null) {
+            return new ArrayList<>(getGroupedItems(node));
         }
         return Collections.emptyList();
     }
 
     // return collection as is
     public List<GroupInfo> getChildrenInternal(GroupInfo groupId) {
-        if (hasChildren(groupId)) {
-            return children.get(groupId);
+        GroupNode node = getGroupNode(groupId);
+        if (node != null && !node.children.isEmpty()) {
+            return node.children;
         }
         return Collections.emptyList();
     }
@@ -229,7 +422,8 @@ public class ContainerGroupTableItems<E>
         if (itemGroups == null) {
             return null;
         }
-        return itemGroups.get(EntityValues.getId(item));
+        GroupNode leaf = itemGroups.get(EntityValues.getIdOrEntity(item));
+        return leaf != null ? leaf.info : null;
     }
 
     @Override
@@ -243,19 +437,15 @@ public class ContainerGroupTableItems<E>
             return Collections.emptyList();
         }
 
-        GroupInfo groupInfo = itemGroups.get(EntityValues.getId(item));
-        if (groupInfo == null) {
+        GroupNode leaf = itemGroups.get(EntityValues.getIdOrEntity(item));
+        if (leaf == null) {
             return Collections.emptyList();
         }
-        LinkedList<GroupInfo> parentGroups = new LinkedList<>();
-        parentGroups.add(groupInfo);
 
-        GroupInfo parent = parents.get(groupInfo);
-        while (parent != null) {
-            parentGroups.addFirst(parent);
-            parent = parents.get(parent);
+        LinkedList<GroupInfo> parentGroups = new LinkedList<>();
+        for (GroupNode node = leaf; node.parent != null; node = node.parent) {
+            parentGroups.addFirst(node.info);
         }
-
         return parentGroups;
     }
 
@@ -279,41 +469,27 @@ public class ContainerGroupTableItems<E>
 
     @Override
     public Collection getGroupItemIds(GroupInfo groupId) {
-        if (containsGroup(groupId)) {
-            List itemIds;
-            if ((itemIds = groupItems.get(groupId)) == null) {
-                itemIds = new ArrayList<>();
-                List<GroupInfo> children = getChildrenInternal(groupId);
-                for (GroupInfo child : children) {
-                    itemIds.addAll(getGroupItemIds(child));
-                }
+        GroupNode node = getGroupNode(groupId);
+        if (node != null) {
+            List<E> items = getGroupedItems(node);
+            Object[] itemIds = new Object[items.size()];
+            for (int i = 0; i < itemIds.length; i++) {
+                itemIds[i] = EntityValues.getIdOrEntity(items.get(i));
             }
-            return ImmutableList.copyOf(itemIds);
+            return Collections.unmodifiableList(Arrays.asList(itemIds));
         }
         return Collections.emptyList();
     }
 
     @Override
     public int getGroupItemsCount(GroupInfo groupId) {
-        if (containsGroup(groupId)) {
-            List itemIds;
-            if ((itemIds = groupItems.get(groupId)) == null) {
-                int count = 0;
-                List<GroupInfo> children = getChildrenInternal(groupId);
-                for (GroupInfo child : children) {
-                    count += getGroupItemsCount(child);
-                }
-                return count;
-            } else {
-                return itemIds.size();
-            }
-        }
-        return 0;
+        GroupNode node = getGroupNode(groupId);
+        return node != null ? node.count : 0;
     }
 
     @Override
     public boolean hasGroups() {
-        return roots != null;
+        return rootNode != null;
     }
 
     @Override
@@ -327,6 +503,68 @@ public class ContainerGroupTableItems<E>
 
     @Override
     public boolean containsGroup(GroupInfo groupId) {
-        return hasGroups() && parents.containsKey(groupId);
+        return getGroupNode(groupId) != null;
+    }
+
+    /**
+     * Group of items, the range of its items in {@link #groupedItems} starts at {@link #start} and contains
+     * {@link #count} items.
+     */
+    protected static class GroupNode {
+
+        protected final GroupNode parent;
+        protected final GroupInfo<MetaPropertyPath> info;
+
+        protected final List<GroupNode> childNodes = new ArrayList<>(2);
+        protected final List<GroupInfo> children = new ArrayList<>(2);
+        protected Map<Object, GroupNode> childrenByValue;
+
+        protected int count;
+        protected int start;
+        // number of items placed into the range during regrouping
+        protected int filled;
+
+        public GroupNode(@Nullable GroupNode parent, @Nullable MetaPropertyPath property, @Nullable Object value) {
+            this.parent = parent;
+            this.info = property != null ? createGroupInfo(parent, property, value) : null;
+        }
+
+        @Nullable
+        public GroupNode getChild(@Nullable Object value) {
+            return childrenByValue != null ? childrenByValue.get(value) : null;
+        }
+
+        public void addChild(int index, GroupNode child) {
+            if (childrenByValue == null) {
+                childrenByValue = new HashMap<>();
+            }
+            childrenByValue.put(child.info.getValue(), child);
+            childNodes.add(index, child);
+            children.add(index, child.info);
+        }
+
+        public void removeChild(GroupNode child) {
+            childrenByValue.remove(child.info.getValue());
+            int index = childNodes.indexOf(child);
+            childNodes.remove(index);
+            children.remove(index);
+        }
+
+        @SuppressWarnings("unchecked")
+        protected static GroupInfo<MetaPropertyPath> createGroupInfo(@Nullable GroupNode parent,
+                                                                     MetaPropertyPath property,
+                                                                     @Nullable Object value) {
+            Deque<GroupInfo<MetaPropertyPath>> parentGroups = new ArrayDeque<>();
+            for (GroupNode node = parent; node != null && node.info != null; node = node.parent) {
+                parentGroups.addFirst(node.info);
+            }
+
+            LinkedMap<MetaPropertyPath, Object> groupValues = new LinkedMap<>();
+            for (GroupInfo<MetaPropertyPath> parentGroup : parentGroups) {
+                groupValues.put(parentGroup.getProperty(), parentGroup.getValue());
+            }
+            groupValues.put(property, value);
+            return new GroupInfo<>(groupValues);
+        }
     }
 }
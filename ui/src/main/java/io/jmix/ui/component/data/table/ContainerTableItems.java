@@ -27,6 +27,7 @@ import io.jmix.ui.component.data.TableItems;
 import io.jmix.ui.component.data.meta.ContainerDataUnit;
 import io.jmix.ui.component.data.meta.EntityTableItems;
 import io.jmix.ui.component.data.aggregation.impl.AggregatableDelegate;
+import io.jmix.ui.component.data.aggregation.impl.IncrementalAggregation;
 import io.jmix.ui.model.CollectionContainer;
 import io.jmix.ui.model.CollectionLoader;
 import io.jmix.ui.model.HasLoader;
@@ -51,6 +52,8 @@ public class ContainerTableItems<E> implements EntityTableItems<E>, TableItems.S
 
     protected AggregatableDelegate aggregatableDelegate;
 
+    protected IncrementalAggregation<E> incrementalAggregation;
+
     protected boolean suppressSorting;
 
     protected EventHub events = new EventHub();
@@ -70,16 +73,36 @@ public class ContainerTableItems<E> implements EntityTableItems<E>, TableItems.S
         events.publish(SelectedItemChangeEvent.class, new SelectedItemChangeEvent<>(this, event.getItem()));
     }
 
-    protected void containerCollectionChanged(@SuppressWarnings("unused") CollectionContainer.CollectionChangeEvent<E> e) {
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        if (incrementalAggregation != null) {
+            incrementalAggregation.collectionChanged(e);
+        }
         events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
     }
 
     @SuppressWarnings("unchecked")
     protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        if (incrementalAggregation != null) {
+            incrementalAggregation.itemPropertyChanged(e);
+        }
         events.publish(ValueChangeEvent.class, new ValueChangeEvent(this,
                 e.getItem(), e.getProperty(), e.getPrevValue(), e.getValue()));
     }
 
+    /**
+     * @return running aggregation accumulators of the container items
+     */
+    public IncrementalAggregation<E> getIncrementalAggregation() {
+        if (incrementalAggregation == null) {
+            incrementalAggregation = createIncrementalAggregation();
+        }
+        return incrementalAggregation;
+    }
+
+    protected IncrementalAggregation<E> createIncrementalAggregation() {
+        return new IncrementalAggregation<>(container);
+    }
+
     @Override
     public Collection<?> getItemIds() {
         return container.getItems().stream().map(entity -> EntityValues.getIdOrEntity(entity)).collect(Collectors.toList());
@@ -18,6 +18,7 @@ package io.jmix.ui.component.data.table;
 
 import io.jmix.core.entity.EntityValues;
 import io.jmix.ui.component.data.TreeTableItems;
+import io.jmix.ui.component.data.tree.ContainerHierarchyIndex;
 import io.jmix.ui.model.CollectionContainer;
 
 import javax.annotation.Nullable;
@@ -30,10 +31,15 @@ public class ContainerTreeTableItems<E>
     private final String hierarchyProperty;
     private final boolean showOrphans;
 
+    private final ContainerHierarchyIndex<E> hierarchyIndex;
+
     public ContainerTreeTableItems(CollectionContainer<E> container, String hierarchyProperty, boolean showOrphans) {
         super(container);
         this.hierarchyProperty = hierarchyProperty;
         this.showOrphans = showOrphans;
+        this.hierarchyIndex = hierarchyProperty != null
+                ? new ContainerHierarchyIndex<>(container, hierarchyProperty, showOrphans)
+                : null;
     }
 
     public ContainerTreeTableItems(CollectionContainer<E> container, String hierarchyProperty) {
@@ -46,20 +52,31 @@ public class ContainerTreeTableItems<E>
     }
 
     @Override
-    public Collection<?> getRootItemIds() {
-        Collection<?> ids = getItemIds();
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        if (hierarchyIndex != null) {
+            hierarchyIndex.collectionChanged(e);
+        }
+        super.containerCollectionChanged(e);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        if (hierarchyIndex != null) {
+            hierarchyIndex.itemPropertyChanged(e);
+        }
+        super.containerItemPropertyChanged(e);
+    }
 
+    @Override
+    public Collection<?> getRootItemIds() {
         if (hierarchyProperty != null) {
             Set<Object> result = new LinkedHashSet<>();
-            for (Object id : ids) {
-                Object item = getItemNN(id);
-                Object parentItem = EntityValues.getValue(item, hierarchyProperty);
-                if (parentItem == null || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null))
-                    result.add(EntityValues.getId(item));
+            for (E item : hierarchyIndex.getRoots()) {
+                result.add(EntityValues.getId(item));
             }
             return result;
         } else {
-            return new LinkedHashSet<>(ids);
+            return new LinkedHashSet<>(getItemIds());
         }
     }
 
@@ -81,20 +98,15 @@ public class ContainerTreeTableItems<E>
     @Override
     public Collection<?> getChildren(Object itemId) {
         if (hierarchyProperty != null) {
-            Object currentItem = getItem(itemId);
+            E currentItem = getItem(itemId);
             if (currentItem == null)
                 return Collections.emptyList();
 
-            List<Object> res = new ArrayList<>();
-
-            Collection ids = getItemIds();
-            for (Object id : ids) {
-                Object item = getItemNN(id);
-                Object parentItem = EntityValues.getValue(item, hierarchyProperty);
-                if (parentItem != null && EntityValues.getId(parentItem).equals(itemId))
-                    res.add(EntityValues.getId(item));
+            List<E> children = hierarchyIndex.getChildren(currentItem);
+            List<Object> res = new ArrayList<>(children.size());
+            for (E child : children) {
+                res.add(EntityValues.getId(child));
             }
-
             return res;
         }
         return Collections.emptyList();
@@ -102,12 +114,11 @@ public class ContainerTreeTableItems<E>
 
     @Override
     public boolean isRoot(Object itemId) {
-        Object item = getItem(itemId);
+        E item = getItem(itemId);
         if (item == null) return false;
 
         if (hierarchyProperty != null) {
-            Object parentItem = EntityValues.getValue(item, hierarchyProperty);
-            return (parentItem == null || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null));
+            return hierarchyIndex.isRoot(item);
         } else {
             return true;
         }
@@ -115,18 +126,12 @@ public class ContainerTreeTableItems<E>
 
     @Override
     public boolean hasChildren(Object itemId) {
-        Object currentItem = getItem(itemId);
+        E currentItem = getItem(itemId);
         if (currentItem == null)
             return false;
 
         if (hierarchyProperty != null) {
-            Collection ids = getItemIds();
-            for (Object id : ids) {
-                Object item = getItemNN(id);
-                Object parentItem = EntityValues.getValue(item, hierarchyProperty);
-                if (parentItem != null && EntityValues.getId(parentItem).equals(itemId))
-                    return true;
-            }
+            return hierarchyIndex.hasChildren(currentItem);
         }
 
         return false;
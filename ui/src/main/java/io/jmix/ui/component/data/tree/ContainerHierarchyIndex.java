@@ -0,0 +1,249 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.component.data.tree;
+
+import io.jmix.core.entity.EntityValues;
+import io.jmix.ui.model.CollectionChangeType;
+import io.jmix.ui.model.CollectionContainer;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Parent to children index over the items of a {@link CollectionContainer} built from a hierarchy property.
+ * <p>
+ * The index is built lazily on first access and then maintained incrementally from
+ * {@link CollectionContainer.CollectionChangeEvent}s and changes of the hierarchy property, so child lookups
+ * cost O(children) instead of a scan of the whole container. Children are kept in the container order.
+ * <p>
+ * Items and parents are identified by {@link EntityValues#getIdOrEntity(Object)}.
+ *
+ * @param <E> entity type
+ */
+public class ContainerHierarchyIndex<E> {
+
+    protected final CollectionContainer<E> container;
+    protected final String hierarchyProperty;
+    protected final boolean showOrphans;
+
+    // key is the parent id, null key contains items without parent
+    protected Map<Object, List<E>> childrenByParent = new HashMap<>();
+    protected Map<Object, Object> parentByItem = new HashMap<>();
+
+    protected List<E> roots;
+    protected boolean valid;
+
+    public ContainerHierarchyIndex(CollectionContainer<E> container, String hierarchyProperty, boolean showOrphans) {
+        this.container = container;
+        this.hierarchyProperty = hierarchyProperty;
+        this.showOrphans = showOrphans;
+    }
+
+    /**
+     * Updates the index according to the collection change. Must be invoked by the owner on each
+     * collection change of the container.
+     */
+    public void collectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        roots = null;
+        if (!valid) {
+            return;
+        }
+
+        CollectionChangeType changeType = event.getChangeType();
+        switch (changeType) {
+            case ADD_ITEMS:
+            case SET_ITEM:
+                for (E item : event.getChanges()) {
+                    removeFromIndex(EntityValues.getIdOrEntity(item));
+                    addToIndex(item);
+                }
+                break;
+            case REMOVE_ITEMS:
+                for (E item : event.getChanges()) {
+                    removeFromIndex(EntityValues.getIdOrEntity(item));
+                }
+                break;
+            default:
+                invalidate();
+        }
+    }
+
+    /**
+     * Updates the index if the hierarchy property of an item has been changed. Must be invoked by the owner on each
+     * item property change of the container.
+     */
+    public void itemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> event) {
+        if (!valid || !hierarchyProperty.equals(event.getProperty())) {
+            return;
+        }
+
+        E item = event.getItem();
+        roots = null;
+        removeFromIndex(EntityValues.getIdOrEntity(item));
+        addToIndex(item);
+    }
+
+    /**
+     * Drops the index, it will be rebuilt on the next access.
+     */
+    public void invalidate() {
+        valid = false;
+        roots = null;
+        childrenByParent.clear();
+        parentByItem.clear();
+    }
+
+    /**
+     * @return root items in the container order. If {@code showOrphans} is true, items which parent is not
+     * in the container are also considered as roots.
+     */
+    public List<E> getRoots() {
+        checkIndex();
+
+        if (roots == null) {
+            List<E> result = new ArrayList<>();
+            for (E item : container.getItems()) {
+                if (isRoot(item)) {
+                    result.add(item);
+                }
+            }
+            roots = Collections.unmodifiableList(result);
+        }
+        return roots;
+    }
+
+    /**
+     * @param item item
+     * @return true if the item is a root item
+     */
+    public boolean isRoot(E item) {
+        checkIndex();
+
+        Object parentKey = parentByItem.get(EntityValues.getIdOrEntity(item));
+        return parentKey == null
+                || (showOrphans && container.getItemOrNull(parentKey) == null);
+    }
+
+    /**
+     * @param parent parent item or its id, {@code null} for the root level
+     * @return direct children of the given parent in the container order or root items if the parent is null
+     */
+    public List<E> getChildren(@Nullable Object parent) {
+        if (parent == null) {
+            return getRoots();
+        }
+
+        checkIndex();
+
+        List<E> children = childrenByParent.get(EntityValues.getIdOrEntity(parent));
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+
+    /**
+     * @param parent parent item or its id, {@code null} for the root level
+     * @return number of direct children of the given parent or number of root items if the parent is null
+     */
+    public int getChildCount(@Nullable Object parent) {
+        if (parent == null) {
+            return getRoots().size();
+        }
+
+        checkIndex();
+
+        List<E> children = childrenByParent.get(EntityValues.getIdOrEntity(parent));
+        return children != null ? children.size() : 0;
+    }
+
+    /**
+     * @param parent parent item or its id, {@code null} for the root level
+     * @return true if the given parent has at least one child
+     */
+    public boolean hasChildren(@Nullable Object parent) {
+        return getChildCount(parent) > 0;
+    }
+
+    protected void checkIndex() {
+        if (!valid) {
+            buildIndex();
+        }
+    }
+
+    protected void buildIndex() {
+        childrenByParent.clear();
+        parentByItem.clear();
+        roots = null;
+
+        for (E item : container.getItems()) {
+            Object parentKey = getParentKey(item);
+            parentByItem.put(EntityValues.getIdOrEntity(item), parentKey);
+            childrenByParent.computeIfAbsent(parentKey, k -> new ArrayList<>()).add(item);
+        }
+        valid = true;
+    }
+
+    protected void addToIndex(E item) {
+        Object parentKey = getParentKey(item);
+        parentByItem.put(EntityValues.getIdOrEntity(item), parentKey);
+
+        List<E> children = childrenByParent.computeIfAbsent(parentKey, k -> new ArrayList<>());
+        children.add(findInsertionPoint(children, container.getItemIndex(item)), item);
+    }
+
+    protected void removeFromIndex(Object itemKey) {
+        if (!parentByItem.containsKey(itemKey)) {
+            return;
+        }
+
+        Object parentKey = parentByItem.remove(itemKey);
+        List<E> children = childrenByParent.get(parentKey);
+        if (children != null) {
+            children.removeIf(child -> itemKey.equals(EntityValues.getIdOrEntity(child)));
+            if (children.isEmpty()) {
+                childrenByParent.remove(parentKey);
+            }
+        }
+    }
+
+    /**
+     * Finds a position in the list of siblings which keeps the container order. Siblings are already sorted by
+     * their indexes in the container, so a binary search is enough.
+     */
+    protected int findInsertionPoint(List<E> siblings, int containerIndex) {
+        if (containerIndex < 0) {
+            return siblings.size();
+        }
+
+        int low = 0;
+        int high = siblings.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = container.getItemIndex(siblings.get(mid));
+            if (midIndex < containerIndex) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    @Nullable
+    protected Object getParentKey(E item) {
+        Object parent = EntityValues.getValue(item, hierarchyProperty);
+        return parent == null ? null : EntityValues.getIdOrEntity(parent);
+    }
+}
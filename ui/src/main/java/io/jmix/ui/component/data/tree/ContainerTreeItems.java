@@ -37,12 +37,15 @@ public class ContainerTreeItems<E> implements EntityTreeItems<E>, ContainerDataU
     protected final String hierarchyProperty;
     protected final boolean showOrphans;
 
+    protected final ContainerHierarchyIndex<E> hierarchyIndex;
+
     protected EventHub events = new EventHub();
 
     public ContainerTreeItems(CollectionContainer<E> container, String hierarchyProperty, boolean showOrphans) {
         this.container = container;
         this.hierarchyProperty = hierarchyProperty;
         this.showOrphans = showOrphans;
+        this.hierarchyIndex = new ContainerHierarchyIndex<>(container, hierarchyProperty, showOrphans);
         this.container.addItemChangeListener(this::containerItemChanged);
         this.container.addCollectionChangeListener(this::containerCollectionChanged);
         this.container.addItemPropertyChangeListener(this::containerItemPropertyChanged);
@@ -56,12 +59,14 @@ public class ContainerTreeItems<E> implements EntityTreeItems<E>, ContainerDataU
         events.publish(SelectedItemChangeEvent.class, new SelectedItemChangeEvent<>(this, event.getItem()));
     }
 
-    protected void containerCollectionChanged(@SuppressWarnings("unused") CollectionContainer.CollectionChangeEvent<E> e) {
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> e) {
+        hierarchyIndex.collectionChanged(e);
         events.publish(ItemSetChangeEvent.class, new ItemSetChangeEvent<>(this));
     }
 
     @SuppressWarnings("unchecked")
     protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> e) {
+        hierarchyIndex.itemPropertyChanged(e);
         events.publish(ValueChangeEvent.class, new ValueChangeEvent(this,
                 e.getItem(), e.getProperty(), e.getPrevValue(), e.getValue()));
     }
@@ -117,33 +122,22 @@ public class ContainerTreeItems<E> implements EntityTreeItems<E>, ContainerDataU
 
     @Override
     public int getChildCount(E parent) {
-        return Math.toIntExact(getChildren(parent).count());
+        return hierarchyIndex.getChildCount(parent);
     }
 
     @Override
     public Stream<E> getChildren(@Nullable E item) {
         if (item == null) {
             // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem == null || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null);
-                    });
+            return hierarchyIndex.getRoots().stream();
         } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
+            return hierarchyIndex.getChildren(item).stream();
         }
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream().anyMatch(it -> {
-            E parentItem = EntityValues.getValue(it, hierarchyProperty);
-            return parentItem != null && parentItem.equals(item);
-        });
+        return hierarchyIndex.hasChildren(item);
     }
 
     @Nullable
@@ -87,7 +87,7 @@ public class DataGridDataProvider<T> extends AbstractDataProvider<T, Serializabl
 
     @Override
     public boolean isInMemory() {
-        return true;
+        return !(dataGridItems instanceof DataGridItems.Lazy);
     }
 
     @Override
@@ -106,6 +106,10 @@ public class DataGridDataProvider<T> extends AbstractDataProvider<T, Serializabl
             return Stream.empty();
         }
 
+        if (dataGridItems instanceof DataGridItems.Lazy) {
+            return dataGridItems.getItems(query.getOffset(), query.getLimit()).stream();
+        }
+
         return dataGridItems.getItems()
                 .skip(query.getOffset())
                 .limit(query.getLimit());
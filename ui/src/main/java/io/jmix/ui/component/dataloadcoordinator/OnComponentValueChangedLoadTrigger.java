@@ -28,6 +28,8 @@ import io.jmix.ui.model.DataLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Consumer;
+
 @StudioElement(
         caption = "OnComponentValueChanged Trigger",
         xmlElement = "onComponentValueChanged",
@@ -39,7 +41,8 @@ import org.slf4j.LoggerFactory;
                         options = {"io.jmix.ui.component.Component"}),
                 @StudioProperty(name = "param", type = PropertyType.STRING),
                 @StudioProperty(name = "likeClause", type = PropertyType.ENUMERATION, defaultValue = "NONE",
-                        options = {"NONE", "CASE_SENSITIVE", "CASE_INSENSITIVE"})
+                        options = {"NONE", "CASE_SENSITIVE", "CASE_INSENSITIVE"}),
+                @StudioProperty(name = "debounce", type = PropertyType.INTEGER, defaultValue = "0")
         }
 )
 public class OnComponentValueChangedLoadTrigger implements DataLoadCoordinator.Trigger {
@@ -48,11 +51,22 @@ public class OnComponentValueChangedLoadTrigger implements DataLoadCoordinator.T
     private final HasValue component;
     private final String param;
     private final DataLoadCoordinator.LikeClause likeClause;
+    private final Consumer<DataLoader> loadAction;
 
     private static final Logger log = LoggerFactory.getLogger(OnComponentValueChangedLoadTrigger.class);
 
     public OnComponentValueChangedLoadTrigger(DataLoader loader, Component component, String param, DataLoadCoordinator.LikeClause likeClause) {
+        this(loader, component, param, likeClause, DataLoader::load);
+    }
+
+    /**
+     * @param loadAction action which loads the loader after its parameter is set, e.g. with a delay
+     */
+    public OnComponentValueChangedLoadTrigger(DataLoader loader, Component component, String param,
+                                              DataLoadCoordinator.LikeClause likeClause,
+                                              Consumer<DataLoader> loadAction) {
         this.likeClause = likeClause;
+        this.loadAction = loadAction;
         if (!(component instanceof HasValue)) {
             throw new DevelopmentException(String.format(
                     "Invalid component type in load trigger: %s. Expected HasValue", component.getClass().getName()));
@@ -77,7 +91,7 @@ public class OnComponentValueChangedLoadTrigger implements DataLoadCoordinator.T
             }
         }
         loader.setParameter(param, value);
-        loader.load();
+        loadAction.accept(loader);
     }
 
     @Override
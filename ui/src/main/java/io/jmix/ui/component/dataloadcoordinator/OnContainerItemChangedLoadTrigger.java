@@ -24,6 +24,8 @@ import io.jmix.ui.meta.StudioProperty;
 import io.jmix.ui.model.DataLoader;
 import io.jmix.ui.model.InstanceContainer;
 
+import java.util.function.Consumer;
+
 @StudioElement(
         caption = "OnContainerItemChanged Trigger",
         xmlElement = "onContainerItemChanged",
@@ -32,7 +34,8 @@ import io.jmix.ui.model.InstanceContainer;
 @StudioProperties(
         properties = {
                 @StudioProperty(name = "container", type = PropertyType.DATACONTAINER_REF, required = true),
-                @StudioProperty(name = "param", type = PropertyType.STRING)
+                @StudioProperty(name = "param", type = PropertyType.STRING),
+                @StudioProperty(name = "debounce", type = PropertyType.INTEGER, defaultValue = "0")
         }
 )
 public class OnContainerItemChangedLoadTrigger implements DataLoadCoordinator.Trigger {
@@ -40,9 +43,19 @@ public class OnContainerItemChangedLoadTrigger implements DataLoadCoordinator.Tr
     private final DataLoader loader;
     private final InstanceContainer container;
     private final String param;
+    private final Consumer<DataLoader> loadAction;
 
     public OnContainerItemChangedLoadTrigger(DataLoader loader, InstanceContainer container, String param) {
+        this(loader, container, param, DataLoader::load);
+    }
+
+    /**
+     * @param loadAction action which loads the loader after its parameter is set, e.g. with a delay
+     */
+    public OnContainerItemChangedLoadTrigger(DataLoader loader, InstanceContainer container, String param,
+                                             Consumer<DataLoader> loadAction) {
         this.loader = loader;
+        this.loadAction = loadAction;
         this.container = container;
         this.param = param;
         //noinspection unchecked
@@ -51,11 +64,18 @@ public class OnContainerItemChangedLoadTrigger implements DataLoadCoordinator.Tr
 
     private void load() {
         loader.setParameter(param, container.getItemOrNull());
-        loader.load();
+        loadAction.accept(loader);
     }
 
     @Override
     public DataLoader getLoader() {
         return loader;
     }
+
+    /**
+     * @return master data container
+     */
+    public InstanceContainer getContainer() {
+        return container;
+    }
 }
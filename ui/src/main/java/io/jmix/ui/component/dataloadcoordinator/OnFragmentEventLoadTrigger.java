@@ -24,6 +24,8 @@ import io.jmix.ui.model.DataLoader;
 import io.jmix.ui.screen.ScreenFragment;
 import io.jmix.ui.sys.UiControllerReflectionInspector;
 
+import java.util.function.Consumer;
+
 @StudioElement(
         caption = "OnFragmentEvent Trigger",
         xmlElement = "onFragmentEvent",
@@ -40,4 +42,9 @@ public class OnFragmentEventLoadTrigger extends OnFrameOwnerEventLoadTrigger {
     public OnFragmentEventLoadTrigger(ScreenFragment screenFragment, UiControllerReflectionInspector reflectionInspector, DataLoader loader, Class eventClass) {
         super(screenFragment, reflectionInspector, loader, eventClass);
     }
+
+    public OnFragmentEventLoadTrigger(ScreenFragment screenFragment, UiControllerReflectionInspector reflectionInspector,
+                                      DataLoader loader, Class eventClass, Consumer<DataLoader> loadAction) {
+        super(screenFragment, reflectionInspector, loader, eventClass, loadAction);
+    }
 }
@@ -27,10 +27,20 @@ import java.util.function.Consumer;
 public abstract class OnFrameOwnerEventLoadTrigger implements DataLoadCoordinator.Trigger {
 
     private final DataLoader loader;
+    private final Consumer<DataLoader> loadAction;
 
     public OnFrameOwnerEventLoadTrigger(FrameOwner frameOwner, UiControllerReflectionInspector reflectionInspector,
                                         DataLoader loader, Class eventClass) {
+        this(frameOwner, reflectionInspector, loader, eventClass, DataLoader::load);
+    }
+
+    /**
+     * @param loadAction action which loads the loader, e.g. together with other loaders triggered by the event
+     */
+    public OnFrameOwnerEventLoadTrigger(FrameOwner frameOwner, UiControllerReflectionInspector reflectionInspector,
+                                        DataLoader loader, Class eventClass, Consumer<DataLoader> loadAction) {
         this.loader = loader;
+        this.loadAction = loadAction;
         MethodHandle addListenerMethod = reflectionInspector.getAddListenerMethod(frameOwner.getClass(), eventClass);
         if (addListenerMethod == null) {
             throw new IllegalStateException("Cannot find addListener method for " + eventClass);
@@ -45,7 +55,7 @@ public abstract class OnFrameOwnerEventLoadTrigger implements DataLoadCoordinato
     }
 
     private void load() {
-        loader.load();
+        loadAction.accept(loader);
     }
 
     @Override
@@ -24,6 +24,8 @@ import io.jmix.ui.model.DataLoader;
 import io.jmix.ui.screen.Screen;
 import io.jmix.ui.sys.UiControllerReflectionInspector;
 
+import java.util.function.Consumer;
+
 @StudioElement(
         caption = "OnScreenEvent Trigger",
         xmlElement = "onScreenEvent",
@@ -41,4 +43,9 @@ public class OnScreenEventLoadTrigger extends OnFrameOwnerEventLoadTrigger {
                                     DataLoader loader, Class eventClass) {
         super(screen, reflectionInspector, loader, eventClass);
     }
+
+    public OnScreenEventLoadTrigger(Screen screen, UiControllerReflectionInspector reflectionInspector,
+                                    DataLoader loader, Class eventClass, Consumer<DataLoader> loadAction) {
+        super(screen, reflectionInspector, loader, eventClass, loadAction);
+    }
 }
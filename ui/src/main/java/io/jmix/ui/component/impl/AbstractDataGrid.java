@@ -60,6 +60,8 @@ import io.jmix.ui.component.data.ValueSourceProvider;
 import io.jmix.ui.component.data.aggregation.Aggregation;
 import io.jmix.ui.component.data.aggregation.Aggregations;
 import io.jmix.ui.component.data.aggregation.impl.AggregatableDelegate;
+import io.jmix.ui.component.data.aggregation.impl.IncrementalAggregation;
+import io.jmix.ui.component.data.datagrid.ContainerDataGridItems;
 import io.jmix.ui.component.data.meta.ContainerDataUnit;
 import io.jmix.ui.component.data.meta.EmptyDataUnit;
 import io.jmix.ui.component.data.meta.EntityDataGridItems;
@@ -2802,6 +2804,7 @@ public abstract class AbstractDataGrid<C extends Grid<E> & JmixEnhancedGrid<E>,
         return emptyStateClickEventHandler;
     }
 
+    @SuppressWarnings("unchecked")
     protected AggregatableDelegate<Object> getAggregatableDelegate() {
         if (aggregatableDelegate == null) {
             aggregatableDelegate = applicationContext.getBean(AggregatableDelegate.class);
@@ -2810,6 +2813,9 @@ public abstract class AbstractDataGrid<C extends Grid<E> & JmixEnhancedGrid<E>,
         if (getItems() != null) {
             aggregatableDelegate.setItemProvider(getItems()::getItem);
             aggregatableDelegate.setItemValueProvider(getItems()::getItemValue);
+            aggregatableDelegate.setIncrementalAggregation(getItems() instanceof ContainerDataGridItems
+                    ? ((ContainerDataGridItems<E>) getItems()).getIncrementalAggregation()
+                    : null);
         }
         return aggregatableDelegate;
     }
@@ -2824,7 +2830,8 @@ public abstract class AbstractDataGrid<C extends Grid<E> & JmixEnhancedGrid<E>,
 
         Map<AggregationInfo, String> aggregationInfoMap = getAggregatableDelegate().aggregate(
                 aggregationInfos.toArray(new AggregationInfo[0]),
-                getItems().getItems().map(EntityValues::getId).collect(Collectors.toList())
+                getItems().getItems().map(EntityValues::getId).collect(Collectors.toList()),
+                IncrementalAggregation.TOTAL_SCOPE
         );
 
         return convertAggregationKeyMapToColumnIdKeyMap(aggregationInfoMap);
@@ -2840,7 +2847,8 @@ public abstract class AbstractDataGrid<C extends Grid<E> & JmixEnhancedGrid<E>,
 
         Map<AggregationInfo, Object> aggregationInfoMap = getAggregatableDelegate().aggregateValues(
                 aggregationInfos.toArray(new AggregationInfo[0]),
-                getItems().getItems().map(EntityValues::getId).collect(Collectors.toList())
+                getItems().getItems().map(EntityValues::getId).collect(Collectors.toList()),
+                IncrementalAggregation.TOTAL_SCOPE
         );
 
         return convertAggregationKeyMapToColumnIdKeyMap(aggregationInfoMap);
@@ -68,10 +68,12 @@ import io.jmix.ui.component.data.ValueConversionException;
 import io.jmix.ui.component.data.aggregation.Aggregation;
 import io.jmix.ui.component.data.aggregation.Aggregations;
 import io.jmix.ui.component.data.aggregation.impl.AggregatableDelegate;
+import io.jmix.ui.component.data.aggregation.impl.IncrementalAggregation;
 import io.jmix.ui.component.data.meta.ContainerDataUnit;
 import io.jmix.ui.component.data.meta.EmptyDataUnit;
 import io.jmix.ui.component.data.meta.EntityDataUnit;
 import io.jmix.ui.component.data.meta.EntityTableItems;
+import io.jmix.ui.component.data.table.ContainerTableItems;
 import io.jmix.ui.component.formatter.Formatter;
 import io.jmix.ui.component.pagination.data.PaginationDataBinder;
 import io.jmix.ui.component.pagination.data.PaginationDataUnitBinder;
@@ -222,6 +224,9 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
 
     protected boolean ignoreUnfetchedAttributes;
 
+    // Map column id to cell formatter compiled for the current column settings
+    protected Map<Object, CellFormatter<E>> cellFormatters = new HashMap<>();
+
     protected com.vaadin.v7.ui.Table.ColumnGenerator VALUE_PROVIDER_GENERATOR =
             (source, itemId, columnId) -> formatCellValue(itemId, columnId, null);
 
@@ -550,6 +555,7 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
 
         columns.put(columnId, column);
         columnsOrder.add(index, column);
+        resetCellFormatter(columnId);
         if (column.getWidth() != null) {
             component.setColumnWidth(columnId, column.getWidth());
         }
@@ -618,6 +624,7 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         component.removeContainerProperty(column.getId());
         columns.remove(column.getId());
         columnsOrder.remove(column);
+        resetCellFormatter(column.getId());
 
         column.setOwner(null);
     }
@@ -1229,50 +1236,108 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
             return null;
         }
 
+        CellFormatter<E> cellFormatter = cellFormatters.get(colId);
+        if (cellFormatter == null) {
+            cellFormatter = createCellFormatter(colId);
+            cellFormatters.put(colId, cellFormatter);
+        }
+        return cellFormatter.format(tableItems, rowId, property);
+    }
+
+    /**
+     * Drops the compiled cell formatter of the column, so it will be created again for the current column settings.
+     *
+     * @param columnId column id
+     */
+    protected void resetCellFormatter(Object columnId) {
+        cellFormatters.remove(columnId);
+    }
+
+    /**
+     * Creates a cell formatter for the column. All column settings, the datatype and the locale are resolved here,
+     * so formatting of a cell doesn't require any lookups.
+     *
+     * @param colId column id
+     * @return cell formatter
+     */
+    protected CellFormatter<E> createCellFormatter(Object colId) {
         Column<E> column = columns.get(colId);
         if (column != null && column.getValueProvider() != null) {
-            E item = tableItems.getItem(rowId);
-            Object generatedValue = column.getValueProvider().apply(item);
+            Function<E, Object> valueProvider = column.getValueProvider();
             Formatter formatter = column.getFormatter();
 
             if (formatter != null) {
-                return (String) formatter.apply(generatedValue);
+                return (tableItems, rowId, property) ->
+                        (String) formatter.apply(valueProvider.apply(tableItems.getItem(rowId)));
             }
+            return (tableItems, rowId, property) ->
+                    metadataTools.format(valueProvider.apply(tableItems.getItem(rowId)));
+        }
 
-            return metadataTools.format(generatedValue);
+        if (!(colId instanceof MetaPropertyPath)) {
+            return (tableItems, rowId, property) -> {
+                Object cellValue = property != null ? property.getValue() : null;
+                return formatNonPropertyCellValue(cellValue, property);
+            };
         }
 
-        Object cellValue;
-        if (ignoreUnfetchedAttributes
-                && colId instanceof MetaPropertyPath) {
-            E item = tableItems.getItem(rowId);
-            cellValue = getValueExIgnoreUnfetched(item, ((MetaPropertyPath) colId).getPath());
-        } else if (property != null) {
-            cellValue = property.getValue();
+        MetaPropertyPath propertyPath = (MetaPropertyPath) colId;
+
+        CellValueProvider<E> cellValueProvider;
+        if (ignoreUnfetchedAttributes) {
+            String[] path = propertyPath.getPath();
+            cellValueProvider = (tableItems, rowId, property) ->
+                    getValueExIgnoreUnfetched(tableItems.getItem(rowId), path);
         } else {
-            cellValue = null;
+            cellValueProvider = (tableItems, rowId, property) ->
+                    property != null ? property.getValue() : null;
         }
 
-        if (colId instanceof MetaPropertyPath) {
-            MetaPropertyPath propertyPath = (MetaPropertyPath) colId;
-
-            if (column != null) {
-                if (column.getFormatter() != null) {
-                    return (String) column.getFormatter().apply(cellValue);
-                } else if (column.getXmlDescriptor() != null) {
-                    // vaadin8 move to Column
-                    String captionProperty = column.getXmlDescriptor().attributeValue("captionProperty");
-                    if (StringUtils.isNotEmpty(captionProperty)) {
-                        E item = getItems().getItemNN(rowId);
+        if (column != null) {
+            Formatter formatter = column.getFormatter();
+            if (formatter != null) {
+                return (tableItems, rowId, property) ->
+                        (String) formatter.apply(cellValueProvider.getValue(tableItems, rowId, property));
+            } else if (column.getXmlDescriptor() != null) {
+                // vaadin8 move to Column
+                String captionProperty = column.getXmlDescriptor().attributeValue("captionProperty");
+                if (StringUtils.isNotEmpty(captionProperty)) {
+                    return (tableItems, rowId, property) -> {
+                        E item = tableItems.getItemNN(rowId);
                         Object captionValue = EntityValues.getValueEx(item, captionProperty);
                         return captionValue != null ? String.valueOf(captionValue) : null;
-                    }
+                    };
                 }
             }
+        }
+
+        Function<Object, String> valueFormatter = createPropertyValueFormatter(propertyPath.getMetaProperty());
+        return (tableItems, rowId, property) ->
+                valueFormatter.apply(cellValueProvider.getValue(tableItems, rowId, property));
+    }
 
-            return metadataTools.format(cellValue, propertyPath.getMetaProperty());
+    /**
+     * Creates a function formatting values of the property. Numbers, strings, booleans and UUIDs are formatted by the
+     * datatype resolved once for the table locale, other values are formatted by {@link MetadataTools}.
+     */
+    @SuppressWarnings("unchecked")
+    protected Function<Object, String> createPropertyValueFormatter(MetaProperty metaProperty) {
+        Range range = metaProperty.getRange();
+        if (range.isDatatype()) {
+            Datatype<Object> datatype = (Datatype<Object>) range.asDatatype();
+            Class<?> javaClass = datatype.getJavaClass();
+            if (Number.class.isAssignableFrom(javaClass)
+                    || String.class.equals(javaClass)
+                    || Boolean.class.equals(javaClass)
+                    || UUID.class.equals(javaClass)) {
+                Locale formatLocale = this.locale;
+                return value -> value == null ? "" : datatype.format(value, formatLocale);
+            }
         }
+        return value -> metadataTools.format(value, metaProperty);
+    }
 
+    protected String formatNonPropertyCellValue(@Nullable Object cellValue, @Nullable Property<?> property) {
         if (cellValue == null) {
             return "";
         }
@@ -1771,6 +1836,23 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         return new AggregatableTableDataContainer<>(tableItems, this);
     }
 
+    /**
+     * Formats a cell value of a column, created once per column by {@link #createCellFormatter(Object)}.
+     */
+    @FunctionalInterface
+    protected interface CellFormatter<E> {
+
+        @Nullable
+        String format(TableItems<E> tableItems, Object rowId, @Nullable Property<?> property);
+    }
+
+    @FunctionalInterface
+    protected interface CellValueProvider<E> {
+
+        @Nullable
+        Object getValue(TableItems<E> tableItems, Object rowId, @Nullable Property<?> property);
+    }
+
     public static class ColumnImpl<E> implements Column<E> {
 
         protected final Object id;
@@ -1902,6 +1984,10 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         @Override
         public void setXmlDescriptor(@Nullable Element element) {
             this.element = element;
+
+            if (owner != null) {
+                owner.resetCellFormatter(id);
+            }
         }
 
         @Nullable
@@ -1913,6 +1999,10 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         @Override
         public void setFormatter(@Nullable Formatter formatter) {
             this.formatter = formatter;
+
+            if (owner != null) {
+                owner.resetCellFormatter(id);
+            }
         }
 
         @Override
@@ -1923,6 +2013,10 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         @Override
         public void setValueProvider(@Nullable Function<E, Object> valueProvider) {
             this.valueProvider = valueProvider;
+
+            if (owner != null) {
+                owner.resetCellFormatter(id);
+            }
         }
 
         @Nullable
@@ -2602,6 +2696,7 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
 
             columns.put(newColumn.getId(), newColumn);
             columnsOrder.add(newColumn);
+            resetCellFormatter(newColumn.getId());
 
             associatedRuntimeColumn = newColumn;
         }
@@ -2747,6 +2842,7 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         throw new IllegalArgumentException(msg);
     }
 
+    @SuppressWarnings("unchecked")
     protected AggregatableDelegate<Object> getAggregatableDelegate() {
         if (aggregatableDelegate == null) {
             aggregatableDelegate = applicationContext.getBean(AggregatableDelegate.class);
@@ -2755,10 +2851,21 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
         if (getItems() != null) {
             aggregatableDelegate.setItemProvider(getItems()::getItem);
             aggregatableDelegate.setItemValueProvider(getItems()::getItemValue);
+            aggregatableDelegate.setIncrementalAggregation(getItems() instanceof ContainerTableItems
+                    ? ((ContainerTableItems<E>) getItems()).getIncrementalAggregation()
+                    : null);
         }
         return aggregatableDelegate;
     }
 
+    /**
+     * @param context aggregation context
+     * @return scope of the running aggregation accumulators which correspond to the context items
+     */
+    protected Object getAggregationScope(AggregationContainer.Context context) {
+        return IncrementalAggregation.TOTAL_SCOPE;
+    }
+
     @SuppressWarnings("unchecked")
     protected Map<Object, Object> __aggregateValues(AggregationContainer container, AggregationContainer.Context context) {
         if (!isAggregatable() || getItems() == null) {
@@ -2770,7 +2877,8 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
 
         Map<AggregationInfo, Object> results = getAggregatableDelegate().aggregateValues(
                 aggregationInfos.toArray(new AggregationInfo[0]),
-                context.getItemIds()
+                context.getItemIds(),
+                getAggregationScope(context)
         );
 
         return convertAggregationKeyMapToColumnIdKeyMap(container, results);
@@ -2787,7 +2895,8 @@ public abstract class AbstractTable<T extends com.vaadin.v7.ui.Table & JmixEnhan
 
         Map<AggregationInfo, String> results = getAggregatableDelegate().aggregate(
                 aggregationInfos.toArray(new AggregationInfo[0]),
-                context.getItemIds()
+                context.getItemIds(),
+                getAggregationScope(context)
         );
 
         Map<Object, Object> resultsByColumns = convertAggregationKeyMapToColumnIdKeyMap(container, results);
@@ -21,16 +21,23 @@ import io.jmix.core.DevelopmentException;
 import io.jmix.core.querycondition.Condition;
 import io.jmix.core.querycondition.JpqlCondition;
 import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.ui.AppUI;
 import io.jmix.ui.component.Component;
 import io.jmix.ui.component.DataLoadCoordinator;
 import io.jmix.ui.component.Frame;
+import io.jmix.ui.component.Timer;
 import io.jmix.ui.component.dataloadcoordinator.OnComponentValueChangedLoadTrigger;
 import io.jmix.ui.component.dataloadcoordinator.OnContainerItemChangedLoadTrigger;
 import io.jmix.ui.component.dataloadcoordinator.OnFragmentEventLoadTrigger;
 import io.jmix.ui.component.dataloadcoordinator.OnScreenEventLoadTrigger;
+import io.jmix.ui.model.BaseCollectionLoader;
 import io.jmix.ui.model.DataLoader;
 import io.jmix.ui.model.InstanceContainer;
+import io.jmix.ui.model.InstanceLoader;
+import io.jmix.ui.model.KeyValueInstanceLoader;
+import io.jmix.ui.model.Nested;
 import io.jmix.ui.model.ScreenData;
+import io.jmix.ui.model.impl.DataLoadExecutor;
 import io.jmix.ui.model.impl.DataLoadersHelper;
 import io.jmix.ui.screen.FrameOwner;
 import io.jmix.ui.screen.Screen;
@@ -39,9 +46,13 @@ import io.jmix.ui.screen.UiControllerUtils;
 import io.jmix.ui.sys.UiControllerReflectionInspector;
 
 import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -51,16 +62,31 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
     private String containerPrefix = DEFAULT_CONTAINER_PREFIX;
     private String componentPrefix = DEFAULT_COMPONENT_PREFIX;
 
+    private boolean coalesceLoads;
+    private boolean concurrentLoads;
+
     private List<Trigger> triggers = new ArrayList<>();
 
+    private List<DebouncedLoadAction> debouncedLoadActions = new ArrayList<>();
+
+    private Map<Class, ConcurrentLoadAction> concurrentLoadActions = new HashMap<>();
+
     private UiControllerReflectionInspector reflectionInspector;
 
+    private DataLoadExecutor dataLoadExecutor;
+
     private static final Pattern LIKE_PATTERN = Pattern.compile("\\s+like\\s+:([\\w$]+)");
 
     public DataLoadCoordinatorImpl(UiControllerReflectionInspector reflectionInspector) {
         this.reflectionInspector = reflectionInspector;
     }
 
+    public DataLoadCoordinatorImpl(UiControllerReflectionInspector reflectionInspector,
+                                   DataLoadExecutor dataLoadExecutor) {
+        this.reflectionInspector = reflectionInspector;
+        this.dataLoadExecutor = dataLoadExecutor;
+    }
+
     @Override
     public void setOwner(@Nullable Frame owner) {
         super.setOwner(owner);
@@ -76,6 +102,29 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
         componentPrefix = value;
     }
 
+    @Override
+    public void setCoalesceLoads(boolean coalesceLoads) {
+        this.coalesceLoads = coalesceLoads;
+    }
+
+    @Override
+    public boolean isCoalesceLoads() {
+        return coalesceLoads;
+    }
+
+    @Override
+    public void setConcurrentLoads(boolean concurrentLoads) {
+        if (this.concurrentLoads != concurrentLoads && !triggers.isEmpty()) {
+            throw new IllegalStateException("Concurrent loads mode must be set before triggers are added");
+        }
+        this.concurrentLoads = concurrentLoads;
+    }
+
+    @Override
+    public boolean isConcurrentLoads() {
+        return concurrentLoads;
+    }
+
     @Override
     public List<Trigger> getTriggers() {
         return Collections.unmodifiableList(triggers);
@@ -83,30 +132,161 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
 
     @Override
     public void addOnFrameOwnerEventLoadTrigger(DataLoader loader, Class eventClass) {
+        Consumer<DataLoader> loadAction = createFrameOwnerEventLoadAction(loader, eventClass);
         if (getFrameOwner() instanceof Screen) {
-            triggers.add(new OnScreenEventLoadTrigger((Screen) getFrameOwner(), reflectionInspector, loader, eventClass));
+            triggers.add(new OnScreenEventLoadTrigger((Screen) getFrameOwner(), reflectionInspector, loader, eventClass,
+                    loadAction));
         } else if (getFrameOwner() instanceof ScreenFragment) {
             triggers.add(new OnFragmentEventLoadTrigger((ScreenFragment) getFrameOwner(), reflectionInspector, loader,
-                    eventClass));
+                    eventClass, loadAction));
+        }
+    }
+
+    private Consumer<DataLoader> createFrameOwnerEventLoadAction(DataLoader loader, Class eventClass) {
+        if (!concurrentLoads || dataLoadExecutor == null) {
+            return this::load;
         }
+
+        ConcurrentLoadAction loadAction = concurrentLoadActions.computeIfAbsent(eventClass,
+                ConcurrentLoadAction::new);
+        loadAction.loaders.add(loader);
+        // the whole group is loaded by the event listener of the action
+        return groupLoader -> {
+        };
+    }
+
+    private void loadConcurrently(List<DataLoader> loaders) {
+        List<DataLoader> remaining = new ArrayList<>(loaders);
+        while (!remaining.isEmpty()) {
+            List<DataLoader> independent = new ArrayList<>();
+            for (DataLoader loader : remaining) {
+                if (remaining.stream().noneMatch(other -> dependsOn(loader, other, remaining))) {
+                    independent.add(loader);
+                }
+            }
+
+            if (independent.isEmpty()) {
+                // cyclic dependencies, keep the order of triggers
+                remaining.forEach(this::load);
+                return;
+            }
+
+            independent.forEach(this::cancelPendingLoads);
+            dataLoadExecutor.load(independent);
+            remaining.removeAll(independent);
+        }
+    }
+
+    private boolean dependsOn(DataLoader loader, DataLoader other, List<DataLoader> loaders) {
+        if (loader == other) {
+            return false;
+        }
+
+        InstanceContainer container = getContainer(loader);
+        InstanceContainer otherContainer = getContainer(other);
+        if (otherContainer == null) {
+            return false;
+        }
+        if (container == otherContainer) {
+            // loaders of the same container are loaded in the order of triggers
+            return loaders.indexOf(other) < loaders.indexOf(loader);
+        }
+
+        for (Trigger trigger : triggers) {
+            if (trigger.getLoader() == loader && trigger instanceof OnContainerItemChangedLoadTrigger) {
+                InstanceContainer masterContainer = ((OnContainerItemChangedLoadTrigger) trigger).getContainer();
+                while (masterContainer != null) {
+                    if (masterContainer == otherContainer) {
+                        return true;
+                    }
+                    masterContainer = masterContainer instanceof Nested ? ((Nested) masterContainer).getMaster() : null;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private InstanceContainer getContainer(DataLoader loader) {
+        if (loader instanceof BaseCollectionLoader) {
+            return ((BaseCollectionLoader) loader).getContainer();
+        } else if (loader instanceof InstanceLoader) {
+            return ((InstanceLoader<?>) loader).getContainer();
+        } else if (loader instanceof KeyValueInstanceLoader) {
+            return ((KeyValueInstanceLoader) loader).getContainer();
+        }
+        return null;
     }
 
     @Override
     public void addOnContainerItemChangedLoadTrigger(DataLoader loader, InstanceContainer container, @Nullable String param) {
+        addOnContainerItemChangedLoadTrigger(loader, container, param, 0);
+    }
+
+    @Override
+    public void addOnContainerItemChangedLoadTrigger(DataLoader loader, InstanceContainer container,
+                                                     @Nullable String param, int debounce) {
         String nonNullParam = param != null ? param : findSingleParam(loader);
-        OnContainerItemChangedLoadTrigger loadTrigger = new OnContainerItemChangedLoadTrigger(loader, container, nonNullParam);
+        OnContainerItemChangedLoadTrigger loadTrigger = new OnContainerItemChangedLoadTrigger(
+                loader, container, nonNullParam, createLoadAction(debounce));
         triggers.add(loadTrigger);
     }
 
     @Override
     public void addOnComponentValueChangedLoadTrigger(DataLoader loader, Component component, @Nullable String param,
                                                       LikeClause likeClause) {
+        addOnComponentValueChangedLoadTrigger(loader, component, param, likeClause, 0);
+    }
+
+    @Override
+    public void addOnComponentValueChangedLoadTrigger(DataLoader loader, Component component, @Nullable String param,
+                                                      LikeClause likeClause, int debounce) {
         String nonNullParam = param != null ? param : findSingleParam(loader);
         OnComponentValueChangedLoadTrigger loadTrigger = new OnComponentValueChangedLoadTrigger(
-                loader, component, nonNullParam, likeClause);
+                loader, component, nonNullParam, likeClause, createLoadAction(debounce));
         triggers.add(loadTrigger);
     }
 
+    private Consumer<DataLoader> createLoadAction(int debounce) {
+        if (debounce < 0) {
+            throw new IllegalArgumentException("Debounce delay cannot be negative: " + debounce);
+        }
+        if (debounce == 0) {
+            return this::requestLoad;
+        }
+
+        DebouncedLoadAction loadAction = new DebouncedLoadAction(debounce);
+        debouncedLoadActions.add(loadAction);
+        return loadAction;
+    }
+
+    private void requestLoad(DataLoader loader) {
+        AppUI ui = coalesceLoads ? AppUI.getCurrent() : null;
+        if (ui != null) {
+            // parameters are already set, so the load executed at the end of the request uses the latest values
+            ui.runBeforeClientResponse(loader, () -> load(loader));
+        } else {
+            load(loader);
+        }
+    }
+
+    private void load(DataLoader loader) {
+        cancelPendingLoads(loader);
+        loader.load();
+    }
+
+    private void cancelPendingLoads(DataLoader loader) {
+        // pending debounced and coalesced loads of the same loader would only repeat the current one
+        for (DebouncedLoadAction loadAction : debouncedLoadActions) {
+            loadAction.cancel(loader);
+        }
+
+        AppUI ui = AppUI.getCurrent();
+        if (ui != null) {
+            ui.cancelBeforeClientResponse(loader);
+        }
+    }
+
     @Override
     public void configureAutomatically() {
         FrameOwner frameOwner = getFrameOwner();
@@ -228,4 +408,84 @@ public class DataLoadCoordinatorImpl extends AbstractFacet implements DataLoadCo
         }
         return frame.getFrameOwner();
     }
+
+    /**
+     * Loads data when the delay elapses after the last trigger event. A new event cancels the pending load and
+     * restarts the delay.
+     */
+    private class DebouncedLoadAction implements Consumer<DataLoader> {
+
+        private final int delay;
+
+        private TimerImpl timer;
+        private DataLoader pendingLoader;
+
+        private DebouncedLoadAction(int delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void accept(DataLoader loader) {
+            Frame owner = getOwner();
+            if (owner == null || AppUI.getCurrent() == null) {
+                // the timer cannot be run outside of UI
+                requestLoad(loader);
+                return;
+            }
+
+            if (timer == null) {
+                timer = new TimerImpl();
+                timer.setDelay(delay);
+                timer.setRepeating(false);
+                timer.addTimerActionListener(this::onTimer);
+                timer.setOwner(owner);
+            }
+
+            pendingLoader = loader;
+            timer.stop();
+            timer.start();
+        }
+
+        private void onTimer(Timer.TimerActionEvent event) {
+            // the timer is not repeating but stays running until stopped
+            timer.stop();
+
+            DataLoader loader = pendingLoader;
+            pendingLoader = null;
+            if (loader != null) {
+                requestLoad(loader);
+            }
+        }
+
+        private void cancel(DataLoader loader) {
+            if (pendingLoader == loader) {
+                pendingLoader = null;
+                timer.stop();
+            }
+        }
+    }
+
+    /**
+     * Loads all loaders triggered by an event at once. The action subscribes to the event itself, so the group
+     * is loaded once per event, while triggers of the group do nothing.
+     */
+    private class ConcurrentLoadAction {
+
+        private final List<DataLoader> loaders = new ArrayList<>();
+
+        private ConcurrentLoadAction(Class eventClass) {
+            FrameOwner frameOwner = getFrameOwner();
+            MethodHandle addListenerMethod = reflectionInspector.getAddListenerMethod(frameOwner.getClass(), eventClass);
+            if (addListenerMethod == null) {
+                throw new IllegalStateException("Cannot find addListener method for " + eventClass);
+            }
+            try {
+                addListenerMethod.invoke(frameOwner, (Consumer) event -> loadConcurrently(loaders));
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to add listener for " + eventClass, e);
+            }
+        }
+    }
 }
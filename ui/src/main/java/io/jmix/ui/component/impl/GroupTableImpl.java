@@ -192,6 +192,14 @@ public class GroupTableImpl<E> extends AbstractTable<JmixGroupTable, E>
         return settingsRegistry.getSettingsBinder(this.getClass());
     }
 
+    @Override
+    protected Object getAggregationScope(AggregationContainer.Context context) {
+        if (context instanceof GroupAggregationContext) {
+            return ((GroupAggregationContext) context).getGroupId();
+        }
+        return super.getAggregationScope(context);
+    }
+
     @Override
     protected Map<Object, Object> __handleAggregationResults(AggregationContainer.Context context,
                                                              Map<Object, Object> results) {
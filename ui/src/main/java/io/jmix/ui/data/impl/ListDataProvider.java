@@ -18,12 +18,18 @@ package io.jmix.ui.data.impl;
 
 import io.jmix.ui.data.*;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.*;
 
 import static com.google.gson.internal.$Gson$Preconditions.checkNotNull;
 
 /**
  * Data provider in which all items are stored in {@link List}.
+ * <p>
+ * The provider can keep a sliding window of the most recent items, see {@link #setMaxItems(int)} and
+ * {@link #setMaxAge(Duration)}. Items that fall out of the window are removed with a
+ * {@link DataChangeOperation#REMOVE} event.
  */
 public class ListDataProvider implements DataProvider {
 
@@ -32,6 +38,11 @@ public class ListDataProvider implements DataProvider {
     protected final List<DataItem> items = new ArrayList<>();
     protected final List<DataChangeListener> changeListeners = new ArrayList<>();
 
+    protected int maxItems;
+    protected Duration maxAge;
+    // time of addition of items, used only if maxAge is set
+    protected Map<DataItem, Long> addTimes = new IdentityHashMap<>();
+
     public ListDataProvider() {
     }
 
@@ -63,13 +74,19 @@ public class ListDataProvider implements DataProvider {
     @Override
     public void addItem(DataItem item) {
         items.add(item);
+        registerAddTime(Collections.singletonList(item));
         fireDataChanged(DataChangeOperation.ADD, Collections.singletonList(item));
+
+        evictItems();
     }
 
     @Override
     public void addItems(Collection<? extends DataItem> items) {
         this.items.addAll(items);
+        registerAddTime(items);
         fireDataChanged(DataChangeOperation.ADD, new ArrayList<>(items));
+
+        evictItems();
     }
 
     /**
@@ -82,7 +99,10 @@ public class ListDataProvider implements DataProvider {
     public void updateItem(DataItem item) {
         int i = items.indexOf(item);
         if (i >= 0) {
-            items.set(i, item);
+            DataItem prevItem = items.set(i, item);
+            if (maxAge != null && prevItem != item) {
+                addTimes.put(item, addTimes.remove(prevItem));
+            }
             fireDataChanged(DataChangeOperation.UPDATE, Collections.singletonList(item));
         } else {
             throw new IllegalArgumentException("No such element");
@@ -91,16 +111,116 @@ public class ListDataProvider implements DataProvider {
 
     @Override
     public void removeItem(DataItem item) {
-        items.remove(item);
+        int i = items.indexOf(item);
+        if (i >= 0) {
+            addTimes.remove(items.remove(i));
+        }
         fireDataChanged(DataChangeOperation.REMOVE, Collections.singletonList(item));
     }
 
     @Override
     public void removeAll() {
         items.clear();
+        addTimes.clear();
         fireDataChanged(DataChangeOperation.REFRESH, Collections.emptyList());
     }
 
+    /**
+     * @return maximum number of items kept by the provider, 0 if not limited
+     */
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * Sets maximum number of items kept by the provider. When new items are added, the oldest items above
+     * the limit are removed.
+     *
+     * @param maxItems maximum number of items, 0 to keep all items
+     */
+    public void setMaxItems(int maxItems) {
+        if (maxItems < 0) {
+            throw new IllegalArgumentException("maxItems cannot be negative");
+        }
+        this.maxItems = maxItems;
+
+        evictItems();
+    }
+
+    /**
+     * @return maximum time an item is kept by the provider after addition, null if not limited
+     */
+    @Nullable
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Sets maximum time an item is kept by the provider after addition. Expired items are removed when new items
+     * are added or {@link #evictItems()} is invoked, e.g. by a timer. Items already in the provider are
+     * considered added at the moment of the invocation.
+     *
+     * @param maxAge maximum age of items, null to keep items regardless of their age
+     */
+    public void setMaxAge(@Nullable Duration maxAge) {
+        if (maxAge != null && (maxAge.isNegative() || maxAge.isZero())) {
+            throw new IllegalArgumentException("maxAge must be positive");
+        }
+
+        if (maxAge == null) {
+            addTimes.clear();
+        } else if (this.maxAge == null) {
+            registerAddTime(items);
+        }
+        this.maxAge = maxAge;
+
+        evictItems();
+    }
+
+    /**
+     * Removes the oldest items that do not fit the {@link #setMaxItems(int) maxItems} limit and items that are
+     * older than {@link #setMaxAge(Duration) maxAge}.
+     */
+    public void evictItems() {
+        int count = 0;
+        if (maxItems > 0 && items.size() > maxItems) {
+            count = items.size() - maxItems;
+        }
+
+        if (maxAge != null) {
+            long minAddTime = getCurrentTime() - maxAge.toMillis();
+            while (count < items.size()) {
+                Long addTime = addTimes.get(items.get(count));
+                if (addTime == null || addTime >= minAddTime) {
+                    break;
+                }
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            List<DataItem> evicted = new ArrayList<>(items.subList(0, count));
+            items.subList(0, count).clear();
+            for (DataItem item : evicted) {
+                addTimes.remove(item);
+            }
+            fireDataChanged(DataChangeOperation.REMOVE, evicted);
+        }
+    }
+
+    protected void registerAddTime(Collection<? extends DataItem> items) {
+        if (maxAge != null) {
+            long time = getCurrentTime();
+            for (DataItem item : items) {
+                addTimes.put(item, time);
+            }
+        }
+    }
+
+    protected long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
     protected void fireDataChanged(DataChangeOperation operation, List<DataItem> items) {
         DataItemsChangeEvent event = new DataItemsChangeEvent(operation, items);
         List<DataChangeListener> changeListeners = new ArrayList<>(this.changeListeners);
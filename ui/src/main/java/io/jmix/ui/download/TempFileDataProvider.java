@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.download;
+
+import io.jmix.core.CoreProperties;
+import io.jmix.core.UuidProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+import static io.jmix.core.common.util.Preconditions.checkNotNullArgument;
+
+/**
+ * Provides data for {@link Downloader} from a file in the temporary directory. Use it to download large content
+ * which is written directly to a file and should not be held in memory.
+ */
+public class TempFileDataProvider implements DownloadDataProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(TempFileDataProvider.class);
+
+    protected File file;
+
+    public TempFileDataProvider(File file) {
+        checkNotNullArgument(file, "Null file");
+        this.file = file;
+    }
+
+    /**
+     * Creates a new file with a unique name in the temporary directory. The file itself is not created on disk.
+     *
+     * @param tempDir temporary directory, use {@link CoreProperties#getTempDir()}
+     * @return a new file
+     */
+    public static File createTempFile(String tempDir) {
+        File dir = new File(tempDir);
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new RuntimeException("Unable to create temp directory " + dir.getAbsolutePath());
+        }
+        return new File(dir, UuidProvider.createUuid().toString());
+    }
+
+    /**
+     * @return the file which content is provided
+     */
+    public File getFile() {
+        return file;
+    }
+
+    @Nullable
+    @Override
+    public InputStream provide() {
+        try {
+            return new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            log.warn("Unable to read temp file " + file.getAbsolutePath());
+            return null;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import io.jmix.ui.component.Frame;
 import io.jmix.ui.component.impl.DataLoadCoordinatorImpl;
 import io.jmix.ui.model.DataLoader;
 import io.jmix.ui.model.InstanceContainer;
+import io.jmix.ui.model.impl.DataLoadExecutor;
 import io.jmix.ui.model.ScreenData;
 import io.jmix.ui.screen.Screen;
 import io.jmix.ui.screen.ScreenFragment;
@@ -41,12 +42,18 @@ import javax.inject.Inject;
 public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadCoordinator> {
 
     private UiControllerReflectionInspector reflectionInspector;
+    private DataLoadExecutor dataLoadExecutor;
 
     @Inject
     public void setReflectionInspector(UiControllerReflectionInspector reflectionInspector) {
         this.reflectionInspector = reflectionInspector;
     }
 
+    @Inject
+    public void setDataLoadExecutor(DataLoadExecutor dataLoadExecutor) {
+        this.dataLoadExecutor = dataLoadExecutor;
+    }
+
     @Override
     public Class<DataLoadCoordinator> getFacetClass() {
         return DataLoadCoordinator.class;
@@ -54,7 +61,7 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
 
     @Override
     public DataLoadCoordinator create() {
-        return new DataLoadCoordinatorImpl(reflectionInspector);
+        return new DataLoadCoordinatorImpl(reflectionInspector, dataLoadExecutor);
     }
 
     @Override
@@ -79,6 +86,14 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
         if (componentPrefix != null) {
             facet.setComponentPrefix(componentPrefix);
         }
+        String coalesceLoads = element.attributeValue("coalesceLoads");
+        if (coalesceLoads != null) {
+            facet.setCoalesceLoads(Boolean.parseBoolean(coalesceLoads));
+        }
+        String concurrentLoads = element.attributeValue("concurrentLoads");
+        if (concurrentLoads != null) {
+            facet.setConcurrentLoads(Boolean.parseBoolean(concurrentLoads));
+        }
 
         for (Element loaderEl : element.elements("refresh")) {
             loadRefresh(facet, context, loaderEl);
@@ -169,7 +184,9 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
         String container = loadEventRequiredAttribute(element, "container", context);
 
         String param = loadParam(element);
-        context.addInjectTask(new OnContainerItemChangedLoadTriggerInitTask(facet, loaderId, container, param));
+        int debounce = loadDebounce(element, context);
+        context.addInjectTask(new OnContainerItemChangedLoadTriggerInitTask(facet, loaderId, container, param,
+                debounce));
     }
 
     protected void loadOnComponentValueChanged(DataLoadCoordinator facet, ComponentContext context,
@@ -178,9 +195,10 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
 
         String param = loadParam(element);
         DataLoadCoordinator.LikeClause likeClause = loadLikeClause(element);
+        int debounce = loadDebounce(element, context);
 
         context.addInjectTask(new OnComponentValueChangedLoadTriggerInitTask(
-                facet, loaderId, component, param, likeClause));
+                facet, loaderId, component, param, likeClause, debounce));
     }
 
     protected String loadEventRequiredAttribute(Element element, String name, ComponentContext context) {
@@ -198,6 +216,20 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
         return element.attributeValue("param");
     }
 
+    protected int loadDebounce(Element element, ComponentContext context) {
+        String debounceAttr = element.attributeValue("debounce");
+        if (debounceAttr == null) {
+            return 0;
+        }
+
+        int debounce = Integer.parseInt(debounceAttr);
+        if (debounce < 0) {
+            throw new GuiDevelopmentException("'dataLoadCoordinator/refresh/" + element.getName() +
+                    ".debounce' cannot be negative", context);
+        }
+        return debounce;
+    }
+
     protected DataLoadCoordinator.LikeClause loadLikeClause(Element element) {
         String likeClauseAttr = element.attributeValue("likeClause");
         DataLoadCoordinator.LikeClause likeClause = likeClauseAttr == null
@@ -233,13 +265,21 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
         private final String loaderId;
         private final String containerId;
         private final String param;
+        private final int debounce;
 
         public OnContainerItemChangedLoadTriggerInitTask(
                 DataLoadCoordinator facet, String loaderId, String containerId, @Nullable String param) {
+            this(facet, loaderId, containerId, param, 0);
+        }
+
+        public OnContainerItemChangedLoadTriggerInitTask(
+                DataLoadCoordinator facet, String loaderId, String containerId, @Nullable String param,
+                int debounce) {
             this.facet = facet;
             this.loaderId = loaderId;
             this.containerId = containerId;
             this.param = param;
+            this.debounce = debounce;
         }
 
         @Override
@@ -248,7 +288,7 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
             ScreenData screenData = UiControllerUtils.getScreenData(facet.getOwner().getFrameOwner());
             DataLoader loader = screenData.getLoader(loaderId);
             InstanceContainer container = screenData.getContainer(containerId);
-            facet.addOnContainerItemChangedLoadTrigger(loader, container, param);
+            facet.addOnContainerItemChangedLoadTrigger(loader, container, param, debounce);
         }
     }
 
@@ -259,15 +299,23 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
         private final String componentId;
         private final String param;
         private DataLoadCoordinator.LikeClause likeClause;
+        private final int debounce;
 
         public OnComponentValueChangedLoadTriggerInitTask(
                 DataLoadCoordinator facet, String loaderId, String componentId,
                 @Nullable String param, DataLoadCoordinator.LikeClause likeClause) {
+            this(facet, loaderId, componentId, param, likeClause, 0);
+        }
+
+        public OnComponentValueChangedLoadTriggerInitTask(
+                DataLoadCoordinator facet, String loaderId, String componentId,
+                @Nullable String param, DataLoadCoordinator.LikeClause likeClause, int debounce) {
             this.facet = facet;
             this.loaderId = loaderId;
             this.componentId = componentId;
             this.param = param;
             this.likeClause = likeClause;
+            this.debounce = debounce;
         }
 
         @Override
@@ -276,7 +324,7 @@ public class DataLoadCoordinatorFacetProvider implements FacetProvider<DataLoadC
             ScreenData screenData = UiControllerUtils.getScreenData(facet.getOwner().getFrameOwner());
             DataLoader loader = screenData.getLoader(loaderId);
             Component component = facet.getOwner().getComponentNN(componentId);
-            facet.addOnComponentValueChangedLoadTrigger(loader, component, param, likeClause);
+            facet.addOnComponentValueChangedLoadTrigger(loader, component, param, likeClause, debounce);
         }
     }
 
@@ -16,20 +16,30 @@
 
 package io.jmix.ui.model.impl;
 
+import io.jmix.core.Sort;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
-import io.jmix.core.Sort;
+import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.ui.model.CollectionContainer;
 import io.jmix.ui.model.Sorter;
 import org.springframework.beans.factory.BeanFactory;
 
+import javax.annotation.Nullable;
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.IntBinaryOperator;
 
 /**
  * Base implementation of sorting collection containers.
+ * <p>
+ * In-memory sorting extracts the sort keys of each item once into arrays, one per sort order, and then sorts item
+ * indexes comparing the extracted keys. Numeric and date keys are compared as primitives, string keys are compared
+ * by collation keys of a collator cached for the current locale.
  */
 public abstract class BaseContainerSorter implements Sorter {
 
@@ -37,6 +47,9 @@ public abstract class BaseContainerSorter implements Sorter {
 
     private final CollectionContainer container;
 
+    protected Collator collator;
+    protected Locale collatorLocale;
+
     public BaseContainerSorter(CollectionContainer container, BeanFactory beanFactory) {
         this.container = container;
         this.beanFactory = beanFactory;
@@ -56,23 +69,266 @@ public abstract class BaseContainerSorter implements Sorter {
         if (sort.getOrders().isEmpty() || container.getItems().isEmpty()) {
             return;
         }
-        List list = new ArrayList(container.getItems());
-        list.sort(createComparator(sort, container.getEntityMetaClass()));
+
+        List<?> items = container.getItems();
+        List<SortKeys> sortKeys = extractSortKeys(sort, container.getEntityMetaClass(), items);
+
+        int[] indexes = new int[items.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        sortIndexes(indexes, (i1, i2) -> {
+            for (SortKeys keys : sortKeys) {
+                int c = keys.compare(i1, i2);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        });
+
+        List list = new ArrayList(indexes.length);
+        for (int index : indexes) {
+            list.add(items.get(index));
+        }
         setItemsToContainer(list);
     }
 
     protected abstract void setItemsToContainer(List list);
 
-    protected Comparator<?> createComparator(Sort sort, MetaClass metaClass) {
-        if (sort.getOrders().size() > 1) {
-            throw new UnsupportedOperationException("Sort by multiple properties is not supported");
-        }
-        MetaPropertyPath propertyPath = metaClass.getPropertyPath(sort.getOrders().get(0).getProperty());
+    protected MetaPropertyPath getPropertyPath(MetaClass metaClass, Sort.Order order) {
+        MetaPropertyPath propertyPath = metaClass.getPropertyPath(order.getProperty());
         if (propertyPath == null) {
-            throw new IllegalArgumentException("Property " + sort.getOrders().get(0).getProperty() + " is invalid");
+            throw new IllegalArgumentException("Property " + order.getProperty() + " is invalid");
+        }
+        return propertyPath;
+    }
+
+    /**
+     * Extracts values of the sort properties of all items.
+     *
+     * @return keys in the order of the sort orders
+     */
+    protected List<SortKeys> extractSortKeys(Sort sort, MetaClass metaClass, List<?> items) {
+        int nullsLast = metaClass.getStore().isNullsLastSorting() ? 1 : -1;
+
+        List<SortKeys> result = new ArrayList<>(sort.getOrders().size());
+        for (Sort.Order order : sort.getOrders()) {
+            MetaPropertyPath propertyPath = getPropertyPath(metaClass, order);
+            boolean asc = order.getDirection() == Sort.Direction.ASC;
+
+            SortKeys keys = createSortKeys(propertyPath, asc, nullsLast, metaClass, items.size());
+            for (int i = 0; i < items.size(); i++) {
+                keys.set(i, EntityValues.getValueEx(items.get(i), propertyPath));
+            }
+            result.add(keys);
+        }
+        return result;
+    }
+
+    protected SortKeys createSortKeys(MetaPropertyPath propertyPath, boolean asc, int nullsLast,
+                                      MetaClass metaClass, int size) {
+        Class<?> javaClass = propertyPath.getRangeJavaClass();
+        if (propertyPath.getRange().isDatatype()) {
+            if (Long.class.equals(javaClass) || Integer.class.equals(javaClass)
+                    || Short.class.equals(javaClass) || Byte.class.equals(javaClass)
+                    || Date.class.equals(javaClass)) {
+                return new LongSortKeys(size, asc, nullsLast);
+            }
+            if (Double.class.equals(javaClass) || Float.class.equals(javaClass)) {
+                return new DoubleSortKeys(size, asc, nullsLast);
+            }
+            if (String.class.equals(javaClass)) {
+                return new StringSortKeys(size, asc, nullsLast, getCollator());
+            }
+        }
+        return new ObjectSortKeys(size, new EntityValuesComparator<>(asc, metaClass, beanFactory));
+    }
+
+    /**
+     * @return case-insensitive collator for the current locale
+     */
+    protected Collator getCollator() {
+        CurrentAuthentication currentAuthentication = beanFactory.getBean(CurrentAuthentication.class);
+        Locale locale = currentAuthentication.isSet() ? currentAuthentication.getLocale() : Locale.getDefault();
+
+        if (collator == null || !locale.equals(collatorLocale)) {
+            collator = Collator.getInstance(locale);
+            collator.setStrength(Collator.SECONDARY);
+            collatorLocale = locale;
+        }
+        return collator;
+    }
+
+    /**
+     * Stable merge sort of item indexes which does not box them.
+     */
+    protected void sortIndexes(int[] indexes, IntBinaryOperator comparator) {
+        int[] buffer = indexes.clone();
+        mergeSort(buffer, indexes, 0, indexes.length, comparator);
+    }
+
+    private static void mergeSort(int[] src, int[] dest, int low, int high, IntBinaryOperator comparator) {
+        int length = high - low;
+        if (length < 7) {
+            for (int i = low; i < high; i++) {
+                for (int j = i; j > low && comparator.applyAsInt(dest[j - 1], dest[j]) > 0; j--) {
+                    int t = dest[j];
+                    dest[j] = dest[j - 1];
+                    dest[j - 1] = t;
+                }
+            }
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, comparator);
+        mergeSort(dest, src, mid, high, comparator);
+
+        if (comparator.applyAsInt(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || p < mid && comparator.applyAsInt(src[p], src[q]) <= 0) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    /**
+     * Extracted values of one sort property.
+     */
+    protected abstract static class SortKeys {
+
+        protected final boolean asc;
+        protected final int nullsLast;
+        protected final boolean[] nulls;
+
+        protected SortKeys(int size, boolean asc, int nullsLast) {
+            this.asc = asc;
+            this.nullsLast = nullsLast;
+            this.nulls = new boolean[size];
+        }
+
+        public void set(int index, @Nullable Object value) {
+            if (value == null) {
+                nulls[index] = true;
+            } else {
+                setValue(index, value);
+            }
+        }
+
+        public int compare(int i1, int i2) {
+            int c;
+            if (nulls[i1] || nulls[i2]) {
+                c = nulls[i1] == nulls[i2] ? 0 : (nulls[i1] ? nullsLast : -nullsLast);
+            } else {
+                c = compareValues(i1, i2);
+            }
+            return asc ? c : -c;
+        }
+
+        protected abstract void setValue(int index, Object value);
+
+        protected abstract int compareValues(int i1, int i2);
+    }
+
+    protected static class LongSortKeys extends SortKeys {
+
+        protected final long[] values;
+
+        public LongSortKeys(int size, boolean asc, int nullsLast) {
+            super(size, asc, nullsLast);
+            values = new long[size];
+        }
+
+        @Override
+        protected void setValue(int index, Object value) {
+            values[index] = value instanceof Date ? ((Date) value).getTime() : ((Number) value).longValue();
+        }
+
+        @Override
+        protected int compareValues(int i1, int i2) {
+            return Long.compare(values[i1], values[i2]);
+        }
+    }
+
+    protected static class DoubleSortKeys extends SortKeys {
+
+        protected final double[] values;
+
+        public DoubleSortKeys(int size, boolean asc, int nullsLast) {
+            super(size, asc, nullsLast);
+            values = new double[size];
+        }
+
+        @Override
+        protected void setValue(int index, Object value) {
+            values[index] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        protected int compareValues(int i1, int i2) {
+            return Double.compare(values[i1], values[i2]);
+        }
+    }
+
+    protected static class StringSortKeys extends SortKeys {
+
+        protected final CollationKey[] values;
+        protected final Collator collator;
+
+        public StringSortKeys(int size, boolean asc, int nullsLast, Collator collator) {
+            super(size, asc, nullsLast);
+            this.values = new CollationKey[size];
+            this.collator = collator;
+        }
+
+        @Override
+        protected void setValue(int index, Object value) {
+            values[index] = collator.getCollationKey(value.toString());
+        }
+
+        @Override
+        protected int compareValues(int i1, int i2) {
+            return values[i1].compareTo(values[i2]);
+        }
+    }
+
+    protected static class ObjectSortKeys extends SortKeys {
+
+        protected final Object[] values;
+        protected final EntityValuesComparator<Object> comparator;
+
+        public ObjectSortKeys(int size, EntityValuesComparator<Object> comparator) {
+            // direction and nulls are handled by the comparator
+            super(0, true, 0);
+            this.values = new Object[size];
+            this.comparator = comparator;
+        }
+
+        @Override
+        public void set(int index, @Nullable Object value) {
+            values[index] = value;
+        }
+
+        @Override
+        public int compare(int i1, int i2) {
+            return comparator.compare(values[i1], values[i2]);
+        }
+
+        @Override
+        protected void setValue(int index, Object value) {
+            values[index] = value;
+        }
+
+        @Override
+        protected int compareValues(int i1, int i2) {
+            return comparator.compare(values[i1], values[i2]);
         }
-        boolean asc = sort.getOrders().get(0).getDirection() == Sort.Direction.ASC;
-        EntityValuesComparator<Object> comparator = new EntityValuesComparator<>(asc, metaClass, beanFactory);
-        return Comparator.comparing(e -> EntityValues.getValueEx(e, propertyPath), comparator);
     }
 }
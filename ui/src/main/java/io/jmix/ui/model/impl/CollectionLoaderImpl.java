@@ -32,7 +32,7 @@ import java.util.function.Function;
 /**
  *
  */
-public class CollectionLoaderImpl<E> implements CollectionLoader<E> {
+public class CollectionLoaderImpl<E> implements CollectionLoader<E>, DataLoaderInternal {
 
     @Autowired
     protected DataManager dataManager;
@@ -76,25 +76,61 @@ public class CollectionLoaderImpl<E> implements CollectionLoader<E> {
     }
 
     protected boolean _load() {
-        if (container == null)
-            throw new IllegalStateException("container is null");
-        if (query == null && delegate == null)
-            throw new IllegalStateException("both query and delegate are null");
+        LoadTask loadTask = prepareLoad();
+        if (loadTask == null) {
+            return false;
+        }
+
+        loadTask.fetch();
+        loadTask.apply();
+
+        return true;
+    }
+
+    @Override
+    public boolean isConcurrentFetchSupported() {
+        return delegate == null;
+    }
+
+    @Nullable
+    @Override
+    public LoadTask prepareLoad() {
+        checkLoadable();
 
         LoadContext<E> loadContext = createLoadContext();
 
         if (!sendPreLoadEvent(loadContext)) {
-            return false;
+            return null;
         }
 
-        List<E> list;
-        if (delegate == null) {
-            list = dataManager.loadList(loadContext);
-        } else {
-            list = delegate.apply(loadContext);
-        }
+        return new LoadTask() {
+            private List<E> list;
+
+            @Override
+            public void fetch() {
+                list = delegate == null ? dataManager.loadList(loadContext) : delegate.apply(loadContext);
+            }
+
+            @Override
+            public void apply() {
+                setLoadedItems(list);
+                sendPostLoadEvent(list);
+            }
+        };
+    }
+
+    protected void checkLoadable() {
+        if (container == null)
+            throw new IllegalStateException("container is null");
+        if (query == null && delegate == null)
+            throw new IllegalStateException("both query and delegate are null");
+    }
 
-        if (dataContext != null) {
+    protected void setLoadedItems(List<E> list) {
+        if (dataContext instanceof DataContextInternal
+                && !((DataContextInternal) dataContext).hasInstances(container.getEntityMetaClass().getJavaClass())) {
+            container.setItems(((DataContextInternal) dataContext).mergeLoaded(list));
+        } else if (dataContext != null) {
             List<E> mergedList = new ArrayList<>(list.size());
             for (E entity : list) {
                 mergedList.add(dataContext.merge(entity, new MergeOptions().setFresh(true)));
@@ -103,10 +139,6 @@ public class CollectionLoaderImpl<E> implements CollectionLoader<E> {
         } else {
             container.setItems(list);
         }
-
-        sendPostLoadEvent(list);
-
-        return true;
     }
 
     @Override
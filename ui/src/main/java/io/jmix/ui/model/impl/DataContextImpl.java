@@ -25,6 +25,7 @@ import io.jmix.core.impl.StandardSerialization;
 import io.jmix.core.metamodel.datatype.impl.EnumClass;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.ui.model.CollectionChangeType;
 import io.jmix.ui.model.DataContext;
 import io.jmix.ui.model.MergeOptions;
 import org.apache.commons.lang3.StringUtils;
@@ -92,6 +93,12 @@ public class DataContextImpl implements DataContextInternal {
 
     protected Map<Object, Object> nullIdEntitiesMap = new /*Identity*/HashMap<>();
 
+    // referenced entity class -> referenced entity key -> managed instances which may refer to it
+    protected Map<Class<?>, Map<Object, Set<Object>>> referrers = new HashMap<>();
+
+    // managed instances with collections which changes are not tracked, they are always checked on remove
+    protected Set<Object> untrackedReferrers = Sets.newIdentityHashSet();
+
     @Nullable
     @Override
     public DataContext getParent() {
@@ -191,10 +198,39 @@ public class DataContextImpl implements DataContextInternal {
         return merge(entities, new MergeOptions());
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> mergeLoaded(List<T> entities) {
+        checkNotNullArgument(entities, "entity list is null");
+
+        MergeOptions options = new MergeOptions().setFresh(true);
+        List<T> managedList = new ArrayList<>(entities.size());
+        disableListeners = true;
+        try {
+            // the loaded graph usually shares references, so each instance is merged once for all roots
+            Map<Object, Object> merged = new IdentityHashMap<>(entities.size());
+            for (T entity : entities) {
+                if (!content.containsKey(entity.getClass())) {
+                    content.put(entity.getClass(), new HashMap<>((int) (entities.size() / 0.75f) + 1));
+                }
+                managedList.add((T) internalMerge(entity, merged, true, options));
+            }
+        } finally {
+            disableListeners = false;
+        }
+        return managedList;
+    }
+
+    @Override
+    public boolean hasInstances(Class<?> entityClass) {
+        Map<Object, Object> entityMap = content.get(entityClass);
+        return entityMap != null && !entityMap.isEmpty();
+    }
+
     protected Object internalMerge(Object entity, Map<Object, Object> mergedMap, boolean isRoot, MergeOptions options) {
         Map<Object, Object> entityMap = content.computeIfAbsent(entity.getClass(), aClass -> new HashMap<>());
 
-        Object nullIdEntity = nullIdEntitiesMap.get(entity);
+        Object nullIdEntity = nullIdEntitiesMap.isEmpty() ? null : nullIdEntitiesMap.get(entity);
         if (nullIdEntity != null) {
             Object managed = entityMap.get(makeKey(nullIdEntity));
             if (managed != null) {
@@ -222,7 +258,8 @@ public class DataContextImpl implements DataContextInternal {
             entityMap.put(makeKey(managed), managed);
             mergedMap.put(entity, managed);
 
-            mergeState(entity, managed, mergedMap, isRoot, options);
+            // the copy has no listeners and no values yet, so there is nothing to compare with
+            mergeState(entity, managed, mergedMap, isRoot, options, false);
 
             EntitySystemAccess.addPropertyChangeListener(managed, propertyChangeListener);
 
@@ -261,6 +298,11 @@ public class DataContextImpl implements DataContextInternal {
 
     protected void mergeState(Object srcEntity, Object dstEntity, Map<Object, Object> mergedMap,
                               boolean isRoot, MergeOptions options) {
+        mergeState(srcEntity, dstEntity, mergedMap, isRoot, options, true);
+    }
+
+    protected void mergeState(Object srcEntity, Object dstEntity, Map<Object, Object> mergedMap,
+                              boolean isRoot, MergeOptions options, boolean checkEquals) {
         boolean srcNew = entityStates.isNew(srcEntity);
 
         mergeSystemState(srcEntity, dstEntity, isRoot, options);
@@ -279,7 +321,7 @@ public class DataContextImpl implements DataContextInternal {
                     continue;
                 }
 
-                setPropertyValue(dstEntity, property, value);
+                setPropertyValue(dstEntity, property, value, checkEquals);
             }
         }
 
@@ -295,7 +337,7 @@ public class DataContextImpl implements DataContextInternal {
                 }
 
                 if (value == null || !entityStates.isLoaded(dstEntity, propertyName)) {
-                    setPropertyValue(dstEntity, property, value);
+                    setPropertyValue(dstEntity, property, value, checkEquals);
                     continue;
                 }
 
@@ -330,6 +372,8 @@ public class DataContextImpl implements DataContextInternal {
         }
 
         mergeLazyLoadingState(srcEntity, dstEntity);
+
+        addReferences(dstEntity);
     }
 
     protected void setPropertyValue(Object entity, MetaProperty property, @Nullable Object value) {
@@ -386,7 +430,10 @@ public class DataContextImpl implements DataContextInternal {
             if (property.getRange().isClass()) {
                 if (!srcNew && !entityStates.isLoaded(srcEntity, propertyName)) {
                     entitySystemStateSupport.mergeLazyLoadingState((Entity) srcEntity, (Entity) dstEntity, property,
-                            collection -> wrapLazyValueIntoObservableCollection(collection, dstEntity));
+                            collection -> {
+                                addReferences(dstEntity, collection);
+                                return wrapLazyValueIntoObservableCollection(collection, dstEntity);
+                            });
                 }
             }
         }
@@ -485,7 +532,10 @@ public class DataContextImpl implements DataContextInternal {
     }
 
     protected List<Object> createObservableList(List<Object> list, Object notifiedEntity) {
-        return new ObservableList<>(list, (changeType, changes) -> modified(notifiedEntity));
+        return new ObservableList<>(list, (changeType, changes) -> {
+            collectionChanged(notifiedEntity, changeType, changes);
+            modified(notifiedEntity);
+        });
     }
 
     protected Set<Object> createObservableSet(Object notifiedEntity) {
@@ -493,7 +543,18 @@ public class DataContextImpl implements DataContextInternal {
     }
 
     protected ObservableSet<Object> createObservableSet(Set<Object> set, Object notifiedEntity) {
-        return new ObservableSet<>(set, (changeType, changes) -> modified(notifiedEntity));
+        return new ObservableSet<>(set, (changeType, changes) -> {
+            collectionChanged(notifiedEntity, changeType, changes);
+            modified(notifiedEntity);
+        });
+    }
+
+    protected void collectionChanged(Object owner, CollectionChangeType changeType, Collection<?> changes) {
+        if (changeType != CollectionChangeType.REMOVE_ITEMS) {
+            for (Object item : changes) {
+                addReference(owner, item);
+            }
+        }
     }
 
     @Override
@@ -512,31 +573,122 @@ public class DataContextImpl implements DataContextInternal {
             Object mergedEntity = entityMap.get(makeKey(entity));
             if (mergedEntity != null) {
                 entityMap.remove(makeKey(entity));
+                removeReferences(mergedEntity);
                 removeFromCollections(mergedEntity);
             }
         }
 
         cleanupContextAfterRemoveEntity(this, entity);
+
+        Map<Object, Set<Object>> referrersMap = referrers.get(entity.getClass());
+        if (referrersMap != null) {
+            referrersMap.remove(makeKey(entity));
+        }
     }
 
     protected void removeFromCollections(Object entityToRemove) {
-        for (Map.Entry<Class<?>, Map<Object, Object>> entry : content.entrySet()) {
-            Class<?> entityClass = entry.getKey();
+        Set<Object> candidates = Sets.newIdentityHashSet();
+        candidates.addAll(getReferrers(entityToRemove));
+        candidates.addAll(untrackedReferrers);
+
+        for (Object entity : candidates) {
+            if (!isManaged(entity)) {
+                continue;
+            }
 
-            MetaClass metaClass = metadata.getClass(entityClass);
+            MetaClass metaClass = metadata.getClass(entity.getClass());
             for (MetaProperty metaProperty : metaClass.getProperties()) {
                 if (metaProperty.getRange().isClass()
                         && metaProperty.getRange().getCardinality().isMany()
-                        && metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())) {
-
-                    Map<Object, Object> entityMap = entry.getValue();
-                    for (Object entity : entityMap.values()) {
-                        if (entityStates.isLoaded(entity, metaProperty.getName())) {
-                            Collection collection = EntityValues.getValue(entity, metaProperty.getName());
-                            if (collection != null) {
-                                collection.remove(entityToRemove);
-                            }
-                        }
+                        && metaProperty.getRange().asClass().getJavaClass().isAssignableFrom(entityToRemove.getClass())
+                        && entityStates.isLoaded(entity, metaProperty.getName())) {
+
+                    Collection collection = EntityValues.getValue(entity, metaProperty.getName());
+                    if (collection != null) {
+                        collection.remove(entityToRemove);
+                    }
+                }
+            }
+        }
+    }
+
+    protected boolean isManaged(Object entity) {
+        Map<Object, Object> entityMap = content.get(entity.getClass());
+        return entityMap != null && entityMap.get(makeKey(entity)) == entity;
+    }
+
+    /**
+     * Returns managed instances which may refer to the given entity by a reference or a collection. The returned
+     * instances must be checked for the actual reference, because the index is not cleaned up when a reference is
+     * reset or an item is removed from a collection.
+     */
+    protected Set<Object> getReferrers(Object entity) {
+        Map<Object, Set<Object>> referrersMap = referrers.get(entity.getClass());
+        if (referrersMap == null) {
+            return Collections.emptySet();
+        }
+        Set<Object> entityReferrers = referrersMap.get(makeKey(entity));
+        return entityReferrers != null ? entityReferrers : Collections.emptySet();
+    }
+
+    protected void addReference(Object referrer, @Nullable Object entity) {
+        if (entity instanceof Entity) {
+            referrers.computeIfAbsent(entity.getClass(), aClass -> new HashMap<>())
+                    .computeIfAbsent(makeKey(entity), key -> Sets.newIdentityHashSet())
+                    .add(referrer);
+        }
+    }
+
+    protected void addReferences(Object referrer, @Nullable Object value) {
+        if (value instanceof Collection) {
+            if (!(value instanceof ObservableList) && !(value instanceof ObservableSet)) {
+                untrackedReferrers.add(referrer);
+            }
+            for (Object item : (Collection<?>) value) {
+                addReference(referrer, item);
+            }
+        } else {
+            addReference(referrer, value);
+        }
+    }
+
+    protected void addReferences(Object referrer) {
+        MetaClass metaClass = metadata.getClass(referrer.getClass());
+        for (MetaProperty property : metaClass.getProperties()) {
+            if (property.getRange().isClass() && entityStates.isLoaded(referrer, property.getName())) {
+                addReferences(referrer, EntityValues.getValue(referrer, property.getName()));
+            }
+        }
+    }
+
+    protected void removeReferences(Object referrer) {
+        untrackedReferrers.remove(referrer);
+
+        MetaClass metaClass = metadata.getClass(referrer.getClass());
+        for (MetaProperty property : metaClass.getProperties()) {
+            if (property.getRange().isClass() && entityStates.isLoaded(referrer, property.getName())) {
+                Object value = EntityValues.getValue(referrer, property.getName());
+                if (value instanceof Collection) {
+                    for (Object item : (Collection<?>) value) {
+                        removeReference(referrer, item);
+                    }
+                } else {
+                    removeReference(referrer, value);
+                }
+            }
+        }
+    }
+
+    protected void removeReference(Object referrer, @Nullable Object entity) {
+        if (entity instanceof Entity) {
+            Map<Object, Set<Object>> referrersMap = referrers.get(entity.getClass());
+            if (referrersMap != null) {
+                Object key = makeKey(entity);
+                Set<Object> entityReferrers = referrersMap.get(key);
+                if (entityReferrers != null) {
+                    entityReferrers.remove(referrer);
+                    if (entityReferrers.isEmpty()) {
+                        referrersMap.remove(key);
                     }
                 }
             }
@@ -553,6 +705,7 @@ public class DataContextImpl implements DataContextInternal {
             if (mergedEntity != null) {
                 entityMap.remove(makeKey(entity));
                 removeListeners(entity);
+                removeReferences(mergedEntity);
             }
             modifiedInstances.remove(entity);
             removedInstances.remove(entity);
@@ -577,6 +730,8 @@ public class DataContextImpl implements DataContextInternal {
         for (Object entity : getAll()) {
             evict(entity);
         }
+        referrers.clear();
+        untrackedReferrers.clear();
     }
 
     @Override
@@ -746,8 +901,20 @@ public class DataContextImpl implements DataContextInternal {
 
     protected void cleanupContextAfterRemoveEntity(DataContextInternal context, Object removedEntity) {
         if (entityStates.isNew(removedEntity)) {
-            context.getModifiedInstances().removeIf(modifiedInstance ->
-                    entityStates.isNew(modifiedInstance) && entityHasReference(modifiedInstance, removedEntity));
+            if (context == this) {
+                Set<Object> candidates = Sets.newIdentityHashSet();
+                candidates.addAll(getReferrers(removedEntity));
+                candidates.addAll(untrackedReferrers);
+
+                for (Object referrer : candidates) {
+                    if (entityStates.isNew(referrer) && entityHasReference(referrer, removedEntity)) {
+                        modifiedInstances.remove(referrer);
+                    }
+                }
+            } else {
+                context.getModifiedInstances().removeIf(modifiedInstance ->
+                        entityStates.isNew(modifiedInstance) && entityHasReference(modifiedInstance, removedEntity));
+            }
         }
     }
 
@@ -857,8 +1024,19 @@ public class DataContextImpl implements DataContextInternal {
                     }
                     entityMap.put(e.getValue(), e.getItem());
                 }
+
+                Map<Object, Set<Object>> referrersMap = referrers.get(e.getItem().getClass());
+                if (referrersMap != null) {
+                    Set<Object> entityReferrers = referrersMap.remove(
+                            e.getPrevValue() == null ? e.getItem() : e.getPrevValue());
+                    if (entityReferrers != null) {
+                        referrersMap.put(e.getValue(), entityReferrers);
+                    }
+                }
             }
 
+            addReferences(e.getItem(), e.getValue());
+
             if (!disableListeners) {
                 modifiedInstances.add(e.getItem());
                 fireChangeListener(e.getItem());
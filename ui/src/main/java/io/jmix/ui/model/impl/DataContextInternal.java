@@ -18,6 +18,7 @@ package io.jmix.ui.model.impl;
 
 import io.jmix.ui.model.DataContext;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -30,4 +31,19 @@ public interface DataContextInternal extends DataContext {
      * Returns a mutable set of entities registered as modified.
      */
     Set<Object> getModifiedInstances();
+
+    /**
+     * Merges the list of entities which has just been loaded from the database, e.g. by a collection loader.
+     * All instances of the graph are merged in one pass, so the references shared by the loaded entities are
+     * merged only once.
+     *
+     * @param entities loaded entities
+     * @return managed instances in the order of the given list
+     */
+    <T> List<T> mergeLoaded(List<T> entities);
+
+    /**
+     * @return true if the context contains at least one instance of the given class
+     */
+    boolean hasInstances(Class<?> entityClass);
 }
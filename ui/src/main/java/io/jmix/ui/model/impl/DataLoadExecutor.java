@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.model.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.security.SecurityContextHelper;
+import io.jmix.ui.UiProperties;
+import io.jmix.ui.model.DataLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads data of independent loaders concurrently.
+ * <p>
+ * Loads are prepared and their results are applied to containers in the calling UI thread, so the UI is accessed
+ * under the session lock only. Fetching of {@link DataLoaderInternal} loaders without load delegates is performed by
+ * a bounded thread pool. If all threads are busy, the calling thread fetches data itself.
+ */
+@Component("ui_DataLoadExecutor")
+public class DataLoadExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "DataLoad-";
+
+    @Autowired
+    protected UiProperties uiProperties;
+
+    protected ExecutorService executorService;
+
+    @PostConstruct
+    public void init() {
+        createThreadPoolExecutor(uiProperties.getDataLoadThreadsCount());
+    }
+
+    protected void createThreadPoolExecutor(int threadsCount) {
+        this.executorService = new ThreadPoolExecutor(
+                threadsCount,
+                threadsCount,
+                1L, TimeUnit.MINUTES,
+                new SynchronousQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(THREAD_NAME_PREFIX + "%d")
+                        .setDaemon(true)
+                        .build(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        ((ThreadPoolExecutor) this.executorService).allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Loads the given loaders. The loaders must not depend on each other. Results are applied to containers in the
+     * order of the list, loaders which cannot fetch data concurrently are loaded in the calling thread while
+     * other loaders are fetching.
+     *
+     * @param loaders independent loaders
+     */
+    public void load(List<DataLoader> loaders) {
+        if (loaders.size() < 2) {
+            loaders.forEach(DataLoader::load);
+            return;
+        }
+
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+
+        List<DataLoader> sequentialLoaders = new ArrayList<>();
+        List<DataLoaderInternal.LoadTask> tasks = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (DataLoader loader : loaders) {
+                if (loader instanceof DataLoaderInternal
+                        && ((DataLoaderInternal) loader).isConcurrentFetchSupported()) {
+                    DataLoaderInternal.LoadTask task = ((DataLoaderInternal) loader).prepareLoad();
+                    if (task != null) {
+                        tasks.add(task);
+                        futures.add(executorService.submit(() -> fetch(task, authentication)));
+                    }
+                } else {
+                    sequentialLoaders.add(loader);
+                }
+            }
+
+            sequentialLoaders.forEach(DataLoader::load);
+
+            for (int i = 0; i < tasks.size(); i++) {
+                waitFor(futures.get(i));
+                tasks.get(i).apply();
+            }
+        } catch (RuntimeException | Error e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    protected void fetch(DataLoaderInternal.LoadTask task, @Nullable Authentication authentication) {
+        Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+        SecurityContextHelper.setAuthentication(authentication);
+        try {
+            task.fetch();
+        } finally {
+            SecurityContextHelper.setAuthentication(previousAuthentication);
+        }
+    }
+
+    protected void waitFor(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading data", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Error loading data", cause);
+        }
+    }
+}
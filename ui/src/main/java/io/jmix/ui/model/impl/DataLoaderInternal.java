@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.model.impl;
+
+import io.jmix.ui.model.DataLoader;
+
+import javax.annotation.Nullable;
+
+/**
+ * Non-public interface of {@link DataLoader} implementations that can fetch data outside of the UI thread.
+ * Loading is split into three steps: preparation and applying of the results are performed in the UI thread,
+ * while fetching does not touch UI and containers and can run concurrently with other loaders.
+ */
+public interface DataLoaderInternal extends DataLoader {
+
+    /**
+     * @return true if the loader fetches data using {@code DataManager}, false if it has a load delegate which
+     * may require the UI thread
+     */
+    boolean isConcurrentFetchSupported();
+
+    /**
+     * Creates the load context and sends {@code PreLoadEvent}.
+     *
+     * @return load task or null if loading is not required or has been prevented by a listener
+     */
+    @Nullable
+    LoadTask prepareLoad();
+
+    /**
+     * Prepared load of a loader.
+     */
+    interface LoadTask {
+
+        /**
+         * Fetches data. Can be invoked in any thread.
+         */
+        void fetch();
+
+        /**
+         * Sets fetched data to the container and sends {@code PostLoadEvent}. Must be invoked in the UI thread
+         * after {@link #fetch()}.
+         */
+        void apply();
+    }
+}
@@ -36,7 +36,7 @@ import java.util.function.Function;
 /**
  *
  */
-public class InstanceLoaderImpl<E> implements InstanceLoader<E> {
+public class InstanceLoaderImpl<E> implements InstanceLoader<E>, DataLoaderInternal {
 
     @Autowired
     protected DataManager dataManager;
@@ -73,39 +73,60 @@ public class InstanceLoaderImpl<E> implements InstanceLoader<E> {
 
     @Override
     public void load() {
+        LoadTask loadTask = prepareLoad();
+        if (loadTask == null) {
+            return;
+        }
+
+        loadTask.fetch();
+        loadTask.apply();
+    }
+
+    @Override
+    public boolean isConcurrentFetchSupported() {
+        return delegate == null;
+    }
+
+    @Nullable
+    @Override
+    public LoadTask prepareLoad() {
         if (container == null)
             throw new IllegalStateException("container is null");
 
-        E entity;
+        if (delegate == null && !needLoad()) {
+            return null;
+        }
 
         LoadContext<E> loadContext = createLoadContext();
 
-        if (delegate == null) {
-            if (!needLoad())
-                return;
-
-            if (!sendPreLoadEvent(loadContext)) {
-                return;
-            }
+        if (!sendPreLoadEvent(loadContext)) {
+            return null;
+        }
 
-            entity = dataManager.load(loadContext);
+        return new LoadTask() {
+            private E entity;
 
-            if (entity == null) {
-                throw new EntityAccessException(container.getEntityMetaClass(), entityId);
+            @Override
+            public void fetch() {
+                entity = delegate == null ? dataManager.load(loadContext) : delegate.apply(createLoadContext());
             }
-        } else {
-            if (!sendPreLoadEvent(loadContext)) {
-                return;
+
+            @Override
+            public void apply() {
+                if (entity == null && delegate == null) {
+                    throw new EntityAccessException(container.getEntityMetaClass(), entityId);
+                }
+                setLoadedItem(entity);
+                sendPostLoadEvent(entity);
             }
-            entity = delegate.apply(createLoadContext());
-        }
+        };
+    }
 
+    protected void setLoadedItem(E entity) {
         if (dataContext != null) {
             entity = dataContext.merge(entity, new MergeOptions().setFresh(true));
         }
         container.setItem(entity);
-
-        sendPostLoadEvent(entity);
     }
 
     protected boolean needLoad() {
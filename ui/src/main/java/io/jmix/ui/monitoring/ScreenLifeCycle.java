@@ -20,6 +20,7 @@ public enum ScreenLifeCycle {
     CREATE("create"),
     LOAD("load"),
     XML("xml"),
+    COMPONENTS("components"),
     INIT("init"),
     BEFORE_SHOW("afterShow"),
     AFTER_SHOW("afterShow"),
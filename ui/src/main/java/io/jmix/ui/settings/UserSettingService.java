@@ -18,6 +18,7 @@ package io.jmix.ui.settings;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -34,11 +35,42 @@ public interface UserSettingService {
     @Nullable
     String loadSetting(String name);
 
+    /**
+     * @return true if the service implements {@link #loadSettings()} and
+     * {@link #saveSettings(String, Map, Set)}, otherwise settings are loaded and saved one by one using
+     * {@link #loadSetting(String)}, {@link #saveSetting(String, String)} and {@link #deleteSettings(String)}
+     */
+    default boolean supportsBulkOperations() {
+        return false;
+    }
+
+    /**
+     * Load all settings for the current user. Invoked only if {@link #supportsBulkOperations()} returns true.
+     *
+     * @return settings by names
+     */
+    default Map<String, String> loadSettings() {
+        throw new UnsupportedOperationException("Loading all settings is not supported by " + getClass().getName());
+    }
+
     /**
      * Save settings for the current user and null client type
      */
     void saveSetting(String name, @Nullable String value);
 
+    /**
+     * Save and delete settings of the given user in one transaction. Does not require the user to be
+     * authenticated, so it can be invoked from a background thread. Invoked only if
+     * {@link #supportsBulkOperations()} returns true.
+     *
+     * @param username        user name
+     * @param settings        settings to save by names
+     * @param deletedSettings names of settings to delete
+     */
+    default void saveSettings(String username, Map<String, String> settings, Set<String> deletedSettings) {
+        throw new UnsupportedOperationException("Saving settings in batch is not supported by " + getClass().getName());
+    }
+
     /**
      * Delete settings for the current user
      */
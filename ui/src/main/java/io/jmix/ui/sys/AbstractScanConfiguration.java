@@ -39,25 +39,28 @@ public abstract class AbstractScanConfiguration {
     protected abstract Environment getEnvironment();
 
     protected Stream<MetadataReader> scanPackage(String packageName) {
+        return Arrays.stream(getPackageResources(packageName))
+                .filter(Resource::isReadable)
+                .map(this::getMetadataReader);
+    }
+
+    protected Resource[] getPackageResources(String packageName) {
         String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
                 resolveBasePackage(packageName) + '/' + DEFAULT_CLASS_RESOURCE_PATTERN;
         ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver(getResourceLoader());
-        Resource[] resources;
         try {
-            resources = resourcePatternResolver.getResources(packageSearchPath);
+            return resourcePatternResolver.getResources(packageSearchPath);
         } catch (IOException e) {
             throw new RuntimeException("Unable to scan package " + packageName, e);
         }
+    }
 
-        return Arrays.stream(resources)
-                .filter(Resource::isReadable)
-                .map(resource -> {
-                    try {
-                        return getMetadataReaderFactory().getMetadataReader(resource);
-                    } catch (IOException e) {
-                        throw new RuntimeException("Unable to read resource " + resource, e);
-                    }
-                });
+    protected MetadataReader getMetadataReader(Resource resource) {
+        try {
+            return getMetadataReaderFactory().getMetadataReader(resource);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read resource " + resource, e);
+        }
     }
 
     protected String resolveBasePackage(String basePackage) {
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.ui.sys;
+
+import org.springframework.aop.framework.autoproxy.AbstractAutoProxyCreator;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Injection points of a class annotated with {@link Autowired}, resolved once per class. Injects dependencies
+ * without the bean post-processing of {@link AutowireCapableBeanFactory#autowireBean(Object)}, singleton
+ * dependencies are resolved only once.
+ * <p>
+ * Classes with other injection annotations, including annotations meta-annotated with them, are not supported.
+ * Neither are bean factories with instantiation-aware post-processors other than the standard ones and auto-proxy
+ * creators, because such post-processors may inject or veto properties.
+ * See {@link #create(Class, AutowireCapableBeanFactory)}.
+ */
+public class AutowireTemplate {
+
+    protected static final String[] UNSUPPORTED_ANNOTATIONS = {
+            "org.springframework.beans.factory.annotation.Value",
+            "org.springframework.beans.factory.annotation.Qualifier",
+            "javax.inject.Inject",
+            "javax.inject.Named",
+            "javax.annotation.Resource",
+            "javax.persistence.PersistenceContext",
+            "javax.persistence.PersistenceUnit"
+    };
+
+    /**
+     * Instantiation-aware post-processors which process only the annotations handled by the template
+     * or listed in {@link #UNSUPPORTED_ANNOTATIONS}.
+     */
+    protected static final List<String> SUPPORTED_POST_PROCESSORS = Arrays.asList(
+            AutowiredAnnotationBeanPostProcessor.class.getName(),
+            "org.springframework.context.annotation.CommonAnnotationBeanPostProcessor",
+            "org.springframework.orm.jpa.support.PersistenceAnnotationBeanPostProcessor",
+            "org.springframework.context.annotation.ConfigurationClassPostProcessor$ImportAwareBeanPostProcessor"
+    );
+
+    protected final ConfigurableListableBeanFactory beanFactory;
+    protected final List<InjectionPoint> injectionPoints;
+
+    protected AutowireTemplate(ConfigurableListableBeanFactory beanFactory, List<InjectionPoint> injectionPoints) {
+        this.beanFactory = beanFactory;
+        this.injectionPoints = injectionPoints;
+    }
+
+    /**
+     * Creates a template for the given class.
+     *
+     * @return template or null if the class uses injection annotations other than {@link Autowired} or the bean
+     * factory has custom instantiation-aware post-processors, so the class must be autowired by the bean factory
+     */
+    @Nullable
+    public static AutowireTemplate create(Class<?> clazz, AutowireCapableBeanFactory autowireBeanFactory) {
+        if (!(autowireBeanFactory instanceof ConfigurableListableBeanFactory)
+                || hasCustomPostProcessors(autowireBeanFactory)) {
+            return null;
+        }
+
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.push(c);
+        }
+
+        // superclass injection points go first, fields before methods, the same way as Spring does it
+        List<InjectionPoint> injectionPoints = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (hasUnsupportedAnnotation(field)) {
+                    return null;
+                }
+                Autowired autowired = AnnotatedElementUtils.findMergedAnnotation(field, Autowired.class);
+                if (autowired != null) {
+                    ReflectionUtils.makeAccessible(field);
+                    injectionPoints.add(new InjectionPoint(field, null,
+                            new DependencyDescriptor(field, autowired.required())));
+                }
+            }
+
+            for (Method method : c.getDeclaredMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic()) {
+                    continue;
+                }
+                if (hasUnsupportedAnnotation(method)) {
+                    return null;
+                }
+                Autowired autowired = AnnotatedElementUtils.findMergedAnnotation(method, Autowired.class);
+                if (autowired == null) {
+                    continue;
+                }
+                if (method.getParameterCount() != 1 || method.getParameterAnnotations()[0].length > 0) {
+                    return null;
+                }
+                if (!method.equals(ClassUtils.getMostSpecificMethod(method, clazz))) {
+                    // overridden in a subclass
+                    continue;
+                }
+                ReflectionUtils.makeAccessible(method);
+                injectionPoints.add(new InjectionPoint(null, method,
+                        new DependencyDescriptor(new MethodParameter(method, 0), autowired.required())));
+            }
+        }
+
+        return new AutowireTemplate((ConfigurableListableBeanFactory) autowireBeanFactory, injectionPoints);
+    }
+
+    protected static boolean hasCustomPostProcessors(AutowireCapableBeanFactory beanFactory) {
+        if (!(beanFactory instanceof AbstractBeanFactory)) {
+            return true;
+        }
+
+        for (BeanPostProcessor postProcessor : ((AbstractBeanFactory) beanFactory).getBeanPostProcessors()) {
+            if (postProcessor instanceof InstantiationAwareBeanPostProcessor
+                    && !SUPPORTED_POST_PROCESSORS.contains(postProcessor.getClass().getName())
+                    && !isPropertyNeutralAutoProxyCreator(postProcessor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Auto-proxy creators registered by {@code @EnableTransactionManagement} or AOP auto-configuration create
+     * proxies after initialization only, they neither inject nor veto properties unless a subclass overrides it.
+     */
+    protected static boolean isPropertyNeutralAutoProxyCreator(BeanPostProcessor postProcessor) {
+        if (!(postProcessor instanceof AbstractAutoProxyCreator)) {
+            return false;
+        }
+
+        Class<?> postProcessorClass = postProcessor.getClass();
+        return isNotOverridden(ReflectionUtils.findMethod(postProcessorClass, "postProcessProperties",
+                PropertyValues.class, Object.class, String.class))
+                && isNotOverridden(ReflectionUtils.findMethod(postProcessorClass, "postProcessAfterInstantiation",
+                Object.class, String.class));
+    }
+
+    protected static boolean isNotOverridden(@Nullable Method autoProxyCreatorMethod) {
+        if (autoProxyCreatorMethod == null) {
+            return false;
+        }
+        // declared either by the interface or by AbstractAutoProxyCreator itself
+        Class<?> declaringClass = autoProxyCreatorMethod.getDeclaringClass();
+        return !AbstractAutoProxyCreator.class.isAssignableFrom(declaringClass)
+                || declaringClass == AbstractAutoProxyCreator.class;
+    }
+
+    protected static boolean hasUnsupportedAnnotation(AnnotatedElement element) {
+        // direct annotations and the annotations they are meta-annotated with
+        return MergedAnnotations.from(element).stream()
+                .anyMatch(annotation -> {
+                    String annotationName = annotation.getType().getName();
+                    for (String unsupported : UNSUPPORTED_ANNOTATIONS) {
+                        if (unsupported.equals(annotationName)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+    }
+
+    /**
+     * Injects dependencies into the given instance of the template class.
+     */
+    public void autowire(Object instance) {
+        for (InjectionPoint injectionPoint : injectionPoints) {
+            Object value = resolve(injectionPoint, instance);
+            if (value == null) {
+                continue;
+            }
+            if (injectionPoint.field != null) {
+                ReflectionUtils.setField(injectionPoint.field, instance, value);
+            } else {
+                ReflectionUtils.invokeMethod(injectionPoint.method, instance, value);
+            }
+        }
+    }
+
+    @Nullable
+    protected Object resolve(InjectionPoint injectionPoint, Object instance) {
+        Object value = injectionPoint.singletonValue;
+        if (value != null) {
+            return value;
+        }
+
+        Set<String> autowiredBeanNames = new LinkedHashSet<>(1);
+        value = beanFactory.resolveDependency(injectionPoint.descriptor, instance.getClass().getName(),
+                autowiredBeanNames, null);
+
+        if (value != null && autowiredBeanNames.size() == 1) {
+            String beanName = autowiredBeanNames.iterator().next();
+            if (beanFactory.containsBean(beanName)
+                    && beanFactory.isSingleton(beanName)
+                    && beanFactory.getBean(beanName) == value) {
+                injectionPoint.singletonValue = value;
+            }
+        }
+        return value;
+    }
+
+    protected static class InjectionPoint {
+
+        protected final Field field;
+        protected final Method method;
+        protected final DependencyDescriptor descriptor;
+
+        protected volatile Object singletonValue;
+
+        protected InjectionPoint(@Nullable Field field, @Nullable Method method, DependencyDescriptor descriptor) {
+            this.field = field;
+            this.method = method;
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.ui.sys;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Supplier;
+
+/**
+ * Creates instances through public no-arg constructors. A {@link Supplier} is generated by {@link LambdaMetafactory}
+ * once per class, so creating an instance is a plain constructor call instead of a reflective one.
+ */
+public final class ConstructorSuppliers {
+
+    private static final ClassValue<Supplier<?>> SUPPLIERS = new ClassValue<Supplier<?>>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> type) {
+            return createSupplier(type);
+        }
+    };
+
+    private ConstructorSuppliers() {
+    }
+
+    /**
+     * @param type class with a public no-arg constructor
+     * @return supplier of new instances of the class
+     * @throws IllegalArgumentException if the class has no public no-arg constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> getSupplier(Class<T> type) {
+        return (Supplier<T>) SUPPLIERS.get(type);
+    }
+
+    private static Supplier<?> createSupplier(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        MethodHandle constructor;
+        try {
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unable to get public no-arg constructor of " + type, e);
+        }
+
+        // classes loaded by another class loader, e.g. hot-deployed ones, cannot be linked to a generated lambda
+        if (isVisible(type)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                        constructor, MethodType.methodType(type));
+                return (Supplier<?>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                // fall back to the method handle
+            }
+        }
+
+        MethodHandle genericConstructor = constructor.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return genericConstructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to create an instance of " + type, e);
+            }
+        };
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, ConstructorSuppliers.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
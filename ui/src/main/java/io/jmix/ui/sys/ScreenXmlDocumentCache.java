@@ -18,33 +18,138 @@ package io.jmix.ui.sys;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import io.jmix.ui.UiProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import org.dom4j.Document;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
+import java.util.Objects;
 
+/**
+ * Cache of processed screen XML descriptors. A descriptor is identified by the path of its template and
+ * the signature of screen parameters, its weight is the length of the template.
+ * <p>
+ * Hits, misses and evictions are reported to the {@link MeterRegistry} as {@code cache.*} metrics
+ * with the {@code cache=jmix.ui.screenXml} tag.
+ */
 @Component("ui_ScreenXmlDocumentCache")
 public class ScreenXmlDocumentCache {
-    protected Cache<String, Document> cache;
 
+    public static final String CACHE_NAME = "jmix.ui.screenXml";
+
+    protected static final long DEFAULT_MAX_WEIGHT = 5242880;
+
+    protected Cache<DescriptorKey, CachedDescriptor> cache;
+
+    /**
+     * @deprecated use {@link #ScreenXmlDocumentCache(UiProperties, MeterRegistry)}
+     */
+    @Deprecated
     public ScreenXmlDocumentCache() {
-        this(100);
+        this(DEFAULT_MAX_WEIGHT);
+    }
+
+    @Autowired
+    public ScreenXmlDocumentCache(UiProperties uiProperties, MeterRegistry meterRegistry) {
+        this(uiProperties.getScreenXmlCacheMaxWeight());
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
     }
 
-    protected ScreenXmlDocumentCache(int cacheDescriptorsCount) {
-        cache = CacheBuilder.newBuilder().maximumSize(cacheDescriptorsCount).build();
+    protected ScreenXmlDocumentCache(long maxWeight) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((DescriptorKey key, CachedDescriptor descriptor) -> descriptor.getWeight())
+                .recordStats()
+                .build();
     }
 
+    public void put(String resourcePath, String paramsSignature, CachedDescriptor descriptor) {
+        cache.put(new DescriptorKey(resourcePath, paramsSignature), descriptor);
+    }
+
+    @Nullable
+    public CachedDescriptor get(String resourcePath, String paramsSignature) {
+        return cache.getIfPresent(new DescriptorKey(resourcePath, paramsSignature));
+    }
+
+    /**
+     * @deprecated use {@link #put(String, String, CachedDescriptor)}
+     */
+    @Deprecated
     public void put(String xml, Document document) {
-        cache.put(xml, document);
+        put(xml, "", new CachedDescriptor(document, 0, xml.length()));
     }
 
+    /**
+     * @deprecated use {@link #get(String, String)}
+     */
+    @Deprecated
     @Nullable
     public Document get(String xml) {
-        return cache.getIfPresent(xml);
+        CachedDescriptor descriptor = get(xml, "");
+        return descriptor != null ? descriptor.getDocument() : null;
     }
 
     public void invalidateAll() {
         cache.invalidateAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Processed descriptor with the last modification time of its template.
+     */
+    public static class CachedDescriptor {
+
+        protected final Document document;
+        protected final long lastModified;
+        protected final int weight;
+
+        public CachedDescriptor(Document document, long lastModified, int weight) {
+            this.document = document;
+            this.lastModified = lastModified;
+            this.weight = weight;
+        }
+
+        public Document getDocument() {
+            return document;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    protected static class DescriptorKey {
+
+        protected final String resourcePath;
+        protected final String paramsSignature;
+
+        public DescriptorKey(String resourcePath, String paramsSignature) {
+            this.resourcePath = resourcePath;
+            this.paramsSignature = paramsSignature;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DescriptorKey that = (DescriptorKey) o;
+            return resourcePath.equals(that.resourcePath) && paramsSignature.equals(that.paramsSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourcePath, paramsSignature);
+        }
+    }
+}
@@ -19,7 +19,9 @@ package io.jmix.ui.sys;
 import org.springframework.context.ApplicationContext;
 import io.jmix.core.DevelopmentException;
 import io.jmix.core.Resources;
+import io.jmix.ui.UiProperties;
 import io.jmix.ui.monitoring.ScreenLifeCycle;
+import io.jmix.ui.sys.ScreenXmlDocumentCache.CachedDescriptor;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.apache.commons.io.IOUtils;
@@ -32,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.TreeMap;
 
 import static io.jmix.ui.monitoring.UiMonitoring.createScreenTimer;
 
@@ -51,9 +54,12 @@ public class ScreenXmlLoader {
     protected ApplicationContext applicationContext;
     @Autowired
     protected MeterRegistry meterRegistry;
+    @Autowired
+    protected UiProperties uiProperties;
 
     /**
-     * Loads a descriptor.
+     * Loads a descriptor. Processed descriptors are cached by the template path and screen parameters, in
+     * non-production mode the template is re-read if it has been modified.
      *
      * @param resourcePath path to the resource containing the XML
      * @param id           screen ID
@@ -63,8 +69,7 @@ public class ScreenXmlLoader {
     public Element load(String resourcePath, String id, Map<String, Object> params) {
         Timer.Sample sample = Timer.start(meterRegistry);
 
-        String template = loadTemplate(resourcePath);
-        Document document = getDocument(template, params);
+        Document document = getDocument(resourcePath, params);
 
         sample.stop(createScreenTimer(meterRegistry, ScreenLifeCycle.LOAD, id));
         return document.getRootElement();
@@ -82,13 +87,55 @@ public class ScreenXmlLoader {
         }
     }
 
-    protected Document getDocument(String template, Map<String, Object> params) {
-        Document document = screenXmlCache.get(template);
-        if (document == null) {
-            document = createDocument(template, params);
-            screenXmlCache.put(template, document);
+    protected Document getDocument(String resourcePath, Map<String, Object> params) {
+        String paramsSignature = getParamsSignature(params);
+
+        CachedDescriptor descriptor = screenXmlCache.get(resourcePath, paramsSignature);
+        if (descriptor != null && uiProperties.isProductionMode()) {
+            return descriptor.getDocument();
+        }
+
+        long lastModified = getLastModified(resourcePath);
+        if (descriptor == null || descriptor.getLastModified() != lastModified) {
+            String template = loadTemplate(resourcePath);
+            descriptor = new CachedDescriptor(createDocument(template, params), lastModified, template.length());
+            screenXmlCache.put(resourcePath, paramsSignature, descriptor);
+        }
+        return descriptor.getDocument();
+    }
+
+    protected long getLastModified(String resourcePath) {
+        try {
+            return resources.getResource(resourcePath).lastModified();
+        } catch (IOException e) {
+            // the template is not found or its file system does not support modification time
+            return 0;
+        }
+    }
+
+    /**
+     * Returns a part of the cache key which depends on screen parameters. Only values of simple types are taken
+     * into account, for other values only the parameter name and value class are used, so that passing different
+     * instances does not produce a new descriptor each time.
+     */
+    protected String getParamsSignature(Map<String, Object> params) {
+        if (params.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> entry : new TreeMap<>(params).entrySet()) {
+            Object value = entry.getValue();
+            sb.append(entry.getKey()).append('=');
+            if (value == null || value instanceof String || value instanceof Number
+                    || value instanceof Boolean || value instanceof Enum) {
+                sb.append(value);
+            } else {
+                sb.append('<').append(value.getClass().getName()).append('>');
+            }
+            sb.append(';');
         }
-        return document;
+        return sb.toString();
     }
 
     protected Document createDocument(String template, Map<String, Object> params) {
@@ -313,9 +313,13 @@ public class ScreensImpl implements Screens {
             findMessageGroup(element, windowInfo.getTemplate(), componentLoaderContext);
         }
 
+        Timer.Sample componentsSample = Timer.start(meterRegistry);
+
         LayoutLoader layoutLoader = applicationContext.getBean(LayoutLoader.class, componentLoaderContext);
         ComponentLoader<Window> windowLoader = layoutLoader.createWindowContent(window, element);
 
+        componentsSample.stop(createScreenTimer(meterRegistry, ScreenLifeCycle.COMPONENTS, windowInfo.getId()));
+
         windowLoader.loadComponent();
     }
 
@@ -45,7 +45,9 @@ import java.lang.reflect.*;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
@@ -61,6 +63,16 @@ public class UiComponentsImpl implements UiComponents {
     protected Map<String, Class<? extends Component>> classes = new ConcurrentHashMap<>();
     protected Map<Class, String> names = new ConcurrentHashMap<>();
 
+    // autowire template of a component class or empty if the class is autowired by the bean factory,
+    // values are bound to classes so hot-deployed classes are not retained
+    protected ClassValue<Optional<AutowireTemplate>> autowireTemplates = new ClassValue<Optional<AutowireTemplate>>() {
+        @Override
+        protected Optional<AutowireTemplate> computeValue(Class<?> componentClass) {
+            return Optional.ofNullable(AutowireTemplate.create(componentClass,
+                    applicationContext.getAutowireCapableBeanFactory()));
+        }
+    };
+
     {
         classes.put(RootWindow.NAME, RootWindowImpl.class);
         classes.put(TabWindow.NAME, TabWindowImpl.class);
@@ -167,21 +179,23 @@ public class UiComponentsImpl implements UiComponents {
             throw new IllegalStateException(String.format("Can't find component class for '%s'", name));
         }
 
-        Constructor<? extends Component> constructor;
+        Supplier<? extends Component> constructor;
         try {
-            constructor = componentClass.getConstructor();
-        } catch (NoSuchMethodException e) {
+            constructor = ConstructorSuppliers.getSupplier(componentClass);
+        } catch (IllegalArgumentException e) {
             throw new RuntimeException(String.format("Unable to get constructor for '%s' component", name), e);
         }
 
+        Component instance;
         try {
-            Component instance = constructor.newInstance();
-            autowireContext(instance);
-            initCompositeComponent(instance, componentClass);
-            return (T) instance;
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            instance = constructor.get();
+        } catch (RuntimeException e) {
             throw new RuntimeException(String.format("Error creating the '%s' component instance", name), e);
         }
+
+        autowireContext(instance);
+        initCompositeComponent(instance, componentClass);
+        return (T) instance;
     }
 
     @SuppressWarnings("unchecked")
@@ -244,7 +258,13 @@ public class UiComponentsImpl implements UiComponents {
 
     protected void autowireContext(Component instance) {
         AutowireCapableBeanFactory autowireBeanFactory = applicationContext.getAutowireCapableBeanFactory();
-        autowireBeanFactory.autowireBean(instance);
+
+        Optional<AutowireTemplate> autowireTemplate = autowireTemplates.get(instance.getClass());
+        if (autowireTemplate.isPresent()) {
+            autowireTemplate.get().autowire(instance);
+        } else {
+            autowireBeanFactory.autowireBean(instance);
+        }
 
         if (instance instanceof ApplicationContextAware) {
             ((ApplicationContextAware) instance).setApplicationContext(applicationContext);
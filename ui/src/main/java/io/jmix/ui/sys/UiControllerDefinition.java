@@ -27,12 +27,18 @@ public final class UiControllerDefinition {
     private final String controllerClass;
     private final Resource resource;
     private final RouteDefinition routeDefinition;
+    private final boolean indexed;
+    private final String primaryEditorEntity;
+    private final String primaryLookupEntity;
 
     public UiControllerDefinition(String id, String controllerClass, Resource resource, @Nullable RouteDefinition routeDefinition) {
         this.id = id;
         this.controllerClass = controllerClass;
         this.resource = resource;
         this.routeDefinition = routeDefinition;
+        this.indexed = false;
+        this.primaryEditorEntity = null;
+        this.primaryLookupEntity = null;
     }
 
     public UiControllerDefinition(String id, String controllerClass, @Nullable RouteDefinition routeDefinition) {
@@ -40,6 +46,26 @@ public final class UiControllerDefinition {
         this.controllerClass = controllerClass;
         this.routeDefinition = routeDefinition;
         this.resource = null;
+        this.indexed = false;
+        this.primaryEditorEntity = null;
+        this.primaryLookupEntity = null;
+    }
+
+    /**
+     * Creates a definition loaded from {@link UiControllersIndex}.
+     *
+     * @param primaryEditorEntity entity class name of the {@code PrimaryEditorScreen} annotation
+     * @param primaryLookupEntity entity class name of the {@code PrimaryLookupScreen} annotation
+     */
+    public UiControllerDefinition(String id, String controllerClass, @Nullable RouteDefinition routeDefinition,
+                                  @Nullable String primaryEditorEntity, @Nullable String primaryLookupEntity) {
+        this.id = id;
+        this.controllerClass = controllerClass;
+        this.routeDefinition = routeDefinition;
+        this.resource = null;
+        this.indexed = true;
+        this.primaryEditorEntity = primaryEditorEntity;
+        this.primaryLookupEntity = primaryLookupEntity;
     }
 
     public String getId() {
@@ -60,6 +86,24 @@ public final class UiControllerDefinition {
         return resource;
     }
 
+    /**
+     * @return true if the definition is loaded from {@link UiControllersIndex}, so primary editor and lookup
+     * entities are known without reading the controller class
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    @Nullable
+    public String getPrimaryEditorEntity() {
+        return primaryEditorEntity;
+    }
+
+    @Nullable
+    public String getPrimaryLookupEntity() {
+        return primaryLookupEntity;
+    }
+
     @Override
     public String toString() {
         return "UiControllerDefinition{" +
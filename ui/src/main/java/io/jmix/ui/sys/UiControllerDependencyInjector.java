@@ -17,6 +17,10 @@
 package io.jmix.ui.sys;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import io.jmix.core.DevelopmentException;
 import io.jmix.ui.WindowParam;
 import io.jmix.ui.action.Action;
@@ -29,12 +33,17 @@ import io.jmix.ui.model.ScreenData;
 import io.jmix.ui.screen.*;
 import io.jmix.ui.sys.UiControllerReflectionInspector.AnnotatedMethod;
 import io.jmix.ui.sys.UiControllerReflectionInspector.InjectElement;
+import io.jmix.ui.sys.UiControllerInjectionPlan.InjectionKind;
+import io.jmix.ui.sys.UiControllerInjectionPlan.InjectionPoint;
+import io.jmix.ui.sys.UiControllerInjectionPlan.InstallPoint;
+import io.jmix.ui.sys.UiControllerInjectionPlan.SubscribePoint;
 import io.jmix.ui.sys.UiControllerReflectionInspector.ScreenIntrospectionData;
 import io.jmix.ui.sys.delegate.*;
 import io.jmix.ui.sys.event.UiEventListenerMethodAdapter;
 import io.jmix.ui.theme.ThemeConstants;
 import io.jmix.ui.theme.ThemeConstantsManager;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.JavaVersion;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
@@ -49,6 +58,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.EventListener;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.Resource;
 import javax.inject.Inject;
@@ -58,7 +68,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.*;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -73,6 +82,9 @@ import static org.springframework.core.annotation.AnnotatedElementUtils.findMerg
 /**
  * Wires {@link Inject}, {@link Autowired}, {@link Resource}, {@link Named} fields/setters
  * and {@link Subscribe}, {@link Install} and {@link EventListener} methods.
+ * <p>
+ * Everything that does not depend on a controller instance is resolved once per controller class into
+ * {@link UiControllerInjectionPlan}, so injection into an instance only executes the plan.
  */
 @org.springframework.stereotype.Component("ui_UiControllerDependencyInjector")
 public class UiControllerDependencyInjector {
@@ -82,6 +94,16 @@ public class UiControllerDependencyInjector {
     protected ApplicationContext applicationContext;
     protected UiControllerReflectionInspector reflectionInspector;
 
+    protected final LoadingCache<Class<?>, UiControllerInjectionPlan> injectionPlanCache =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(new CacheLoader<Class<?>, UiControllerInjectionPlan>() {
+                        @Override
+                        public UiControllerInjectionPlan load(@Nonnull Class<?> concreteClass) {
+                            return createInjectionPlan(concreteClass);
+                        }
+                    });
+
     @Autowired
     public UiControllerDependencyInjector(ApplicationContext applicationContext,
                                           UiControllerReflectionInspector reflectionInspector) {
@@ -90,27 +112,100 @@ public class UiControllerDependencyInjector {
     }
 
     public void inject(FrameOwner frameOwner, ScreenOptions options) {
-        ScreenIntrospectionData screenIntrospectionData =
-                reflectionInspector.getScreenIntrospectionData(frameOwner.getClass());
+        UiControllerInjectionPlan injectionPlan = getInjectionPlan(frameOwner.getClass());
 
-        injectValues(frameOwner, options, screenIntrospectionData);
+        injectValues(frameOwner, options, injectionPlan);
 
-        initSubscribeListeners(frameOwner, screenIntrospectionData);
+        initSubscribeListeners(frameOwner, injectionPlan);
 
-        initInstallMethods(frameOwner, screenIntrospectionData);
+        initInstallMethods(frameOwner, injectionPlan);
 
-        initUiEventListeners(frameOwner, screenIntrospectionData);
+        initUiEventListeners(frameOwner, injectionPlan);
     }
 
-    protected void initInstallMethods(FrameOwner frameOwner, ScreenIntrospectionData screenIntrospectionData) {
-        List<AnnotatedMethod<Install>> installMethods = screenIntrospectionData.getInstallMethods();
+    /**
+     * @param clazz controller class
+     * @return cached injection plan of the controller class
+     */
+    public UiControllerInjectionPlan getInjectionPlan(Class<?> clazz) {
+        return injectionPlanCache.getUnchecked(clazz);
+    }
 
-        for (AnnotatedMethod<Install> annotatedMethod : installMethods) {
-            Install annotation = annotatedMethod.getAnnotation();
+    /**
+     * Clears cached injection plans.
+     */
+    public void clearCache() {
+        injectionPlanCache.invalidateAll();
+    }
+
+    protected UiControllerInjectionPlan createInjectionPlan(Class<?> clazz) {
+        ScreenIntrospectionData screenIntrospectionData = reflectionInspector.getScreenIntrospectionData(clazz);
+
+        List<InjectionPoint> injectionPoints = screenIntrospectionData.getInjectElements().stream()
+                .map(this::createInjectionPoint)
+                .collect(ImmutableList.toImmutableList());
+
+        List<SubscribePoint> subscribePoints = screenIntrospectionData.getSubscribeMethods().stream()
+                .map(annotatedMethod -> createSubscribePoint(clazz, annotatedMethod))
+                .collect(ImmutableList.toImmutableList());
+
+        List<InstallPoint> installPoints = screenIntrospectionData.getInstallMethods().stream()
+                .map(annotatedMethod -> new InstallPoint(annotatedMethod,
+                        Strings.nullToEmpty(UiDescriptorUtils.getInferredProvideId(annotatedMethod.getAnnotation()))))
+                .collect(ImmutableList.toImmutableList());
+
+        return new UiControllerInjectionPlan(injectionPoints, subscribePoints, installPoints,
+                ImmutableList.copyOf(screenIntrospectionData.getEventListenerMethods()));
+    }
+
+    protected InjectionPoint createInjectionPoint(InjectElement injectElement) {
+        String name = getInjectionName(injectElement);
+        Class<?> type = getInjectionType(injectElement);
+        boolean required = isInjectionRequired(injectElement);
+
+        InjectionKind kind = getInjectionKind(type, injectElement);
+        Class<?> providedType = null;
+        String beanName = null;
+
+        if (kind == InjectionKind.OBJECT_PROVIDER) {
+            providedType = getObjectProviderType(injectElement);
+        } else if (kind == InjectionKind.BEAN) {
+            String[] beanNames = applicationContext.getBeanNamesForType(type);
+            if (beanNames.length == 0) {
+                kind = InjectionKind.NONE;
+            } else if (ArrayUtils.contains(beanNames, name)) {
+                // if a bean with required name found, inject it, otherwise get the primary bean
+                beanName = name;
+            }
+        }
+
+        return new InjectionPoint(injectElement, name, type, required, kind, providedType, beanName);
+    }
 
-            Frame frame = UiControllerUtils.getFrame(frameOwner);
+    protected SubscribePoint createSubscribePoint(Class<?> clazz, AnnotatedMethod<Subscribe> annotatedMethod) {
+        String target = Strings.nullToEmpty(UiDescriptorUtils.getInferredSubscribeId(annotatedMethod.getAnnotation()));
+        Class<?> eventType = annotatedMethod.getMethod().getParameterTypes()[0];
+
+        MethodHandle consumerFactory = null;
+        //If screen controller class was hot-deployed, then it will be loaded by different class loader.
+        //This will make impossible to create lambda using LambdaMetaFactory for producing the listener method
+        //in Java 17+
+        if (SystemUtils.isJavaVersionAtMost(JavaVersion.JAVA_16) ||
+                getClass().getClassLoader() == clazz.getClassLoader()) {
+            consumerFactory = reflectionInspector.getConsumerMethodFactory(clazz, annotatedMethod, eventType);
+        }
 
-            Object targetInstance = getInstallTargetInstance(frameOwner, annotation, frame);
+        return new SubscribePoint(annotatedMethod, target, eventType, consumerFactory);
+    }
+
+    protected void initInstallMethods(FrameOwner frameOwner, UiControllerInjectionPlan injectionPlan) {
+        Frame frame = UiControllerUtils.getFrame(frameOwner);
+
+        for (InstallPoint installPoint : injectionPlan.getInstallPoints()) {
+            AnnotatedMethod<Install> annotatedMethod = installPoint.getAnnotatedMethod();
+            Install annotation = annotatedMethod.getAnnotation();
+
+            Object targetInstance = getInstallTargetInstance(frameOwner, installPoint, frame);
 
             if (targetInstance == null) {
                 if (annotation.required()) {
@@ -128,8 +223,8 @@ public class UiControllerDependencyInjector {
             Class<?> instanceClass = targetInstance.getClass();
             Method installMethod = annotatedMethod.getMethod();
 
-            MethodHandle targetSetterMethod =
-                    getInstallTargetSetterMethod(annotation, frame, instanceClass, installMethod);
+            MethodHandle targetSetterMethod = installPoint.getTargetSetter(instanceClass,
+                    targetClass -> getInstallTargetSetterMethod(annotation, frame, targetClass, installMethod));
             Class<?> targetParameterType = targetSetterMethod.type().parameterList().get(1);
 
             Object handler = null;
@@ -189,10 +284,11 @@ public class UiControllerDependencyInjector {
     }
 
     @Nullable
-    protected Object getInstallTargetInstance(FrameOwner frameOwner, Install annotation, Frame frame) {
+    protected Object getInstallTargetInstance(FrameOwner frameOwner, InstallPoint installPoint, Frame frame) {
         Object targetInstance;
-        String target = UiDescriptorUtils.getInferredProvideId(annotation);
-        if (Strings.isNullOrEmpty(target)) {
+        Install annotation = installPoint.getAnnotatedMethod().getAnnotation();
+        String target = installPoint.getTarget();
+        if (target.isEmpty()) {
 
             switch (annotation.target()) {
                 // if kept default value
@@ -227,7 +323,7 @@ public class UiControllerDependencyInjector {
         } else if (annotation.target() == Target.DATA_CONTAINER) {
             targetInstance = getScreenData(frameOwner).getContainer(target);
         } else {
-            targetInstance = findMethodTarget(frame, target);
+            targetInstance = findMethodTarget(frame, target, installPoint.getTargetPath());
         }
         return targetInstance;
     }
@@ -252,34 +348,27 @@ public class UiControllerDependencyInjector {
     }
 
     protected void injectValues(FrameOwner frameOwner, ScreenOptions options,
-                                ScreenIntrospectionData screenIntrospectionData) {
-        List<InjectElement> injectElements = screenIntrospectionData.getInjectElements();
-
-        for (InjectElement entry : injectElements) {
-            doInjection(entry, frameOwner, options);
+                                UiControllerInjectionPlan injectionPlan) {
+        for (InjectionPoint injectionPoint : injectionPlan.getInjectionPoints()) {
+            doInjection(injectionPoint, frameOwner, options);
         }
     }
 
-    protected void initSubscribeListeners(FrameOwner frameOwner, ScreenIntrospectionData screenIntrospectionData) {
-        Class<? extends FrameOwner> clazz = frameOwner.getClass();
-
-        List<AnnotatedMethod<Subscribe>> eventListenerMethods = screenIntrospectionData.getSubscribeMethods();
-
+    protected void initSubscribeListeners(FrameOwner frameOwner, UiControllerInjectionPlan injectionPlan) {
         Frame frame = UiControllerUtils.getFrame(frameOwner);
         ScreenData screenData = getScreenData(frameOwner);
 
-        for (AnnotatedMethod<Subscribe> annotatedMethod : eventListenerMethods) {
+        for (SubscribePoint subscribePoint : injectionPlan.getSubscribePoints()) {
+            AnnotatedMethod<Subscribe> annotatedMethod = subscribePoint.getAnnotatedMethod();
             Method method = annotatedMethod.getMethod();
             Subscribe annotation = annotatedMethod.getAnnotation();
 
-            String target = UiDescriptorUtils.getInferredSubscribeId(annotation);
-
-            Parameter parameter = method.getParameters()[0];
-            Class<?> eventType = parameter.getType();
+            String target = subscribePoint.getTarget();
+            Class<?> eventType = subscribePoint.getEventType();
 
             Object eventTarget = null;
 
-            if (Strings.isNullOrEmpty(target)) {
+            if (target.isEmpty()) {
                 switch (annotation.target()) {
                     // if kept default value
                     case COMPONENT:
@@ -311,7 +400,7 @@ public class UiControllerDependencyInjector {
             } else {
                 switch (annotation.target()) {
                     case CONTROLLER:
-                        Object componentTarget = findMethodTarget(frame, target);
+                        Object componentTarget = findMethodTarget(frame, target, subscribePoint.getTargetPath());
                         if (!(componentTarget instanceof Fragment)) {
                             throw new UnsupportedOperationException(
                                     "Unsupported @Subscribe target " + annotation.target() + ". It is not a Fragment.");
@@ -321,7 +410,7 @@ public class UiControllerDependencyInjector {
 
                     case COMPONENT:
                         // component event
-                        eventTarget = findMethodTarget(frame, target);
+                        eventTarget = findMethodTarget(frame, target, subscribePoint.getTargetPath());
                         break;
 
                     case DATA_LOADER:
@@ -355,13 +444,8 @@ public class UiControllerDependencyInjector {
 
             Consumer listener;
 
-            //If screen controller class was hot-deployed, then it will be loaded by different class loader.
-            //This will make impossible to create lambda using LambdaMetaFactory for producing the listener method
-            //in Java 17+
-            if (SystemUtils.isJavaVersionAtMost(JavaVersion.JAVA_16) ||
-                    getClass().getClassLoader() == frameOwner.getClass().getClassLoader()) {
-                MethodHandle consumerMethodFactory =
-                        reflectionInspector.getConsumerMethodFactory(clazz, annotatedMethod, eventType);
+            MethodHandle consumerMethodFactory = subscribePoint.getConsumerFactory();
+            if (consumerMethodFactory != null) {
                 try {
                     listener = (Consumer) consumerMethodFactory.invoke(frameOwner);
                 } catch (Error e) {
@@ -397,7 +481,11 @@ public class UiControllerDependencyInjector {
 
     @Nullable
     protected Object findMethodTarget(Frame frame, String target) {
-        String[] elements = ValuePathHelper.parse(target);
+        return findMethodTarget(frame, target, ValuePathHelper.parse(target));
+    }
+
+    @Nullable
+    protected Object findMethodTarget(Frame frame, String target, String[] elements) {
         if (elements.length == 1) {
             Object part = frame.getSubPart(target);
             if (part != null) {
@@ -447,10 +535,10 @@ public class UiControllerDependencyInjector {
         return null;
     }
 
-    protected void initUiEventListeners(FrameOwner frameOwner, ScreenIntrospectionData screenIntrospectionData) {
+    protected void initUiEventListeners(FrameOwner frameOwner, UiControllerInjectionPlan injectionPlan) {
         Class<? extends FrameOwner> clazz = frameOwner.getClass();
 
-        List<Method> eventListenerMethods = screenIntrospectionData.getEventListenerMethods();
+        List<Method> eventListenerMethods = injectionPlan.getEventListenerMethods();
 
         if (!eventListenerMethods.isEmpty()) {
             List<ApplicationListener> listeners = eventListenerMethods.stream()
@@ -461,15 +549,16 @@ public class UiControllerDependencyInjector {
         }
     }
 
-    protected void doInjection(InjectElement injectElement, FrameOwner frameOwner, ScreenOptions options) {
-        String name = getInjectionName(injectElement);
-        Class<?> type = getInjectionType(injectElement);
+    protected void doInjection(InjectionPoint injectionPoint, FrameOwner frameOwner, ScreenOptions options) {
+        InjectElement injectElement = injectionPoint.getInjectElement();
+        String name = injectionPoint.getName();
+        Class<?> type = injectionPoint.getType();
 
-        Object instance = getInjectedInstance(type, name, injectElement, frameOwner, options);
+        Object instance = getInjectedInstance(injectionPoint, frameOwner, options);
 
         if (instance != null) {
             assignValue(injectElement.getElement(), instance, frameOwner);
-        } else if (isInjectionRequired(injectElement)) {
+        } else if (injectionPoint.isRequired()) {
             Class<?> declaringClass = ((Member) injectElement.getElement()).getDeclaringClass();
             Class<? extends FrameOwner> frameClass = frameOwner.getClass();
 
@@ -550,182 +639,226 @@ public class UiControllerDependencyInjector {
         return true;
     }
 
-    @Nullable
-    protected Object getInjectedInstance(Class<?> type, String name, InjectElement injectElement,
-                                         FrameOwner frameOwner, ScreenOptions options) {
-        AnnotatedElement element = injectElement.getElement();
-        Class annotationClass = injectElement.getAnnotationClass();
-
-        Frame frame = UiControllerUtils.getFrame(frameOwner);
-
-        if (annotationClass == WindowParam.class) {
-            if (options instanceof MapScreenOptions) {
-                return ((MapScreenOptions) options).getParams().get(name);
-            }
-            // Injecting a parameter
-            return null;
-
+    protected InjectionKind getInjectionKind(Class<?> type, InjectElement injectElement) {
+        if (injectElement.getAnnotationClass() == WindowParam.class) {
+            return InjectionKind.WINDOW_PARAM;
         } else if (ScreenFragment.class.isAssignableFrom(type)) {
-            // Injecting inner fragment controller
-            Component fragment = frame.getComponent(name);
-            if (fragment == null) {
-                return null;
-            }
-            return ((Fragment) fragment).getFrameOwner();
-
+            return InjectionKind.FRAGMENT_CONTROLLER;
         } else if (Component.class.isAssignableFrom(type)) {
-            /// if legacy frame - inject controller
-            Component component = frame.getComponent(name);
-            if (component instanceof Fragment) {
-                ScreenFragment fragmentFrameOwner = ((Fragment) component).getFrameOwner();
-                if (type.isAssignableFrom(fragmentFrameOwner.getClass())) {
-                    return fragmentFrameOwner;
-                }
-            }
-
-            // Injecting a UI component
-            return component;
-
+            return InjectionKind.COMPONENT;
         } else if (InstanceContainer.class.isAssignableFrom(type)) {
-            // Injecting a container
-            ScreenData data = getScreenData(frameOwner);
-            return data.getContainer(name);
-
+            return InjectionKind.CONTAINER;
         } else if (DataLoader.class.isAssignableFrom(type)) {
-            // Injecting a loader
-            ScreenData data = getScreenData(frameOwner);
-            return data.getLoader(name);
-
+            return InjectionKind.LOADER;
         } else if (DataContext.class.isAssignableFrom(type)) {
-            // Injecting the data context
-            ScreenData data = getScreenData(frameOwner);
-            return data.getDataContext();
-
+            return InjectionKind.DATA_CONTEXT;
         } else if (FrameContext.class.isAssignableFrom(type)) {
-            // Injecting the FrameContext
-            return frame.getContext();
-
+            return InjectionKind.FRAME_CONTEXT;
         } else if (Action.class.isAssignableFrom(type)) {
-            // Injecting an action
-            return ComponentsHelper.findAction(name, frame);
-
+            return InjectionKind.ACTION;
         } else if (Facet.class.isAssignableFrom(type)) {
-            // Injecting non-visual component
+            return InjectionKind.FACET;
+        } else if (Downloader.class.isAssignableFrom(type)) {
+            return InjectionKind.DOWNLOADER;
+        } else if (MessageBundle.class == type) {
+            return InjectionKind.MESSAGE_BUNDLE;
+        } else if (ThemeConstants.class == type) {
+            return InjectionKind.THEME_CONSTANTS;
+        } else if (BeanFactory.class.isAssignableFrom(type)) {
+            return InjectionKind.BEAN_FACTORY;
+        } else if (ObjectProvider.class.isAssignableFrom(type)) {
+            return InjectionKind.OBJECT_PROVIDER;
+        } else if (ActionsAwareDialogFacet.DialogAction.class.isAssignableFrom(type)) {
+            return InjectionKind.DIALOG_ACTION;
+        }
+        return InjectionKind.BEAN;
+    }
 
-            String[] elements = ValuePathHelper.parse(name);
-            if (elements.length == 1) {
-                return frame.getFacet(name);
-            }
+    protected Class<?> getObjectProviderType(InjectElement injectElement) {
+        AnnotatedElement element = injectElement.getElement();
+        if (!(element instanceof Field
+                && ((Field) element).getGenericType() instanceof ParameterizedType)
+                && !(element instanceof Method
+                && ((Method) element).getGenericParameterTypes().length > 0
+                && ((Method) element).getGenericParameterTypes()[0] instanceof ParameterizedType)) {
+            throw new UnsupportedOperationException("Unable to inject ObjectProvider without generic parameter");
+        }
 
-            String prefix = pathPrefix(elements);
-            Component component = frame.getComponent(prefix);
+        Type genericType;
+        if (element instanceof Field) {
+            genericType = ((ParameterizedType) ((Field) element).getGenericType())
+                    .getActualTypeArguments()[0];
+        } else {
+            genericType = ((ParameterizedType) ((Method) element).getGenericParameterTypes()[0])
+                    .getActualTypeArguments()[0];
+        }
 
-            if (component == null) {
+        if (genericType instanceof ParameterizedType) {
+            genericType = ((ParameterizedType) genericType).getRawType();
+        }
+        return (Class<?>) genericType;
+    }
+
+    @Nullable
+    protected Object getInjectedInstance(InjectionPoint injectionPoint, FrameOwner frameOwner, ScreenOptions options) {
+        String name = injectionPoint.getName();
+        Class<?> type = injectionPoint.getType();
+
+        Frame frame = UiControllerUtils.getFrame(frameOwner);
+
+        switch (injectionPoint.getKind()) {
+            case WINDOW_PARAM:
+                if (options instanceof MapScreenOptions) {
+                    return ((MapScreenOptions) options).getParams().get(name);
+                }
+                // Injecting a parameter
                 return null;
-            }
 
-            if (!(component instanceof Fragment)) {
-                throw new UnsupportedOperationException(
-                        String.format("Unable to inject facet with id %s and type %s. Component %s is not a fragment",
-                                name, type, prefix)
-                );
+            case FRAGMENT_CONTROLLER: {
+                // Injecting inner fragment controller
+                Component fragment = frame.getComponent(name);
+                if (fragment == null) {
+                    return null;
+                }
+                return ((Fragment) fragment).getFrameOwner();
             }
 
-            String facetId = elements[elements.length - 1];
-            return ((Fragment) component).getFacet(facetId);
+            case COMPONENT: {
+                /// if legacy frame - inject controller
+                Component component = frame.getComponent(name);
+                if (component instanceof Fragment) {
+                    ScreenFragment fragmentFrameOwner = ((Fragment) component).getFrameOwner();
+                    if (type.isAssignableFrom(fragmentFrameOwner.getClass())) {
+                        return fragmentFrameOwner;
+                    }
+                }
 
-        } else if (Downloader.class.isAssignableFrom(type)) {
-            // Injecting a Downloader
-            return applicationContext.getBean(Downloader.class);
+                // Injecting a UI component
+                return component;
+            }
 
-        } else if (MessageBundle.class == type) {
-            return createMessageBundle(element, frameOwner, frame);
+            case CONTAINER:
+                // Injecting a container
+                return getScreenData(frameOwner).getContainer(name);
 
-        } else if (ThemeConstants.class == type) {
-            // Injecting a Theme
-            ThemeConstantsManager themeManager = applicationContext.getBean(ThemeConstantsManager.class);
-            return themeManager.getConstants();
+            case LOADER:
+                // Injecting a loader
+                return getScreenData(frameOwner).getLoader(name);
 
-        } else if (BeanFactory.class.isAssignableFrom(type)) {
-            return applicationContext;
-        } else if (ObjectProvider.class.isAssignableFrom(type)) {
-            if (!(element instanceof Field
-                    && ((Field) element).getGenericType() instanceof ParameterizedType)
-                    && !(element instanceof Method
-                    && ((Method) element).getGenericParameterTypes().length > 0
-                    && ((Method) element).getGenericParameterTypes()[0] instanceof ParameterizedType)) {
-                throw new UnsupportedOperationException("Unable to inject ObjectProvider without generic parameter");
-            }
+            case DATA_CONTEXT:
+                // Injecting the data context
+                return getScreenData(frameOwner).getDataContext();
 
-            Type genericType;
-            if (element instanceof Field) {
-                genericType = ((ParameterizedType) ((Field) element).getGenericType())
-                        .getActualTypeArguments()[0];
-            } else {
-                genericType = ((ParameterizedType) ((Method) element).getGenericParameterTypes()[0])
-                        .getActualTypeArguments()[0];
-            }
+            case FRAME_CONTEXT:
+                // Injecting the FrameContext
+                return frame.getContext();
 
-            if (genericType instanceof ParameterizedType) {
-                genericType = ((ParameterizedType) genericType).getRawType();
-            }
-            return applicationContext.getBeanProvider((Class<?>) genericType);
-        } else if (ActionsAwareDialogFacet.DialogAction.class.isAssignableFrom(type)) {
-            // facet's action
+            case ACTION:
+                // Injecting an action
+                return ComponentsHelper.findAction(name, frame);
 
-            Facet facet;
-            String actionId;
+            case FACET: {
+                // Injecting non-visual component
+                String[] elements = injectionPoint.getPath();
+                if (elements.length == 1) {
+                    return frame.getFacet(name);
+                }
 
-            String[] path = ValuePathHelper.parse(name);
-            if (path.length == 2) {
-                facet = frame.getFacet(path[0]);
-                actionId = path[1];
-            } else {
-                String prefix = ValuePathHelper.pathPrefix(path, 2);
+                String prefix = pathPrefix(elements);
                 Component component = frame.getComponent(prefix);
+
                 if (component == null) {
                     return null;
                 }
+
                 if (!(component instanceof Fragment)) {
                     throw new UnsupportedOperationException(
-                            String.format("Unable to inject dialog action with id '%s'. Component '%s' is not a fragment",
-                                    name, prefix)
+                            String.format("Unable to inject facet with id %s and type %s. Component %s is not a fragment",
+                                    name, type, prefix)
                     );
                 }
-                actionId = path[path.length - 1];
-                facet = ((Fragment) component).getFacet(path[path.length - 2]);
+
+                String facetId = elements[elements.length - 1];
+                return ((Fragment) component).getFacet(facetId);
             }
 
-            if (!(facet instanceof ActionsAwareDialogFacet)) {
+            case DOWNLOADER:
+                // Injecting a Downloader
+                return applicationContext.getBean(Downloader.class);
+
+            case MESSAGE_BUNDLE:
+                return createMessageBundle(injectionPoint.getInjectElement().getElement(), frameOwner, frame);
+
+            case THEME_CONSTANTS:
+                // Injecting a Theme
+                ThemeConstantsManager themeManager = applicationContext.getBean(ThemeConstantsManager.class);
+                return themeManager.getConstants();
+
+            case BEAN_FACTORY:
+                return applicationContext;
+
+            case OBJECT_PROVIDER:
+                return applicationContext.getBeanProvider(injectionPoint.getProvidedType());
+
+            case DIALOG_ACTION:
+                return getDialogAction(injectionPoint, frame);
+
+            case BEAN:
+                // Try to find a Spring bean, the bean name is resolved in the plan
+                String beanName = injectionPoint.getBeanName();
+                if (beanName != null) {
+                    return applicationContext.getBean(beanName, type);
+                }
+                // Otherwise get a bean from the context again to respect @Primary annotation
+                return applicationContext.getBean(type);
+
+            default:
                 return null;
-            }
+        }
+    }
 
-            //noinspection unchecked
-            Collection<ActionsAwareDialogFacet.DialogAction<Facet>> actions =
-                    ((ActionsAwareDialogFacet<Facet>) facet).getActions();
+    @Nullable
+    protected Object getDialogAction(InjectionPoint injectionPoint, Frame frame) {
+        // facet's action
+        String name = injectionPoint.getName();
 
-            if (CollectionUtils.isNotEmpty(actions)) {
-                return actions.stream()
-                        .filter(action -> action.getId().equals(actionId))
-                        .findFirst()
-                        .orElse(null);
-            }
+        Facet facet;
+        String actionId;
+
+        String[] path = injectionPoint.getPath();
+        if (path.length == 2) {
+            facet = frame.getFacet(path[0]);
+            actionId = path[1];
         } else {
-            Object instance;
-            // Try to find a Spring bean
-            Map<String, ?> beans = applicationContext.getBeansOfType(type);
-            if (!beans.isEmpty()) {
-                instance = beans.get(name);
-                // If a bean with required name found, return it
-                if (instance != null) {
-                    return instance;
-                } else {
-                    // Otherwise get a bean from the context again to respect @Primary annotation
-                    return applicationContext.getBean(type);
-                }
+            String prefix = ValuePathHelper.pathPrefix(path, 2);
+            Component component = frame.getComponent(prefix);
+            if (component == null) {
+                return null;
+            }
+            if (!(component instanceof Fragment)) {
+                throw new UnsupportedOperationException(
+                        String.format("Unable to inject dialog action with id '%s'. Component '%s' is not a fragment",
+                                name, prefix)
+                );
             }
+            actionId = path[path.length - 1];
+            facet = ((Fragment) component).getFacet(path[path.length - 2]);
+        }
+
+        if (!(facet instanceof ActionsAwareDialogFacet)) {
+            return null;
         }
 
+        //noinspection unchecked
+        Collection<ActionsAwareDialogFacet.DialogAction<Facet>> actions =
+                ((ActionsAwareDialogFacet<Facet>) facet).getActions();
+
+        if (CollectionUtils.isNotEmpty(actions)) {
+            return actions.stream()
+                    .filter(action -> action.getId().equals(actionId))
+                    .findFirst()
+                    .orElse(null);
+        }
         return null;
     }
 
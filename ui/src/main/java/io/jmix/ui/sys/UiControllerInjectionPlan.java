@@ -0,0 +1,236 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.ui.sys;
+
+import io.jmix.ui.screen.Install;
+import io.jmix.ui.screen.Subscribe;
+import io.jmix.ui.sys.UiControllerReflectionInspector.AnnotatedMethod;
+import io.jmix.ui.sys.UiControllerReflectionInspector.InjectElement;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Injection plan of a controller class compiled by {@link UiControllerDependencyInjector}. Contains everything
+ * that does not depend on a controller instance: injection names, types and kinds, resolved bean names,
+ * parsed target paths of {@link Subscribe} and {@link Install} methods and listener factories.
+ */
+public class UiControllerInjectionPlan {
+
+    protected final List<InjectionPoint> injectionPoints;
+    protected final List<SubscribePoint> subscribePoints;
+    protected final List<InstallPoint> installPoints;
+    protected final List<Method> eventListenerMethods;
+
+    public UiControllerInjectionPlan(List<InjectionPoint> injectionPoints,
+                                     List<SubscribePoint> subscribePoints,
+                                     List<InstallPoint> installPoints,
+                                     List<Method> eventListenerMethods) {
+        this.injectionPoints = injectionPoints;
+        this.subscribePoints = subscribePoints;
+        this.installPoints = installPoints;
+        this.eventListenerMethods = eventListenerMethods;
+    }
+
+    public List<InjectionPoint> getInjectionPoints() {
+        return injectionPoints;
+    }
+
+    public List<SubscribePoint> getSubscribePoints() {
+        return subscribePoints;
+    }
+
+    public List<InstallPoint> getInstallPoints() {
+        return installPoints;
+    }
+
+    public List<Method> getEventListenerMethods() {
+        return eventListenerMethods;
+    }
+
+    /**
+     * Kind of injected object, determined by the injection type and annotation.
+     */
+    public enum InjectionKind {
+        WINDOW_PARAM,
+        FRAGMENT_CONTROLLER,
+        COMPONENT,
+        CONTAINER,
+        LOADER,
+        DATA_CONTEXT,
+        FRAME_CONTEXT,
+        ACTION,
+        FACET,
+        DOWNLOADER,
+        MESSAGE_BUNDLE,
+        THEME_CONSTANTS,
+        BEAN_FACTORY,
+        OBJECT_PROVIDER,
+        DIALOG_ACTION,
+        BEAN,
+        NONE
+    }
+
+    public static class InjectionPoint {
+
+        protected final InjectElement injectElement;
+        protected final String name;
+        protected final Class<?> type;
+        protected final boolean required;
+        protected final InjectionKind kind;
+        protected final String[] path;
+        protected final Class<?> providedType;
+        protected final String beanName;
+
+        /**
+         * @param providedType generic type of {@code ObjectProvider}
+         * @param beanName     name of the bean to inject, null if the primary bean of the type is injected
+         */
+        public InjectionPoint(InjectElement injectElement, String name, Class<?> type, boolean required,
+                              InjectionKind kind, @Nullable Class<?> providedType, @Nullable String beanName) {
+            this.injectElement = injectElement;
+            this.name = name;
+            this.type = type;
+            this.required = required;
+            this.kind = kind;
+            this.path = ValuePathHelper.parse(name);
+            this.providedType = providedType;
+            this.beanName = beanName;
+        }
+
+        public InjectElement getInjectElement() {
+            return injectElement;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public InjectionKind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return name parsed by {@link ValuePathHelper#parse(String)}
+         */
+        public String[] getPath() {
+            return path;
+        }
+
+        @Nullable
+        public Class<?> getProvidedType() {
+            return providedType;
+        }
+
+        @Nullable
+        public String getBeanName() {
+            return beanName;
+        }
+    }
+
+    public static class SubscribePoint {
+
+        protected final AnnotatedMethod<Subscribe> annotatedMethod;
+        protected final String target;
+        protected final String[] targetPath;
+        protected final Class<?> eventType;
+        protected final MethodHandle consumerFactory;
+
+        /**
+         * @param consumerFactory lambda factory producing listeners, null if the listener must invoke the method
+         *                        handle directly
+         */
+        public SubscribePoint(AnnotatedMethod<Subscribe> annotatedMethod, String target, Class<?> eventType,
+                              @Nullable MethodHandle consumerFactory) {
+            this.annotatedMethod = annotatedMethod;
+            this.target = target;
+            this.targetPath = target.isEmpty() ? new String[0] : ValuePathHelper.parse(target);
+            this.eventType = eventType;
+            this.consumerFactory = consumerFactory;
+        }
+
+        public AnnotatedMethod<Subscribe> getAnnotatedMethod() {
+            return annotatedMethod;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public String[] getTargetPath() {
+            return targetPath;
+        }
+
+        public Class<?> getEventType() {
+            return eventType;
+        }
+
+        @Nullable
+        public MethodHandle getConsumerFactory() {
+            return consumerFactory;
+        }
+    }
+
+    public static class InstallPoint {
+
+        protected final AnnotatedMethod<Install> annotatedMethod;
+        protected final String target;
+        protected final String[] targetPath;
+
+        // key - class of the target instance, value - setter or add method of the install subject
+        protected final Map<Class<?>, MethodHandle> targetSetters = new ConcurrentHashMap<>();
+
+        public InstallPoint(AnnotatedMethod<Install> annotatedMethod, String target) {
+            this.annotatedMethod = annotatedMethod;
+            this.target = target;
+            this.targetPath = target.isEmpty() ? new String[0] : ValuePathHelper.parse(target);
+        }
+
+        public AnnotatedMethod<Install> getAnnotatedMethod() {
+            return annotatedMethod;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public String[] getTargetPath() {
+            return targetPath;
+        }
+
+        /**
+         * Returns the target setter for the given class of the target instance, resolving it on the first call.
+         */
+        public MethodHandle getTargetSetter(Class<?> instanceClass, Function<Class<?>, MethodHandle> resolver) {
+            return targetSetters.computeIfAbsent(instanceClass, resolver);
+        }
+    }
+}
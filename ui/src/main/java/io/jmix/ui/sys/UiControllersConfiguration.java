@@ -22,15 +22,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static io.jmix.core.common.util.Preconditions.checkNotNullArgument;
 
@@ -74,15 +76,40 @@ public class UiControllersConfiguration extends AbstractScanConfiguration {
         this.explicitDefinitions = explicitDefinitions;
     }
 
+    /**
+     * Returns controllers of the base packages and explicit definitions. Controllers of packages that are
+     * present in {@link UiControllersIndex} are taken from the index, other packages are scanned in parallel.
+     * Controllers are returned in the order of base packages, so controllers of later packages override
+     * controllers of earlier ones with the same id.
+     */
     public List<UiControllerDefinition> getUiControllers() {
-        log.trace("Scanning packages {}", basePackages);
+        UiControllersIndex index = UiControllersIndex.get(applicationContext.getClassLoader());
+
+        // parallel stream keeps the encounter order of packages and their resources
+        List<UiControllerDefinition> controllers = basePackages.parallelStream()
+                .map(basePackage -> getPackageUiControllers(index, basePackage))
+                .flatMap(List::stream)
+                .collect(Collectors.toCollection(ArrayList::new));
+        controllers.addAll(explicitDefinitions);
+        return controllers;
+    }
 
-        Stream<UiControllerDefinition> scannedControllersStream = basePackages.stream()
-                .flatMap(this::scanPackage)
-                .filter(this::isCandidateUiController)
-                .map(this::extractControllerDefinition);
+    protected List<UiControllerDefinition> getPackageUiControllers(UiControllersIndex index, String basePackage) {
+        String packageName = getEnvironment().resolveRequiredPlaceholders(basePackage);
+        if (index.isIndexed(packageName)) {
+            log.trace("Loading package {} from index", packageName);
+
+            return index.getUiControllers(packageName);
+        }
 
-        return Stream.concat(scannedControllersStream, explicitDefinitions.stream())
+        log.trace("Scanning package {}", packageName);
+
+        return Arrays.stream(getPackageResources(packageName))
+                .parallel()
+                .filter(Resource::isReadable)
+                .map(this::getMetadataReader)
+                .filter(this::isCandidateUiController)
+                .map(this::extractControllerDefinition)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.ui.sys;
+
+import io.jmix.ui.navigation.RouteDefinition;
+import io.jmix.ui.screen.PrimaryEditorScreen;
+import io.jmix.ui.screen.PrimaryLookupScreen;
+import io.jmix.ui.screen.UiController;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Index of {@link UiController}s generated at build time and stored in {@link #INDEX_LOCATION} resources.
+ * <p>
+ * {@link UiControllersConfiguration} takes controllers of an indexed package from the index instead of scanning
+ * the package. The index is generated by {@link #main(String[])}, e.g. by a build task that runs after classes
+ * are compiled:
+ * <pre>
+ * java -cp &lt;runtime classpath&gt; io.jmix.ui.sys.UiControllersIndex build/resources/main com.company.app
+ * </pre>
+ * Each line of the index is either {@code package=<name>} that declares an indexed package, or
+ * {@code controller=<fields>} with tab-separated id, controller class, route path, route parent prefix,
+ * root route flag, primary editor entity class and primary lookup entity class of a controller.
+ */
+public class UiControllersIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/jmix-ui-controllers.index";
+
+    protected static final String PACKAGE_PREFIX = "package=";
+    protected static final String CONTROLLER_PREFIX = "controller=";
+    protected static final String SEPARATOR = "\t";
+
+    private static final Logger log = LoggerFactory.getLogger(UiControllersIndex.class);
+
+    private static final Map<ClassLoader, UiControllersIndex> cache = new ConcurrentReferenceHashMap<>();
+
+    protected final Set<String> packages;
+    protected final List<UiControllerDefinition> definitions;
+
+    protected UiControllersIndex(Set<String> packages, List<UiControllerDefinition> definitions) {
+        this.packages = packages;
+        this.definitions = definitions;
+    }
+
+    /**
+     * @param classLoader class loader to load index resources
+     * @return index merged from all index resources available to the class loader, empty if there are no ones
+     */
+    public static UiControllersIndex get(@Nullable ClassLoader classLoader) {
+        ClassLoader loader = classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
+        return cache.computeIfAbsent(loader, UiControllersIndex::load);
+    }
+
+    /**
+     * @param packageName package name
+     * @return true if controllers of the package are in the index
+     */
+    public boolean isIndexed(String packageName) {
+        for (String indexedPackage : packages) {
+            if (packageName.equals(indexedPackage) || packageName.startsWith(indexedPackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param packageName indexed package name
+     * @return definitions of controllers of the package and its subpackages
+     */
+    public List<UiControllerDefinition> getUiControllers(String packageName) {
+        String prefix = packageName + ".";
+        return definitions.stream()
+                .filter(definition -> definition.getControllerClass().startsWith(prefix))
+                .collect(Collectors.toList());
+    }
+
+    protected static UiControllersIndex load(ClassLoader classLoader) {
+        Set<String> packages = new LinkedHashSet<>();
+        List<UiControllerDefinition> definitions = new ArrayList<>();
+
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                log.debug("Loading UI controllers index from {}", url);
+
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith(PACKAGE_PREFIX)) {
+                            packages.add(line.substring(PACKAGE_PREFIX.length()).trim());
+                        } else if (line.startsWith(CONTROLLER_PREFIX)) {
+                            definitions.add(parseDefinition(line.substring(CONTROLLER_PREFIX.length())));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load UI controllers index from " + INDEX_LOCATION, e);
+        }
+
+        return new UiControllersIndex(packages, definitions);
+    }
+
+    protected static UiControllerDefinition parseDefinition(String value) {
+        String[] fields = value.split(SEPARATOR, -1);
+        if (fields.length != 7) {
+            throw new IllegalStateException("Invalid UI controllers index entry: " + value);
+        }
+
+        RouteDefinition routeDefinition = fields[2].isEmpty()
+                ? null
+                : new RouteDefinition(fields[2], StringUtils.trimToNull(fields[3]), Boolean.parseBoolean(fields[4]));
+
+        return new UiControllerDefinition(fields[0], fields[1], routeDefinition,
+                StringUtils.trimToNull(fields[5]), StringUtils.trimToNull(fields[6]));
+    }
+
+    /**
+     * Writes the index of controllers of the given packages.
+     *
+     * @param args output directory of resources followed by package names
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: UiControllersIndex <output directory> <package>...");
+        }
+
+        List<String> packages = Arrays.asList(args).subList(1, args.length);
+        Path indexFile = Paths.get(args[0]).resolve(INDEX_LOCATION);
+        Files.createDirectories(indexFile.getParent());
+
+        try (Writer writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8)) {
+            write(writer, packages, ClassUtils.getDefaultClassLoader());
+        }
+    }
+
+    /**
+     * Scans the given packages and writes the index of found controllers.
+     */
+    public static void write(Writer writer, List<String> packages, @Nullable ClassLoader classLoader)
+            throws IOException {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        MetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory(classLoader);
+
+        for (String packageName : packages) {
+            writer.write(PACKAGE_PREFIX + packageName + "\n");
+        }
+
+        for (String packageName : packages) {
+            String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+                    + ClassUtils.convertClassNameToResourcePath(packageName)
+                    + "/" + AbstractScanConfiguration.DEFAULT_CLASS_RESOURCE_PATTERN;
+
+            for (Resource resource : resolver.getResources(packageSearchPath)) {
+                if (!resource.isReadable()) {
+                    continue;
+                }
+
+                MetadataReader metadataReader = metadataReaderFactory.getMetadataReader(resource);
+                if (!metadataReader.getClassMetadata().isConcrete()
+                        || !metadataReader.getAnnotationMetadata().hasAnnotation(UiController.class.getName())) {
+                    continue;
+                }
+
+                writer.write(CONTROLLER_PREFIX + formatDefinition(metadataReaderFactory, metadataReader) + "\n");
+            }
+        }
+    }
+
+    protected static String formatDefinition(MetadataReaderFactory metadataReaderFactory,
+                                             MetadataReader metadataReader) {
+        UiControllerMeta meta = new UiControllerMeta(metadataReaderFactory, metadataReader);
+        RouteDefinition routeDefinition = meta.getRouteDefinition();
+
+        List<String> fields = new ArrayList<>(7);
+        fields.add(meta.getId());
+        fields.add(meta.getControllerClass());
+        fields.add(routeDefinition != null ? routeDefinition.getPath() : "");
+        fields.add(routeDefinition != null ? StringUtils.defaultString(routeDefinition.getParentPrefix()) : "");
+        fields.add(routeDefinition != null ? String.valueOf(routeDefinition.isRoot()) : "");
+        fields.add(getEntityClassName(metadataReader, PrimaryEditorScreen.class.getName()));
+        fields.add(getEntityClassName(metadataReader, PrimaryLookupScreen.class.getName()));
+        return String.join(SEPARATOR, fields);
+    }
+
+    protected static String getEntityClassName(MetadataReader metadataReader, String annotationName) {
+        Map<String, Object> attributes =
+                metadataReader.getAnnotationMetadata().getAnnotationAttributes(annotationName, true);
+        if (attributes == null) {
+            return "";
+        }
+        return StringUtils.defaultString((String) attributes.get("value"));
+    }
+}
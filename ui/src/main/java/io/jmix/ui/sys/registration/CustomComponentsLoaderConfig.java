@@ -24,6 +24,7 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -62,6 +63,11 @@ public class CustomComponentsLoaderConfig implements LoaderConfig {
         return null;
     }
 
+    @Override
+    public Map<String, Class<? extends ComponentLoader>> getLoaders() {
+        return Collections.unmodifiableMap(loaders);
+    }
+
     protected void registerLoader(String tagName, Class<? extends ComponentLoader> loaderClass) {
         loaders.put(tagName, loaderClass);
     }
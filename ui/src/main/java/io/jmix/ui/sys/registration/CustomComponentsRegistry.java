@@ -147,6 +147,7 @@ public class CustomComponentsRegistry {
             log.trace("Register tag {} loader {}", tag, componentLoaderClass.getCanonicalName());
 
             loaderConfig.registerLoader(tag, componentLoaderClass);
+            loaderResolver.resetIndex();
         }
     }
 }
\ No newline at end of file
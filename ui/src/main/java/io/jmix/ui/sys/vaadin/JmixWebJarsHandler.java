@@ -16,6 +16,9 @@
 
 package io.jmix.ui.sys.vaadin;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.vaadin.server.RequestHandler;
 import com.vaadin.server.VaadinRequest;
 import com.vaadin.server.VaadinResponse;
@@ -23,6 +26,7 @@ import com.vaadin.server.VaadinSession;
 import io.jmix.ui.UiProperties;
 import io.jmix.ui.sys.WebJarResourceResolver;
 import io.jmix.core.FileTypesHelper;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,10 +34,12 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nullable;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.zip.GZIPOutputStream;
 
 import static org.apache.commons.io.IOUtils.copy;
 
@@ -42,16 +48,28 @@ public class JmixWebJarsHandler implements RequestHandler {
     public static final String VAADIN_WEBJARS_PATH_PREFIX = "/" + WebJarResourceResolver.VAADIN_PREFIX;
     public static final String WEBJARS_PATH_PREFIX = "/" + WebJarResourceResolver.WEBJAR_PREFIX;
 
+    protected static final int MIN_COMPRESSIBLE_LENGTH = 1024;
+
     private final Logger log = LoggerFactory.getLogger(JmixWebJarsHandler.class);
 
     protected WebJarResourceResolver resolver;
     protected ServletContext servletContext;
     protected UiProperties uiProperties;
 
+    protected Cache<String, CachedResource> resourceCache;
+
     public JmixWebJarsHandler(ServletContext servletContext, WebJarResourceResolver resolver, UiProperties uiProperties) {
         this.servletContext = servletContext;
         this.resolver = resolver;
         this.uiProperties = uiProperties;
+
+        long cacheMaxSize = uiProperties.getWebJarResourcesCacheMaxSize();
+        if (cacheMaxSize > 0) {
+            resourceCache = CacheBuilder.newBuilder()
+                    .maximumWeight(cacheMaxSize)
+                    .weigher((String path, CachedResource resource) -> resource.getWeight())
+                    .build();
+        }
     }
 
     @Override
@@ -71,7 +89,16 @@ public class JmixWebJarsHandler implements RequestHandler {
             return false;
         }
 
+        CachedResource cachedResource = resourceCache != null ? resourceCache.getIfPresent(path) : null;
+        if (cachedResource != null) {
+            setResourceHeaders(response, path);
+            writeCachedResource(request, response, cachedResource);
+            return true;
+        }
+
         URL resourceUrl = getStaticResourceUrl(path);
+        // overridden resources can be changed in development mode
+        boolean cacheable = resourceUrl == null || uiProperties.isProductionMode();
 
         if (resourceUrl == null) {
             resourceUrl = getClassPathResourceUrl(path);
@@ -84,30 +111,22 @@ public class JmixWebJarsHandler implements RequestHandler {
             return false;
         }
 
-        String resourceName = getResourceName(path);
-        String mimeType = servletContext.getMimeType(resourceName);
-        response.setContentType(mimeType != null ? mimeType : FileTypesHelper.DEFAULT_MIME_TYPE);
+        setResourceHeaders(response, path);
 
-        long resourceCacheTime = getCacheTime();
+        URLConnection connection = resourceUrl.openConnection();
 
-        String cacheControl = resourceCacheTime > 0
-                ? "max-age=" + String.valueOf(resourceCacheTime)
-                : "public, max-age=0, no-cache, no-store, must-revalidate";
-        response.setHeader("Cache-Control", cacheControl);
+        if (resourceCache != null && cacheable && isCacheableLength(connection.getContentLengthLong())) {
+            cachedResource = loadResource(connection, resourceUrl, getMimeType(path));
+            resourceCache.put(path, cachedResource);
 
-        long expires = resourceCacheTime > 0
-                ? System.currentTimeMillis() + (resourceCacheTime * 1000)
-                : 0;
-        response.setDateHeader("Expires", expires);
+            writeCachedResource(request, response, cachedResource);
+            return true;
+        }
 
+        // overridden and large resources are streamed without keeping them in memory
         InputStream inputStream = null;
         try {
-            URLConnection connection = resourceUrl.openConnection();
-            long lastModifiedTime = connection.getLastModified();
-            // Remove milliseconds to avoid comparison problems (milliseconds
-            // are not returned by the browser in the "If-Modified-Since"
-            // header).
-            lastModifiedTime = lastModifiedTime - lastModifiedTime % 1000;
+            long lastModifiedTime = getLastModified(connection);
             response.setDateHeader("Last-Modified", lastModifiedTime);
 
             if (browserHasNewestVersion(request, lastModifiedTime)) {
@@ -115,6 +134,11 @@ public class JmixWebJarsHandler implements RequestHandler {
                 return true;
             }
 
+            long contentLength = connection.getContentLengthLong();
+            if (contentLength >= 0 && contentLength <= Integer.MAX_VALUE) {
+                response.setContentLength((int) contentLength);
+            }
+
             inputStream = connection.getInputStream();
 
             copy(inputStream, response.getOutputStream());
@@ -127,6 +151,186 @@ public class JmixWebJarsHandler implements RequestHandler {
         }
     }
 
+    protected String getMimeType(String path) {
+        String mimeType = servletContext.getMimeType(getResourceName(path));
+        return mimeType != null ? mimeType : FileTypesHelper.DEFAULT_MIME_TYPE;
+    }
+
+    protected void setResourceHeaders(VaadinResponse response, String path) {
+        response.setContentType(getMimeType(path));
+
+        long resourceCacheTime = getCacheTime();
+
+        String cacheControl = resourceCacheTime > 0
+                ? "max-age=" + String.valueOf(resourceCacheTime)
+                : "public, max-age=0, no-cache, no-store, must-revalidate";
+        response.setHeader("Cache-Control", cacheControl);
+
+        long expires = resourceCacheTime > 0
+                ? System.currentTimeMillis() + (resourceCacheTime * 1000)
+                : 0;
+        response.setDateHeader("Expires", expires);
+    }
+
+    protected long getLastModified(URLConnection connection) {
+        long lastModifiedTime = connection.getLastModified();
+        // Remove milliseconds to avoid comparison problems (milliseconds
+        // are not returned by the browser in the "If-Modified-Since"
+        // header).
+        return lastModifiedTime - lastModifiedTime % 1000;
+    }
+
+    /**
+     * @param contentLength length of a resource or -1 if it is unknown
+     * @return whether the resource is small enough to be kept in the in-memory cache
+     */
+    protected boolean isCacheableLength(long contentLength) {
+        return contentLength >= 0 && contentLength <= uiProperties.getWebJarResourcesCacheMaxEntrySize();
+    }
+
+    protected CachedResource loadResource(URLConnection connection, URL resourceUrl,
+                                          String mimeType) throws IOException {
+        long lastModifiedTime = getLastModified(connection);
+
+        byte[] content;
+        try (InputStream inputStream = connection.getInputStream()) {
+            content = IOUtils.toByteArray(inputStream);
+        }
+
+        CachedResource resource = new CachedResource(content, lastModifiedTime);
+
+        if (isCompressible(mimeType, content.length)) {
+            // webjars may contain precompressed variants of resources
+            resource.brotliContent = loadPrecompressedResource(resourceUrl, ".br");
+
+            byte[] gzipContent = loadPrecompressedResource(resourceUrl, ".gz");
+            resource.gzipContent = gzipContent != null ? gzipContent : gzip(content);
+        }
+
+        return resource;
+    }
+
+    @Nullable
+    protected byte[] loadPrecompressedResource(URL resourceUrl, String extension) {
+        try {
+            URL url = new URL(resourceUrl, getResourceName(resourceUrl.getPath()) + extension);
+            try (InputStream inputStream = url.openStream()) {
+                return IOUtils.toByteArray(inputStream);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    protected byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+            gzipStream.write(content);
+        }
+        byte[] gzipContent = outputStream.toByteArray();
+
+        // compression does not pay off
+        return gzipContent.length < content.length ? gzipContent : null;
+    }
+
+    protected boolean isCompressible(String mimeType, int length) {
+        if (length < MIN_COMPRESSIBLE_LENGTH) {
+            return false;
+        }
+        return mimeType.startsWith("text/")
+                || mimeType.contains("javascript")
+                || mimeType.contains("json")
+                || mimeType.contains("xml")
+                || mimeType.contains("font/ttf")
+                || mimeType.contains("font/otf")
+                || mimeType.contains("vnd.ms-fontobject");
+    }
+
+    protected void writeCachedResource(VaadinRequest request, VaadinResponse response,
+                                       CachedResource resource) throws IOException {
+        response.setDateHeader("Last-Modified", resource.lastModified);
+
+        byte[] content = resource.content;
+        String encoding = null;
+
+        if (resource.brotliContent != null || resource.gzipContent != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+
+            String acceptEncoding = request.getHeader("Accept-Encoding");
+            if (resource.brotliContent != null && isEncodingAccepted(acceptEncoding, "br")) {
+                content = resource.brotliContent;
+                encoding = "br";
+            } else if (resource.gzipContent != null && isEncodingAccepted(acceptEncoding, "gzip")) {
+                content = resource.gzipContent;
+                encoding = "gzip";
+            }
+        }
+
+        // the ETag of a compressed variant must differ from the one of the original content
+        String etag = encoding == null
+                ? "\"" + resource.hash + "\""
+                : "\"" + resource.hash + "-" + encoding + "\"";
+        response.setHeader("ETag", etag);
+
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null
+                ? isEtagMatched(ifNoneMatch, etag)
+                : browserHasNewestVersion(request, resource.lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (encoding != null) {
+            response.setHeader("Content-Encoding", encoding);
+        }
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    protected boolean isEncodingAccepted(@Nullable String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(encoding)) {
+                continue;
+            }
+
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    protected boolean isEtagMatched(String ifNoneMatch, String etag) {
+        if ("*".equals(ifNoneMatch.trim())) {
+            return true;
+        }
+
+        for (String token : ifNoneMatch.split(",")) {
+            String value = token.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected String getResourceName(String uri) {
         String[] tokens = uri.split("/");
         return tokens[tokens.length - 1];
@@ -203,4 +407,35 @@ public class JmixWebJarsHandler implements RequestHandler {
 
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Content of a WebJar resource with its compressed variants. Instances are immutable after loading and
+     * shared between requests.
+     */
+    protected static class CachedResource {
+
+        protected final byte[] content;
+        protected final long lastModified;
+        protected final String hash;
+
+        protected byte[] gzipContent;
+        protected byte[] brotliContent;
+
+        protected CachedResource(byte[] content, long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+            this.hash = Hashing.murmur3_128().hashBytes(content).toString();
+        }
+
+        protected int getWeight() {
+            int weight = content.length;
+            if (gzipContent != null) {
+                weight += gzipContent.length;
+            }
+            if (brotliContent != null) {
+                weight += brotliContent.length;
+            }
+            return weight;
+        }
+    }
+}
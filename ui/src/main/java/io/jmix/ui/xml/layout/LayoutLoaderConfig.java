@@ -23,6 +23,8 @@ import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Map;
 
 @SuppressWarnings("rawtypes")
 @Order(JmixOrder.LOWEST_PRECEDENCE - 10)
@@ -61,6 +63,11 @@ public class LayoutLoaderConfig extends BaseLoaderConfig implements LoaderConfig
         return loaders.get(name);
     }
 
+    @Override
+    public Map<String, Class<? extends ComponentLoader>> getLoaders() {
+        return Collections.unmodifiableMap(loaders);
+    }
+
     @Nullable
     protected Element getRootElement(String rootName, Element child) {
         Element parent = child.getParent();
@@ -19,6 +19,7 @@ package io.jmix.ui.xml.layout;
 import org.dom4j.Element;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 
 /**
  * Marker interface for component loaders.
@@ -54,4 +55,19 @@ public interface LoaderConfig {
      */
     @Nullable
     Class<? extends ComponentLoader> getWindowLoader(Element root);
+
+    /**
+     * Returns loaders of the config by element names. {@link LoaderResolver} indexes them and does not invoke
+     * {@link #supports(Element)} for such configs.
+     * <p>
+     * A config that matches elements by something other than the element name, e.g. by attributes or by the
+     * parent element, must return {@code null} (default), then it is probed for each element.
+     *
+     * @return loader classes by element names or {@code null} if the config uses dynamic matching
+     */
+    @SuppressWarnings("rawtypes")
+    @Nullable
+    default Map<String, Class<? extends ComponentLoader>> getLoaders() {
+        return null;
+    }
 }
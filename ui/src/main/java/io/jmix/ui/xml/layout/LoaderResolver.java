@@ -16,15 +16,30 @@
 
 package io.jmix.ui.xml.layout;
 
+import io.jmix.core.JmixOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.dom4j.Element;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
-
-import org.springframework.beans.factory.annotation.Autowired;
-
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Resolves loader classes for XML elements using all {@link LoaderConfig}s in their order.
+ * <p>
+ * Loaders of configs that provide {@link LoaderConfig#getLoaders()} are indexed by element name, so resolving
+ * a loader is a single map lookup. Configs with dynamic matching are probed with {@link LoaderConfig#supports(Element)}
+ * only if they precede the config found in the index. Such lookups are counted by the
+ * {@code jmix.ui.loaderResolver.slowLookups} counter.
+ */
 @SuppressWarnings("rawtypes")
 @Component("ui_LoaderResolver")
 public class LoaderResolver {
@@ -32,14 +47,55 @@ public class LoaderResolver {
     @Autowired
     protected List<LoaderConfig> loaderConfigs;
 
+    protected Counter slowLookupCounter;
+
+    protected volatile LoaderIndex index;
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        slowLookupCounter = Counter.builder("jmix.ui.loaderResolver.slowLookups")
+                .description("Number of loader lookups that probed configs with dynamic matching")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    @Order(JmixOrder.HIGHEST_PRECEDENCE + 200)
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        index = buildIndex();
+    }
+
+    /**
+     * Drops the index of loaders, it will be rebuilt on the next lookup. Must be invoked if loaders are
+     * registered in a config after the application context is refreshed.
+     */
+    public void resetIndex() {
+        index = null;
+    }
+
     @Nullable
     public Class<? extends ComponentLoader> getLoader(Element element) {
-        for (LoaderConfig config : loaderConfigs) {
-            if (config.supports(element)) {
-                return config.getLoader(element);
+        LoaderIndex index = getIndex();
+
+        IndexedLoader indexed = index.loaders.get(element.getName());
+        int position = indexed != null ? indexed.position : Integer.MAX_VALUE;
+
+        boolean probed = false;
+        for (IndexedConfig dynamicConfig : index.dynamicConfigs) {
+            if (dynamicConfig.position > position) {
+                break;
+            }
+
+            probed = true;
+            if (dynamicConfig.config.supports(element)) {
+                slowLookupCounter.increment();
+                return dynamicConfig.config.getLoader(element);
             }
         }
-        return null;
+
+        if (probed) {
+            slowLookupCounter.increment();
+        }
+        return indexed != null ? indexed.loaderClass : null;
     }
 
     @Nullable
@@ -63,4 +119,67 @@ public class LoaderResolver {
         }
         return null;
     }
+
+    protected LoaderIndex getIndex() {
+        LoaderIndex index = this.index;
+        if (index == null) {
+            index = buildIndex();
+            this.index = index;
+        }
+        return index;
+    }
+
+    protected LoaderIndex buildIndex() {
+        Map<String, IndexedLoader> loaders = new HashMap<>();
+        List<IndexedConfig> dynamicConfigs = new ArrayList<>();
+
+        for (int i = 0; i < loaderConfigs.size(); i++) {
+            LoaderConfig config = loaderConfigs.get(i);
+            Map<String, Class<? extends ComponentLoader>> configLoaders = config.getLoaders();
+            if (configLoaders == null) {
+                dynamicConfigs.add(new IndexedConfig(config, i));
+                continue;
+            }
+
+            for (Map.Entry<String, Class<? extends ComponentLoader>> entry : configLoaders.entrySet()) {
+                // configs with higher priority win
+                loaders.putIfAbsent(entry.getKey(), new IndexedLoader(entry.getValue(), i));
+            }
+        }
+
+        return new LoaderIndex(loaders, dynamicConfigs);
+    }
+
+    protected static class LoaderIndex {
+
+        protected final Map<String, IndexedLoader> loaders;
+        protected final List<IndexedConfig> dynamicConfigs;
+
+        protected LoaderIndex(Map<String, IndexedLoader> loaders, List<IndexedConfig> dynamicConfigs) {
+            this.loaders = loaders;
+            this.dynamicConfigs = dynamicConfigs;
+        }
+    }
+
+    protected static class IndexedLoader {
+
+        protected final Class<? extends ComponentLoader> loaderClass;
+        protected final int position;
+
+        protected IndexedLoader(Class<? extends ComponentLoader> loaderClass, int position) {
+            this.loaderClass = loaderClass;
+            this.position = position;
+        }
+    }
+
+    protected static class IndexedConfig {
+
+        protected final LoaderConfig config;
+        protected final int position;
+
+        protected IndexedConfig(LoaderConfig config, int position) {
+            this.config = config;
+            this.position = position;
+        }
+    }
 }
@@ -20,6 +20,7 @@ import io.jmix.ui.component.Fragment;
 import io.jmix.ui.component.Window;
 import io.jmix.ui.GuiDevelopmentException;
 import io.jmix.ui.UiComponents;
+import io.jmix.ui.sys.ConstructorSuppliers;
 import io.jmix.ui.xml.layout.ComponentLoader;
 import io.jmix.ui.xml.layout.LayoutLoaderConfig;
 import io.jmix.ui.xml.layout.LoaderSupport;
@@ -31,8 +32,7 @@ import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
 
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
 @Component("ui_LayoutLoader")
@@ -106,16 +106,16 @@ public class LayoutLoader {
     protected ComponentLoader initLoader(Element element, Class<? extends ComponentLoader> loaderClass) {
         ComponentLoader loader;
 
-        Constructor<? extends ComponentLoader> constructor;
+        Supplier<? extends ComponentLoader> constructor;
         try {
-            constructor = loaderClass.getConstructor();
-        } catch (NoSuchMethodException e) {
+            constructor = ConstructorSuppliers.getSupplier(loaderClass);
+        } catch (IllegalArgumentException e) {
             throw new GuiDevelopmentException("Unable to get constructor for loader: " + e, context);
         }
 
         try {
-            loader = constructor.newInstance();
-        } catch (InvocationTargetException | IllegalAccessException | InstantiationException e) {
+            loader = constructor.get();
+        } catch (RuntimeException e) {
             throw new GuiDevelopmentException("Loader instantiation error: " + e, context);
         }
 
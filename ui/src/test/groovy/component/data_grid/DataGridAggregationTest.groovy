@@ -224,6 +224,40 @@ class DataGridAggregationTest extends ScreenSpecification {
         aggregationMap.usages == 66 // sum
     }
 
+    def "update aggregated values on items add and remove"() {
+        def dataGrid = uiComponents.create(DataGrid)
+        addAggregatedColumn(dataGrid, "count", AggregationInfo.Type.MIN)
+        addAggregatedColumn(dataGrid, "price", AggregationInfo.Type.AVG)
+        addAggregatedColumn(dataGrid, "sales", AggregationInfo.Type.MAX)
+        addAggregatedColumn(dataGrid, "usages", AggregationInfo.Type.SUM)
+        dataGrid.aggregatable = true
+        setDataGridItems(dataGrid)
+        dataGrid.getAggregationResults()
+
+        def container = ((ContainerDataGridItems<GoodStatisticObject>) dataGrid.getItems()).getContainer()
+        def statistic3 = new GoodStatisticObject(name: 'stat3', count: 10l, sales: 30, price: 60.5, usages: 24.0)
+
+        when: "adding an item"
+        container.getMutableItems().add(statistic3)
+
+        then: "aggregation values should be updated"
+        def aggregationMap = dataGrid.getAggregationResults()
+        aggregationMap.count == 10l     // min
+        aggregationMap.price == 90.5    // avg
+        aggregationMap.sales == 30      // max
+        aggregationMap.usages == 100.0  // sum
+
+        when: "removing the item with the min and max values"
+        container.getMutableItems().remove(statistic3)
+
+        then: "aggregation values should be updated"
+        def updatedAggregationMap = dataGrid.getAggregationResults()
+        updatedAggregationMap.count == 20l   // min
+        updatedAggregationMap.price == 105.5 // avg
+        updatedAggregationMap.sales == 20    // max
+        updatedAggregationMap.usages == 76.0 // sum
+    }
+
     protected void addAggregatedColumn(DataGrid dataGrid, String id, AggregationInfo.Type type) {
         def metaClass = metadata.getClass(GoodStatisticObject)
 
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package component.group_table
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.data.DataConfiguration
+import io.jmix.eclipselink.EclipselinkConfiguration
+import io.jmix.ui.UiConfiguration
+import io.jmix.ui.component.AggregationInfo
+import io.jmix.ui.component.data.GroupInfo
+import io.jmix.ui.component.data.aggregation.impl.AggregatableDelegate
+import io.jmix.ui.component.data.aggregation.impl.IncrementalAggregation
+import io.jmix.ui.component.data.table.ContainerGroupTableItems
+import io.jmix.ui.component.data.table.ContainerTableItems
+import io.jmix.ui.model.CollectionContainer
+import io.jmix.ui.testassist.spec.ScreenSpecification
+import org.springframework.test.context.ContextConfiguration
+import test_support.UiTestConfiguration
+import test_support.entity.model_objects.GoodStatisticObject
+import test_support.entity.sales.OrderLine
+import test_support.entity.sales.Product
+
+@ContextConfiguration(classes = [CoreConfiguration, UiConfiguration, DataConfiguration,
+        EclipselinkConfiguration, UiTestConfiguration])
+class GroupTableAggregationTest extends ScreenSpecification {
+
+    private CollectionContainer<GoodStatisticObject> container
+
+    private ContainerGroupTableItems<GoodStatisticObject> groupItems
+
+    private GoodStatisticObject s1, s2, s3
+
+    private AggregationInfo salesSum, salesMax
+
+    @Override
+    void setup() {
+        container = dataComponents.createCollectionContainer(GoodStatisticObject)
+
+        s1 = new GoodStatisticObject(name: 'a', sales: 10)
+        s2 = new GoodStatisticObject(name: 'b', sales: 20)
+        s3 = new GoodStatisticObject(name: 'a', sales: 30)
+        container.items = [s1, s2, s3]
+
+        groupItems = new ContainerGroupTableItems<>(container)
+        groupItems.groupBy([metadata.getClass(GoodStatisticObject).getPropertyPath('name')].toArray())
+
+        salesSum = createAggregationInfo(GoodStatisticObject, 'sales', AggregationInfo.Type.SUM)
+        salesMax = createAggregationInfo(GoodStatisticObject, 'sales', AggregationInfo.Type.MAX)
+    }
+
+    def "group aggregation is updated when an item of the group is changed"() {
+        def delegate = createDelegate(groupItems)
+        def groupA = groupItems.rootGroups()[0]
+        def groupB = groupItems.rootGroups()[1]
+
+        when:
+        def resultsA = aggregate(delegate, groupA)
+
+        then:
+        resultsA[salesSum] == 40
+        resultsA[salesMax] == 30
+
+        when: "an aggregated property of an item of the group is changed"
+        aggregate(delegate, groupB)
+        s3.sales = 5
+
+        then: "the accumulators of the group are updated"
+        groupItems.getIncrementalAggregation().scopes.containsKey(groupA)
+
+        def updatedA = aggregate(delegate, groupA)
+        updatedA[salesSum] == 15
+        updatedA[salesMax] == 10
+
+        def updatedB = aggregate(delegate, groupB)
+        updatedB[salesSum] == 20
+        updatedB[salesMax] == 20
+    }
+
+    def "group aggregation is recalculated when items are regrouped"() {
+        def delegate = createDelegate(groupItems)
+        aggregate(delegate, groupItems.rootGroups()[0])
+        aggregate(delegate, groupItems.rootGroups()[1])
+
+        when: "an item is moved to another group"
+        s2.name = 'a'
+
+        then: "group accumulators are dropped"
+        !groupItems.getIncrementalAggregation().scopes.keySet().any { it instanceof GroupInfo }
+
+        when: "items are regrouped"
+        groupItems.groupBy([metadata.getClass(GoodStatisticObject).getPropertyPath('name')].toArray())
+
+        then: "the group aggregation is rebuilt from the new group items"
+        groupItems.rootGroups().size() == 1
+        def results = aggregate(delegate, groupItems.rootGroups()[0])
+        results[salesSum] == 60
+        results[salesMax] == 30
+    }
+
+    def "nested properties are not aggregated incrementally"() {
+        def lineContainer = dataComponents.createCollectionContainer(OrderLine)
+        def product = metadata.create(Product)
+        product.price = 10.0
+        def line = metadata.create(OrderLine)
+        line.product = product
+        lineContainer.items = [line]
+
+        def tableItems = new ContainerTableItems<OrderLine>(lineContainer)
+        def delegate = createDelegate(tableItems)
+        def priceSum = createAggregationInfo(OrderLine, 'product.price', AggregationInfo.Type.SUM)
+        def infos = [priceSum] as AggregationInfo[]
+
+        when:
+        delegate.aggregateValues(infos, tableItems.getItemIds(), IncrementalAggregation.TOTAL_SCOPE)
+        product.price = 25.0
+
+        then: "the change of the referenced entity is taken into account"
+        delegate.aggregateValues(infos, tableItems.getItemIds(), IncrementalAggregation.TOTAL_SCOPE)[priceSum] == 25.0
+    }
+
+    protected AggregatableDelegate<Object> createDelegate(ContainerTableItems tableItems) {
+        AggregatableDelegate<Object> delegate = applicationContext.getBean(AggregatableDelegate)
+        delegate.setItemProvider(tableItems.&getItem)
+        delegate.setItemValueProvider(tableItems.&getItemValue)
+        delegate.setIncrementalAggregation(tableItems.getIncrementalAggregation())
+        return delegate
+    }
+
+    protected Map<AggregationInfo, Object> aggregate(AggregatableDelegate<Object> delegate, GroupInfo group) {
+        return delegate.aggregateValues([salesSum, salesMax] as AggregationInfo[],
+                groupItems.getGroupItemIds(group), group)
+    }
+
+    protected AggregationInfo createAggregationInfo(Class entityClass, String property, AggregationInfo.Type type) {
+        def aggregationInfo = new AggregationInfo()
+        aggregationInfo.setPropertyPath(metadata.getClass(entityClass).getPropertyPath(property))
+        aggregationInfo.setType(type)
+        return aggregationInfo
+    }
+}
@@ -20,6 +20,7 @@ import io.jmix.core.DataManager
 import io.jmix.ui.model.CollectionContainer
 import io.jmix.ui.model.CollectionLoader
 import io.jmix.ui.model.DataComponents
+import io.jmix.ui.model.impl.DataLoadExecutor
 import org.springframework.beans.factory.annotation.Autowired
 import test_support.DataContextSpec
 import test_support.entity.Foo
@@ -32,6 +33,8 @@ class CollectionLoaderTest extends DataContextSpec {
     DataManager dataManager
     @Autowired
     DataComponents factory
+    @Autowired
+    DataLoadExecutor dataLoadExecutor
 
     def "successful load"() {
         CollectionLoader<Foo> loader = factory.createCollectionLoader()
@@ -121,4 +124,40 @@ class CollectionLoaderTest extends DataContextSpec {
 
         1 * preLoadListener.accept({ it.loadContext.query.queryString == 'select e from test_Foo e where e.name = :name' })
     }
+
+    def "concurrent load of independent loaders"() {
+        Foo foo1 = new Foo(name: 'foo1')
+        Foo foo2 = new Foo(name: 'foo2')
+        dataManager.save(foo1, foo2)
+
+        CollectionLoader<Foo> loader1 = factory.createCollectionLoader()
+        CollectionContainer<Foo> container1 = factory.createCollectionContainer(Foo)
+        loader1.setContainer(container1)
+        loader1.setQuery('select e from test_Foo e where e.name = :name')
+        loader1.setParameter('name', 'foo1')
+
+        CollectionLoader<Foo> loader2 = factory.createCollectionLoader()
+        CollectionContainer<Foo> container2 = factory.createCollectionContainer(Foo)
+        loader2.setContainer(container2)
+        loader2.setQuery('select e from test_Foo e where e.name = :name')
+        loader2.setParameter('name', 'foo2')
+
+        def events = []
+        loader1.addPostLoadListener { events << 'loader1' }
+        loader2.addPostLoadListener { events << 'loader2' }
+
+        when:
+
+        dataLoadExecutor.load([loader1, loader2])
+
+        then: "results are set to containers in the order of loaders"
+
+        container1.getItems() == [foo1]
+        container2.getItems() == [foo2]
+        events == ['loader1', 'loader2']
+
+        cleanup:
+
+        deleteRecord(foo1, foo2)
+    }
 }
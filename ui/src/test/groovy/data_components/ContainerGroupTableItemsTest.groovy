@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.data.DataConfiguration
+import io.jmix.eclipselink.EclipselinkConfiguration
+import io.jmix.ui.UiConfiguration
+import io.jmix.ui.component.data.GroupInfo
+import io.jmix.ui.component.data.table.ContainerGroupTableItems
+import io.jmix.ui.model.CollectionContainer
+import io.jmix.ui.testassist.spec.ScreenSpecification
+import org.apache.commons.collections4.map.LinkedMap
+import org.springframework.test.context.ContextConfiguration
+import test_support.UiTestConfiguration
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Status
+
+@ContextConfiguration(classes = [CoreConfiguration, UiConfiguration, DataConfiguration,
+        EclipselinkConfiguration, UiTestConfiguration])
+class ContainerGroupTableItemsTest extends ScreenSpecification {
+
+    private CollectionContainer<Customer> container
+
+    private Customer c1, c2, c3, c4
+
+    @Override
+    void setup() {
+        container = dataComponents.createCollectionContainer(Customer)
+
+        c1 = createCustomer('c1', Status.OK, 'c1@acme.com')
+        c2 = createCustomer('c2', Status.NOT_OK, 'c2@acme.com')
+        c3 = createCustomer('c3', Status.OK, 'c3@acme.com')
+        c4 = createCustomer('c4', Status.NOT_OK, 'c2@acme.com')
+
+        container.setItems([c1, c2, c3, c4])
+    }
+
+    def "items are grouped in the order of the first appearance"() {
+        def groupItems = createGroupItems('status', 'email')
+
+        when:
+        def roots = groupItems.rootGroups()
+
+        then:
+        values(roots) == [Status.OK, Status.NOT_OK]
+        groupItems.getGroupItemIds(roots[0]) as List == [c1.id, c3.id]
+        groupItems.getGroupItemsCount(roots[1]) == 2
+
+        values(groupItems.getChildren(roots[1])) == ['c2@acme.com']
+        groupItems.getChildItems(roots[0]) == [c1, c3]
+        groupItems.getOwnChildItems(roots[0]).isEmpty()
+        groupItems.getGroupPath(c4) == [roots[1], groupItems.getChildren(roots[1])[0]]
+    }
+
+    def "groups are updated on collection changes"() {
+        def groupItems = createGroupItems('status')
+
+        when: "an item with a new value is inserted first"
+        def c5 = createCustomer('c5', null, 'c5@acme.com')
+        container.getMutableItems().add(0, c5)
+
+        then: "its group becomes the first one"
+        values(groupItems.rootGroups()) == [null, Status.OK, Status.NOT_OK]
+
+        when: "an item is added in the middle of the container"
+        def c6 = createCustomer('c6', Status.OK, 'c6@acme.com')
+        container.getMutableItems().add(2, c6)
+
+        then: "the container order is kept inside the group"
+        groupItems.getGroupItemIds(groupItems.rootGroups()[1]) as List == [c1.id, c6.id, c3.id]
+
+        when: "all items of a group are removed"
+        container.getMutableItems().removeAll([c2, c4])
+
+        then:
+        values(groupItems.rootGroups()) == [null, Status.OK]
+        !groupItems.containsGroup(createGroupInfo('status', Status.NOT_OK))
+        groupItems.getGroupItemsCount(createGroupInfo('status', Status.OK)) == 3
+    }
+
+    private ContainerGroupTableItems<Customer> createGroupItems(String... properties) {
+        def groupItems = new ContainerGroupTableItems<Customer>(container)
+        def metaClass = metadata.getClass(Customer)
+        groupItems.groupBy(properties.collect { metaClass.getPropertyPath(it) }.toArray())
+        return groupItems
+    }
+
+    private GroupInfo createGroupInfo(String property, Object value) {
+        def groupValues = new LinkedMap()
+        groupValues.put(metadata.getClass(Customer).getPropertyPath(property), value)
+        return new GroupInfo(groupValues)
+    }
+
+    private Customer createCustomer(String name, Status status, String email) {
+        def customer = metadata.create(Customer)
+        customer.name = name
+        customer.status = status
+        customer.email = email
+        return customer
+    }
+
+    private static List<Object> values(List<GroupInfo> groups) {
+        return groups.collect { it.value }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.data.DataConfiguration
+import io.jmix.eclipselink.EclipselinkConfiguration
+import io.jmix.ui.UiConfiguration
+import io.jmix.ui.component.data.datagrid.ContainerTreeDataGridItems
+import io.jmix.ui.component.data.table.ContainerTreeTableItems
+import io.jmix.ui.component.data.tree.ContainerTreeItems
+import io.jmix.ui.model.CollectionContainer
+import io.jmix.ui.testassist.spec.ScreenSpecification
+import org.springframework.test.context.ContextConfiguration
+import test_support.UiTestConfiguration
+import test_support.entity.sec.Group
+
+import java.util.stream.Collectors
+import java.util.stream.Stream
+
+@ContextConfiguration(classes = [CoreConfiguration, UiConfiguration, DataConfiguration,
+        EclipselinkConfiguration, UiTestConfiguration])
+class ContainerTreeItemsTest extends ScreenSpecification {
+
+    private CollectionContainer<Group> container
+
+    private Group root, child1, child2, grandChild
+
+    @Override
+    void setup() {
+        container = dataComponents.createCollectionContainer(Group)
+
+        root = createGroup('root', null)
+        child1 = createGroup('child1', root)
+        child2 = createGroup('child2', root)
+        grandChild = createGroup('grandChild', child1)
+
+        container.setItems([root, child1, child2, grandChild])
+    }
+
+    def "children are resolved from the hierarchy property"() {
+        def treeItems = new ContainerTreeItems(container, 'parent')
+
+        expect:
+        names(treeItems.getChildren(null)) == ['root']
+        names(treeItems.getChildren(root)) == ['child1', 'child2']
+        treeItems.getChildCount(child1) == 1
+        treeItems.hasChildren(child1)
+        !treeItems.hasChildren(child2)
+    }
+
+    def "root items are counted with orphans"() {
+        def treeItems = new ContainerTreeItems(container, 'parent')
+
+        when:
+        container.getMutableItems().remove(root)
+
+        then:
+        treeItems.getChildCount(null) == 2
+        names(treeItems.getChildren(null)) == ['child1', 'child2']
+    }
+
+    def "root items are counted without orphans"() {
+        def treeItems = new ContainerTreeItems(container, 'parent', false)
+
+        expect:
+        treeItems.getChildCount(null) == 1
+
+        when:
+        container.getMutableItems().remove(root)
+
+        then:
+        treeItems.getChildCount(null) == 0
+        names(treeItems.getChildren(null)) == []
+    }
+
+    def "tree data grid items count root items"() {
+        def dataGridItems = new ContainerTreeDataGridItems(container, 'parent', true)
+
+        when:
+        container.getMutableItems().remove(root)
+
+        then:
+        dataGridItems.getChildCount(null) == 2
+        dataGridItems.getChildren(null).count() == 2
+    }
+
+    def "index is updated on collection changes"() {
+        def treeItems = new ContainerTreeItems(container, 'parent')
+        treeItems.getChildren(null)
+
+        when: "an item is added"
+        def child3 = createGroup('child3', root)
+        container.getMutableItems().add(child3)
+
+        then:
+        names(treeItems.getChildren(root)) == ['child1', 'child2', 'child3']
+
+        when: "an item is inserted before its siblings"
+        def child0 = createGroup('child0', root)
+        container.getMutableItems().add(1, child0)
+
+        then:
+        names(treeItems.getChildren(root)) == ['child0', 'child1', 'child2', 'child3']
+
+        when: "a parent item is removed"
+        container.getMutableItems().remove(child1)
+
+        then: "its children become orphan roots"
+        names(treeItems.getChildren(null)) == ['root', 'grandChild']
+        names(treeItems.getChildren(root)) == ['child0', 'child2', 'child3']
+    }
+
+    def "index is updated on hierarchy property change"() {
+        def treeItems = new ContainerTreeItems(container, 'parent')
+        treeItems.getChildren(null)
+
+        when:
+        grandChild.parent = child2
+
+        then:
+        !treeItems.hasChildren(child1)
+        names(treeItems.getChildren(child2)) == ['grandChild']
+    }
+
+    def "tree table items use the index"() {
+        def treeTableItems = new ContainerTreeTableItems(container, 'parent')
+
+        when:
+        container.getMutableItems().remove(root)
+
+        then:
+        treeTableItems.getRootItemIds() as List == [child1.id, child2.id]
+        treeTableItems.getChildren(child1.id) as List == [grandChild.id]
+        treeTableItems.isRoot(child2.id)
+        !treeTableItems.hasChildren(child2.id)
+    }
+
+    private Group createGroup(String name, Group parent) {
+        def group = metadata.create(Group)
+        group.name = name
+        group.parent = parent
+        return group
+    }
+
+    private static List<String> names(Stream<Group> groups) {
+        return groups.map({ it.name }).collect(Collectors.toList())
+    }
+}
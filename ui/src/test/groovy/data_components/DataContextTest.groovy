@@ -21,6 +21,7 @@ import io.jmix.core.SaveContext
 import io.jmix.eclipselink.impl.JmixEntityFetchGroup
 import io.jmix.ui.model.DataComponents
 import io.jmix.ui.model.DataContext
+import io.jmix.ui.model.impl.DataContextInternal
 import io.jmix.ui.model.impl.NoopDataContext
 import org.eclipse.persistence.queries.FetchGroupTracker
 import org.springframework.beans.factory.annotation.Autowired
@@ -466,6 +467,60 @@ class DataContextTest extends DataContextSpec {
         !order1_1.orderLines.contains(orderLine12_1)
     }
 
+    def "removed object is removed from collections changed after merge"() {
+
+        def dataContext = factory.createDataContext()
+
+        Order order1 = dataContext.merge(makeSaved(new Order(number: "111", orderLines: [])))
+        Order order2 = dataContext.merge(makeSaved(new Order(number: "222", orderLines: [])))
+
+        OrderLine orderLine1 = dataContext.create(OrderLine)
+        OrderLine orderLine2 = dataContext.create(OrderLine)
+
+        when: "an item is added to the merged collection and another one to a collection set by the setter"
+
+        order1.orderLines.add(orderLine1)
+        order2.orderLines = [orderLine2]
+
+        dataContext.remove(orderLine1)
+        dataContext.remove(orderLine2)
+
+        then:
+
+        order1.orderLines.isEmpty()
+        order2.orderLines.isEmpty()
+    }
+
+    def "merge loaded list"() {
+
+        DataContextInternal dataContext = factory.createDataContext() as DataContextInternal
+
+        Customer customer = makeSaved(new Customer(name: 'c1'))
+        Order order1 = makeSaved(new Order(number: '111', customer: customer))
+        Order order2 = makeSaved(new Order(number: '222', customer: customer))
+
+        when:
+
+        def merged = dataContext.mergeLoaded([order2, order1])
+
+        then:
+
+        dataContext.hasInstances(Order)
+        merged == [order2, order1]
+        !merged[0].is(order2)
+        merged[0].customer.is(merged[1].customer)
+        merged[0].customer.is(dataContext.find(customer))
+        !dataContext.hasChanges()
+
+        when:
+
+        merged[1].number = '333'
+
+        then:
+
+        dataContext.isModified(merged[1])
+    }
+
     def "system fields are preserved on merge"() {
 
         def dataContext = factory.createDataContext()
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.ui.data.DataChangeOperation
+import io.jmix.ui.data.impl.ListDataProvider
+import io.jmix.ui.data.impl.MapDataItem
+import spock.lang.Specification
+
+import java.time.Duration
+
+class ListDataProviderTest extends Specification {
+
+    def "keeps the last items"() {
+        def provider = new ListDataProvider([item(1), item(2)])
+        def removed = []
+        provider.addChangeListener({ e ->
+            if (e.operation == DataChangeOperation.REMOVE) {
+                removed.addAll(e.items)
+            }
+        })
+
+        when:
+        provider.setMaxItems(3)
+        provider.addItems([item(3), item(4)])
+
+        then: "the oldest item is removed"
+        provider.items*.getValue('id') == [2, 3, 4]
+        removed*.getValue('id') == [1]
+    }
+
+    def "keeps the items of the last period"() {
+        long time = 0
+        def provider = new ListDataProvider() {
+            @Override
+            protected long getCurrentTime() {
+                return time
+            }
+        }
+        provider.setMaxAge(Duration.ofSeconds(10))
+
+        when:
+        provider.addItem(item(1))
+        time = 5000
+        provider.addItem(item(2))
+        time = 12000
+        provider.addItem(item(3))
+
+        then:
+        provider.items*.getValue('id') == [2, 3]
+
+        when:
+        time = 16000
+        provider.evictItems()
+
+        then:
+        provider.items*.getValue('id') == [3]
+    }
+
+    private static MapDataItem item(int id) {
+        return new MapDataItem(id: id, value: id * 10)
+    }
+}
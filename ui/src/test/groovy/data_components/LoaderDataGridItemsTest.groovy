@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_components
+
+import io.jmix.core.DataManager
+import io.jmix.ui.component.data.datagrid.LoaderDataGridItems
+import io.jmix.ui.model.CollectionLoader
+import io.jmix.ui.model.DataComponents
+import io.jmix.ui.model.DataContext
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import test_support.DataContextSpec
+import test_support.entity.Foo
+
+import java.util.function.Consumer
+
+class LoaderDataGridItemsTest extends DataContextSpec {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents factory
+    @Autowired
+    ApplicationContext applicationContext
+
+    List<Foo> foos
+    DataContext dataContext
+    CollectionLoader<Foo> loader
+    LoaderDataGridItems<Foo> items
+
+    @Override
+    void setup() {
+        foos = (1..10).collect { i ->
+            def foo = new Foo()
+            foo.name = String.format('foo%02d', i)
+            dataManager.save(foo)
+        }
+
+        dataContext = factory.createDataContext()
+        loader = factory.createCollectionLoader()
+        loader.setContainer(factory.createCollectionContainer(Foo))
+        loader.setDataContext(dataContext)
+        loader.setQuery('select e from test_Foo e order by e.name')
+
+        items = applicationContext.getBean(LoaderDataGridItems, loader)
+        items.setPageSize(3)
+        items.setMaxCachedPages(2)
+    }
+
+    @Override
+    void cleanup() {
+        deleteRecord(foos.toArray())
+    }
+
+    def "pages are loaded on demand"() {
+        when:
+        def item = items.getItemByIndex(4)
+
+        then:
+        items.size() == 10
+        item.name == 'foo05'
+        items.indexOfItem(item) == 4
+        loader.container.items*.name == ['foo04', 'foo05', 'foo06']
+        items.getItems(8, 5)*.name == ['foo09', 'foo10']
+    }
+
+    def "entities of evicted pages are evicted from the data context"() {
+        when:
+        def first = items.getItemByIndex(0)
+        items.getItemByIndex(3)
+        items.getItemByIndex(6)
+
+        then: "the least recently used page is dropped"
+        items.indexOfItem(first) == -1
+        !dataContext.contains(first)
+        dataContext.contains(items.getItemByIndex(6))
+        loader.container.items*.name == ['foo04', 'foo05', 'foo06', 'foo07', 'foo08', 'foo09']
+
+        when: "a cached entity is modified"
+        def modified = items.getItemByIndex(3)
+        modified.name = 'changed'
+        items.getItemByIndex(9)
+        items.getItemByIndex(0)
+
+        then: "it is kept in the data context"
+        items.indexOfItem(modified) == -1
+        dataContext.contains(modified)
+    }
+
+    def "loading by the loader loads the first page and notifies listeners"() {
+        Consumer preLoadListener = Mock()
+        loader.addPreLoadListener(preLoadListener)
+        Consumer postLoadListener = Mock()
+        loader.addPostLoadListener(postLoadListener)
+
+        items.getItemByIndex(9)
+
+        when:
+        loader.load()
+
+        then:
+        1 * preLoadListener.accept(_)
+        1 * postLoadListener.accept(_)
+        loader.container.items*.name == ['foo01', 'foo02', 'foo03']
+        items.indexOfItem(loader.container.items[0]) == 0
+        items.getItemByIndex(9).name == 'foo10'
+    }
+}
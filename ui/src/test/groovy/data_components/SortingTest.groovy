@@ -111,4 +111,37 @@ class SortingTest extends ScreenSpecification {
         1 * dataManager.loadList(_ as LoadContext) >> orders.sort { it.number }.reverse()
         container.items[0].number == 'o3'
     }
+
+    def "sort in memory by multiple properties"() {
+        def container = dataComponents.createCollectionContainer(Order)
+
+        def o1 = createOrder('o1', 10)
+        def o2 = createOrder('O2', 20)
+        def o3 = createOrder('o3', 10)
+        def o4 = createOrder('o4', 5)
+        container.setItems([o1, o2, o3, o4])
+
+        when:
+
+        container.getSorter().sort(Sort.by(Sort.Order.desc('amount'), Sort.Order.desc('number')))
+
+        then:
+
+        container.items == [o2, o3, o1, o4]
+
+        when: "strings are compared ignoring case"
+
+        container.getSorter().sort(Sort.by(Sort.Direction.ASC, 'number'))
+
+        then:
+
+        container.items == [o1, o2, o3, o4]
+    }
+
+    private Order createOrder(String number, Integer amount) {
+        def order = metadata.create(Order)
+        order.number = number
+        order.amount = new BigDecimal(amount)
+        return order
+    }
 }
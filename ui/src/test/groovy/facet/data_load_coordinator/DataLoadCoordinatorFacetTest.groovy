@@ -19,14 +19,18 @@ package facet.data_load_coordinator
 
 import facet.data_load_coordinator.screen.DlcAutoTestScreen
 import facet.data_load_coordinator.screen.DlcAutoWithFragmentTestScreen
+import facet.data_load_coordinator.screen.DlcConcurrentTestScreen
+import facet.data_load_coordinator.screen.DlcDebounceTestScreen
 import facet.data_load_coordinator.screen.DlcManualNoParamTestScreen
 import facet.data_load_coordinator.screen.DlcManualTestScreen
 import io.jmix.core.CoreConfiguration
 import io.jmix.data.DataConfiguration
 import io.jmix.eclipselink.EclipselinkConfiguration
+import io.jmix.ui.AppUI
 import io.jmix.ui.UiConfiguration
 import io.jmix.ui.component.DataLoadCoordinator
 import io.jmix.ui.testassist.spec.ScreenSpecification
+import io.jmix.ui.widget.JmixTimer
 import org.springframework.test.context.ContextConfiguration
 import spock.lang.Unroll
 import test_support.UiTestConfiguration
@@ -199,4 +203,131 @@ class DataLoadCoordinatorFacetTest extends ScreenSpecification {
         screenFragment.events[0].loadContext.query.parameters.size() == 1
         screenFragment.events[0].loadContext.query.parameters['container_countriesDc'] == screenFragment.countriesDc.getItem()
     }
+
+    def "coalesced loads"() {
+        showTestMainScreen()
+
+        def screen = screens.create(DlcManualTestScreen)
+        screen.show()
+        screen.dlc.coalesceLoads = true
+
+        when: "several filter fields are changed during one request"
+
+        screen.events.clear()
+        def category = new OwnerCategory()
+        screen.categoryFilterField.setValue(category)
+        screen.nameFilterField.setValue("o")
+
+        then: "loader is not triggered until the response is sent"
+
+        screen.events.isEmpty()
+
+        when: "response is prepared"
+
+        AppUI.current.beforeClientResponse(false)
+
+        then: "master loader is triggered once with all parameters"
+
+        screen.events.size() == 1
+        screen.events[0].loader == 'ownersDl'
+        screen.events[0].loadContext.query.parameters['category'] == category
+        screen.events[0].loadContext.query.parameters['name'] == '(?i)%o%'
+    }
+
+    def "debounced loads"() {
+        showTestMainScreen()
+
+        def screen = screens.create(DlcDebounceTestScreen)
+        screen.show()
+
+        when: "filter field is changed several times"
+
+        screen.events.clear()
+        screen.nameFilterField.setValue("o")
+        screen.nameFilterField.setValue("ow")
+
+        then: "loader is not triggered until the delay elapses"
+
+        screen.events.isEmpty()
+        runningTimers().size() == 1
+
+        when: "delay elapses"
+
+        runningTimers()[0].onTimer()
+
+        then: "loader is triggered once with the last value"
+
+        screen.events.size() == 1
+        screen.events[0].loadContext.query.parameters['name'] == '(?i)%ow%'
+        runningTimers().isEmpty()
+    }
+
+    def "load of a loader cancels its pending debounced load"() {
+        showTestMainScreen()
+
+        def screen = screens.create(DlcDebounceTestScreen)
+        screen.show()
+
+        when: "debounced field is changed and then a field triggering immediate load"
+
+        screen.events.clear()
+        screen.nameFilterField.setValue("o")
+        def category = new OwnerCategory()
+        screen.categoryFilterField.setValue(category)
+
+        then: "loader is triggered immediately with both parameters and the debounced load is cancelled"
+
+        screen.events.size() == 1
+        screen.events[0].loadContext.query.parameters['category'] == category
+        screen.events[0].loadContext.query.parameters['name'] == '(?i)%o%'
+        runningTimers().isEmpty()
+    }
+
+    def "debounced load joins the pending coalesced load"() {
+        showTestMainScreen()
+
+        def screen = screens.create(DlcDebounceTestScreen)
+        screen.show()
+        screen.dlc.coalesceLoads = true
+
+        when: "coalesced load is pending and the delay of the debounced load elapses in the same request"
+
+        screen.events.clear()
+        screen.categoryFilterField.setValue(new OwnerCategory())
+        screen.nameFilterField.setValue("o")
+        runningTimers()[0].onTimer()
+        AppUI.current.beforeClientResponse(false)
+
+        then: "loader is triggered once"
+
+        screen.events.size() == 1
+        screen.events[0].loadContext.query.parameters['name'] == '(?i)%o%'
+    }
+
+    def "concurrent loads of dependent loaders"() {
+        showTestMainScreen()
+
+        when: "loaders are triggered by the same event, the detail loader's trigger goes first"
+
+        def screen = screens.create(DlcConcurrentTestScreen)
+        screen.show()
+
+        then: "master loader is loaded once and before the detail loader"
+
+        screen.events.count { it.loader == 'ownersDl' } == 1
+        screen.events[0].loader == 'ownersDl'
+        screen.events.any { it.loader == 'petsDl' }
+
+        when: "mode is changed after triggers are added"
+
+        screen.dlc.concurrentLoads = false
+
+        then:
+
+        thrown(IllegalStateException)
+    }
+
+    protected List<JmixTimer> runningTimers() {
+        AppUI.current.timers.findAll { it.state.running }
+    }
 }
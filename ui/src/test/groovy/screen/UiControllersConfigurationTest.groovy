@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package screen
+
+import io.jmix.ui.sys.UiControllersConfiguration
+import io.jmix.ui.sys.UiControllersIndex
+import org.springframework.context.support.GenericApplicationContext
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory
+import spock.lang.Specification
+
+class UiControllersConfigurationTest extends Specification {
+
+    File indexDir = File.createTempDir()
+
+    void cleanup() {
+        indexDir.deleteDir()
+    }
+
+    def "controllers of indexed and scanned packages keep the order of base packages"() {
+        setup: "only the second package is indexed"
+        UiControllersIndex.main(indexDir.path, 'component.data_grid.screen')
+
+        def classLoader = new URLClassLoader([indexDir.toURI().toURL()] as URL[], getClass().classLoader)
+        def applicationContext = new GenericApplicationContext()
+        applicationContext.setClassLoader(classLoader)
+
+        def configuration = new UiControllersConfiguration(applicationContext, null)
+        configuration.metadataReaderFactory = new SimpleMetadataReaderFactory(classLoader)
+        configuration.basePackages = ['fragment.screen', 'component.data_grid.screen']
+
+        when:
+        def controllers = configuration.getUiControllers()*.controllerClass
+
+        then: "controllers of the scanned package go first"
+        controllers.size() == 12
+        controllers.subList(0, 9).every { it.startsWith('fragment.screen.') }
+        controllers.subList(9, 12) == [
+                'component.data_grid.screen.DataGridAggregationTestScreen',
+                'component.data_grid.screen.DataGridLoadColumnsByIncludeTestScreen',
+                'component.data_grid.screen.DataGridRenderersTestScreen'
+        ]
+
+        when: "base packages are reordered"
+        configuration.basePackages = ['component.data_grid.screen', 'fragment.screen']
+        def reordered = configuration.getUiControllers()*.controllerClass
+
+        then: "controllers follow the new order"
+        reordered == controllers.subList(9, 12) + controllers.subList(0, 9)
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package screen
+
+import component.data_grid.screen.DataGridAggregationTestScreen
+import io.jmix.ui.screen.UiController
+import io.jmix.ui.sys.UiControllersIndex
+import spock.lang.Specification
+
+class UiControllersIndexTest extends Specification {
+
+    File indexDir = File.createTempDir()
+
+    void cleanup() {
+        indexDir.deleteDir()
+    }
+
+    def "index contains controllers of indexed packages"() {
+        when: "index is generated for a package and loaded"
+        UiControllersIndex.main(indexDir.path, 'component.data_grid.screen')
+
+        def classLoader = new URLClassLoader([indexDir.toURI().toURL()] as URL[], null)
+        def index = UiControllersIndex.get(classLoader)
+
+        then: "the package and its subpackages are indexed"
+        index.isIndexed('component.data_grid.screen')
+        index.isIndexed('component.data_grid.screen.sub')
+        !index.isIndexed('component.data_grid')
+
+        and: "index contains all controllers of the package"
+        def controllers = index.getUiControllers('component.data_grid.screen')
+        controllers*.controllerClass == [
+                'component.data_grid.screen.DataGridAggregationTestScreen',
+                'component.data_grid.screen.DataGridLoadColumnsByIncludeTestScreen',
+                'component.data_grid.screen.DataGridRenderersTestScreen'
+        ]
+        controllers.every { it.indexed }
+        controllers.every { Class.forName(it.controllerClass).isAnnotationPresent(UiController) }
+        controllers.find { it.controllerClass == DataGridAggregationTestScreen.name }.id == 'DataGridAggregationTestScreen'
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package ui_components
+
+import io.jmix.ui.sys.AutowireTemplate
+import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator
+import org.springframework.beans.PropertyValues
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor
+import org.springframework.beans.factory.support.DefaultListableBeanFactory
+import spock.lang.Specification
+
+import java.lang.annotation.Retention
+import java.lang.annotation.RetentionPolicy
+
+class AutowireTemplateTest extends Specification {
+
+    private DefaultListableBeanFactory beanFactory
+
+    private TestService service
+
+    void setup() {
+        beanFactory = new DefaultListableBeanFactory()
+
+        def autowiredPostProcessor = new AutowiredAnnotationBeanPostProcessor()
+        autowiredPostProcessor.setBeanFactory(beanFactory)
+        beanFactory.addBeanPostProcessor(autowiredPostProcessor)
+
+        service = new TestService()
+        beanFactory.registerSingleton('test_Service', service)
+    }
+
+    def "autowired fields and setters are injected"() {
+        when:
+        def template = AutowireTemplate.create(AutowiredComponent, beanFactory)
+        def component = new AutowiredComponent()
+        template.autowire(component)
+
+        then:
+        component.fieldService.is(service)
+        component.setterService.is(service)
+    }
+
+    def "classes with meta-annotated qualifiers are autowired by the bean factory"() {
+        expect:
+        AutowireTemplate.create(QualifiedComponent, beanFactory) == null
+    }
+
+    def "custom instantiation-aware post-processors are not bypassed"() {
+        beanFactory.addBeanPostProcessor(new InstantiationAwareBeanPostProcessor() {})
+
+        expect:
+        AutowireTemplate.create(AutowiredComponent, beanFactory) == null
+    }
+
+    def "auto-proxy creators do not prevent templates"() {
+        def autoProxyCreator = new InfrastructureAdvisorAutoProxyCreator()
+        autoProxyCreator.setBeanFactory(beanFactory)
+        beanFactory.addBeanPostProcessor(autoProxyCreator)
+
+        expect:
+        AutowireTemplate.create(AutowiredComponent, beanFactory) != null
+    }
+
+    def "auto-proxy creators which process properties are not bypassed"() {
+        beanFactory.addBeanPostProcessor(new PropertyProcessingAutoProxyCreator())
+
+        expect:
+        AutowireTemplate.create(AutowiredComponent, beanFactory) == null
+    }
+
+    static class PropertyProcessingAutoProxyCreator extends InfrastructureAdvisorAutoProxyCreator {
+
+        @Override
+        PropertyValues postProcessProperties(PropertyValues pvs, Object bean, String beanName) {
+            return pvs
+        }
+    }
+
+    static class TestService {
+    }
+
+    static class AutowiredComponent {
+
+        @Autowired
+        protected TestService fieldService
+
+        protected TestService setterService
+
+        @Autowired
+        void setSetterService(TestService setterService) {
+            this.setterService = setterService
+        }
+    }
+
+    static class QualifiedComponent {
+
+        @Autowired
+        @TestQualifier
+        protected TestService service
+    }
+}
+
+@Retention(RetentionPolicy.RUNTIME)
+@Qualifier
+@interface TestQualifier {
+}
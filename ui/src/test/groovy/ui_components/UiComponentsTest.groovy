@@ -23,9 +23,15 @@ import io.jmix.eclipselink.EclipselinkConfiguration
 import io.jmix.ui.Facets
 import io.jmix.ui.UiConfiguration
 import io.jmix.ui.component.*
+import io.jmix.ui.component.impl.ButtonImpl
+import io.jmix.ui.component.impl.TextFieldImpl
 import io.jmix.ui.component.mainwindow.*
+import io.jmix.ui.sys.AutowireTemplate
 import io.jmix.ui.testassist.spec.ScreenSpecification
+import org.springframework.aop.framework.autoproxy.AbstractAutoProxyCreator
 import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.beans.factory.support.AbstractBeanFactory
+import org.springframework.context.ApplicationContext
 import org.springframework.test.context.ContextConfiguration
 import spock.lang.Unroll
 import test_support.UiTestConfiguration
@@ -38,6 +44,26 @@ class UiComponentsTest extends ScreenSpecification {
     @Autowired
     Facets facets
 
+    @Autowired
+    ApplicationContext applicationContext
+
+    def "standard UI components are autowired with templates in the application context"() {
+        def beanFactory = (AbstractBeanFactory) applicationContext.getAutowireCapableBeanFactory()
+
+        expect: "the context has an auto-proxy creator"
+        beanFactory.getBeanPostProcessors().any { it instanceof AbstractAutoProxyCreator }
+
+        and:
+        AutowireTemplate.create(ButtonImpl, beanFactory) != null
+        AutowireTemplate.create(TextFieldImpl, beanFactory) != null
+
+        when:
+        Button button = uiComponents.create(Button)
+
+        then:
+        button != null
+    }
+
     @Unroll
     def "create standard UI component: '#name' with UiComponents"() {
         expect:
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package webjars
+
+import com.vaadin.server.VaadinRequest
+import com.vaadin.server.VaadinResponse
+import io.jmix.ui.UiProperties
+import io.jmix.ui.sys.WebJarResourceResolver
+import io.jmix.ui.sys.vaadin.JmixWebJarsHandler
+import spock.lang.Specification
+
+import javax.servlet.ServletContext
+import java.nio.file.Files
+import java.nio.file.Path
+
+class JmixWebJarsHandlerTest extends Specification {
+
+    Path resourcesDir
+
+    JmixWebJarsHandler handler
+    ByteArrayOutputStream responseContent = new ByteArrayOutputStream()
+
+    VaadinRequest request = Stub {
+        getPathInfo() >> { '/webjars/lib/' + currentResource }
+        getHeader('Accept-Encoding') >> 'gzip'
+        getDateHeader(_) >> -1L
+    }
+
+    VaadinResponse response = Mock {
+        getOutputStream() >> responseContent
+    }
+
+    String currentResource
+
+    void setup() {
+        resourcesDir = Files.createTempDirectory('webjars')
+
+        def uiProperties = Stub(UiProperties) {
+            getWebJarResourcesCacheMaxSize() >> 1024 * 1024
+            getWebJarResourcesCacheMaxEntrySize() >> 4096
+            getWebJarResourcesCacheTime() >> 60
+            isProductionMode() >> true
+        }
+        def servletContext = Stub(ServletContext) {
+            getResource(_) >> null
+            getMimeType(_) >> 'application/javascript'
+        }
+        def resolver = Stub(WebJarResourceResolver) {
+            translateToWebJarPath(_) >> { String path -> path }
+            getResource(_) >> { String path -> resourcesDir.resolve(path.split('/').last()).toUri().toURL() }
+        }
+        handler = new JmixWebJarsHandler(servletContext, resolver, uiProperties)
+    }
+
+    void cleanup() {
+        resourcesDir.toFile().deleteDir()
+    }
+
+    def "small resource is cached and compressed"() {
+        def content = createResource('small.js', 2048)
+
+        when:
+        def handled = handler.handleRequest(null, request, response)
+
+        then:
+        handled
+        1 * response.setHeader('Content-Encoding', 'gzip')
+        responseContent.size() < content.length
+        handler.resourceCache.size() == 1
+    }
+
+    def "large resource is streamed without caching and compression"() {
+        def content = createResource('large.js', 8192)
+
+        when:
+        def handled = handler.handleRequest(null, request, response)
+
+        then:
+        handled
+        0 * response.setHeader('Content-Encoding', _)
+        1 * response.setContentLength(content.length)
+        responseContent.toByteArray() == content
+        handler.resourceCache.size() == 0
+    }
+
+    protected byte[] createResource(String name, int length) {
+        currentResource = name
+
+        def builder = new StringBuilder()
+        while (builder.length() < length) {
+            builder.append('var value = 0;\n')
+        }
+        byte[] content = builder.substring(0, length).bytes
+        Files.write(resourcesDir.resolve(name), content)
+        return content
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package xml
+
+import io.jmix.ui.xml.layout.ComponentLoader
+import io.jmix.ui.xml.layout.LoaderConfig
+import io.jmix.ui.xml.layout.LoaderResolver
+import io.jmix.ui.xml.layout.loader.ButtonLoader
+import io.jmix.ui.xml.layout.loader.LabelLoader
+import io.jmix.ui.xml.layout.loader.LinkButtonLoader
+import io.jmix.ui.xml.layout.loader.TextFieldLoader
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.dom4j.DocumentHelper
+import org.dom4j.Element
+import spock.lang.Specification
+
+class LoaderResolverTest extends Specification {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    def "loaders of indexed configs are resolved by element name"() {
+        def resolver = createResolver(
+                new IndexedLoaderConfig(button: ButtonLoader, label: LabelLoader))
+
+        expect:
+        resolver.getLoader(element('button')) == ButtonLoader
+        resolver.getLoader(element('label')) == LabelLoader
+        resolver.getLoader(element('textField')) == null
+        slowLookups() == 0
+    }
+
+    def "the first of several configs supporting an element wins"() {
+        def resolver = createResolver(
+                new IndexedLoaderConfig(button: LinkButtonLoader),
+                new IndexedLoaderConfig(button: ButtonLoader, label: LabelLoader))
+
+        expect:
+        resolver.getLoader(element('button')) == LinkButtonLoader
+        resolver.getLoader(element('label')) == LabelLoader
+    }
+
+    def "dynamic config preceding the indexed one is probed"() {
+        def resolver = createResolver(
+                new DynamicLoaderConfig('button', 'link', LinkButtonLoader),
+                new IndexedLoaderConfig(button: ButtonLoader))
+
+        expect: "the dynamic config wins if it supports the element"
+        resolver.getLoader(element('button', 'link')) == LinkButtonLoader
+
+        and: "the indexed config is used otherwise"
+        resolver.getLoader(element('button')) == ButtonLoader
+
+        and:
+        slowLookups() == 2
+    }
+
+    def "dynamic config following the indexed one is not probed"() {
+        def dynamicConfig = new DynamicLoaderConfig('button', 'link', LinkButtonLoader)
+        def resolver = createResolver(
+                new IndexedLoaderConfig(button: ButtonLoader),
+                dynamicConfig)
+
+        when:
+        def loader = resolver.getLoader(element('button', 'link'))
+
+        then:
+        loader == ButtonLoader
+        dynamicConfig.probes == 0
+        slowLookups() == 0
+
+        when: "no indexed config supports the element"
+        loader = resolver.getLoader(element('label'))
+
+        then:
+        loader == null
+        dynamicConfig.probes == 1
+        slowLookups() == 1
+    }
+
+    def "index is rebuilt after a loader is registered"() {
+        def config = new IndexedLoaderConfig(button: ButtonLoader)
+        def resolver = createResolver(config)
+
+        expect:
+        resolver.getLoader(element('textField')) == null
+
+        when:
+        config.loaders.put('textField', TextFieldLoader)
+
+        then: "the index is not rebuilt until it is reset"
+        resolver.getLoader(element('textField')) == null
+
+        when:
+        resolver.resetIndex()
+
+        then:
+        resolver.getLoader(element('textField')) == TextFieldLoader
+        resolver.getLoader(element('button')) == ButtonLoader
+    }
+
+    protected LoaderResolver createResolver(LoaderConfig... configs) {
+        def resolver = new LoaderResolver()
+        resolver.loaderConfigs = configs as List
+        resolver.setMeterRegistry(meterRegistry)
+        return resolver
+    }
+
+    protected double slowLookups() {
+        return meterRegistry.counter('jmix.ui.loaderResolver.slowLookups').count()
+    }
+
+    protected static Element element(String name, String type = null) {
+        def element = DocumentHelper.createElement(name)
+        if (type != null) {
+            element.addAttribute('type', type)
+        }
+        return element
+    }
+
+    static class IndexedLoaderConfig implements LoaderConfig {
+
+        Map<String, Class<? extends ComponentLoader>> loaders = [:]
+
+        IndexedLoaderConfig(Map<String, Class<? extends ComponentLoader>> loaders) {
+            this.loaders.putAll(loaders)
+        }
+
+        @Override
+        boolean supports(Element element) {
+            return loaders.containsKey(element.name)
+        }
+
+        @Override
+        Class<? extends ComponentLoader> getLoader(Element element) {
+            return loaders.get(element.name)
+        }
+
+        @Override
+        Class<? extends ComponentLoader> getFragmentLoader(Element root) {
+            return null
+        }
+
+        @Override
+        Class<? extends ComponentLoader> getWindowLoader(Element root) {
+            return null
+        }
+
+        @Override
+        Map<String, Class<? extends ComponentLoader>> getLoaders() {
+            return loaders
+        }
+    }
+
+    static class DynamicLoaderConfig implements LoaderConfig {
+
+        String name
+        String type
+        Class<? extends ComponentLoader> loader
+        int probes
+
+        DynamicLoaderConfig(String name, String type, Class<? extends ComponentLoader> loader) {
+            this.name = name
+            this.type = type
+            this.loader = loader
+        }
+
+        @Override
+        boolean supports(Element element) {
+            probes++
+            return element.name == name && element.attributeValue('type') == type
+        }
+
+        @Override
+        Class<? extends ComponentLoader> getLoader(Element element) {
+            return loader
+        }
+
+        @Override
+        Class<? extends ComponentLoader> getFragmentLoader(Element root) {
+            return null
+        }
+
+        @Override
+        Class<? extends ComponentLoader> getWindowLoader(Element root) {
+            return null
+        }
+    }
+}
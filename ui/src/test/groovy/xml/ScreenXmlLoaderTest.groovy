@@ -0,0 +1,179 @@
+/*
+ * Copyright 2021 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package xml
+
+import io.jmix.core.Resources
+import io.jmix.ui.UiProperties
+import io.jmix.ui.sys.ScreenXmlDocumentCache
+import io.jmix.ui.sys.ScreenXmlLoader
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.dom4j.Document
+import org.dom4j.DocumentHelper
+import org.springframework.core.io.FileSystemResource
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ScreenXmlLoaderTest extends Specification {
+
+    Path templatesDir
+
+    TestScreenXmlLoader loader
+    ScreenXmlDocumentCache cache
+
+    boolean productionMode
+
+    void setup() {
+        templatesDir = Files.createTempDirectory('screens')
+
+        def uiProperties = Stub(UiProperties) {
+            getScreenXmlCacheMaxWeight() >> 1_000_000
+            isProductionMode() >> { productionMode }
+        }
+        def resources = Stub(Resources) {
+            getResourceAsStream(_) >> { String path -> Files.newInputStream(templatesDir.resolve(path)) }
+            getResource(_) >> { String path -> new FileSystemResource(templatesDir.resolve(path).toFile()) }
+        }
+
+        cache = new ScreenXmlDocumentCache(uiProperties, new SimpleMeterRegistry())
+
+        loader = new TestScreenXmlLoader()
+        loader.resources = resources
+        loader.screenXmlCache = cache
+        loader.meterRegistry = new SimpleMeterRegistry()
+        loader.uiProperties = uiProperties
+    }
+
+    void cleanup() {
+        templatesDir.toFile().deleteDir()
+    }
+
+    def "descriptors are cached by template path and screen parameters"() {
+        createTemplate('screen.xml', '<window caption="first"/>')
+        createTemplate('other-screen.xml', '<window caption="other"/>')
+
+        when:
+        def first = loader.load('screen.xml', 'screen', [:])
+        def second = loader.load('screen.xml', 'screen', [:])
+
+        then:
+        first.is(second)
+        loader.createdDocuments == 1
+
+        when: "a simple parameter value is changed"
+        loader.load('screen.xml', 'screen', [mode: 'edit'])
+        loader.load('screen.xml', 'screen', [mode: 'edit'])
+        loader.load('screen.xml', 'screen', [mode: 'view'])
+
+        then:
+        loader.createdDocuments == 3
+
+        when: "complex parameter values differ by instance only"
+        loader.load('screen.xml', 'screen', [entity: new Object()])
+        loader.load('screen.xml', 'screen', [entity: new Object()])
+
+        then:
+        loader.createdDocuments == 4
+
+        when: "another template is loaded"
+        def other = loader.load('other-screen.xml', 'otherScreen', [:])
+
+        then:
+        other.attributeValue('caption') == 'other'
+        loader.createdDocuments == 5
+    }
+
+    def "modified template is reloaded in non-production mode"() {
+        productionMode = false
+        def template = createTemplate('screen.xml', '<window caption="first"/>')
+        loader.load('screen.xml', 'screen', [:])
+
+        when:
+        modifyTemplate(template, '<window caption="second"/>')
+        def root = loader.load('screen.xml', 'screen', [:])
+
+        then:
+        root.attributeValue('caption') == 'second'
+        loader.createdDocuments == 2
+    }
+
+    def "modified template is not reloaded in production mode"() {
+        productionMode = true
+        def template = createTemplate('screen.xml', '<window caption="first"/>')
+        loader.load('screen.xml', 'screen', [:])
+
+        when:
+        modifyTemplate(template, '<window caption="second"/>')
+        def root = loader.load('screen.xml', 'screen', [:])
+
+        then:
+        root.attributeValue('caption') == 'first'
+        loader.createdDocuments == 1
+    }
+
+    def "descriptors heavier than the cache limit are not retained"() {
+        def uiProperties = Stub(UiProperties) {
+            getScreenXmlCacheMaxWeight() >> 1000
+        }
+        def limitedCache = new ScreenXmlDocumentCache(uiProperties, new SimpleMeterRegistry())
+        def document = DocumentHelper.parseText('<window/>')
+
+        when:
+        limitedCache.put('light.xml', '', new ScreenXmlDocumentCache.CachedDescriptor(document, 0, 10))
+        limitedCache.put('heavy.xml', '', new ScreenXmlDocumentCache.CachedDescriptor(document, 0, 2000))
+
+        then:
+        limitedCache.get('light.xml', '') != null
+        limitedCache.get('heavy.xml', '') == null
+    }
+
+    def "deprecated methods use the template as the cache key"() {
+        def document = DocumentHelper.parseText('<window/>')
+
+        when:
+        cache.put('<window/>', document)
+
+        then:
+        cache.get('<window/>').is(document)
+        cache.get('<window/>', '').document.is(document)
+        cache.get('<window caption="other"/>') == null
+    }
+
+    protected Path createTemplate(String name, String content) {
+        return Files.write(templatesDir.resolve(name), content.bytes)
+    }
+
+    protected void modifyTemplate(Path template, String content) {
+        def lastModified = template.toFile().lastModified()
+        Files.write(template, content.bytes)
+        // file systems may have a coarse modification time
+        template.toFile().setLastModified(lastModified + 2000)
+    }
+
+    static class TestScreenXmlLoader extends ScreenXmlLoader {
+
+        int createdDocuments
+
+        @Override
+        protected Document createDocument(String template, Map<String, Object> params) {
+            createdDocuments++
+            return DocumentHelper.parseText(template)
+        }
+    }
+}